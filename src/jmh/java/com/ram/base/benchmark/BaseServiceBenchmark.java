@@ -0,0 +1,82 @@
+package com.ram.base.benchmark;
+
+import com.ram.base.entity.inventarios.LocalidadEntity;
+import com.ram.base.service.generic.BaseServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Helpers de BaseServiceImpl basados en reflexión: se ejecutan en cada save, activate y
+ * deactivate de todos los servicios CRUD (getEntityClass también en cada log de getAll).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BaseServiceBenchmark {
+
+    /**
+     * Subclase mínima para acceder a los métodos protegidos; no usa el repositorio
+     */
+    static class LocalidadCrud extends BaseServiceImpl<LocalidadEntity, Long> {
+
+        LocalidadCrud() {
+            super(null);
+        }
+
+        Class<LocalidadEntity> entityClass() {
+            return getEntityClass();
+        }
+
+        Object entityId(LocalidadEntity entity) {
+            return getEntityId(entity);
+        }
+
+        void estatus(LocalidadEntity entity, boolean estatus) throws Exception {
+            setEstatus(entity, estatus);
+        }
+
+        Pageable limit(Pageable pageable) {
+            return limitPageSize(pageable);
+        }
+    }
+
+    private LocalidadCrud servicio;
+    private LocalidadEntity localidad;
+    private Pageable pagina;
+    private boolean estatus;
+
+    @Setup
+    public void setup() {
+        servicio = new LocalidadCrud();
+        localidad = Datos.localidad(1L, 0);
+        pagina = PageRequest.of(3, 500);
+    }
+
+    @Benchmark
+    public Class<LocalidadEntity> getEntityClass() {
+        return servicio.entityClass();
+    }
+
+    @Benchmark
+    public Object getEntityId() {
+        return servicio.entityId(localidad);
+    }
+
+    @Benchmark
+    public LocalidadEntity setEstatus() throws Exception {
+        estatus = !estatus;
+        servicio.estatus(localidad, estatus);
+        return localidad;
+    }
+
+    @Benchmark
+    public Pageable limitPageSize() {
+        return servicio.limit(pagina);
+    }
+}
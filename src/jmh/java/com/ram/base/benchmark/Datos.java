@@ -0,0 +1,45 @@
+package com.ram.base.benchmark;
+
+import com.ram.base.entity.inventarios.AreaEntity;
+import com.ram.base.entity.inventarios.LocalidadEntity;
+import com.ram.base.entity.productos.*;
+
+/**
+ * Datos de prueba compartidos por los benchmarks
+ */
+final class Datos {
+
+    private Datos() {
+    }
+
+    static BobinaEntity bobina(long id, TipoEntity tipo, ClaseEntity clase, MolinoEntity molino,
+                               GradoEntity grado, ProveedorEntity proveedor) {
+        return BobinaEntity.builder()
+                .id_bobina(id)
+                .codigoProveedor("BOB-" + id)
+                .ancho(1.2 + id % 10)
+                .gramaje(125.0)
+                .calibre("18")
+                .peso(850.5)
+                .tipoEntity(tipo)
+                .claseEntity(clase)
+                .molinoEntity(molino)
+                .gradoEntity(grado)
+                .proveedor(proveedor)
+                .build();
+    }
+
+    static LocalidadEntity localidad(long id, int areas) {
+        LocalidadEntity localidad = LocalidadEntity.builder()
+                .idLocalidad(id)
+                .nombre("Planta " + id)
+                .build();
+        for (int i = 0; i < areas; i++) {
+            localidad.addArea(AreaEntity.builder()
+                    .idArea(id * 1000 + i)
+                    .nombre("Área " + i)
+                    .build());
+        }
+        return localidad;
+    }
+}
@@ -0,0 +1,70 @@
+package com.ram.base.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.ram.base.dto.inventarios.LocalidadDTO;
+import com.ram.base.dto.productos.BobinaDTO;
+import com.ram.base.entity.productos.*;
+import com.ram.base.mapper.BobinaMapper;
+import com.ram.base.mapper.LocalidadMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización a JSON de las listas que regresan los endpoints de bobinas y localidades.
+ * El ObjectMapper se crea con Jackson2ObjectMapperBuilder, como el de Spring Boot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JacksonBenchmark {
+
+    // Tamaño por defecto y máximo de página de la API
+    @Param({"20", "100"})
+    private int elementos;
+
+    private ObjectWriter bobinasWriter;
+    private ObjectWriter localidadesWriter;
+    private List<BobinaDTO> bobinas;
+    private List<LocalidadDTO> localidades;
+
+    @Setup
+    public void setup() {
+        var objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        bobinasWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, BobinaDTO.class));
+        localidadesWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, LocalidadDTO.class));
+
+        TipoEntity tipo = TipoEntity.builder().id_tipo(1L).tipo("KRAFT").build();
+        ClaseEntity clase = ClaseEntity.builder().id_clase(2L).clase("PRIMERA").build();
+        MolinoEntity molino = MolinoEntity.builder().id_molino(3L).molino("MOLINO NORTE").build();
+        GradoEntity grado = GradoEntity.builder().id_grado(4L).grado("A").build();
+        ProveedorEntity proveedor = ProveedorEntity.builder().id_proveedor(5L).nombreComercial("PAPELERA").build();
+
+        // toDTO no usa los repositorios
+        BobinaMapper bobinaMapper = new BobinaMapper(null, null, null, null, null);
+        LocalidadMapper localidadMapper = new LocalidadMapper();
+
+        bobinas = new ArrayList<>(elementos);
+        localidades = new ArrayList<>(elementos);
+        for (long i = 1; i <= elementos; i++) {
+            bobinas.add(bobinaMapper.toDTO(Datos.bobina(i, tipo, clase, molino, grado, proveedor)));
+            localidades.add(localidadMapper.toDTO(Datos.localidad(i, 10)));
+        }
+    }
+
+    @Benchmark
+    public byte[] bobinas() throws Exception {
+        return bobinasWriter.writeValueAsBytes(bobinas);
+    }
+
+    @Benchmark
+    public byte[] localidades() throws Exception {
+        return localidadesWriter.writeValueAsBytes(localidades);
+    }
+}
@@ -0,0 +1,115 @@
+package com.ram.base.benchmark;
+
+import com.ram.base.entity.generic.UserEntity;
+import com.ram.base.filter.JwtRequestFilter;
+import com.ram.base.repository.generic.TokenRevocadoRepository;
+import com.ram.base.repository.generic.UserRepostory;
+import com.ram.base.service.generic.AppUserDetailsService;
+import com.ram.base.service.generic.PrincipalCache;
+import com.ram.base.service.generic.TokenRevocationService;
+import com.ram.base.util.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo por petición de JwtRequestFilter con peticiones simuladas (token en encabezado,
+ * en cookie, token revocado y ruta pública). La verificación aislada está en JwtUtilBenchmark.
+ *
+ * - conCache: token repetido (caso normal de un cliente), se resuelve con la caché de
+ *   tokens verificados y la caché de usuarios.
+ * - sinCache: jwt.cache.max-entradas=0, cada petición verifica la firma HMAC y parsea el JSON.
+ *
+ * El repositorio de usuarios es un mock: el benchmark mide CPU, no la base de datos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtRequestFilterBenchmark {
+
+    private static final String SECRET = "thisisthesecretkeyievercreatedinmydevelopmentcareer";
+    private static final String EMAIL = "benchmark@ram.com";
+
+    @Param({"conCache", "sinCache"})
+    private String modo;
+
+    private JwtUtil jwtUtil;
+    private JwtRequestFilter filter;
+    private String token;
+    private String tokenRevocado;
+
+    @Setup
+    public void setup() {
+        jwtUtil = new JwtUtil(SECRET, "conCache".equals(modo) ? 10_000 : 0);
+        token = jwtUtil.generateToken(new User(EMAIL, "", List.of()));
+
+        UserRepostory userRepostory = Mockito.mock(UserRepostory.class);
+        Mockito.when(userRepostory.findByEmail(EMAIL)).thenReturn(Optional.of(UserEntity.builder()
+                .email(EMAIL)
+                .password("$2a$10$abcdefghijklmnopqrstuv")
+                .build()));
+
+        PrincipalCache principalCache = new PrincipalCache(new AppUserDetailsService(userRepostory, List.of()), 300L, 10_000);
+
+        TokenRevocationService tokenRevocationService = new TokenRevocationService(
+                Mockito.mock(TokenRevocadoRepository.class), 900_000L, 65_536, false);
+
+        tokenRevocado = jwtUtil.generateToken(new User(EMAIL, "", List.of()));
+        tokenRevocationService.revocar(jwtUtil.verify(tokenRevocado));
+
+        filter = new JwtRequestFilter(principalCache, jwtUtil, tokenRevocationService, new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public MockHttpServletResponse filtro() throws Exception {
+        // Incluye crear la petición simulada; es igual para ambos modos
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1.0/maquinas/tablero");
+        request.setServletPath("/maquinas/tablero");
+        request.addHeader("Authorization", "Bearer " + token);
+        return ejecutar(request);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse filtroCookie() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1.0/maquinas/tablero");
+        request.setServletPath("/maquinas/tablero");
+        request.setCookies(new Cookie("jwt", token));
+        return ejecutar(request);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse filtroRevocado() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1.0/maquinas/tablero");
+        request.setServletPath("/maquinas/tablero");
+        request.addHeader("Authorization", "Bearer " + tokenRevocado);
+        return ejecutar(request);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse rutaPublica() throws Exception {
+        // Referencia: costo de la petición simulada y la cadena sin verificar token
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1.0/login");
+        request.setServletPath("/login");
+        return ejecutar(request);
+    }
+
+    private MockHttpServletResponse ejecutar(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        SecurityContextHolder.clearContext();
+        return response;
+    }
+}
@@ -0,0 +1,63 @@
+package com.ram.base.benchmark;
+
+import com.ram.base.util.JwtClaims;
+import com.ram.base.util.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generación y verificación de JWT.
+ *
+ * - generar: firma HMAC-SHA256 y serialización del token (login).
+ * - verificar: token repetido; con conCache se resuelve con la caché de tokens
+ *   verificados, con sinCache se valida firma y se parsea en cada llamada.
+ * - verificarInvalido: token con firma alterada, siempre pasa por el parser.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "thisisthesecretkeyievercreatedinmydevelopmentcareer";
+
+    @Param({"conCache", "sinCache"})
+    private String modo;
+
+    private JwtUtil jwtUtil;
+    private UserDetails usuario;
+    private String token;
+    private String tokenInvalido;
+
+    @Setup
+    public void setup() {
+        jwtUtil = new JwtUtil(SECRET, "conCache".equals(modo) ? 10_000 : 0);
+        usuario = new User("benchmark@ram.com", "", List.of());
+        token = jwtUtil.generateToken(usuario);
+
+        // Se cambia un carácter de la firma
+        char ultimo = token.charAt(token.length() - 2);
+        tokenInvalido = token.substring(0, token.length() - 2) + (ultimo == 'A' ? 'B' : 'A') + token.charAt(token.length() - 1);
+    }
+
+    @Benchmark
+    public String generar() {
+        return jwtUtil.generateToken(usuario);
+    }
+
+    @Benchmark
+    public JwtClaims verificar() {
+        return jwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public JwtClaims verificarInvalido() {
+        return jwtUtil.verify(tokenInvalido);
+    }
+}
@@ -0,0 +1,80 @@
+package com.ram.base.benchmark;
+
+import com.ram.base.dto.inventarios.LocalidadDTO;
+import com.ram.base.dto.productos.BobinaDTO;
+import com.ram.base.entity.inventarios.LocalidadEntity;
+import com.ram.base.entity.productos.*;
+import com.ram.base.mapper.BobinaMapper;
+import com.ram.base.mapper.LocalidadMapper;
+import com.ram.base.repository.productos.*;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversión entidad/DTO de BobinaMapper y LocalidadMapper.
+ *
+ * toEntity de bobina hace un findById por cada catálogo; aquí los repositorios son mocks
+ * (stubOnly, sin registro de invocaciones), así que se mide el mapeo y no la base de datos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"10", "100"})
+    private int areas;
+
+    private BobinaMapper bobinaMapper;
+    private LocalidadMapper localidadMapper;
+    private BobinaEntity bobina;
+    private BobinaDTO bobinaDTO;
+    private LocalidadEntity localidad;
+
+    @Setup
+    public void setup() {
+        TipoEntity tipo = TipoEntity.builder().id_tipo(1L).tipo("KRAFT").estatus(true).build();
+        ClaseEntity clase = ClaseEntity.builder().id_clase(2L).clase("PRIMERA").estatus(true).build();
+        MolinoEntity molino = MolinoEntity.builder().id_molino(3L).molino("MOLINO NORTE").estatus(true).build();
+        GradoEntity grado = GradoEntity.builder().id_grado(4L).grado("A").estatus(true).build();
+        ProveedorEntity proveedor = ProveedorEntity.builder().id_proveedor(5L).nombreComercial("PAPELERA").estatus(true).build();
+
+        TipoRepository tipoRepository = Mockito.mock(TipoRepository.class, Mockito.withSettings().stubOnly());
+        ClaseRepository claseRepository = Mockito.mock(ClaseRepository.class, Mockito.withSettings().stubOnly());
+        MolinoRepository molinoRepository = Mockito.mock(MolinoRepository.class, Mockito.withSettings().stubOnly());
+        GradoRepository gradoRepository = Mockito.mock(GradoRepository.class, Mockito.withSettings().stubOnly());
+        ProveedorRepository proveedorRepository = Mockito.mock(ProveedorRepository.class, Mockito.withSettings().stubOnly());
+        Mockito.when(tipoRepository.findById(1L)).thenReturn(Optional.of(tipo));
+        Mockito.when(claseRepository.findById(2L)).thenReturn(Optional.of(clase));
+        Mockito.when(molinoRepository.findById(3L)).thenReturn(Optional.of(molino));
+        Mockito.when(gradoRepository.findById(4L)).thenReturn(Optional.of(grado));
+        Mockito.when(proveedorRepository.findById(5L)).thenReturn(Optional.of(proveedor));
+
+        bobinaMapper = new BobinaMapper(tipoRepository, claseRepository, molinoRepository, gradoRepository, proveedorRepository);
+        localidadMapper = new LocalidadMapper();
+
+        bobina = Datos.bobina(1L, tipo, clase, molino, grado, proveedor);
+        bobinaDTO = bobinaMapper.toDTO(bobina);
+        localidad = Datos.localidad(1L, areas);
+    }
+
+    @Benchmark
+    public BobinaDTO bobinaToDTO() {
+        return bobinaMapper.toDTO(bobina);
+    }
+
+    @Benchmark
+    public BobinaEntity bobinaToEntity() {
+        return bobinaMapper.toEntity(bobinaDTO);
+    }
+
+    @Benchmark
+    public LocalidadDTO localidadToDTO() {
+        return localidadMapper.toDTO(localidad);
+    }
+}
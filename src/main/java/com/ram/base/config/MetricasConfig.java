@@ -0,0 +1,91 @@
+package com.ram.base.config;
+
+import com.ram.base.service.generic.PrincipalCache;
+import com.ram.base.service.inventarios.LocalidadArbolCache;
+import com.ram.base.service.procesos.MaquinaTableroCache;
+import com.ram.base.util.EstadisticasCache;
+import com.ram.base.util.JwtUtil;
+import com.ram.base.util.LimitedPasswordEncoder;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Métricas propias publicadas en /actuator/prometheus.
+ *
+ * Actuator ya publica la latencia por endpoint (http.server.requests), el pool de
+ * conexiones (hikaricp.connections.*), las estadísticas de Hibernate (hibernate.*) y la JVM.
+ * Aquí se agrega lo que Spring no conoce:
+ * - cache.gets{cache, result=hit|miss} y cache.size de las cachés en memoria.
+ * - Cola, rechazos y concurrencia del límite de hashes BCrypt.
+ * - Uso de los pools hashPool, calculoPool y asignacionPool.
+ *
+ * Los medidores leen los contadores existentes al momento del scrape; no agregan trabajo
+ * a las peticiones.
+ */
+@Configuration
+public class MetricasConfig {
+
+    @Bean
+    public MeterBinder cacheMetrics(PrincipalCache principalCache, JwtUtil jwtUtil,
+                                    LocalidadArbolCache localidadArbolCache,
+                                    MaquinaTableroCache maquinaTableroCache) {
+        return registry -> {
+            registrarCache(registry, "principal", principalCache.getEstadisticas());
+            registrarCache(registry, "jwt", jwtUtil.getEstadisticas());
+            registrarCache(registry, "localidad-arbol", localidadArbolCache.getEstadisticas());
+            registrarCache(registry, "maquina-tablero", maquinaTableroCache.getEstadisticas());
+
+            Gauge.builder("cache.size", principalCache, PrincipalCache::size)
+                    .tag("cache", "principal")
+                    .register(registry);
+            Gauge.builder("cache.size", jwtUtil, JwtUtil::size)
+                    .tag("cache", "jwt")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder hashMetrics(LimitedPasswordEncoder passwordEncoder) {
+        return registry -> {
+            Gauge.builder("seguridad.hash.concurrencia", passwordEncoder, LimitedPasswordEncoder::getConcurrencia)
+                    .description("Hashes BCrypt simultáneos permitidos")
+                    .register(registry);
+            Gauge.builder("seguridad.hash.en-cola", passwordEncoder, LimitedPasswordEncoder::getEnCola)
+                    .description("Hilos esperando un permiso de hash")
+                    .register(registry);
+            FunctionCounter.builder("seguridad.hash.rechazados", passwordEncoder, LimitedPasswordEncoder::getRechazados)
+                    .description("Hashes rechazados por exceder la espera máxima (503)")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder poolMetrics(@Qualifier("hashPool") ForkJoinPool hashPool,
+                                   @Qualifier("calculoPool") ForkJoinPool calculoPool,
+                                   @Qualifier("asignacionPool") ForkJoinPool asignacionPool) {
+        return registry -> {
+            // Solo se instrumentan los pools ya creados; monitor() envolvería el executor
+            new ExecutorServiceMetrics(hashPool, "hashPool", Tags.empty()).bindTo(registry);
+            new ExecutorServiceMetrics(calculoPool, "calculoPool", Tags.empty()).bindTo(registry);
+            new ExecutorServiceMetrics(asignacionPool, "asignacionPool", Tags.empty()).bindTo(registry);
+        };
+    }
+
+    private static void registrarCache(MeterRegistry registry, String cache, EstadisticasCache estadisticas) {
+        FunctionCounter.builder("cache.gets", estadisticas, EstadisticasCache::getAciertos)
+                .tags("cache", cache, "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", estadisticas, EstadisticasCache::getFallos)
+                .tags("cache", cache, "result", "miss")
+                .register(registry);
+    }
+}
@@ -0,0 +1,38 @@
+package com.ram.base.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Configuración de los cálculos de procesos (planificación, asignación de personal, simulación).
+ * Habilita @Scheduled para la agregación periódica de la telemetría de máquinas.
+ */
+@Configuration
+@EnableScheduling
+public class ProcesosConfig {
+
+    /**
+     * Pool ForkJoin dedicado a los cálculos intensivos de CPU.
+     * Separado del commonPool para que una planificación larga no bloquee a los
+     * parallelStream del resto de la aplicación. Por defecto un hilo por núcleo.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ForkJoinPool calculoPool(@Value("${procesos.calculo.paralelismo:0}") int paralelismo) {
+        int hilos = paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(hilos);
+    }
+
+    /**
+     * Pool pequeño y exclusivo para replanear la asignación de personal (presupuestos de
+     * cientos de ms). En calculoPool esperaría detrás de planificaciones y simulaciones
+     * que ocupan todos sus hilos durante segundos.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ForkJoinPool asignacionPool(@Value("${procesos.asignacion.paralelismo:2}") int paralelismo) {
+        return new ForkJoinPool(Math.max(1, paralelismo));
+    }
+}
@@ -2,9 +2,13 @@ package com.ram.base.config;
 
 import com.ram.base.filter.JwtRequestFilter;
 import com.ram.base.service.generic.AppUserDetailsService;
+import com.ram.base.util.BCryptCalibrator;
+import com.ram.base.util.LimitedPasswordEncoder;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -13,8 +17,11 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -23,6 +30,8 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 @Configuration
 @EnableWebSecurity
@@ -41,7 +50,11 @@ public class SecurityConfig {
                         .requestMatchers("/login", "/register", "/send-reset-otp", "/reset-password", "/logout",
                                 "/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html",
                                 "/tipo/**", "/localidades/**", "/areas/**") // TEMPORAL: Para pruebas - Remover en producción
-                        .permitAll().anyRequest().authenticated())
+                        .permitAll()
+                        // Sondas del balanceador; el resto de Actuator solo para ADMIN (prometheus: metricasFilterChain)
+                        .requestMatchers("/actuator/health/**").permitAll()
+                        .requestMatchers("/admin/**", "/actuator/**").hasRole("ADMIN")
+                        .anyRequest().authenticated())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .logout(AbstractHttpConfigurer::disable)
                 .addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class)
@@ -49,9 +62,63 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * /actuator/prometheus: usuario de scrape por HTTP Basic (seguridad.metricas.*) o JWT de ADMIN.
+     * Sin contraseña configurada solo entra ADMIN
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Order(1)
+    public SecurityFilterChain metricasFilterChain(HttpSecurity http, PasswordEncoder passwordEncoder,
+                                                   @Value("${seguridad.metricas.usuario:prometheus}") String usuario,
+                                                   @Value("${seguridad.metricas.password:}") String password) throws Exception {
+        InMemoryUserDetailsManager scrape = new InMemoryUserDetailsManager();
+        if (!password.isBlank()) {
+            scrape.createUser(User.withUsername(usuario)
+                    .password(passwordEncoder.encode(password))
+                    .roles("METRICAS")
+                    .build());
+        }
+        DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider();
+        authenticationProvider.setUserDetailsService(scrape);
+        authenticationProvider.setPasswordEncoder(passwordEncoder);
+
+        http.securityMatcher("/actuator/prometheus")
+                .csrf(AbstractHttpConfigurer::disable)
+                .authorizeHttpRequests(auth -> auth.anyRequest().hasAnyRole("ADMIN", "METRICAS"))
+                .authenticationManager(new ProviderManager(authenticationProvider))
+                .httpBasic(basic -> basic.authenticationEntryPoint(customAuthenticationEntryPoint))
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class)
+                .exceptionHandling(ex -> ex.authenticationEntryPoint(customAuthenticationEntryPoint));
+        return http.build();
+    }
+
+    /**
+     * BCrypt con el costo calibrado para este nodo, guardado como {bcrypt}hash para poder
+     * cambiar de algoritmo o costo después (los hashes sin prefijo se leen como BCrypt).
+     * Con límite de hashes simultáneos (por defecto uno por núcleo); las peticiones que
+     * esperan más de seguridad.hash.espera-ms reciben 503
+     */
+    @Bean
+    public LimitedPasswordEncoder passwordEncoder(BCryptCalibrator bCryptCalibrator,
+                                                  @Value("${seguridad.hash.concurrencia:0}") int concurrencia,
+                                                  @Value("${seguridad.hash.espera-ms:2000}") long esperaMs) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bCryptCalibrator.getCosto());
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        int permisos = concurrencia > 0 ? concurrencia : Runtime.getRuntime().availableProcessors();
+        return new LimitedPasswordEncoder(delegating, permisos, esperaMs);
+    }
+
+    /**
+     * Pool acotado para hashear contraseñas en paralelo (alta masiva de usuarios). Por
+     * defecto la mitad de los núcleos, para dejar permisos de hash libres a los logins
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ForkJoinPool hashPool(@Value("${seguridad.hash.pool-paralelismo:0}") int paralelismo) {
+        int hilos = paralelismo > 0 ? paralelismo : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new ForkJoinPool(hilos);
     }
 
     @Bean
@@ -72,11 +139,14 @@ public class SecurityConfig {
     }
 
     @Bean
-    public AuthenticationManager authenticationManager() {
+    public AuthenticationManager authenticationManager(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider();
         authenticationProvider.setUserDetailsService(appUserDetailsService);
-        authenticationProvider.setPasswordEncoder(passwordEncoder());
-        return new ProviderManager(authenticationProvider);
+        authenticationProvider.setPasswordEncoder(passwordEncoder);
+        ProviderManager providerManager = new ProviderManager(authenticationProvider);
+        // El login necesita el hash guardado para decidir si hay que re-hashear (PasswordUpgradeService)
+        providerManager.setEraseCredentialsAfterAuthentication(false);
+        return providerManager;
     }
 
 }
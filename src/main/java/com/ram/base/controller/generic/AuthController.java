@@ -1,12 +1,17 @@
 package com.ram.base.controller.generic;
 
+import com.ram.base.exception.ServicioSaturadoException;
 import com.ram.base.io.AuthRequest;
 import com.ram.base.io.AuthResponse;
+import com.ram.base.io.PasswordHashMetricsResponse;
 import com.ram.base.io.ResetPasswordRequest;
-import com.ram.base.service.generic.AppUserDetailsService;
+import com.ram.base.service.generic.AuthRateLimiter;
+import com.ram.base.service.generic.PasswordUpgradeService;
 import com.ram.base.service.generic.ProfileService;
+import com.ram.base.service.generic.TokenRevocationService;
+import com.ram.base.util.JwtClaims;
 import com.ram.base.util.JwtUtil;
-import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
@@ -17,6 +22,7 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.CurrentSecurityContext;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
@@ -31,17 +37,22 @@ import java.util.Map;
 public class AuthController {
 
     private final AuthenticationManager authenticationManager;
-    private final AppUserDetailsService appUserDetailsService;
+    private final AuthRateLimiter authRateLimiter;
+    private final PasswordUpgradeService passwordUpgradeService;
 
     private final JwtUtil jwtUtil;
+    private final TokenRevocationService tokenRevocationService;
 
     private final ProfileService profileService;
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody AuthRequest request) {
+    public ResponseEntity<?> login(@RequestBody AuthRequest request, HttpServletRequest httpRequest) {
+        authRateLimiter.verificar("login", httpRequest, request.getEmail());
         try {
-            authenticate(request.getEmail(), request.getPassword());
-            final UserDetails userDetails = appUserDetailsService.loadUserByUsername(request.getEmail());
+            // El usuario ya se cargó durante la autenticación: no se vuelve a consultar
+            final UserDetails userDetails = (UserDetails) authenticate(request.getEmail(), request.getPassword()).getPrincipal();
+            // Hashes anteriores (sin prefijo o con menor costo) se actualizan con la contraseña ya verificada
+            passwordUpgradeService.upgradeIfNeeded(userDetails.getUsername(), request.getPassword(), userDetails.getPassword());
             final String jwtToken = jwtUtil.generateToken(userDetails);
             ResponseCookie cookie = ResponseCookie.from("jwt", jwtToken)
                     .httpOnly(true)
@@ -56,6 +67,8 @@ public class AuthController {
             error.put("error", true);
             error.put("message", "Email or password is incorrect");
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        } catch(ServicioSaturadoException ex) {
+            throw ex;
         } catch(DisabledException ex) {
             Map<String, Object> error = new HashMap<>();
             error.put("error", true);
@@ -69,8 +82,16 @@ public class AuthController {
         }
     }
 
-    private void authenticate(String email, String password) {
-        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(email, password));
+    private Authentication authenticate(String email, String password) {
+        return authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(email, password));
+    }
+
+    /**
+     * Costo de BCrypt, cola y latencias de hash; solo para ROLE_ADMIN (/admin/**)
+     */
+    @GetMapping("/admin/hash-metrics")
+    public PasswordHashMetricsResponse hashMetrics() {
+        return passwordUpgradeService.getMetrics();
     }
 
     @GetMapping("/is-authenticated")
@@ -79,7 +100,8 @@ public class AuthController {
     }
 
     @PostMapping("/send-reset-otp")
-    public void sendResetOtp(@RequestParam String email) {
+    public void sendResetOtp(@RequestParam String email, HttpServletRequest httpRequest) {
+        authRateLimiter.verificar("send-reset-otp", httpRequest, email);
         try {
             profileService.sendResetOtp(email);
         } catch (Exception e) {
@@ -91,13 +113,17 @@ public class AuthController {
     public void resetPassword(@Valid @RequestBody ResetPasswordRequest request) {
         try {
             profileService.resetPassword(request.getEmail(), request.getOtp(), request.getNewPassword());
+        } catch (ServicioSaturadoException e) {
+            throw e;
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
         }
     }
 
     @PostMapping("/send-otp")
-    public void sendVerifyOtp(@CurrentSecurityContext(expression = "authentication?.name") String email) {
+    public void sendVerifyOtp(@CurrentSecurityContext(expression = "authentication?.name") String email,
+                              HttpServletRequest httpRequest) {
+        authRateLimiter.verificar("send-otp", httpRequest, email);
         try {
             profileService.sendOtp(email);
         } catch (Exception e) {
@@ -120,7 +146,13 @@ public class AuthController {
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<?> logout(HttpServletResponse response) {
+    public ResponseEntity<?> logout(HttpServletRequest request) {
+        // /logout es pública: el token se lee y verifica aquí para revocarlo hasta su expiración
+        JwtClaims claims = jwtUtil.verify(JwtUtil.resolveToken(request));
+        if (claims != null) {
+            tokenRevocationService.revocar(claims);
+        }
+
         ResponseCookie cookie = ResponseCookie.from("jwt", "")
                 .httpOnly(true)
                 .secure(false)
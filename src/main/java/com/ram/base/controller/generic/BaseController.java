@@ -1,17 +1,24 @@
 package com.ram.base.controller.generic;
 
+import com.ram.base.dto.LoteRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 
 import java.io.Serializable;
+import java.util.Map;
 
 public interface BaseController <E , ID extends Serializable> {
 
-    public ResponseEntity <?> getAll();
+    public ResponseEntity <?> getAll(Pageable pageable);
+    public ResponseEntity <?> getAllAfter(ID lastId, int size);
+    public ResponseEntity <?> streamAll();
     public ResponseEntity<?> getById( @PathVariable  ID id);
     public ResponseEntity <?> save( @RequestBody E entity);
+    public ResponseEntity <?> saveAll( @RequestBody LoteRequest<E> request);
     public ResponseEntity <?> update( @PathVariable ID id,  @RequestBody E entity);
+    public ResponseEntity <?> patch( @PathVariable ID id,  @RequestBody Map<String, Object> campos);
     public ResponseEntity <?> activate(@PathVariable ID id);
     public ResponseEntity <?> deactivate( @PathVariable ID id);
 
@@ -1,5 +1,9 @@
 package com.ram.base.controller.generic;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ram.base.dto.LoteRequest;
+import com.ram.base.exception.BusinessException;
 import com.ram.base.service.generic.BaseServiceImpl;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -8,10 +12,17 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -27,24 +38,80 @@ public abstract class BaseControllerImpl<E, S extends BaseServiceImpl<E, Long>>
     @Autowired
     protected S service;
 
+    @Autowired
+    protected ObjectMapper objectMapper;
+
     @GetMapping("/")
-    @Operation(summary = "Obtener todas las entidades", description = "Retorna una lista de todas las entidades")
+    @Operation(summary = "Obtener entidades paginadas", description = "Retorna una página de entidades (tamaño máximo " + BaseServiceImpl.MAX_PAGE_SIZE + ")")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página obtenida exitosamente"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public ResponseEntity<Page<E>> getAll(
+            @Parameter(description = "Configuración de paginación")
+            @PageableDefault(size = 20) Pageable pageable) {
+        try {
+            log.debug("Obteniendo entidades: página {}, tamaño {}", pageable.getPageNumber(), pageable.getPageSize());
+            Page<E> entities = service.getAll(pageable);
+            log.debug("Se encontraron {} entidades", entities.getNumberOfElements());
+            return ResponseEntity.ok(entities);
+        } catch (Exception e) {
+            log.error("Error al obtener las entidades: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @GetMapping("/keyset")
+    @Operation(summary = "Obtener entidades por keyset", description = "Retorna las entidades con ID mayor a lastId ordenadas por ID. Para la siguiente página enviar el ID del último elemento")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Lista obtenida exitosamente"),
         @ApiResponse(responseCode = "500", description = "Error interno del servidor")
     })
-    public ResponseEntity<List<E>> getAll() {
+    public ResponseEntity<List<E>> getAllAfter(
+            @Parameter(description = "ID del último elemento recibido (vacío para la primera página)", example = "20")
+            @RequestParam(required = false) Long lastId,
+            @Parameter(description = "Tamaño de la página", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
         try {
-            log.debug("Obteniendo todas las entidades");
-            List<E> entities = service.getAll();
+            log.debug("Obteniendo {} entidades después del ID {}", size, lastId);
+            List<E> entities = service.getAllAfter(lastId, size);
             log.debug("Se encontraron {} entidades", entities.size());
             return ResponseEntity.ok(entities);
         } catch (Exception e) {
-            log.error("Error al obtener todas las entidades: {}", e.getMessage(), e);
+            log.error("Error al obtener entidades después del ID {}: {}", lastId, e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    @GetMapping("/stream")
+    @Operation(summary = "Exportar todas las entidades", description = "Transmite todas las entidades como arreglo JSON leyendo con cursor, sin cargarlas en memoria")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Transmisión iniciada"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        log.debug("Transmitiendo todas las entidades");
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                service.streamAll(entity -> {
+                    try {
+                        generator.writeObject(entity);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            } catch (IOException e) {
+                throw e;
+            } catch (Exception e) {
+                log.error("Error al transmitir las entidades: {}", e.getMessage(), e);
+                throw new IOException("Error al transmitir las entidades", e);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Obtener entidad por ID", description = "Retorna una entidad específica por su identificador")
     @ApiResponses(value = {
@@ -95,6 +162,30 @@ public abstract class BaseControllerImpl<E, S extends BaseServiceImpl<E, Long>>
         }
     }
 
+    @PostMapping("/lote")
+    @Operation(summary = "Crear entidades en lote", description = "Guarda varias entidades usando inserciones en batch JDBC")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Entidades creadas exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Datos de entrada inválidos"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public ResponseEntity<?> saveAll(
+            @Parameter(description = "Entidades a crear", required = true)
+            @Valid @RequestBody LoteRequest<E> request) {
+        try {
+            log.debug("Creando {} entidades en lote", request.getItems().size());
+            List<E> savedEntities = service.saveAll(request.getItems());
+            log.info("Se crearon {} entidades en lote", savedEntities.size());
+            return ResponseEntity.status(HttpStatus.CREATED).body(savedEntities);
+        } catch (Exception e) {
+            log.error("Error al crear entidades en lote: {}", e.getMessage(), e);
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Error al crear las entidades");
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Actualizar entidad", description = "Actualiza una entidad existente")
     @ApiResponses(value = {
@@ -128,6 +219,45 @@ public abstract class BaseControllerImpl<E, S extends BaseServiceImpl<E, Long>>
         }
     }
 
+    @PatchMapping("/{id}")
+    @Operation(summary = "Actualizar parcialmente entidad", description = "Actualiza solo los campos enviados con un único UPDATE")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Entidad actualizada exitosamente"),
+        @ApiResponse(responseCode = "404", description = "Entidad no encontrada"),
+        @ApiResponse(responseCode = "400", description = "Campos o valores inválidos"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public ResponseEntity<?> patch(
+            @Parameter(description = "ID de la entidad a actualizar", required = true, example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "Campos a actualizar (nombre del atributo -> valor)", required = true)
+            @RequestBody Map<String, Object> campos) {
+        try {
+            log.debug("Actualizando parcialmente entidad con ID: {}", id);
+            service.patch(id, campos);
+            log.info("Entidad con ID {} actualizada parcialmente", id);
+            return ResponseEntity.noContent().build();
+        } catch (BusinessException e) {
+            log.warn("Campos inválidos al actualizar entidad con ID {}: {}", id, e.getMessage());
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Datos de entrada inválidos");
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        } catch (IllegalArgumentException e) {
+            log.warn("Entidad no encontrada con ID: {}", id);
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Entidad no encontrada");
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        } catch (Exception e) {
+            log.error("Error al actualizar parcialmente entidad con ID {}: {}", id, e.getMessage(), e);
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Error al actualizar la entidad");
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+
     @PatchMapping("/activate/{id}")
     @Operation(summary = "Activar entidad", description = "Activa una entidad cambiando su estado a activo")
     @ApiResponses(value = {
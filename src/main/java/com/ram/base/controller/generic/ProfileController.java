@@ -2,7 +2,6 @@ package com.ram.base.controller.generic;
 
 import com.ram.base.io.ProfileRequest;
 import com.ram.base.io.ProfileResponse;
-import com.ram.base.service.generic.EmailService;
 import com.ram.base.service.generic.ProfileService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -15,14 +14,11 @@ import org.springframework.web.bind.annotation.*;
 public class ProfileController {
 
     private final ProfileService profileService;
-    private final EmailService emailService;
 
     @PostMapping("/register")
     @ResponseStatus(HttpStatus.CREATED)
     public ProfileResponse register(@Valid @RequestBody ProfileRequest request) {
-        ProfileResponse response = profileService.createProfile(request);
-        emailService.sendWelcomeEmail(response.getEmail(), response.getName());
-        return response;
+        return profileService.createProfile(request);
     }
 
     @GetMapping("/profile")
@@ -0,0 +1,28 @@
+package com.ram.base.controller.generic;
+
+import com.ram.base.dto.LoteRequest;
+import com.ram.base.dto.ResultadoLoteItem;
+import com.ram.base.io.ProfileRequest;
+import com.ram.base.io.ProfileResponse;
+import com.ram.base.service.generic.UserProvisioningService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Alta masiva de usuarios; solo para ROLE_ADMIN (seguridad.admin.emails)
+ */
+@RestController
+@RequestMapping("/admin/users")
+@RequiredArgsConstructor
+public class UserProvisioningController {
+
+    private final UserProvisioningService userProvisioningService;
+
+    @PostMapping("/bulk")
+    public List<ResultadoLoteItem<ProfileResponse>> createAll(@Valid @RequestBody LoteRequest<ProfileRequest> request) {
+        return userProvisioningService.createAll(request.getItems());
+    }
+}
@@ -1,6 +1,9 @@
 package com.ram.base.controller.inventarios;
 
+import com.ram.base.dto.LoteRequest;
+import com.ram.base.dto.ResultadoLoteItem;
 import com.ram.base.dto.inventarios.AreaDTO;
+import com.ram.base.dto.inventarios.ConteoAreasDTO;
 import com.ram.base.dto.inventarios.CreateAreaRequest;
 import com.ram.base.service.inventarios.AreaService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -54,6 +57,23 @@ public class AreaController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    @PostMapping("/localidad/{idLocalidad}/lote")
+    @Operation(
+            summary = "Crear áreas en lote",
+            description = "Crea varias áreas en una localidad existente. Regresa el resultado de cada elemento: " +
+                    "los nombres que ya existen o están repetidos en el lote se rechazan sin detener el resto"
+    )
+    public ResponseEntity<List<ResultadoLoteItem<AreaDTO>>> createAll(
+            @Parameter(description = "ID de la localidad", required = true, example = "1")
+            @PathVariable Long idLocalidad,
+            @Parameter(description = "Áreas a crear", required = true)
+            @Valid @RequestBody LoteRequest<AreaDTO> request) {
+
+        log.info("POST /areas/localidad/{}/lote - Creando {} áreas", idLocalidad, request.getItems().size());
+        List<ResultadoLoteItem<AreaDTO>> resultados = areaService.createAll(idLocalidad, request.getItems());
+        return ResponseEntity.ok(resultados);
+    }
+
     @PutMapping("/{id}")
     @Operation(
             summary = "Actualizar área",
@@ -71,6 +91,22 @@ public class AreaController {
         return ResponseEntity.ok(updated);
     }
 
+    @PatchMapping("/{id}")
+    @Operation(
+            summary = "Actualizar parcialmente área",
+            description = "Actualiza solo los campos enviados en un único UPDATE"
+    )
+    public ResponseEntity<Void> patch(
+            @Parameter(description = "ID del área", required = true, example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "Campos a actualizar", required = true)
+            @RequestBody Map<String, Object> campos) {
+
+        log.info("PATCH /areas/{} - Actualizando parcialmente área", id);
+        areaService.patch(id, campos);
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/{id}")
     @Operation(
             summary = "Obtener área por ID",
@@ -231,4 +267,19 @@ public class AreaController {
         
         return ResponseEntity.ok(response);
     }
+
+    @GetMapping("/conteos")
+    @Operation(
+            summary = "Contar áreas de varias localidades",
+            description = "Retorna el número de áreas totales y activas por localidad en una sola consulta. " +
+                    "Sin idsLocalidad regresa todas las localidades"
+    )
+    public ResponseEntity<List<ConteoAreasDTO>> countGroupedByLocalidad(
+            @Parameter(description = "IDs de las localidades (opcional)", example = "1,2,3")
+            @RequestParam(required = false) List<Long> idsLocalidad) {
+
+        log.info("GET /areas/conteos - Localidades: {}", idsLocalidad != null ? idsLocalidad.size() : "todas");
+        List<ConteoAreasDTO> conteos = areaService.countGroupedByLocalidad(idsLocalidad);
+        return ResponseEntity.ok(conteos);
+    }
 }
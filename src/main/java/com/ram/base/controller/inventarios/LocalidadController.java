@@ -1,6 +1,8 @@
 package com.ram.base.controller.inventarios;
 
+import com.ram.base.dto.inventarios.LocalidadArbolDTO;
 import com.ram.base.dto.inventarios.LocalidadDTO;
+import com.ram.base.service.inventarios.LocalidadArbolCache;
 import com.ram.base.service.inventarios.LocalidadService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -19,6 +21,7 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
 import java.util.List;
@@ -69,6 +72,42 @@ public class LocalidadController {
         return ResponseEntity.ok(updated);
     }
 
+    @PatchMapping("/{id}")
+    @Operation(
+            summary = "Actualizar parcialmente localidad",
+            description = "Actualiza solo los campos enviados en un único UPDATE"
+    )
+    public ResponseEntity<Void> patch(
+            @Parameter(description = "ID de la localidad", required = true, example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "Campos a actualizar", required = true)
+            @RequestBody Map<String, Object> campos) {
+
+        log.info("PATCH /localidades/{} - Actualizando parcialmente localidad", id);
+        localidadService.patch(id, campos);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/arbol")
+    @Operation(
+            summary = "Obtener árbol de localidades y áreas",
+            description = "Retorna todas las localidades con sus áreas y conteos desde caché. " +
+                    "Soporta If-None-Match: responde 304 si el árbol no ha cambiado"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Árbol de localidades"),
+            @ApiResponse(responseCode = "304", description = "El árbol no ha cambiado desde el ETag enviado")
+    })
+    public ResponseEntity<List<LocalidadArbolDTO>> getArbol(WebRequest request) {
+        log.info("GET /localidades/arbol - Obteniendo árbol de localidades");
+        LocalidadArbolCache.Arbol arbol = localidadService.getArbol();
+
+        if (request.checkNotModified(arbol.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(arbol.getEtag()).build();
+        }
+        return ResponseEntity.ok().eTag(arbol.getEtag()).body(arbol.getLocalidades());
+    }
+
     @GetMapping("/{id}")
     @Operation(
             summary = "Obtener localidad por ID",
@@ -88,9 +127,11 @@ public class LocalidadController {
             summary = "Obtener todas las localidades",
             description = "Retorna una lista de todas las localidades sin paginación"
     )
-    public ResponseEntity<List<LocalidadDTO>> getAll() {
-        log.info("GET /localidades - Obteniendo todas las localidades");
-        List<LocalidadDTO> localidades = localidadService.getAll();
+    public ResponseEntity<List<LocalidadDTO>> getAll(
+            @Parameter(description = "Incluir las áreas de cada localidad (false = vista resumida sin áreas)")
+            @RequestParam(defaultValue = "true") boolean includeAreas) {
+        log.info("GET /localidades - Obteniendo todas las localidades (includeAreas={})", includeAreas);
+        List<LocalidadDTO> localidades = localidadService.getAll(includeAreas);
         return ResponseEntity.ok(localidades);
     }
 
@@ -102,11 +143,13 @@ public class LocalidadController {
 
     public ResponseEntity<Page<LocalidadDTO>> getAllPaginated(
             @Parameter(description = "Configuración de paginación")
-            @PageableDefault(size = 10, sort = "nombre", direction = Sort.Direction.ASC) Pageable pageable) {
+            @PageableDefault(size = 10, sort = "nombre", direction = Sort.Direction.ASC) Pageable pageable,
+            @Parameter(description = "Incluir las áreas de cada localidad (false = vista resumida sin áreas)")
+            @RequestParam(defaultValue = "true") boolean includeAreas) {
         
         log.info("GET /localidades/paginated - Página: {}, Tamaño: {}", 
                 pageable.getPageNumber(), pageable.getPageSize());
-        Page<LocalidadDTO> page = localidadService.getAllPaginated(pageable);
+        Page<LocalidadDTO> page = localidadService.getAllPaginated(pageable, includeAreas);
         return ResponseEntity.ok(page);
     }
 
@@ -116,9 +159,11 @@ public class LocalidadController {
             description = "Retorna solo las localidades con estatus activo"
     )
 
-    public ResponseEntity<List<LocalidadDTO>> getActive() {
+    public ResponseEntity<List<LocalidadDTO>> getActive(
+            @Parameter(description = "Incluir las áreas de cada localidad (false = vista resumida sin áreas)")
+            @RequestParam(defaultValue = "true") boolean includeAreas) {
         log.info("GET /localidades/activas - Obteniendo localidades activas");
-        List<LocalidadDTO> activas = localidadService.getActive();
+        List<LocalidadDTO> activas = localidadService.getActive(includeAreas);
         return ResponseEntity.ok(activas);
     }
 
@@ -130,39 +175,47 @@ public class LocalidadController {
 
     public ResponseEntity<List<LocalidadDTO>> searchByNombre(
             @Parameter(description = "Texto a buscar en el nombre", required = true, example = "México")
-            @RequestParam String nombre) {
+            @RequestParam String nombre,
+            @Parameter(description = "Incluir las áreas de cada localidad (false = vista resumida sin áreas)")
+            @RequestParam(defaultValue = "true") boolean includeAreas) {
         
         log.info("GET /localidades/buscar?nombre={}", nombre);
-        List<LocalidadDTO> resultados = localidadService.searchByNombre(nombre);
+        List<LocalidadDTO> resultados = localidadService.searchByNombre(nombre, includeAreas);
         return ResponseEntity.ok(resultados);
     }
 
     @PatchMapping("/{id}/activar")
     @Operation(
             summary = "Activar localidad",
-            description = "Cambia el estatus de la localidad a activo"
+            description = "Cambia el estatus de la localidad a activo. Con cascadeAreas=true también " +
+                    "activa sus áreas y regresa cuántas cambiaron en areasAfectadas"
     )
 
     public ResponseEntity<LocalidadDTO> activate(
             @Parameter(description = "ID de la localidad", required = true, example = "1")
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            @Parameter(description = "Aplicar el mismo estatus a todas las áreas de la localidad")
+            @RequestParam(defaultValue = "false") boolean cascadeAreas) {
         
-        log.info("PATCH /localidades/{}/activar", id);
-        LocalidadDTO activated = localidadService.activate(id);
+        log.info("PATCH /localidades/{}/activar (cascadeAreas={})", id, cascadeAreas);
+        LocalidadDTO activated = localidadService.activate(id, cascadeAreas);
         return ResponseEntity.ok(activated);
     }
 
     @PatchMapping("/{id}/desactivar")
     @Operation(
             summary = "Desactivar localidad",
-            description = "Cambia el estatus de la localidad a inactivo"
+            description = "Cambia el estatus de la localidad a inactivo. Con cascadeAreas=true también " +
+                    "desactiva sus áreas y regresa cuántas cambiaron en areasAfectadas"
     )
     public ResponseEntity<LocalidadDTO> deactivate(
             @Parameter(description = "ID de la localidad", required = true, example = "1")
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            @Parameter(description = "Aplicar el mismo estatus a todas las áreas de la localidad")
+            @RequestParam(defaultValue = "false") boolean cascadeAreas) {
         
-        log.info("PATCH /localidades/{}/desactivar", id);
-        LocalidadDTO deactivated = localidadService.deactivate(id);
+        log.info("PATCH /localidades/{}/desactivar (cascadeAreas={})", id, cascadeAreas);
+        LocalidadDTO deactivated = localidadService.deactivate(id, cascadeAreas);
         return ResponseEntity.ok(deactivated);
     }
 
@@ -0,0 +1,43 @@
+package com.ram.base.controller.procesos;
+
+import com.ram.base.dto.procesos.AsignacionPersonalDTO;
+import com.ram.base.dto.procesos.AsignacionPersonalRequest;
+import com.ram.base.service.procesos.AsignacionPersonalService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller REST para la asignación de personal por turno
+ */
+@Slf4j
+@RestController
+@RequestMapping("/asignacion-personal")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Tag(name = "Asignación de personal", description = "API para asignar operadores a procesos por turno")
+public class AsignacionPersonalController {
+
+    private final AsignacionPersonalService asignacionPersonalService;
+
+    @PostMapping
+    @Operation(
+            summary = "Asignar personal del turno",
+            description = "Asigna operadores a los procesos respetando personalRequerido y nivelExperiencia. " +
+                    "Con asignacionActual replanea moviendo a la menor cantidad de personas"
+    )
+    public ResponseEntity<AsignacionPersonalDTO> asignar(
+            @Parameter(description = "Operadores, procesos del turno y asignación vigente", required = true)
+            @Valid @RequestBody AsignacionPersonalRequest request) {
+
+        log.info("POST /asignacion-personal - {} operadores, {} procesos",
+                request.getOperadores().size(), request.getIdsProceso().size());
+        AsignacionPersonalDTO asignacion = asignacionPersonalService.asignar(request);
+        return ResponseEntity.ok(asignacion);
+    }
+}
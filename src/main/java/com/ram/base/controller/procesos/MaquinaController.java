@@ -0,0 +1,51 @@
+package com.ram.base.controller.procesos;
+
+import com.ram.base.dto.procesos.MaquinaTableroDTO;
+import com.ram.base.service.procesos.MaquinaService;
+import com.ram.base.service.procesos.MaquinaTableroCache;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+
+/**
+ * Controller REST para la consulta de máquinas y sus procesos
+ */
+@Slf4j
+@RestController
+@RequestMapping("/maquinas")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Tag(name = "Máquinas", description = "API de consulta de máquinas y sus procesos")
+public class MaquinaController {
+
+    private final MaquinaService maquinaService;
+
+    @GetMapping("/tablero")
+    @Operation(
+            summary = "Obtener tablero de máquinas",
+            description = "Retorna todas las máquinas con sus procesos y el tiempo total de proceso por " +
+                    "máquina desde caché. Soporta If-None-Match: responde 304 si el tablero no ha cambiado"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tablero de máquinas"),
+            @ApiResponse(responseCode = "304", description = "El tablero no ha cambiado desde el ETag enviado")
+    })
+    public ResponseEntity<List<MaquinaTableroDTO>> getTablero(WebRequest request) {
+        log.debug("GET /maquinas/tablero - Obteniendo tablero de máquinas");
+        MaquinaTableroCache.Tablero tablero = maquinaService.getTablero();
+
+        if (request.checkNotModified(tablero.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tablero.getEtag()).build();
+        }
+        return ResponseEntity.ok().eTag(tablero.getEtag()).body(tablero.getMaquinas());
+    }
+}
@@ -0,0 +1,43 @@
+package com.ram.base.controller.procesos;
+
+import com.ram.base.dto.procesos.PlanificacionDTO;
+import com.ram.base.dto.procesos.PlanificacionRequest;
+import com.ram.base.service.procesos.PlanificacionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller REST para la planificación de producción
+ */
+@Slf4j
+@RestController
+@RequestMapping("/planificacion")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Tag(name = "Planificación", description = "API para generar programas de producción por máquina")
+public class PlanificacionController {
+
+    private final PlanificacionService planificacionService;
+
+    @PostMapping
+    @Operation(
+            summary = "Generar programa de producción",
+            description = "Recibe trabajos (secuencias de procesos) y regresa el programa por máquina que " +
+                    "minimiza el makespan. La búsqueda se detiene al agotar presupuestoMs"
+    )
+    public ResponseEntity<PlanificacionDTO> planificar(
+            @Parameter(description = "Trabajos a planificar y presupuesto de tiempo", required = true)
+            @Valid @RequestBody PlanificacionRequest request) {
+
+        log.info("POST /planificacion - {} trabajos, presupuesto {} ms",
+                request.getTrabajos().size(), request.getPresupuestoMs());
+        PlanificacionDTO planificacion = planificacionService.planificar(request);
+        return ResponseEntity.ok(planificacion);
+    }
+}
@@ -0,0 +1,44 @@
+package com.ram.base.controller.procesos;
+
+import com.ram.base.dto.procesos.SimulacionDTO;
+import com.ram.base.dto.procesos.SimulacionRequest;
+import com.ram.base.service.procesos.SimulacionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller REST para la simulación del throughput de la planta
+ */
+@Slf4j
+@RestController
+@RequestMapping("/simulacion")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Tag(name = "Simulación", description = "API para simular escenarios de capacidad de la planta")
+public class SimulacionController {
+
+    private final SimulacionService simulacionService;
+
+    @PostMapping
+    @Operation(
+            summary = "Simular throughput de la planta",
+            description = "Simula por eventos discretos el paso de los trabajos por las máquinas (rutas, " +
+                    "capacidad por máquina, operadores y patrón de llegada). Regresa utilización, colas y " +
+                    "throughput con intervalos de confianza del 95% sobre las réplicas"
+    )
+    public ResponseEntity<SimulacionDTO> simular(
+            @Parameter(description = "Escenario a simular", required = true)
+            @Valid @RequestBody SimulacionRequest request) {
+
+        log.info("POST /simulacion - {} rutas, duración {}, réplicas {}",
+                request.getRutas().size(), request.getDuracion(), request.getReplicaciones());
+        SimulacionDTO simulacion = simulacionService.simular(request);
+        return ResponseEntity.ok(simulacion);
+    }
+}
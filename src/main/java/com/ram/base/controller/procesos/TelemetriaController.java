@@ -0,0 +1,57 @@
+package com.ram.base.controller.procesos;
+
+import com.ram.base.dto.LoteRequest;
+import com.ram.base.dto.procesos.EventoTelemetriaDTO;
+import com.ram.base.dto.procesos.OeeMaquinaDTO;
+import com.ram.base.dto.procesos.ResultadoIngestaDTO;
+import com.ram.base.service.procesos.TelemetriaService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller REST para la telemetría de máquinas
+ */
+@Slf4j
+@RestController
+@RequestMapping("/telemetria")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Tag(name = "Telemetría", description = "API para recibir eventos de máquinas y consultar indicadores OEE")
+public class TelemetriaController {
+
+    private final TelemetriaService telemetriaService;
+
+    @PostMapping("/eventos")
+    @Operation(
+            summary = "Registrar eventos de telemetría",
+            description = "Recibe un lote de eventos RUN/STOP/COUNT. Los eventos se encolan y se agregan por " +
+                    "minuto de forma asíncrona; la respuesta indica cuántos se aceptaron, rechazaron o descartaron"
+    )
+    public ResponseEntity<ResultadoIngestaDTO> registrar(
+            @Parameter(description = "Lote de eventos", required = true)
+            @Valid @RequestBody LoteRequest<EventoTelemetriaDTO> request) {
+
+        ResultadoIngestaDTO resultado = telemetriaService.registrar(request.getItems());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(resultado);
+    }
+
+    @GetMapping("/oee")
+    @Operation(
+            summary = "Indicadores OEE en vivo",
+            description = "Estado actual, disponibilidad, rendimiento, calidad y OEE por máquina y proceso " +
+                    "en la ventana de los últimos minutos (telemetria.ventana-minutos)"
+    )
+    public ResponseEntity<List<OeeMaquinaDTO>> getIndicadores() {
+        log.debug("GET /telemetria/oee");
+        return ResponseEntity.ok(telemetriaService.getIndicadores());
+    }
+}
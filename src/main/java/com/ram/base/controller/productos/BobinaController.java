@@ -1,5 +1,6 @@
 package com.ram.base.controller.productos;
 
+import com.ram.base.dto.LoteRequest;
 import com.ram.base.dto.productos.BobinaDTO;
 import com.ram.base.service.productos.BobinaService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -47,6 +48,20 @@ public class BobinaController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    @PostMapping("/lote")
+    @Operation(
+            summary = "Crear bobinas en lote",
+            description = "Crea varias bobinas validando códigos duplicados en una sola consulta e insertando en batch"
+    )
+    public ResponseEntity<List<BobinaDTO>> createAll(
+            @Parameter(description = "Bobinas a crear", required = true)
+            @Valid @RequestBody LoteRequest<BobinaDTO> request) {
+
+        log.info("POST /bobinas/lote - Creando {} bobinas", request.getItems().size());
+        List<BobinaDTO> created = bobinaService.createAll(request.getItems());
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+
     @PutMapping("/{id}")
     @Operation(
             summary = "Actualizar bobina",
@@ -63,6 +78,22 @@ public class BobinaController {
         return ResponseEntity.ok(updated);
     }
 
+    @PatchMapping("/{id}")
+    @Operation(
+            summary = "Actualizar parcialmente bobina",
+            description = "Actualiza solo los campos enviados en un único UPDATE"
+    )
+    public ResponseEntity<Void> patch(
+            @Parameter(description = "ID de la bobina", required = true, example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "Campos a actualizar", required = true)
+            @RequestBody Map<String, Object> campos) {
+
+        log.info("PATCH /bobinas/{} - Actualizando parcialmente bobina", id);
+        bobinaService.patch(id, campos);
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/{id}")
     @Operation(
             summary = "Obtener bobina por ID",
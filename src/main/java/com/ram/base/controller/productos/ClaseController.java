@@ -1,5 +1,6 @@
 package com.ram.base.controller.productos;
 
+import com.ram.base.dto.LoteRequest;
 import com.ram.base.dto.productos.ClaseDTO;
 import com.ram.base.service.productos.ClaseService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -47,6 +48,20 @@ public class ClaseController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    @PostMapping("/lote")
+    @Operation(
+            summary = "Crear clases en lote",
+            description = "Crea varias clases validando duplicados en una sola consulta e insertando en batch"
+    )
+    public ResponseEntity<List<ClaseDTO>> createAll(
+            @Parameter(description = "Clases a crear", required = true)
+            @Valid @RequestBody LoteRequest<ClaseDTO> request) {
+
+        log.info("POST /clases/lote - Creando {} clases", request.getItems().size());
+        List<ClaseDTO> created = claseService.createAll(request.getItems());
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+
     @PutMapping("/{id}")
     @Operation(
             summary = "Actualizar clase",
@@ -63,6 +78,22 @@ public class ClaseController {
         return ResponseEntity.ok(updated);
     }
 
+    @PatchMapping("/{id}")
+    @Operation(
+            summary = "Actualizar parcialmente clase",
+            description = "Actualiza solo los campos enviados en un único UPDATE"
+    )
+    public ResponseEntity<Void> patch(
+            @Parameter(description = "ID de la clase", required = true, example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "Campos a actualizar", required = true)
+            @RequestBody Map<String, Object> campos) {
+
+        log.info("PATCH /clases/{} - Actualizando parcialmente clase", id);
+        claseService.patch(id, campos);
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/{id}")
     @Operation(
             summary = "Obtener clase por ID",
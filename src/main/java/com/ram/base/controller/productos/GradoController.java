@@ -1,5 +1,6 @@
 package com.ram.base.controller.productos;
 
+import com.ram.base.dto.LoteRequest;
 import com.ram.base.dto.productos.GradoDTO;
 import com.ram.base.service.productos.GradoService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -47,6 +48,20 @@ public class GradoController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    @PostMapping("/lote")
+    @Operation(
+            summary = "Crear grados en lote",
+            description = "Crea varios grados validando duplicados en una sola consulta e insertando en batch"
+    )
+    public ResponseEntity<List<GradoDTO>> createAll(
+            @Parameter(description = "Grados a crear", required = true)
+            @Valid @RequestBody LoteRequest<GradoDTO> request) {
+
+        log.info("POST /grados/lote - Creando {} grados", request.getItems().size());
+        List<GradoDTO> created = gradoService.createAll(request.getItems());
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+
     @PutMapping("/{id}")
     @Operation(
             summary = "Actualizar grado",
@@ -63,6 +78,22 @@ public class GradoController {
         return ResponseEntity.ok(updated);
     }
 
+    @PatchMapping("/{id}")
+    @Operation(
+            summary = "Actualizar parcialmente grado",
+            description = "Actualiza solo los campos enviados en un único UPDATE"
+    )
+    public ResponseEntity<Void> patch(
+            @Parameter(description = "ID del grado", required = true, example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "Campos a actualizar", required = true)
+            @RequestBody Map<String, Object> campos) {
+
+        log.info("PATCH /grados/{} - Actualizando parcialmente grado", id);
+        gradoService.patch(id, campos);
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/{id}")
     @Operation(
             summary = "Obtener grado por ID",
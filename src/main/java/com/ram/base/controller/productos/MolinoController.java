@@ -1,5 +1,6 @@
 package com.ram.base.controller.productos;
 
+import com.ram.base.dto.LoteRequest;
 import com.ram.base.dto.productos.MolinoDTO;
 import com.ram.base.service.productos.MolinoService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -47,6 +48,20 @@ public class MolinoController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    @PostMapping("/lote")
+    @Operation(
+            summary = "Crear molinos en lote",
+            description = "Crea varios molinos validando duplicados en una sola consulta e insertando en batch"
+    )
+    public ResponseEntity<List<MolinoDTO>> createAll(
+            @Parameter(description = "Molinos a crear", required = true)
+            @Valid @RequestBody LoteRequest<MolinoDTO> request) {
+
+        log.info("POST /molinos/lote - Creando {} molinos", request.getItems().size());
+        List<MolinoDTO> created = molinoService.createAll(request.getItems());
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+
     @PutMapping("/{id}")
     @Operation(
             summary = "Actualizar molino",
@@ -63,6 +78,22 @@ public class MolinoController {
         return ResponseEntity.ok(updated);
     }
 
+    @PatchMapping("/{id}")
+    @Operation(
+            summary = "Actualizar parcialmente molino",
+            description = "Actualiza solo los campos enviados en un único UPDATE"
+    )
+    public ResponseEntity<Void> patch(
+            @Parameter(description = "ID del molino", required = true, example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "Campos a actualizar", required = true)
+            @RequestBody Map<String, Object> campos) {
+
+        log.info("PATCH /molinos/{} - Actualizando parcialmente molino", id);
+        molinoService.patch(id, campos);
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/{id}")
     @Operation(
             summary = "Obtener molino por ID",
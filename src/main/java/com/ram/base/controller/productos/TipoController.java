@@ -1,5 +1,6 @@
 package com.ram.base.controller.productos;
 
+import com.ram.base.dto.LoteRequest;
 import com.ram.base.dto.productos.TipoDTO;
 import com.ram.base.service.productos.TipoService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -47,6 +48,20 @@ public class TipoController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    @PostMapping("/lote")
+    @Operation(
+            summary = "Crear tipos en lote",
+            description = "Crea varios tipos validando duplicados en una sola consulta e insertando en batch"
+    )
+    public ResponseEntity<List<TipoDTO>> createAll(
+            @Parameter(description = "Tipos a crear", required = true)
+            @Valid @RequestBody LoteRequest<TipoDTO> request) {
+
+        log.info("POST /tipos/lote - Creando {} tipos", request.getItems().size());
+        List<TipoDTO> created = tipoService.createAll(request.getItems());
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+
     @PutMapping("/{id}")
     @Operation(
             summary = "Actualizar tipo",
@@ -63,6 +78,22 @@ public class TipoController {
         return ResponseEntity.ok(updated);
     }
 
+    @PatchMapping("/{id}")
+    @Operation(
+            summary = "Actualizar parcialmente tipo",
+            description = "Actualiza solo los campos enviados en un único UPDATE"
+    )
+    public ResponseEntity<Void> patch(
+            @Parameter(description = "ID del tipo", required = true, example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "Campos a actualizar", required = true)
+            @RequestBody Map<String, Object> campos) {
+
+        log.info("PATCH /tipos/{} - Actualizando parcialmente tipo", id);
+        tipoService.patch(id, campos);
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/{id}")
     @Operation(
             summary = "Obtener tipo por ID",
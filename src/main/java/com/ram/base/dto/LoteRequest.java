@@ -0,0 +1,32 @@
+package com.ram.base.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Request genérico para operaciones en lote.
+ * Cada elemento se valida con las reglas de su propio DTO.
+ * @param <T> Tipo de los elementos del lote
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request para operaciones en lote")
+public class LoteRequest<T> {
+
+    public static final int MAX_ITEMS = 1000;
+
+    @Valid
+    @NotEmpty(message = "El lote no puede estar vacío")
+    @Size(max = MAX_ITEMS, message = "El lote no puede exceder 1000 elementos")
+    @Schema(description = "Elementos del lote")
+    private List<T> items = new ArrayList<>();
+}
@@ -0,0 +1,41 @@
+package com.ram.base.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de un elemento en una operación en lote.
+ * Permite que un lote se procese parcialmente: cada elemento indica si se creó
+ * o el motivo por el que se rechazó.
+ * @param <T> Tipo del elemento creado
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado de un elemento de un lote")
+public class ResultadoLoteItem<T> {
+
+    @Schema(description = "Posición del elemento en el lote (base 0)")
+    private int indice;
+
+    @Schema(description = "Indica si el elemento se creó")
+    private boolean creado;
+
+    @Schema(description = "Elemento creado (null si fue rechazado)")
+    private T dato;
+
+    @Schema(description = "Motivo del rechazo (null si se creó)")
+    private String error;
+
+    public static <T> ResultadoLoteItem<T> creado(int indice, T dato) {
+        return new ResultadoLoteItem<>(indice, true, dato, null);
+    }
+
+    public static <T> ResultadoLoteItem<T> rechazado(int indice, String error) {
+        return new ResultadoLoteItem<>(indice, false, null, error);
+    }
+}
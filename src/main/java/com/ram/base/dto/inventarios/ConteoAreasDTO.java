@@ -0,0 +1,26 @@
+package com.ram.base.dto.inventarios;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO con el conteo de áreas (totales y activas) de una localidad
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Conteo de áreas de una localidad")
+public class ConteoAreasDTO {
+
+    private Long idLocalidad;
+
+    @Schema(description = "Número total de áreas")
+    private Long total;
+
+    @Schema(description = "Número de áreas activas")
+    private Long activas;
+}
@@ -0,0 +1,48 @@
+package com.ram.base.dto.inventarios;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Nodo inmutable del árbol Localidad -> Áreas.
+ *
+ * Se construye una sola vez por versión del árbol y se comparte entre todas las
+ * peticiones, por eso no tiene setters y la lista de áreas es de solo lectura.
+ */
+@Value
+@Builder
+@Schema(description = "Localidad con sus áreas y conteos (árbol de ubicaciones)")
+public class LocalidadArbolDTO {
+
+    Long idLocalidad;
+
+    String nombre;
+
+    Boolean estatus;
+
+    @Schema(description = "Número total de áreas de la localidad")
+    int totalAreas;
+
+    @Schema(description = "Número de áreas activas de la localidad")
+    int areasActivas;
+
+    List<AreaNodo> areas;
+
+    /**
+     * Área dentro del árbol (sin datos de la localidad, ya están en el nodo padre)
+     */
+    @Value
+    @Builder
+    @Schema(description = "Área dentro del árbol de ubicaciones")
+    public static class AreaNodo {
+
+        Long idArea;
+
+        String nombre;
+
+        Boolean estatus;
+    }
+}
@@ -1,5 +1,6 @@
 package com.ram.base.dto.inventarios;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.Valid;
@@ -31,10 +32,16 @@ public class LocalidadDTO {
     private String nombre;
 
     @Valid
-    @Schema(description = "Lista de áreas asociadas a la localidad")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "Lista de áreas asociadas a la localidad (se omite con includeAreas=false)")
     @Builder.Default
     private List<AreaDTO> areas = new ArrayList<>();
 
     @Builder.Default
     private Boolean estatus = true;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "Áreas cuyo estatus cambió al activar/desactivar en cascada (solo con cascadeAreas=true)")
+    private Integer areasAfectadas;
 }
@@ -0,0 +1,40 @@
+package com.ram.base.dto.procesos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Resultado de la asignación de personal de un turno
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Asignación de operadores a procesos")
+public class AsignacionPersonalDTO {
+
+    private List<PuestoAsignadoDTO> puestos;
+
+    @Schema(description = "Operadores disponibles que quedaron sin asignar")
+    private List<Long> operadoresLibres;
+
+    @Schema(description = "Total de puestos sin cubrir")
+    private int personalFaltante;
+
+    @Schema(description = "Operadores que cambian respecto a la asignación actual")
+    private int cambios;
+
+    @Schema(description = "Suma de niveles por encima del requerido (experiencia desaprovechada)")
+    private int sobrecalificacion;
+
+    @Schema(description = "Tiempo de cálculo en milisegundos")
+    private long tiempoCalculoMs;
+
+    @Schema(description = "Número de movimientos evaluados")
+    private long evaluaciones;
+}
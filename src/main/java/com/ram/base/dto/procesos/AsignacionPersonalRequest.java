@@ -0,0 +1,53 @@
+package com.ram.base.dto.procesos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request para asignar el personal de un turno a los procesos
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Operadores del turno, procesos a cubrir y asignación actual (para replanear)")
+public class AsignacionPersonalRequest {
+
+    @Valid
+    @NotEmpty(message = "Debe enviar al menos un operador")
+    @Size(max = 5000, message = "No se pueden asignar más de 5000 operadores por petición")
+    @Builder.Default
+    private List<OperadorDTO> operadores = new ArrayList<>();
+
+    @NotEmpty(message = "Debe enviar al menos un proceso")
+    @Schema(description = "IDs de los procesos que se ejecutan en el turno", example = "[1, 2, 5]")
+    @Builder.Default
+    private List<@NotNull Long> idsProceso = new ArrayList<>();
+
+    @Schema(description = "Asignación vigente (idOperador -> idProceso). Si se envía, se minimizan los cambios")
+    @Builder.Default
+    private Map<Long, Long> asignacionActual = new HashMap<>();
+
+    @Min(value = 10, message = "El presupuesto mínimo es de 10 ms")
+    @Max(value = 10000, message = "El presupuesto máximo es de 10000 ms")
+    @Schema(description = "Tiempo máximo de cálculo en milisegundos", example = "200")
+    @Builder.Default
+    private Long presupuestoMs = 200L;
+
+    @Schema(description = "Semilla para la búsqueda (opcional)", example = "42")
+    private Long semilla;
+}
@@ -0,0 +1,48 @@
+package com.ram.base.dto.procesos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Evento de telemetría enviado por una máquina
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Evento de telemetría de una máquina")
+public class EventoTelemetriaDTO {
+
+    @NotNull(message = "El ID de la máquina es obligatorio")
+    @Schema(description = "ID de la máquina", example = "1")
+    private Long idMaquina;
+
+    @Schema(description = "ID del proceso que ejecuta la máquina (opcional; se mantiene el último reportado)", example = "4")
+    private Long idProceso;
+
+    @NotNull(message = "El tipo de evento es obligatorio")
+    @Pattern(regexp = "RUN|STOP|COUNT", message = "El tipo de evento debe ser RUN, STOP o COUNT")
+    @Schema(description = "RUN (inicia operación), STOP (paro) o COUNT (piezas producidas)",
+            example = "COUNT", allowableValues = {"RUN", "STOP", "COUNT"})
+    private String tipo;
+
+    @NotNull(message = "El tiempo del evento es obligatorio")
+    @Schema(description = "Momento del evento en milisegundos desde epoch (UTC)", example = "1760860800000")
+    private Long tiempo;
+
+    @PositiveOrZero(message = "La cantidad no puede ser negativa")
+    @Schema(description = "Piezas producidas (solo COUNT)", example = "1")
+    @Builder.Default
+    private Integer cantidad = 1;
+
+    @PositiveOrZero(message = "Los rechazos no pueden ser negativos")
+    @Schema(description = "Piezas rechazadas incluidas en la cantidad (solo COUNT)", example = "0")
+    @Builder.Default
+    private Integer rechazos = 0;
+}
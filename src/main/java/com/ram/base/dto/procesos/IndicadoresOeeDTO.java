@@ -0,0 +1,50 @@
+package com.ram.base.dto.procesos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Indicadores OEE de una máquina o de un proceso en la ventana de tiempo
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Disponibilidad, rendimiento, calidad y OEE en la ventana de tiempo")
+public class IndicadoresOeeDTO {
+
+    @Schema(description = "ID del proceso (ausente en los totales de la máquina o si no se reportó proceso)")
+    private Long idProceso;
+
+    @Schema(description = "Nombre del proceso")
+    private String proceso;
+
+    @Schema(description = "Segundos operando")
+    private double tiempoOperandoSeg;
+
+    @Schema(description = "Segundos en paro")
+    private double tiempoParadoSeg;
+
+    @Schema(description = "Piezas producidas")
+    private long piezas;
+
+    @Schema(description = "Piezas rechazadas")
+    private long rechazos;
+
+    @Schema(description = "Tiempo operando / tiempo registrado")
+    private Double disponibilidad;
+
+    @Schema(description = "Tiempo ideal de las piezas (tiempoProceso) / tiempo operando")
+    private Double rendimiento;
+
+    @Schema(description = "Piezas buenas / piezas producidas")
+    private Double calidad;
+
+    @Schema(description = "Disponibilidad x rendimiento x calidad")
+    private Double oee;
+}
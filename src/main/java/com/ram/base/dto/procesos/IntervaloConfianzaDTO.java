@@ -0,0 +1,30 @@
+package com.ram.base.dto.procesos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Media de una métrica sobre las réplicas con su intervalo de confianza del 95%
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Media sobre las réplicas e intervalo de confianza del 95%")
+public class IntervaloConfianzaDTO {
+
+    @Schema(description = "Media de las réplicas")
+    private double media;
+
+    @Schema(description = "Desviación estándar entre réplicas")
+    private double desviacion;
+
+    @Schema(description = "Límite inferior del intervalo de confianza del 95%")
+    private double limiteInferior;
+
+    @Schema(description = "Límite superior del intervalo de confianza del 95%")
+    private double limiteSuperior;
+}
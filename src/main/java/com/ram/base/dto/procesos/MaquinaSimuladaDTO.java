@@ -0,0 +1,36 @@
+package com.ram.base.dto.procesos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Métricas simuladas de una máquina
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Métricas simuladas de una máquina")
+public class MaquinaSimuladaDTO {
+
+    @Schema(description = "ID de la máquina")
+    private Long idMaquina;
+
+    @Schema(description = "Nombre de la máquina")
+    private String maquina;
+
+    @Schema(description = "Unidades en paralelo simuladas")
+    private int capacidad;
+
+    @Schema(description = "Fracción del tiempo ocupada (0 a 1)")
+    private IntervaloConfianzaDTO utilizacion;
+
+    @Schema(description = "Longitud promedio de la cola en el tiempo")
+    private IntervaloConfianzaDTO colaPromedio;
+
+    @Schema(description = "Longitud máxima de la cola")
+    private IntervaloConfianzaDTO colaMaxima;
+}
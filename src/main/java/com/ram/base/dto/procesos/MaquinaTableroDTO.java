@@ -0,0 +1,62 @@
+package com.ram.base.dto.procesos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Máquina con sus procesos y totales para el tablero de planta.
+ *
+ * Se construye una sola vez por versión del tablero y se comparte entre todas las
+ * peticiones, por eso no tiene setters y la lista de procesos es de solo lectura.
+ */
+@Value
+@Builder
+@Schema(description = "Máquina con sus procesos y tiempo total (tablero de planta)")
+public class MaquinaTableroDTO {
+
+    Long idMaquina;
+
+    String nombre;
+
+    String descripcion;
+
+    boolean estatus;
+
+    @Schema(description = "Número total de procesos de la máquina")
+    int totalProcesos;
+
+    @Schema(description = "Número de procesos activos de la máquina")
+    int procesosActivos;
+
+    @Schema(description = "Suma de tiempoProceso de todos los procesos de la máquina")
+    double tiempoProcesoTotal;
+
+    @Schema(description = "Suma de tiempoProceso de los procesos activos")
+    double tiempoProcesoActivo;
+
+    List<ProcesoNodo> procesos;
+
+    /**
+     * Proceso dentro del tablero (sin datos de la máquina, ya están en el nodo padre)
+     */
+    @Value
+    @Builder
+    @Schema(description = "Proceso dentro del tablero de planta")
+    public static class ProcesoNodo {
+
+        Long idProceso;
+
+        String nombre;
+
+        Double tiempoProceso;
+
+        Integer personalRequerido;
+
+        String nivelExperiencia;
+
+        boolean estatus;
+    }
+}
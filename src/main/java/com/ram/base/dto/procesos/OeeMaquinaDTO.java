@@ -0,0 +1,38 @@
+package com.ram.base.dto.procesos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Estado en vivo e indicadores OEE de una máquina
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Estado e indicadores OEE de una máquina")
+public class OeeMaquinaDTO {
+
+    @Schema(description = "ID de la máquina")
+    private Long idMaquina;
+
+    @Schema(description = "Nombre de la máquina")
+    private String maquina;
+
+    @Schema(description = "Estado actual: RUN, STOP o SIN_DATOS")
+    private String estado;
+
+    @Schema(description = "ID del proceso que ejecuta actualmente")
+    private Long idProcesoActual;
+
+    @Schema(description = "Indicadores de la máquina (todos sus procesos)")
+    private IndicadoresOeeDTO totales;
+
+    @Schema(description = "Indicadores por proceso")
+    private List<IndicadoresOeeDTO> procesos;
+}
@@ -0,0 +1,37 @@
+package com.ram.base.dto.procesos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Operación (proceso de un trabajo) con su máquina y horario asignados
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Operación programada en una máquina")
+public class OperacionProgramadaDTO {
+
+    private String codigoTrabajo;
+
+    @Schema(description = "Posición del proceso dentro del trabajo (base 0)")
+    private int paso;
+
+    private Long idProceso;
+
+    private String proceso;
+
+    private Long idMaquina;
+
+    private String maquina;
+
+    @Schema(description = "Inicio relativo al arranque del programa (mismas unidades que tiempoProceso)")
+    private double inicio;
+
+    @Schema(description = "Fin relativo al arranque del programa (mismas unidades que tiempoProceso)")
+    private double fin;
+}
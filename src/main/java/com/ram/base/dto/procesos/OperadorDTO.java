@@ -0,0 +1,35 @@
+package com.ram.base.dto.procesos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Operador disponible para un turno
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Operador del turno con su nivel de experiencia")
+public class OperadorDTO {
+
+    @NotNull(message = "El ID del operador es obligatorio")
+    @Schema(description = "ID del operador", example = "15")
+    private Long idOperador;
+
+    @Schema(description = "Nombre del operador", example = "Juan Pérez")
+    private String nombre;
+
+    @NotBlank(message = "El nivel de experiencia es obligatorio")
+    @Schema(description = "Nivel de experiencia (BASICO, INTERMEDIO, AVANZADO, EXPERTO o 1-4)", example = "INTERMEDIO")
+    private String nivelExperiencia;
+
+    @Builder.Default
+    @Schema(description = "false si el operador no se presentó (falta, incapacidad)", example = "true")
+    private Boolean disponible = true;
+}
@@ -0,0 +1,41 @@
+package com.ram.base.dto.procesos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Programa de producción generado
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Programa de producción por máquina")
+public class PlanificacionDTO {
+
+    @Schema(description = "Duración total del programa (makespan)")
+    private double makespan;
+
+    @Schema(description = "Makespan de la mejor regla de despacho, antes de la búsqueda local")
+    private double makespanInicial;
+
+    @Schema(description = "Cota inferior del makespan (carga de la máquina más ocupada o trabajo más largo)")
+    private double cotaInferior;
+
+    @Schema(description = "Tiempo de cálculo en milisegundos")
+    private long tiempoCalculoMs;
+
+    @Schema(description = "Número de programas evaluados por la búsqueda")
+    private long evaluaciones;
+
+    @Schema(description = "Hilos usados en la búsqueda")
+    private int hilos;
+
+    @Schema(description = "Operaciones ordenadas por máquina e inicio")
+    private List<OperacionProgramadaDTO> operaciones;
+}
@@ -0,0 +1,43 @@
+package com.ram.base.dto.procesos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Request para generar un programa de producción
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Trabajos a planificar y presupuesto de tiempo de cálculo")
+public class PlanificacionRequest {
+
+    public static final int MAX_TRABAJOS = 2000;
+
+    @Valid
+    @NotEmpty(message = "Debe enviar al menos un trabajo")
+    @Size(max = MAX_TRABAJOS, message = "No se pueden planificar más de 2000 trabajos por petición")
+    @Builder.Default
+    private List<TrabajoRequest> trabajos = new ArrayList<>();
+
+    @Min(value = 50, message = "El presupuesto mínimo es de 50 ms")
+    @Max(value = 60000, message = "El presupuesto máximo es de 60000 ms")
+    @Schema(description = "Tiempo máximo de cálculo en milisegundos", example = "2000")
+    @Builder.Default
+    private Long presupuestoMs = 2000L;
+
+    @Schema(description = "Semilla para la búsqueda (opcional)", example = "42")
+    private Long semilla;
+}
@@ -0,0 +1,37 @@
+package com.ram.base.dto.procesos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Proceso de un turno con los operadores asignados
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Proceso con los operadores asignados")
+public class PuestoAsignadoDTO {
+
+    private Long idProceso;
+
+    private String proceso;
+
+    private Long idMaquina;
+
+    private String maquina;
+
+    private String nivelRequerido;
+
+    private int personalRequerido;
+
+    private List<Long> idsOperador;
+
+    @Schema(description = "Operadores que faltan para cubrir el personal requerido")
+    private int faltantes;
+}
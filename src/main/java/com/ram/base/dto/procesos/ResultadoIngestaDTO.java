@@ -0,0 +1,27 @@
+package com.ram.base.dto.procesos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de recibir un lote de eventos de telemetría
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado de la ingesta de un lote de eventos")
+public class ResultadoIngestaDTO {
+
+    @Schema(description = "Eventos encolados para agregarse")
+    private int aceptados;
+
+    @Schema(description = "Eventos de máquinas o procesos desconocidos o inactivos")
+    private int rechazados;
+
+    @Schema(description = "Eventos descartados porque el buffer de la máquina estaba lleno")
+    private int descartados;
+}
@@ -0,0 +1,54 @@
+package com.ram.base.dto.procesos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ruta de producción a simular: secuencia de procesos y patrón de llegada de sus trabajos
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Ruta de producción (secuencia de procesos) y llegada de sus trabajos")
+public class RutaSimulacionRequest {
+
+    @NotBlank(message = "El nombre de la ruta es obligatorio")
+    @Schema(description = "Nombre de la ruta o tipo de bobina", example = "Bobina laminada")
+    private String nombre;
+
+    @NotEmpty(message = "La ruta debe tener al menos un proceso")
+    @Schema(description = "IDs de los procesos en el orden en que se ejecutan", example = "[1, 4, 2]")
+    @Builder.Default
+    private List<@NotNull Long> idsProceso = new ArrayList<>();
+
+    @NotNull(message = "La tasa de llegada es obligatoria")
+    @Positive(message = "La tasa de llegada debe ser mayor a 0")
+    @Schema(description = "Llegadas por unidad de tiempo (misma unidad que tiempoProceso)", example = "0.05")
+    private Double tasaLlegada;
+
+    @Pattern(regexp = "POISSON|CONSTANTE", message = "El patrón de llegada debe ser POISSON o CONSTANTE")
+    @Schema(description = "Patrón de llegada: POISSON (intervalos exponenciales) o CONSTANTE",
+            example = "POISSON", allowableValues = {"POISSON", "CONSTANTE"})
+    @Builder.Default
+    private String patron = "POISSON";
+
+    @Min(value = 1, message = "El tamaño de lote mínimo es 1")
+    @Max(value = 1000, message = "El tamaño de lote máximo es 1000")
+    @Schema(description = "Trabajos que llegan juntos en cada llegada", example = "1")
+    @Builder.Default
+    private Integer tamanoLote = 1;
+}
@@ -0,0 +1,41 @@
+package com.ram.base.dto.procesos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Resultado de la simulación de la planta
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado de la simulación de la planta")
+public class SimulacionDTO {
+
+    @Schema(description = "Trabajos terminados por unidad de tiempo")
+    private IntervaloConfianzaDTO throughput;
+
+    @Schema(description = "Tiempo promedio desde la llegada hasta terminar la ruta")
+    private IntervaloConfianzaDTO tiempoCiclo;
+
+    @Schema(description = "Trabajos en proceso al final del horizonte (si crece con la duración, la planta no da abasto)")
+    private IntervaloConfianzaDTO trabajosEnProceso;
+
+    @Schema(description = "Métricas por máquina")
+    private List<MaquinaSimuladaDTO> maquinas;
+
+    @Schema(description = "Réplicas ejecutadas")
+    private int replicaciones;
+
+    @Schema(description = "Eventos procesados en todas las réplicas")
+    private long eventos;
+
+    @Schema(description = "Tiempo de cálculo en milisegundos")
+    private long tiempoCalculoMs;
+}
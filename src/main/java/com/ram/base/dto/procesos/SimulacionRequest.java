@@ -0,0 +1,72 @@
+package com.ram.base.dto.procesos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request para simular el throughput de la planta
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Escenario a simular: rutas, capacidad de máquinas, personal y horizonte")
+public class SimulacionRequest {
+
+    @Valid
+    @NotEmpty(message = "Debe enviar al menos una ruta")
+    @Size(max = 200, message = "No se pueden simular más de 200 rutas por petición")
+    @Builder.Default
+    private List<RutaSimulacionRequest> rutas = new ArrayList<>();
+
+    @Schema(description = "Unidades en paralelo por máquina (ID de máquina -> unidades); por defecto 1",
+            example = "{\"3\": 2}")
+    @Builder.Default
+    private Map<Long, @NotNull @Min(value = 1, message = "La capacidad mínima de una máquina es 1") Integer> capacidadMaquinas = new HashMap<>();
+
+    @Min(value = 1, message = "Debe haber al menos un operador")
+    @Schema(description = "Operadores disponibles en la planta (vacío = sin límite de personal)", example = "12")
+    private Integer operadores;
+
+    @NotNull(message = "La duración es obligatoria")
+    @Positive(message = "La duración debe ser mayor a 0")
+    @Schema(description = "Horizonte simulado (misma unidad que tiempoProceso)", example = "43200")
+    private Double duracion;
+
+    @PositiveOrZero(message = "El calentamiento no puede ser negativo")
+    @Schema(description = "Tiempo inicial que no se incluye en las métricas", example = "1440")
+    @Builder.Default
+    private Double calentamiento = 0.0;
+
+    @DecimalMin(value = "0.0", message = "La variabilidad no puede ser negativa")
+    @DecimalMax(value = "3.0", message = "La variabilidad máxima es 3.0")
+    @Schema(description = "Coeficiente de variación de los tiempos de proceso (0 = deterministas)", example = "0.25")
+    @Builder.Default
+    private Double variabilidad = 0.25;
+
+    @Min(value = 2, message = "Se requieren al menos 2 réplicas para el intervalo de confianza")
+    @Max(value = 1000, message = "El máximo es de 1000 réplicas")
+    @Schema(description = "Réplicas independientes (por defecto, una por núcleo)", example = "8")
+    private Integer replicaciones;
+
+    @Schema(description = "Semilla para reproducir la simulación (opcional)", example = "42")
+    private Long semilla;
+}
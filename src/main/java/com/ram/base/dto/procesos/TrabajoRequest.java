@@ -0,0 +1,33 @@
+package com.ram.base.dto.procesos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Trabajo a planificar: secuencia ordenada de procesos
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Trabajo a planificar (secuencia de procesos en orden)")
+public class TrabajoRequest {
+
+    @NotBlank(message = "El código del trabajo es obligatorio")
+    @Schema(description = "Código del trabajo u orden de producción", example = "OP-1001")
+    private String codigo;
+
+    @NotEmpty(message = "El trabajo debe tener al menos un proceso")
+    @Schema(description = "IDs de los procesos en el orden en que se ejecutan", example = "[1, 4, 2]")
+    @Builder.Default
+    private List<@NotNull Long> idsProceso = new ArrayList<>();
+}
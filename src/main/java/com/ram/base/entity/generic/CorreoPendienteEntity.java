@@ -0,0 +1,69 @@
+package com.ram.base.entity.generic;
+
+// Bandeja de salida de correos (outbox): se escribe en la misma transacción que el cambio
+// que origina el correo y EmailDispatcher lo envía en segundo plano
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "correo_pendiente",
+        indexes = @Index(name = "idx_correo_estado_siguiente", columnList = "estado, siguiente_intento"))
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CorreoPendienteEntity {
+
+    public enum Tipo {
+        BIENVENIDA,
+        VERIFICACION,
+        RESTABLECIMIENTO
+    }
+
+    public enum Estado {
+        PENDIENTE,
+        ENVIADO,
+        FALLIDO
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "correo_pendiente_id_gen")
+    @TableGenerator(name = "correo_pendiente_id_gen", table = "id_generador", pkColumnName = "entidad",
+            valueColumnName = "siguiente_id", pkColumnValue = "correo_pendiente", allocationSize = 50)
+    @Column(name = "id_correo")
+    private Long idCorreo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo", nullable = false, length = 20)
+    private Tipo tipo;
+
+    @Column(name = "destinatario", nullable = false)
+    private String destinatario;
+
+    // Variables de la plantilla en JSON; se borran al enviarse (pueden contener el OTP)
+    @Column(name = "parametros", length = 1000)
+    private String parametros;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "estado", nullable = false, length = 20)
+    private Estado estado;
+
+    @Column(name = "intentos", nullable = false)
+    private int intentos;
+
+    @Column(name = "siguiente_intento", nullable = false)
+    private Instant siguienteIntento;
+
+    @Column(name = "creado_en", nullable = false, updatable = false)
+    private Instant creadoEn;
+
+    @Column(name = "enviado_en")
+    private Instant enviadoEn;
+
+    @Column(name = "ultimo_error", length = 500)
+    private String ultimoError;
+}
@@ -0,0 +1,31 @@
+package com.ram.base.entity.generic;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca una columna que guarda la versión normalizada de otro atributo de la entidad
+ * (ver TextNormalizer). La mantiene NormalizedKeyListener al insertar/actualizar y
+ * PartialUpdateRepository en los UPDATE parciales.
+ *
+ * La columna usa collation binaria: el plegado ya lo hizo TextNormalizer, y con la
+ * collation por defecto de MySQL (acentos insensibles) "año" y "ano" chocarían en el índice.
+ * Por lo mismo el atributo original no lleva índice único: la unicidad la impone esta columna.
+ *
+ * Ejemplo:
+ *   @NormalizedKey("tipo")
+ *   @Column(name = "tipo_normalizado", unique = true)
+ *   @Collate("utf8mb4_bin")
+ *   private String tipoNormalizado;
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface NormalizedKey {
+
+    /**
+     * Nombre del atributo de la entidad del que se deriva el valor
+     */
+    String value();
+}
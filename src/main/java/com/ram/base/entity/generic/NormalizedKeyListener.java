@@ -0,0 +1,60 @@
+package com.ram.base.entity.generic;
+
+import com.ram.base.util.TextNormalizer;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Listener JPA que llena las columnas marcadas con @NormalizedKey antes de cada
+ * INSERT y UPDATE, a partir del atributo del que se derivan.
+ *
+ * Uso: @EntityListeners(NormalizedKeyListener.class) en la entidad.
+ * Los campos se resuelven por reflexión una sola vez por clase.
+ */
+public class NormalizedKeyListener {
+
+    private static final ClassValue<Map<Field, Field>> CAMPOS = new ClassValue<>() {
+        @Override
+        protected Map<Field, Field> computeValue(Class<?> entityClass) {
+            Map<Field, Field> campos = new LinkedHashMap<>();
+            ReflectionUtils.doWithFields(entityClass, destino -> {
+                NormalizedKey clave = destino.getAnnotation(NormalizedKey.class);
+                Field origen = ReflectionUtils.findField(entityClass, clave.value());
+                if (origen == null) {
+                    throw new IllegalStateException(String.format(
+                            "El atributo '%s' referenciado por %s.%s no existe",
+                            clave.value(), entityClass.getSimpleName(), destino.getName()));
+                }
+                ReflectionUtils.makeAccessible(origen);
+                ReflectionUtils.makeAccessible(destino);
+                campos.put(origen, destino);
+            }, campo -> campo.isAnnotationPresent(NormalizedKey.class));
+            return Collections.unmodifiableMap(campos);
+        }
+    };
+
+    @PrePersist
+    @PreUpdate
+    public void normalize(Object entity) {
+        CAMPOS.get(entity.getClass()).forEach((origen, destino) -> {
+            Object valor = ReflectionUtils.getField(origen, entity);
+            ReflectionUtils.setField(destino, entity, TextNormalizer.normalize((String) valor));
+        });
+    }
+
+    /**
+     * Regresa atributo origen -> atributo normalizado de la entidad.
+     * Lo usan las actualizaciones masivas (JPQL UPDATE), que no disparan los callbacks.
+     */
+    public static Map<String, String> normalizedAttributes(Class<?> entityClass) {
+        Map<String, String> atributos = new LinkedHashMap<>();
+        CAMPOS.get(entityClass).forEach((origen, destino) -> atributos.put(origen.getName(), destino.getName()));
+        return atributos;
+    }
+}
@@ -0,0 +1,31 @@
+package com.ram.base.entity.generic;
+
+// OTP vigentes para despliegues con varios nodos (seguridad.otp.almacen=tabla).
+// Se guarda el SHA-256 del código, no el código.
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "otp_pendiente", indexes = @Index(name = "idx_otp_expira_en", columnList = "expira_en"))
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OtpEntity {
+
+    // Propósito y email, p. ej. "VERIFICACION:user@mail.com"
+    @Id
+    @Column(name = "clave", length = 300)
+    private String clave;
+
+    @Column(name = "otp_hash", nullable = false, length = 32)
+    private byte[] otpHash;
+
+    @Column(name = "expira_en", nullable = false)
+    private long expiraEn;
+
+    @Column(name = "intentos", nullable = false)
+    private int intentos;
+}
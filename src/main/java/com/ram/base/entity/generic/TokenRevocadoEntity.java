@@ -0,0 +1,29 @@
+package com.ram.base.entity.generic;
+
+// Tokens revocados compartidos entre nodos (seguridad.revocacion.propagar=true).
+// Cada nodo los copia periódicamente a su TokenDenyList en memoria.
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "token_revocado", indexes = {
+        @Index(name = "idx_token_revocado_en", columnList = "revocado_en"),
+        @Index(name = "idx_token_expira_en", columnList = "expira_en")})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevocadoEntity {
+
+    @Id
+    @Column(name = "jti", length = 64)
+    private String jti;
+
+    @Column(name = "expira_en", nullable = false)
+    private long expiraEn;
+
+    @Column(name = "revocado_en", nullable = false)
+    private long revocadoEn;
+}
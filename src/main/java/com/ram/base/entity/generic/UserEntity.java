@@ -19,7 +19,9 @@ import java.sql.Timestamp;
 public class UserEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "usuario_id_gen")
+    @TableGenerator(name = "usuario_id_gen", table = "id_generador", pkColumnName = "entidad",
+            valueColumnName = "siguiente_id", pkColumnValue = "usuario", allocationSize = 50)
     private Long id;
 
     @Column(unique = true)
@@ -33,16 +35,8 @@ public class UserEntity {
 
     private String password;
 
-    private String verifyOtp;
-
     private Boolean isAccountVerified;
 
-    private Long verifyOtpExpireAt;
-
-    private String resetOtp;
-
-    private Long resetOtpExpireAt;
-
     @CreationTimestamp
     @Column(updatable = false)
     private Timestamp createdAt;
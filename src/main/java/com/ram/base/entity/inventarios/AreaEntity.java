@@ -1,19 +1,24 @@
 package com.ram.base.entity.inventarios;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.ram.base.entity.generic.NormalizedKey;
+import com.ram.base.entity.generic.NormalizedKeyListener;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.Collate;
 
 /**
  * Entidad que representa un área dentro de una localidad.
  * Cada área pertenece a una única localidad.
  */
 @Entity
+@EntityListeners(NormalizedKeyListener.class)
 @Table(name = "area", 
     indexes = {
         @Index(name = "idx_area_nombre", columnList = "nombre"),
@@ -21,7 +26,7 @@ import lombok.*;
         @Index(name = "idx_area_estatus", columnList = "estatus")
     },
     uniqueConstraints = {
-        @UniqueConstraint(name = "uk_area_nombre_localidad", columnNames = {"nombre", "id_localidad"})
+        @UniqueConstraint(name = "uk_area_nombre_normalizado_localidad", columnNames = {"nombre_normalizado", "id_localidad"})
     }
 )
 @Getter
@@ -32,7 +37,9 @@ import lombok.*;
 public class AreaEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "area_id_gen")
+    @TableGenerator(name = "area_id_gen", table = "id_generador", pkColumnName = "entidad",
+            valueColumnName = "siguiente_id", pkColumnValue = "area", allocationSize = 50)
     @Column(name = "id_area")
     @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     private Long idArea;
@@ -42,6 +49,17 @@ public class AreaEntity {
     @Column(name = "nombre", nullable = false, length = 500)
     private String nombre;
 
+    /**
+     * Nombre normalizado (minúsculas, sin acentos ni espacios extremos).
+     * Único por localidad junto con id_localidad.
+     */
+    @NormalizedKey("nombre")
+    @Column(name = "nombre_normalizado", length = 500)
+    @Collate("utf8mb4_bin")
+    @JsonIgnore
+    @Schema(hidden = true)
+    private String nombreNormalizado;
+
     @NotNull(message = "La localidad es obligatoria")
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(
@@ -1,12 +1,16 @@
 package com.ram.base.entity.inventarios;
 
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.ram.base.entity.generic.NormalizedKey;
+import com.ram.base.entity.generic.NormalizedKeyListener;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.Collate;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -16,6 +20,7 @@ import java.util.List;
  * Una localidad puede contener múltiples áreas.
  */
 @Entity
+@EntityListeners(NormalizedKeyListener.class)
 @Table(name = "localidad", indexes = {
     @Index(name = "idx_localidad_nombre", columnList = "nombre"),
     @Index(name = "idx_localidad_estatus", columnList = "estatus")
@@ -29,14 +34,27 @@ import java.util.List;
 public class LocalidadEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "localidad_id_gen")
+    @TableGenerator(name = "localidad_id_gen", table = "id_generador", pkColumnName = "entidad",
+            valueColumnName = "siguiente_id", pkColumnValue = "localidad", allocationSize = 50)
     @Column(name = "id_localidad")
     private Long idLocalidad;
 
     @NotBlank(message = "El nombre de la localidad es obligatorio")
     @Size(min = 2, max = 500, message = "El nombre debe tener entre 2 y 500 caracteres")
-    @Column(name = "nombre", unique = true, nullable = false, length = 500)
+    @Column(name = "nombre", nullable = false, length = 500)
     private String nombre;
+
+    /**
+     * Nombre normalizado (minúsculas, sin acentos ni espacios extremos).
+     * Su índice único resuelve las validaciones de duplicados con una búsqueda por igualdad.
+     */
+    @NormalizedKey("nombre")
+    @Column(name = "nombre_normalizado", unique = true, length = 500)
+    @Collate("utf8mb4_bin")
+    @JsonIgnore
+    @Schema(hidden = true)
+    private String nombreNormalizado;
     
     @OneToMany(
         mappedBy = "localidad", 
@@ -3,6 +3,7 @@ package com.ram.base.entity.procesos;
 // Una maquina puede tener una o varias funciones/procesos
 // Cada maquina tiene un tiempo asociado
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -13,6 +14,7 @@ import java.util.List;
 
 @Table(name = "maquina")
 @Entity
+@EntityListeners(ProcesosCacheListener.class)
 @Data
 @Builder
 @AllArgsConstructor
@@ -20,7 +22,9 @@ import java.util.List;
 public class MaquinaEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "maquina_id_gen")
+    @TableGenerator(name = "maquina_id_gen", table = "id_generador", pkColumnName = "entidad",
+            valueColumnName = "siguiente_id", pkColumnValue = "maquina", allocationSize = 50)
     private Long id_maquina;
 
     @Column(unique = true, nullable = false)
@@ -31,6 +35,8 @@ public class MaquinaEntity {
     private boolean estatus;
 
     // Relación One-to-Many con ProcesoEntity
+    // No se serializa: para leer máquinas con sus procesos usar /maquinas/tablero (una sola consulta)
+    @JsonIgnore
     @OneToMany(mappedBy = "maquina", cascade = {CascadeType.PERSIST, CascadeType.MERGE}, fetch = FetchType.LAZY)
     private List<ProcesoEntity> procesos;
 
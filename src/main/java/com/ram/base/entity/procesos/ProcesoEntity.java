@@ -11,6 +11,7 @@ import lombok.NoArgsConstructor;
 
 @Table(name = "proceso")
 @Entity
+@EntityListeners(ProcesosCacheListener.class)
 @Data
 @Builder
 @AllArgsConstructor
@@ -18,7 +19,9 @@ import lombok.NoArgsConstructor;
 public class ProcesoEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "proceso_id_gen")
+    @TableGenerator(name = "proceso_id_gen", table = "id_generador", pkColumnName = "entidad",
+            valueColumnName = "siguiente_id", pkColumnValue = "proceso", allocationSize = 50)
     private Long id_proceso;
 
     @Column(unique = true, nullable = false)
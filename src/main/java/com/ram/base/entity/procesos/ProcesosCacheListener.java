@@ -0,0 +1,31 @@
+package com.ram.base.entity.procesos;
+
+import com.ram.base.service.procesos.MaquinaTableroCache;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Listener JPA de MaquinaEntity y ProcesoEntity que invalida el tablero de máquinas
+ * en cada escritura (write-through), sin importar qué servicio la haga.
+ *
+ * Hibernate lo crea a través del contenedor de beans de Spring, por eso puede recibir
+ * dependencias. Se usa ObjectProvider porque el listener se crea junto con el
+ * EntityManagerFactory, antes que la caché (que depende de un repositorio).
+ */
+public class ProcesosCacheListener {
+
+    private final ObjectProvider<MaquinaTableroCache> tableroCache;
+
+    public ProcesosCacheListener(ObjectProvider<MaquinaTableroCache> tableroCache) {
+        this.tableroCache = tableroCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void invalidate(Object entity) {
+        tableroCache.ifAvailable(MaquinaTableroCache::invalidate);
+    }
+}
@@ -0,0 +1,54 @@
+package com.ram.base.entity.procesos;
+
+// Acumulado por minuto de la telemetría de una máquina (y el proceso que ejecutaba)
+// Se escribe en lote desde el agregador; los eventos individuales no se guardan
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Table(name = "telemetria_minuto",
+        indexes = {
+                @Index(name = "idx_telemetria_maquina_minuto", columnList = "id_maquina, minuto"),
+                @Index(name = "idx_telemetria_proceso_minuto", columnList = "id_proceso, minuto")
+        })
+@Entity
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TelemetriaMinutoEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "telemetria_minuto_id_gen")
+    @TableGenerator(name = "telemetria_minuto_id_gen", table = "id_generador", pkColumnName = "entidad",
+            valueColumnName = "siguiente_id", pkColumnValue = "telemetria_minuto", allocationSize = 50)
+    @Column(name = "id_telemetria")
+    private Long idTelemetria;
+
+    // Solo el ID (sin relación) para no cargar ni referenciar la máquina al escribir el lote
+    @Column(name = "id_maquina", nullable = false)
+    private Long idMaquina;
+
+    // Null si la máquina no reportó proceso
+    @Column(name = "id_proceso")
+    private Long idProceso;
+
+    // Inicio del minuto (UTC)
+    @Column(name = "minuto", nullable = false)
+    private Instant minuto;
+
+    @Column(name = "operando_ms", nullable = false)
+    private long operandoMs;
+
+    @Column(name = "parado_ms", nullable = false)
+    private long paradoMs;
+
+    @Column(name = "piezas", nullable = false)
+    private long piezas;
+
+    @Column(name = "rechazos", nullable = false)
+    private long rechazos;
+}
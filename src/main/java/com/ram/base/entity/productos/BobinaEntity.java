@@ -1,6 +1,9 @@
 package com.ram.base.entity.productos;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.ram.base.entity.generic.NormalizedKey;
+import com.ram.base.entity.generic.NormalizedKeyListener;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
@@ -11,6 +14,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Collate;
 
 /**
  * Entidad que representa una bobina comprada a proveedores.
@@ -21,24 +25,50 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@EntityListeners(NormalizedKeyListener.class)
+@NamedEntityGraph(name = BobinaEntity.CON_CATALOGOS, attributeNodes = {
+    @NamedAttributeNode("tipoEntity"),
+    @NamedAttributeNode("claseEntity"),
+    @NamedAttributeNode("molinoEntity"),
+    @NamedAttributeNode("gradoEntity"),
+    @NamedAttributeNode("proveedor")
+})
 @Table(name = "bobina", indexes = {
     @Index(name = "idx_bobina_codigo", columnList = "codigo_proveedor"),
     @Index(name = "idx_bobina_proveedor", columnList = "proveedor_id")
 })
 @Schema(description = "Entidad que representa una bobina del catálogo")
 public class BobinaEntity {
+
+    /**
+     * Grafo que carga los cinco catálogos en la misma consulta (JOIN). Solo lo usan las
+     * consultas de BobinaRepository que regresan bobinas para BobinaMapper.toDTO.
+     */
+    public static final String CON_CATALOGOS = "BobinaEntity.catalogos";
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "bobina_id_gen")
+    @TableGenerator(name = "bobina_id_gen", table = "id_generador", pkColumnName = "entidad",
+            valueColumnName = "siguiente_id", pkColumnValue = "bobina", allocationSize = 50)
     @Column(name = "id_bobina")
     @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     private Long id_bobina;
 
     @NotBlank(message = "El código del proveedor es obligatorio")
     @Size(max = 100, message = "El código del proveedor no puede exceder 100 caracteres")
-    @Column(name = "codigo_proveedor", unique = true, nullable = false, length = 100)
+    @Column(name = "codigo_proveedor", nullable = false, length = 100)
     private String codigoProveedor;
 
+    /**
+     * Código normalizado (minúsculas, sin acentos ni espacios extremos) con índice único
+     */
+    @NormalizedKey("codigoProveedor")
+    @Column(name = "codigo_proveedor_normalizado", unique = true, length = 100)
+    @Collate("utf8mb4_bin")
+    @JsonIgnore
+    @Schema(hidden = true)
+    private String codigoProveedorNormalizado;
+
     @NotNull(message = "El ancho es obligatorio")
     @Positive(message = "El ancho debe ser mayor a 0")
     @Column(name = "ancho", nullable = false)
@@ -2,17 +2,21 @@ package com.ram.base.entity.productos;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.ram.base.entity.generic.NormalizedKey;
+import com.ram.base.entity.generic.NormalizedKeyListener;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Collate;
 
 import java.util.List;
 
 @Table (name = "grado")
 @Entity
+@EntityListeners(NormalizedKeyListener.class)
 @Data
 @Builder
 @AllArgsConstructor
@@ -20,13 +24,22 @@ import java.util.List;
 public class GradoEntity {
     @Id
     @Column(name = "id_grado")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "grado_id_gen")
+    @TableGenerator(name = "grado_id_gen", table = "id_generador", pkColumnName = "entidad",
+            valueColumnName = "siguiente_id", pkColumnValue = "grado", allocationSize = 50)
     @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     private Long id_grado;
 
-    @Column(unique = true)
     private String grado;
 
+    // Clave de búsqueda sin mayúsculas/acentos/espacios extremos; índice único usado por existsByGradoNormalizado
+    @NormalizedKey("grado")
+    @Column(name = "grado_normalizado", unique = true)
+    @Collate("utf8mb4_bin")
+    @JsonIgnore
+    @Schema(hidden = true)
+    private String gradoNormalizado;
+
     private String descripcion;
 
     @OneToMany(mappedBy = "gradoEntity")
@@ -2,17 +2,21 @@ package com.ram.base.entity.productos;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.ram.base.entity.generic.NormalizedKey;
+import com.ram.base.entity.generic.NormalizedKeyListener;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Collate;
 
 import java.util.List;
 
 @Table (name = "molino")
 @Entity
+@EntityListeners(NormalizedKeyListener.class)
 @Data
 @Builder
 @AllArgsConstructor
@@ -20,13 +24,22 @@ import java.util.List;
 public class MolinoEntity {
     @Id
     @Column(name = "id_molino")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "molino_id_gen")
+    @TableGenerator(name = "molino_id_gen", table = "id_generador", pkColumnName = "entidad",
+            valueColumnName = "siguiente_id", pkColumnValue = "molino", allocationSize = 50)
     @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     private Long id_molino;
 
-    @Column(unique = true)
     private String molino;
 
+    // Clave de búsqueda sin mayúsculas/acentos/espacios extremos; índice único usado por existsByMolinoNormalizado
+    @NormalizedKey("molino")
+    @Column(name = "molino_normalizado", unique = true)
+    @Collate("utf8mb4_bin")
+    @JsonIgnore
+    @Schema(hidden = true)
+    private String molinoNormalizado;
+
     private String descripcion;
 
     @OneToMany(mappedBy = "molinoEntity")
@@ -18,7 +18,9 @@ import lombok.NoArgsConstructor;
 public class ProveedorEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "proveedor_id_gen")
+    @TableGenerator(name = "proveedor_id_gen", table = "id_generador", pkColumnName = "entidad",
+            valueColumnName = "siguiente_id", pkColumnValue = "proveedor", allocationSize = 50)
     @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     private Long id_proveedor;
 
@@ -2,17 +2,21 @@ package com.ram.base.entity.productos;
 
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.ram.base.entity.generic.NormalizedKey;
+import com.ram.base.entity.generic.NormalizedKeyListener;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Collate;
 
 import java.util.List;
 
 @Table (name = "tipo")
 @Entity
+@EntityListeners(NormalizedKeyListener.class)
 @Data
 @Builder
 @AllArgsConstructor
@@ -21,12 +25,21 @@ public class TipoEntity {
 
     @Id
     @Column(name = "id_tipo")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "tipo_id_gen")
+    @TableGenerator(name = "tipo_id_gen", table = "id_generador", pkColumnName = "entidad",
+            valueColumnName = "siguiente_id", pkColumnValue = "tipo", allocationSize = 50)
     private Long id_tipo;
 
-    @Column(unique = true)
     private  String tipo;
 
+    // Clave de búsqueda sin mayúsculas/acentos/espacios extremos; índice único usado por existsByTipoNormalizado
+    @NormalizedKey("tipo")
+    @Column(name = "tipo_normalizado", unique = true)
+    @Collate("utf8mb4_bin")
+    @JsonIgnore
+    @Schema(hidden = true)
+    private String tipoNormalizado;
+
 
     @OneToMany(mappedBy = "tipoEntity")
     @JsonIgnore
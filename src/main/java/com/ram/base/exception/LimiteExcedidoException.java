@@ -0,0 +1,18 @@
+package com.ram.base.exception;
+
+import lombok.Getter;
+
+/**
+ * Excepción cuando un cliente excede el límite de peticiones (HTTP 429)
+ */
+@Getter
+public class LimiteExcedidoException extends RuntimeException {
+
+    /** Segundos sugeridos antes de reintentar (cabecera Retry-After) */
+    private final long reintentarEnSegundos;
+
+    public LimiteExcedidoException(String message, long reintentarEnSegundos) {
+        super(message);
+        this.reintentarEnSegundos = reintentarEnSegundos;
+    }
+}
@@ -0,0 +1,19 @@
+package com.ram.base.exception;
+
+import lombok.Getter;
+
+/**
+ * Excepción cuando un recurso limitado (p. ej. el hash de contraseñas) no está
+ * disponible dentro del tiempo de espera (HTTP 503)
+ */
+@Getter
+public class ServicioSaturadoException extends RuntimeException {
+
+    /** Segundos sugeridos antes de reintentar (cabecera Retry-After) */
+    private final long reintentarEnSegundos;
+
+    public ServicioSaturadoException(String message, long reintentarEnSegundos) {
+        super(message);
+        this.reintentarEnSegundos = reintentarEnSegundos;
+    }
+}
@@ -1,13 +1,15 @@
 package com.ram.base.filter;
 
-import com.ram.base.service.generic.AppUserDetailsService;
+import com.ram.base.service.generic.PrincipalCache;
+import com.ram.base.service.generic.TokenRevocationService;
+import com.ram.base.util.JwtClaims;
 import com.ram.base.util.JwtUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
-import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -17,16 +19,38 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Autentica cada petición con el JWT del encabezado Authorization o de la cookie jwt.
+ *
+ * El tiempo de validación (firma, expiración y revocación) se publica como jwt.validacion
+ * con el resultado: valido, invalido o revocado.
+ */
 @Component
-@RequiredArgsConstructor
 public class JwtRequestFilter extends OncePerRequestFilter {
 
-    private final AppUserDetailsService appUserDetailsService;
+    private final PrincipalCache principalCache;
     private final JwtUtil jwtUtil;
+    private final TokenRevocationService tokenRevocationService;
 
     private static final List<String> PUBLIC_URLS = List.of("/login", "/register", "/send-reset-otp", "/reset-password", "/logout");
 
+    // Se crean una sola vez: buscar el Timer en el registro en cada petición costaría más que la medición
+    private final Timer validos;
+    private final Timer invalidos;
+    private final Timer revocados;
+
+    public JwtRequestFilter(PrincipalCache principalCache, JwtUtil jwtUtil,
+                            TokenRevocationService tokenRevocationService, MeterRegistry meterRegistry) {
+        this.principalCache = principalCache;
+        this.jwtUtil = jwtUtil;
+        this.tokenRevocationService = tokenRevocationService;
+        this.validos = timer(meterRegistry, "valido");
+        this.invalidos = timer(meterRegistry, "invalido");
+        this.revocados = timer(meterRegistry, "revocado");
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         String path = request.getServletPath();
@@ -36,43 +60,34 @@ public class JwtRequestFilter extends OncePerRequestFilter {
             return;
         }
 
-        String jwt = null;
-        String email = null;
-
-        //1. check the authorization header
-        final String authorizationHeader = request.getHeader("Authorization");
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
-        }
-
-        //2. If not found in header, check cookies
-        if (jwt == null) {
-            Cookie[] cookies = request.getCookies();
-            if (cookies != null) {
-                for (Cookie cookie: cookies) {
-                    if ("jwt".equals(cookie.getName())) {
-                        jwt = cookie.getValue();
-                        break;
-                    }
-                }
-            }
-        }
+        //1. token from the Authorization header or, if not found, from the jwt cookie
+        String jwt = JwtUtil.resolveToken(request);
 
-        //3. validate the token and set security context
-        if (jwt != null) {
+        //2. verify the token once (signature + expiration), reject revoked ones and set security context
+        if (jwt != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            long inicio = System.nanoTime();
+            JwtClaims claims = jwtUtil.verify(jwt);
+            boolean revocado = claims != null && tokenRevocationService.estaRevocado(claims);
+            Timer timer = claims == null ? invalidos : revocado ? revocados : validos;
+            timer.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
 
-            email = jwtUtil.extractEmail(jwt);
-            if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = appUserDetailsService.loadUserByUsername(email);
-                if (jwtUtil.validateToken(jwt, userDetails)) {
-                    UsernamePasswordAuthenticationToken authenticationToken =
-                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                    authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authenticationToken);
-                }
+            if (claims != null && !revocado) {
+                // Desde caché: la tabla de usuarios solo se consulta en el primer acceso o al expirar
+                UserDetails userDetails = principalCache.get(claims.getEmail());
+                UsernamePasswordAuthenticationToken authenticationToken =
+                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authenticationToken);
             }
         }
 
         filterChain.doFilter(request, response);
     }
+
+    private static Timer timer(MeterRegistry meterRegistry, String resultado) {
+        return Timer.builder("jwt.validacion")
+                .description("Verificación de firma, expiración y revocación del JWT")
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
 }
@@ -0,0 +1,35 @@
+package com.ram.base.io;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PasswordHashMetricsResponse {
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class Timing {
+        private long count;
+        private double avgMs;
+        private double p50Ms;
+        private double p95Ms;
+        private double p99Ms;
+        private double maxMs;
+    }
+
+    private int bcryptCost;
+    private int concurrency;
+    private int queued;
+    private long rejected;
+    private long rehashed;
+    private Timing matches;
+    private Timing encode;
+    private Timing queueWait;
+}
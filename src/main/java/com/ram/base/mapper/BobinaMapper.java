@@ -5,8 +5,16 @@ import com.ram.base.entity.productos.*;
 import com.ram.base.exception.ResourceNotFoundException;
 import com.ram.base.repository.productos.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 /**
  * Mapper para convertir entre entidades y DTOs de Bobina
  */
@@ -99,6 +107,56 @@ public class BobinaMapper {
         return entity;
     }
 
+    /**
+     * Convierte varios BobinaDTO a BobinaEntity.
+     * Cada catálogo relacionado se carga una sola vez con findAllById (5 consultas por lote)
+     * en lugar de cinco findById por bobina.
+     */
+    public List<BobinaEntity> toEntities(List<BobinaDTO> dtos) {
+        Map<Long, TipoEntity> tipos = loadById(tipoRepository, dtos, BobinaDTO::getIdTipo, TipoEntity::getId_tipo, "Tipo");
+        Map<Long, ClaseEntity> clases = loadById(claseRepository, dtos, BobinaDTO::getIdClase, ClaseEntity::getId_clase, "Clase");
+        Map<Long, MolinoEntity> molinos = loadById(molinoRepository, dtos, BobinaDTO::getIdMolino, MolinoEntity::getId_molino, "Molino");
+        Map<Long, GradoEntity> grados = loadById(gradoRepository, dtos, BobinaDTO::getIdGrado, GradoEntity::getId_grado, "Grado");
+        Map<Long, ProveedorEntity> proveedores = loadById(proveedorRepository, dtos, BobinaDTO::getIdProveedor, ProveedorEntity::getId_proveedor, "Proveedor");
+
+        return dtos.stream()
+                .map(dto -> BobinaEntity.builder()
+                        .codigoProveedor(dto.getCodigoProveedor())
+                        .ancho(dto.getAncho())
+                        .gramaje(dto.getGramaje())
+                        .calibre(dto.getCalibre())
+                        .peso(dto.getPeso())
+                        .tipoEntity(tipos.get(dto.getIdTipo()))
+                        .claseEntity(clases.get(dto.getIdClase()))
+                        .molinoEntity(molinos.get(dto.getIdMolino()))
+                        .gradoEntity(grados.get(dto.getIdGrado()))
+                        .proveedor(proveedores.get(dto.getIdProveedor()))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Carga en una sola consulta los registros referenciados por los DTOs.
+     * @throws ResourceNotFoundException si algún ID no existe
+     */
+    private <T> Map<Long, T> loadById(JpaRepository<T, Long> repository, List<BobinaDTO> dtos,
+                                      Function<BobinaDTO, Long> idDTO, Function<T, Long> idEntity, String recurso) {
+        Set<Long> ids = dtos.stream()
+                .map(idDTO)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        Map<Long, T> entities = repository.findAllById(ids).stream()
+                .collect(Collectors.toMap(idEntity, Function.identity()));
+
+        for (Long id : ids) {
+            if (!entities.containsKey(id)) {
+                throw new ResourceNotFoundException(recurso, id);
+            }
+        }
+        return entities;
+    }
+
     /**
      * Actualiza una entidad existente con datos del DTO
      */
@@ -6,6 +6,7 @@ import com.ram.base.entity.inventarios.AreaEntity;
 import com.ram.base.entity.inventarios.LocalidadEntity;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.stream.Collectors;
 
 /**
@@ -37,6 +38,35 @@ public class LocalidadMapper {
                 .build();
     }
 
+    /**
+     * Convierte LocalidadEntity a LocalidadDTO usando áreas ya cargadas por separado
+     * (por ejemplo con una sola consulta IN para toda una lista de localidades).
+     * No accede a entity.getAreas(), por lo que no dispara la carga lazy.
+     *
+     * @param entity Entidad de base de datos
+     * @param areas Áreas de la localidad ya convertidas a DTO
+     */
+    public LocalidadDTO toDTO(LocalidadEntity entity, List<AreaDTO> areas) {
+        if (entity == null) {
+            return null;
+        }
+
+        return LocalidadDTO.builder()
+                .idLocalidad(entity.getIdLocalidad())
+                .nombre(entity.getNombre())
+                .estatus(entity.getEstatus())
+                .areas(areas)
+                .build();
+    }
+
+    /**
+     * Convierte LocalidadEntity a un LocalidadDTO resumido, sin áreas.
+     * Para pantallas que solo necesitan los nombres; no consulta la tabla de áreas.
+     */
+    public LocalidadDTO toSummaryDTO(LocalidadEntity entity) {
+        return toDTO(entity, null);
+    }
+
     /**
      * Convierte LocalidadDTO (datos de API) a LocalidadEntity (modelo de BD)
      * 
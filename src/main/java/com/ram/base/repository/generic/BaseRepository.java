@@ -1,7 +1,12 @@
 package com.ram.base.repository.generic;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.query.Param;
 
 
 //Repositorio base generico que extiende JpaRepository para proporcionar
@@ -11,7 +16,27 @@ import org.springframework.data.repository.NoRepositoryBean;
 
 
 import java.io.Serializable;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @NoRepositoryBean
 public interface BaseRepository <E, ID extends Serializable> extends JpaRepository<E, ID> {
+
+    /**
+     * Paginación por keyset: registros con ID mayor a lastId ordenados por ID.
+     * A diferencia de LIMIT/OFFSET no recorre las filas anteriores, el costo es el mismo en cualquier página.
+     * Si lastId es null regresa la primera página. Solo se usa el tamaño del Pageable (no hace COUNT).
+     */
+    @Query("SELECT e FROM #{#entityName} e WHERE (:lastId IS NULL OR id(e) > :lastId) ORDER BY id(e)")
+    List<E> findNextPage(@Param("lastId") ID lastId, Pageable pageable);
+
+    /**
+     * Recorre todas las entidades ordenadas por ID leyendo del cursor en bloques (fetch size)
+     * en lugar de cargar toda la tabla en memoria. Debe consumirse y cerrarse dentro de una transacción.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT e FROM #{#entityName} e ORDER BY id(e)")
+    Stream<E> streamAll();
 }
@@ -0,0 +1,56 @@
+package com.ram.base.repository.generic;
+
+import com.ram.base.entity.generic.CorreoPendienteEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositorio de la bandeja de salida de correos
+ */
+@Repository
+public interface CorreoPendienteRepository extends BaseRepository<CorreoPendienteEntity, Long> {
+
+    /**
+     * Correos pendientes cuyo siguiente intento ya venció, en orden de creación
+     */
+    @Query("SELECT c FROM CorreoPendienteEntity c " +
+            "WHERE c.estado = com.ram.base.entity.generic.CorreoPendienteEntity.Estado.PENDIENTE " +
+            "AND c.siguienteIntento <= :ahora ORDER BY c.idCorreo")
+    List<CorreoPendienteEntity> findPendientes(@Param("ahora") Instant ahora, Pageable pageable);
+
+    /**
+     * Marca como enviados los correos indicados en un solo UPDATE y borra sus parámetros
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE CorreoPendienteEntity c SET " +
+            "c.estado = com.ram.base.entity.generic.CorreoPendienteEntity.Estado.ENVIADO, " +
+            "c.enviadoEn = :enviadoEn, c.parametros = NULL, c.intentos = c.intentos + 1 " +
+            "WHERE c.idCorreo IN :ids")
+    int marcarEnviados(@Param("ids") Collection<Long> ids, @Param("enviadoEn") Instant enviadoEn);
+
+    /**
+     * Registra un intento fallido: reprograma el correo o lo marca como FALLIDO. Al quedar
+     * FALLIDO se borran sus parámetros (pueden llevar un OTP), igual que al enviarse
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE CorreoPendienteEntity c SET c.estado = :estado, c.intentos = :intentos, " +
+            "c.siguienteIntento = :siguienteIntento, c.ultimoError = :error, " +
+            "c.parametros = CASE WHEN :estado = com.ram.base.entity.generic.CorreoPendienteEntity.Estado.FALLIDO " +
+            "THEN NULL ELSE c.parametros END " +
+            "WHERE c.idCorreo = :id")
+    int registrarFallo(@Param("id") Long id,
+                       @Param("estado") CorreoPendienteEntity.Estado estado,
+                       @Param("intentos") int intentos,
+                       @Param("siguienteIntento") Instant siguienteIntento,
+                       @Param("error") String error);
+}
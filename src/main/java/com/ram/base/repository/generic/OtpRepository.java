@@ -0,0 +1,34 @@
+package com.ram.base.repository.generic;
+
+import com.ram.base.entity.generic.OtpEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Repositorio de OTP vigentes (almacén compartido entre nodos)
+ */
+@Repository
+public interface OtpRepository extends BaseRepository<OtpEntity, String> {
+
+    /**
+     * Obtiene el OTP bloqueando la fila para que dos nodos no cuenten el mismo intento
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM OtpEntity o WHERE o.clave = :clave")
+    Optional<OtpEntity> findParaVerificar(@Param("clave") String clave);
+
+    /**
+     * Elimina los OTP vencidos
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OtpEntity o WHERE o.expiraEn < :ahora")
+    int deleteVencidos(@Param("ahora") long ahora);
+}
@@ -0,0 +1,202 @@
+package com.ram.base.repository.generic;
+
+import com.ram.base.entity.generic.NormalizedKeyListener;
+import com.ram.base.exception.BusinessException;
+import com.ram.base.util.TextNormalizer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.ClassUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Repositorio auxiliar para actualizaciones parciales (PATCH).
+ *
+ * Construye un UPDATE JPQL solo con las columnas recibidas y lo ejecuta en un
+ * único viaje a la base de datos:
+ *   UPDATE TipoEntity e SET e.tipo = :p0 WHERE e.id_tipo = :id
+ *
+ * A diferencia de findById + save (SELECT + merge + UPDATE), no carga la entidad.
+ * La existencia del registro se determina por el número de filas afectadas:
+ * si regresa 0, el ID no existe.
+ *
+ * Nota: al ser un UPDATE masivo no se disparan callbacks de JPA (@PreUpdate)
+ * ni se sincroniza el contexto de persistencia; debe ejecutarse dentro de una
+ * transacción y sin entidades cargadas que dependan del cambio.
+ * Por eso las columnas @NormalizedKey se agregan aquí al mismo UPDATE:
+ *   UPDATE TipoEntity e SET e.tipo = :p0, e.tipoNormalizado = :p1 WHERE ...
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class PartialUpdateRepository {
+
+    private static final ConversionService CONVERSION_SERVICE = DefaultConversionService.getSharedInstance();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Validator validator;
+
+    /**
+     * Actualiza los campos indicados usando directamente los nombres de atributo de la entidad.
+     *
+     * @param entityClass Clase de la entidad
+     * @param id Identificador del registro
+     * @param campos Atributo de la entidad -> nuevo valor
+     * @return Número de filas afectadas (0 si no existe el registro)
+     */
+    @Transactional
+    public <E> int updateFields(Class<E> entityClass, Object id, Map<String, Object> campos) {
+        return updateFields(entityClass, id, campos, null, null);
+    }
+
+    /**
+     * Actualiza los campos indicados traduciendo los nombres de la API a atributos de la entidad.
+     *
+     * @param entityClass Clase de la entidad
+     * @param id Identificador del registro
+     * @param campos Nombre del campo en la API -> nuevo valor
+     * @param dtoClass DTO cuyas validaciones se aplican a cada valor (opcional)
+     * @param camposPermitidos Nombre en la API -> atributo de la entidad (null permite cualquier atributo)
+     * @return Número de filas afectadas (0 si no existe el registro)
+     * @throws BusinessException si algún campo no existe, no es actualizable o su valor es inválido
+     */
+    @Transactional
+    public <E> int updateFields(Class<E> entityClass, Object id, Map<String, Object> campos,
+                                Class<?> dtoClass, Map<String, String> camposPermitidos) {
+        if (id == null) {
+            throw new IllegalArgumentException("El ID no puede ser nulo");
+        }
+        if (campos == null || campos.isEmpty()) {
+            throw new BusinessException("No se recibieron campos para actualizar");
+        }
+
+        EntityType<E> entityType = entityManager.getMetamodel().entity(entityClass);
+        SingularAttribute<? super E, ?> idAttribute = entityType.getId(entityType.getIdType().getJavaType());
+
+        StringBuilder jpql = new StringBuilder("UPDATE ").append(entityType.getName()).append(" e SET ");
+        Map<String, Object> parametros = new LinkedHashMap<>();
+        // Atributo origen -> columna normalizada que se deriva de él
+        Map<String, String> normalizados = NormalizedKeyListener.normalizedAttributes(entityClass);
+
+        for (Map.Entry<String, Object> campo : campos.entrySet()) {
+            String nombreAtributo = camposPermitidos != null ? camposPermitidos.get(campo.getKey()) : campo.getKey();
+            if (nombreAtributo == null) {
+                throw new BusinessException(String.format("El campo '%s' no se puede actualizar", campo.getKey()));
+            }
+
+            if (normalizados.containsValue(nombreAtributo)) {
+                throw new BusinessException(String.format("El campo '%s' no se puede actualizar", campo.getKey()));
+            }
+
+            SingularAttribute<? super E, ?> attribute = resolveAttribute(entityType, nombreAtributo, campo.getKey());
+            Object valor = convertValue(entityClass, attribute, campo.getKey(), campo.getValue(), dtoClass);
+            appendAssignment(jpql, parametros, attribute.getName(), valor);
+
+            String atributoNormalizado = normalizados.get(attribute.getName());
+            if (atributoNormalizado != null) {
+                appendAssignment(jpql, parametros, atributoNormalizado, TextNormalizer.normalize((String) valor));
+            }
+        }
+        jpql.append(" WHERE e.").append(idAttribute.getName()).append(" = :id");
+
+        log.debug("Actualización parcial de {} con ID {}: {}", entityType.getName(), id, parametros.keySet());
+
+        Query query = entityManager.createQuery(jpql.toString());
+        parametros.forEach(query::setParameter);
+        query.setParameter("id", id);
+        return query.executeUpdate();
+    }
+
+    private void appendAssignment(StringBuilder jpql, Map<String, Object> parametros, String atributo, Object valor) {
+        String parametro = "p" + parametros.size();
+        if (!parametros.isEmpty()) {
+            jpql.append(", ");
+        }
+        jpql.append("e.").append(atributo).append(" = :").append(parametro);
+        parametros.put(parametro, valor);
+    }
+
+    /**
+     * Obtiene el atributo de la entidad verificando que sea una columna simple o una relación ManyToOne.
+     */
+    private <E> SingularAttribute<? super E, ?> resolveAttribute(EntityType<E> entityType, String nombreAtributo, String nombreCampo) {
+        SingularAttribute<? super E, ?> attribute;
+        try {
+            attribute = entityType.getSingularAttribute(nombreAtributo);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(String.format("El campo '%s' no existe", nombreCampo));
+        }
+
+        if (attribute.isId() || attribute.isVersion()) {
+            throw new BusinessException(String.format("El campo '%s' no se puede actualizar", nombreCampo));
+        }
+
+        Attribute.PersistentAttributeType tipo = attribute.getPersistentAttributeType();
+        if (tipo != Attribute.PersistentAttributeType.BASIC && tipo != Attribute.PersistentAttributeType.MANY_TO_ONE) {
+            throw new BusinessException(String.format("El campo '%s' no se puede actualizar", nombreCampo));
+        }
+        return attribute;
+    }
+
+    /**
+     * Convierte el valor recibido (normalmente de JSON) al tipo del atributo y aplica las validaciones.
+     * Para relaciones ManyToOne el valor es el ID del registro relacionado y se usa una referencia
+     * (getReference) para no consultar la tabla relacionada.
+     */
+    private <E> Object convertValue(Class<E> entityClass, SingularAttribute<? super E, ?> attribute,
+                                    String nombreCampo, Object valor, Class<?> dtoClass) {
+        boolean esRelacion = attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.MANY_TO_ONE;
+
+        Class<?> tipoDestino;
+        if (esRelacion) {
+            EntityType<?> relacion = entityManager.getMetamodel().entity(attribute.getJavaType());
+            tipoDestino = relacion.getIdType().getJavaType();
+        } else {
+            tipoDestino = attribute.getJavaType();
+        }
+
+        if (valor == null && tipoDestino.isPrimitive()) {
+            throw new BusinessException(String.format("El campo '%s' no puede ser nulo", nombreCampo));
+        }
+
+        Object convertido;
+        try {
+            convertido = CONVERSION_SERVICE.convert(valor, ClassUtils.resolvePrimitiveIfNecessary(tipoDestino));
+        } catch (ConversionException e) {
+            throw new BusinessException(String.format("Valor inválido para el campo '%s'", nombreCampo));
+        }
+
+        if (dtoClass != null) {
+            validate(dtoClass, nombreCampo, convertido);
+        }
+        if (!esRelacion) {
+            validate(entityClass, attribute.getName(), convertido);
+            return convertido;
+        }
+        return convertido != null ? entityManager.getReference(attribute.getJavaType(), convertido) : null;
+    }
+
+    private <T> void validate(Class<T> beanClass, String propiedad, Object valor) {
+        Set<ConstraintViolation<T>> violaciones = validator.validateValue(beanClass, propiedad, valor);
+        if (!violaciones.isEmpty()) {
+            throw new BusinessException(violaciones.iterator().next().getMessage());
+        }
+    }
+}
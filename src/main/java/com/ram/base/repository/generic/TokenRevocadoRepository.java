@@ -0,0 +1,31 @@
+package com.ram.base.repository.generic;
+
+import com.ram.base.entity.generic.TokenRevocadoEntity;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Repositorio de tokens revocados (propagación entre nodos)
+ */
+@Repository
+public interface TokenRevocadoRepository extends BaseRepository<TokenRevocadoEntity, String> {
+
+    /**
+     * Revocaciones registradas desde el instante indicado cuyo token sigue vigente
+     */
+    @Query("SELECT t FROM TokenRevocadoEntity t WHERE t.revocadoEn >= :desde AND t.expiraEn > :ahora")
+    List<TokenRevocadoEntity> findRevocadosDesde(@Param("desde") long desde, @Param("ahora") long ahora);
+
+    /**
+     * Elimina las revocaciones de tokens ya expirados
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TokenRevocadoEntity t WHERE t.expiraEn <= :ahora")
+    int deleteVencidos(@Param("ahora") long ahora);
+}
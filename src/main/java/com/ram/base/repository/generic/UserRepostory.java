@@ -2,7 +2,13 @@ package com.ram.base.repository.generic;
 
 import com.ram.base.entity.generic.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepostory extends JpaRepository<UserEntity, Long> {
@@ -10,4 +16,20 @@ public interface UserRepostory extends JpaRepository<UserEntity, Long> {
     Optional<UserEntity> findByEmail(String email);
 
     Boolean existsByEmail(String email);
+
+    @Query("SELECT u.email FROM UserEntity u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * Reemplaza el hash solo si sigue siendo oldHash (compare-and-set). Si la contraseña
+     * cambió mientras tanto no se afecta ninguna fila
+     *
+     * @return Filas actualizadas (0 o 1)
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE UserEntity u SET u.password = :password, u.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE u.email = :email AND u.password = :oldHash")
+    int updatePassword(@Param("email") String email, @Param("oldHash") String oldHash,
+                       @Param("password") String password);
 }
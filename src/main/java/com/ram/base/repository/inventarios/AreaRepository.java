@@ -1,21 +1,43 @@
 package com.ram.base.repository.inventarios;
 
+import com.ram.base.dto.inventarios.ConteoAreasDTO;
 import com.ram.base.entity.inventarios.AreaEntity;
 import com.ram.base.entity.inventarios.LocalidadEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 /**
- * Repositorio para Áreas
+ * Repositorio para Áreas.
+ * Las listas que pasan por areaToDTO cargan la localidad en el mismo SELECT (@EntityGraph);
+ * findById y findAll conservan el plan lazy de JPA.
  */
 @Repository
 public interface AreaRepository extends JpaRepository<AreaEntity, Long> {
 
+    /**
+     * Todas las áreas con su localidad cargada
+     */
+    @EntityGraph(attributePaths = "localidad")
+    @Query("SELECT a FROM AreaEntity a")
+    List<AreaEntity> findAllWithLocalidad();
+
+    /**
+     * Página de áreas con su localidad cargada
+     */
+    @EntityGraph(attributePaths = "localidad")
+    @Query(value = "SELECT a FROM AreaEntity a", countQuery = "SELECT COUNT(a) FROM AreaEntity a")
+    Page<AreaEntity> findAllWithLocalidad(Pageable pageable);
+
     /**
      * Busca áreas por localidad
      */
@@ -24,6 +46,7 @@ public interface AreaRepository extends JpaRepository<AreaEntity, Long> {
     /**
      * Busca áreas por ID de localidad
      */
+    @EntityGraph(attributePaths = "localidad")
     List<AreaEntity> findByLocalidadIdLocalidad(Long idLocalidad);
 
     /**
@@ -34,22 +57,25 @@ public interface AreaRepository extends JpaRepository<AreaEntity, Long> {
     /**
      * Busca áreas por nombre (case insensitive, contiene)
      */
+    @EntityGraph(attributePaths = "localidad")
     List<AreaEntity> findByNombreContainingIgnoreCase(String nombre);
 
     /**
      * Busca áreas activas
      */
+    @EntityGraph(attributePaths = "localidad")
     List<AreaEntity> findByEstatusTrue();
 
     /**
-     * Verifica si existe un área con el nombre en una localidad específica
+     * Verifica si existe un área con el nombre normalizado en una localidad específica.
+     * Usa el índice único (nombre_normalizado, id_localidad).
      */
-    boolean existsByNombreIgnoreCaseAndLocalidadIdLocalidad(String nombre, Long idLocalidad);
+    boolean existsByNombreNormalizadoAndLocalidadIdLocalidad(String nombreNormalizado, Long idLocalidad);
 
     /**
-     * Busca área por nombre y localidad
+     * Busca área por nombre normalizado y localidad
      */
-    Optional<AreaEntity> findByNombreIgnoreCaseAndLocalidadIdLocalidad(String nombre, Long idLocalidad);
+    Optional<AreaEntity> findByNombreNormalizadoAndLocalidadIdLocalidad(String nombreNormalizado, Long idLocalidad);
 
     /**
      * Cuenta áreas por localidad
@@ -61,4 +87,50 @@ public interface AreaRepository extends JpaRepository<AreaEntity, Long> {
      */
     @Query("SELECT a FROM AreaEntity a JOIN FETCH a.localidad WHERE a.idArea = :id")
     Optional<AreaEntity> findByIdWithLocalidad(@Param("id") Long id);
+
+    /**
+     * Busca las áreas de varias localidades en una sola consulta (evita N+1 al listar localidades)
+     */
+    @Query("SELECT a FROM AreaEntity a WHERE a.localidad.idLocalidad IN :idsLocalidad ORDER BY a.idArea")
+    List<AreaEntity> findByLocalidadIds(@Param("idsLocalidad") Collection<Long> idsLocalidad);
+
+    /**
+     * Cuenta las áreas (totales y activas) de todas las localidades en una sola consulta.
+     * Usa LEFT JOIN desde localidad para incluir localidades sin áreas (conteo 0).
+     */
+    @Query("SELECT new com.ram.base.dto.inventarios.ConteoAreasDTO(l.idLocalidad, COUNT(a), " +
+           "COALESCE(SUM(CASE WHEN a.estatus = true THEN 1L ELSE 0L END), 0L)) " +
+           "FROM LocalidadEntity l LEFT JOIN l.areas a " +
+           "GROUP BY l.idLocalidad ORDER BY l.idLocalidad")
+    List<ConteoAreasDTO> countGroupedByLocalidad();
+
+    /**
+     * Cuenta las áreas (totales y activas) de las localidades indicadas en una sola consulta
+     */
+    @Query("SELECT new com.ram.base.dto.inventarios.ConteoAreasDTO(l.idLocalidad, COUNT(a), " +
+           "COALESCE(SUM(CASE WHEN a.estatus = true THEN 1L ELSE 0L END), 0L)) " +
+           "FROM LocalidadEntity l LEFT JOIN l.areas a " +
+           "WHERE l.idLocalidad IN :idsLocalidad " +
+           "GROUP BY l.idLocalidad ORDER BY l.idLocalidad")
+    List<ConteoAreasDTO> countGroupedByLocalidad(@Param("idsLocalidad") Collection<Long> idsLocalidad);
+
+    /**
+     * Regresa cuáles de los nombres normalizados ya existen en la localidad.
+     * Una sola consulta IN sobre el índice único (nombre_normalizado, id_localidad).
+     */
+    @Query("SELECT a.nombreNormalizado FROM AreaEntity a " +
+           "WHERE a.localidad.idLocalidad = :idLocalidad AND a.nombreNormalizado IN :nombres")
+    List<String> findExistingNombres(@Param("idLocalidad") Long idLocalidad,
+                                     @Param("nombres") Collection<String> nombres);
+
+    /**
+     * Cambia el estatus de todas las áreas de una localidad con un solo UPDATE.
+     * Solo toca las áreas cuyo estatus es distinto, por lo que el resultado es
+     * el número de áreas que realmente cambiaron.
+     * flushAutomatically envía antes los cambios pendientes de la localidad.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE AreaEntity a SET a.estatus = :estatus " +
+           "WHERE a.localidad.idLocalidad = :idLocalidad AND a.estatus <> :estatus")
+    int updateEstatusByLocalidad(@Param("idLocalidad") Long idLocalidad, @Param("estatus") Boolean estatus);
 }
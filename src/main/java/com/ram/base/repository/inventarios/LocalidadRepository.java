@@ -2,6 +2,7 @@ package com.ram.base.repository.inventarios;
 
 import com.ram.base.entity.inventarios.LocalidadEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -24,12 +25,24 @@ public interface LocalidadRepository extends JpaRepository<LocalidadEntity, Long
     List<LocalidadEntity> findByNombreContainingIgnoreCase(String nombre);
 
     /**
-     * Verifica si existe una localidad con el nombre dado (case insensitive)
+     * Verifica si existe una localidad con el nombre normalizado dado (ver TextNormalizer).
+     * Búsqueda por igualdad sobre el índice único de nombre_normalizado.
      */
-    boolean existsByNombreIgnoreCase(String nombre);
+    boolean existsByNombreNormalizado(String nombreNormalizado);
 
     /**
-     * Busca una localidad por nombre exacto (case insensitive)
+     * Busca una localidad por nombre normalizado (usa el índice único)
      */
-    Optional<LocalidadEntity> findByNombreIgnoreCase(String nombre);
+    Optional<LocalidadEntity> findByNombreNormalizado(String nombreNormalizado);
+
+    /**
+     * Carga el árbol Localidad -> Áreas en una sola consulta (LEFT JOIN).
+     * Cada fila: [idLocalidad, nombre, estatus, idArea, nombreArea, estatusArea];
+     * las columnas del área son null si la localidad no tiene áreas.
+     * Ordenado para que las filas de una misma localidad queden juntas.
+     */
+    @Query("SELECT l.idLocalidad, l.nombre, l.estatus, a.idArea, a.nombre, a.estatus " +
+           "FROM LocalidadEntity l LEFT JOIN l.areas a " +
+           "ORDER BY l.nombre, l.idLocalidad, a.nombre")
+    List<Object[]> findArbol();
 }
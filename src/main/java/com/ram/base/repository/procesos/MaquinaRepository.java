@@ -0,0 +1,39 @@
+package com.ram.base.repository.procesos;
+
+import com.ram.base.entity.procesos.MaquinaEntity;
+import com.ram.base.repository.generic.BaseRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repositorio para Máquinas
+ */
+@Repository
+public interface MaquinaRepository extends BaseRepository<MaquinaEntity, Long> {
+
+    /**
+     * Busca máquinas activas
+     */
+    List<MaquinaEntity> findByEstatusTrue();
+
+    /**
+     * ID y nombre de las máquinas activas (sin cargar entidades)
+     * Cada fila: [id_maquina, nombre]
+     */
+    @Query("SELECT m.id_maquina, m.nombre FROM MaquinaEntity m WHERE m.estatus = true")
+    List<Object[]> findIdNombreActivas();
+
+    /**
+     * Máquinas con sus procesos en una sola consulta (LEFT JOIN, incluye máquinas sin procesos),
+     * ordenadas por máquina para agruparlas al recorrer las filas.
+     * Cada fila: [id_maquina, nombre, descripcion, estatus,
+     *             id_proceso, nombre, tiempoProceso, personalRequerido, nivelExperiencia, estatus]
+     */
+    @Query("SELECT m.id_maquina, m.nombre, m.descripcion, m.estatus, " +
+            "p.id_proceso, p.nombre, p.tiempoProceso, p.personalRequerido, p.nivelExperiencia, p.estatus " +
+            "FROM MaquinaEntity m LEFT JOIN m.procesos p " +
+            "ORDER BY m.nombre, m.id_maquina, p.nombre")
+    List<Object[]> findTablero();
+}
@@ -0,0 +1,31 @@
+package com.ram.base.repository.procesos;
+
+import com.ram.base.entity.procesos.ProcesoEntity;
+import com.ram.base.repository.generic.BaseRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositorio para Procesos
+ */
+@Repository
+public interface ProcesoRepository extends BaseRepository<ProcesoEntity, Long> {
+
+    /**
+     * Carga los procesos indicados junto con su máquina en una sola consulta (JOIN FETCH),
+     * para poder leer la máquina sin lazy loading fuera de la transacción.
+     */
+    @Query("SELECT p FROM ProcesoEntity p JOIN FETCH p.maquina WHERE p.id_proceso IN :ids")
+    List<ProcesoEntity> findAllWithMaquinaByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * ID, nombre y tiempo de proceso de todos los procesos (sin cargar entidades)
+     * Cada fila: [id_proceso, nombre, tiempoProceso]
+     */
+    @Query("SELECT p.id_proceso, p.nombre, p.tiempoProceso FROM ProcesoEntity p")
+    List<Object[]> findIdNombreTiempo();
+}
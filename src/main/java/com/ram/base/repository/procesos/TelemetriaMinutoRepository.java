@@ -0,0 +1,12 @@
+package com.ram.base.repository.procesos;
+
+import com.ram.base.entity.procesos.TelemetriaMinutoEntity;
+import com.ram.base.repository.generic.BaseRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio para los acumulados por minuto de telemetría
+ */
+@Repository
+public interface TelemetriaMinutoRepository extends BaseRepository<TelemetriaMinutoEntity, Long> {
+}
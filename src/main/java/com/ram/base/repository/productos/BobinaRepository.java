@@ -1,74 +1,117 @@
 package com.ram.base.repository.productos;
 
 import com.ram.base.entity.productos.BobinaEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 /**
- * Repositorio para Bobinas
+ * Repositorio para Bobinas.
+ * Las consultas que alimentan BobinaMapper.toDTO usan el grafo BobinaEntity.CON_CATALOGOS
+ * (tipo, clase, molino, grado y proveedor en el mismo SELECT). findById y findAll
+ * conservan el plan lazy de JPA.
  */
 @Repository
 public interface BobinaRepository extends JpaRepository<BobinaEntity, Long> {
 
+    /**
+     * Busca una bobina con sus catálogos cargados (evita N+1)
+     */
+    @EntityGraph(BobinaEntity.CON_CATALOGOS)
+    @Query("SELECT b FROM BobinaEntity b WHERE b.id_bobina = :id")
+    Optional<BobinaEntity> findByIdWithCatalogos(@Param("id") Long id);
+
+    /**
+     * Todas las bobinas con sus catálogos cargados
+     */
+    @EntityGraph(BobinaEntity.CON_CATALOGOS)
+    @Query("SELECT b FROM BobinaEntity b")
+    List<BobinaEntity> findAllWithCatalogos();
+
+    /**
+     * Página de bobinas con sus catálogos cargados
+     */
+    @EntityGraph(BobinaEntity.CON_CATALOGOS)
+    @Query(value = "SELECT b FROM BobinaEntity b", countQuery = "SELECT COUNT(b) FROM BobinaEntity b")
+    Page<BobinaEntity> findAllWithCatalogos(Pageable pageable);
+
     /**
      * Busca bobinas por código de proveedor (case insensitive, contiene)
      */
+    @EntityGraph(BobinaEntity.CON_CATALOGOS)
     List<BobinaEntity> findByCodigoProveedorContainingIgnoreCase(String codigoProveedor);
 
     /**
-     * Verifica si existe una bobina con el código de proveedor dado
+     * Verifica si existe una bobina con el código de proveedor normalizado dado (ver TextNormalizer).
+     * Búsqueda por igualdad sobre el índice único de codigo_proveedor_normalizado.
      */
-    boolean existsByCodigoProveedorIgnoreCase(String codigoProveedor);
+    boolean existsByCodigoProveedorNormalizado(String codigoProveedorNormalizado);
 
     /**
-     * Busca una bobina por código de proveedor exacto (case insensitive)
+     * Busca una bobina por código de proveedor normalizado (usa el índice único)
      */
-    Optional<BobinaEntity> findByCodigoProveedorIgnoreCase(String codigoProveedor);
+    Optional<BobinaEntity> findByCodigoProveedorNormalizado(String codigoProveedorNormalizado);
 
     /**
      * Busca bobinas por proveedor
      */
+    @EntityGraph(BobinaEntity.CON_CATALOGOS)
     @Query("SELECT b FROM BobinaEntity b WHERE b.proveedor.id_proveedor = :idProveedor")
     List<BobinaEntity> findByProveedor(@Param("idProveedor") Long idProveedor);
 
     /**
      * Busca bobinas por tipo
      */
+    @EntityGraph(BobinaEntity.CON_CATALOGOS)
     @Query("SELECT b FROM BobinaEntity b WHERE b.tipoEntity.id_tipo = :idTipo")
     List<BobinaEntity> findByTipo(@Param("idTipo") Long idTipo);
 
     /**
      * Busca bobinas por clase
      */
+    @EntityGraph(BobinaEntity.CON_CATALOGOS)
     @Query("SELECT b FROM BobinaEntity b WHERE b.claseEntity.id_clase = :idClase")
     List<BobinaEntity> findByClase(@Param("idClase") Long idClase);
 
     /**
      * Busca bobinas por molino
      */
+    @EntityGraph(BobinaEntity.CON_CATALOGOS)
     @Query("SELECT b FROM BobinaEntity b WHERE b.molinoEntity.id_molino = :idMolino")
     List<BobinaEntity> findByMolino(@Param("idMolino") Long idMolino);
 
     /**
      * Busca bobinas por grado
      */
+    @EntityGraph(BobinaEntity.CON_CATALOGOS)
     @Query("SELECT b FROM BobinaEntity b WHERE b.gradoEntity.id_grado = :idGrado")
     List<BobinaEntity> findByGrado(@Param("idGrado") Long idGrado);
 
     /**
      * Busca bobinas por rango de ancho
      */
+    @EntityGraph(BobinaEntity.CON_CATALOGOS)
     @Query("SELECT b FROM BobinaEntity b WHERE b.ancho BETWEEN :anchoMin AND :anchoMax")
     List<BobinaEntity> findByAnchoRange(@Param("anchoMin") Double anchoMin, @Param("anchoMax") Double anchoMax);
 
     /**
      * Busca bobinas por rango de gramaje
      */
+    @EntityGraph(BobinaEntity.CON_CATALOGOS)
     @Query("SELECT b FROM BobinaEntity b WHERE b.gramaje BETWEEN :gramajeMin AND :gramajeMax")
     List<BobinaEntity> findByGramajeRange(@Param("gramajeMin") Double gramajeMin, @Param("gramajeMax") Double gramajeMax);
+
+    /**
+     * Obtiene cuáles de los códigos normalizados dados ya existen, en una sola consulta sobre el índice único
+     */
+    @Query("SELECT b.codigoProveedor FROM BobinaEntity b WHERE b.codigoProveedorNormalizado IN :codigos")
+    List<String> findExistingCodigos(@Param("codigos") Collection<String> codigos);
 }
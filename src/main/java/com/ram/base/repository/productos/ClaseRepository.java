@@ -2,8 +2,11 @@ package com.ram.base.repository.productos;
 
 import com.ram.base.entity.productos.ClaseEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,12 +27,19 @@ public interface ClaseRepository extends JpaRepository<ClaseEntity, Long> {
     List<ClaseEntity> findByClaseContainingIgnoreCase(String clase);
 
     /**
-     * Verifica si existe una clase con el nombre dado (case insensitive)
+     * Verifica si existe una clase con el nombre normalizado dado (ver TextNormalizer).
+     * Búsqueda por igualdad sobre el índice único de clase_normalizado.
      */
-    boolean existsByClaseIgnoreCase(String clase);
+    boolean existsByClaseNormalizado(String claseNormalizado);
 
     /**
-     * Busca una clase por nombre exacto (case insensitive)
+     * Busca una clase por nombre normalizado (usa el índice único)
      */
-    Optional<ClaseEntity> findByClaseIgnoreCase(String clase);
+    Optional<ClaseEntity> findByClaseNormalizado(String claseNormalizado);
+
+    /**
+     * Obtiene cuáles de los nombres normalizados dados ya existen, en una sola consulta sobre el índice único
+     */
+    @Query("SELECT c.clase FROM ClaseEntity c WHERE c.claseNormalizado IN :nombres")
+    List<String> findExistingClases(@Param("nombres") Collection<String> nombres);
 }
@@ -2,8 +2,11 @@ package com.ram.base.repository.productos;
 
 import com.ram.base.entity.productos.GradoEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,12 +27,19 @@ public interface GradoRepository extends JpaRepository<GradoEntity, Long> {
     List<GradoEntity> findByGradoContainingIgnoreCase(String grado);
 
     /**
-     * Verifica si existe un grado con el nombre dado (case insensitive)
+     * Verifica si existe un grado con el nombre normalizado dado (ver TextNormalizer).
+     * Búsqueda por igualdad sobre el índice único de grado_normalizado.
      */
-    boolean existsByGradoIgnoreCase(String grado);
+    boolean existsByGradoNormalizado(String gradoNormalizado);
 
     /**
-     * Busca un grado por nombre exacto (case insensitive)
+     * Busca un grado por nombre normalizado (usa el índice único)
      */
-    Optional<GradoEntity> findByGradoIgnoreCase(String grado);
+    Optional<GradoEntity> findByGradoNormalizado(String gradoNormalizado);
+
+    /**
+     * Obtiene cuáles de los nombres normalizados dados ya existen, en una sola consulta sobre el índice único
+     */
+    @Query("SELECT g.grado FROM GradoEntity g WHERE g.gradoNormalizado IN :nombres")
+    List<String> findExistingGrados(@Param("nombres") Collection<String> nombres);
 }
@@ -2,8 +2,11 @@ package com.ram.base.repository.productos;
 
 import com.ram.base.entity.productos.MolinoEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,12 +27,19 @@ public interface MolinoRepository extends JpaRepository<MolinoEntity, Long> {
     List<MolinoEntity> findByMolinoContainingIgnoreCase(String molino);
 
     /**
-     * Verifica si existe un molino con el nombre dado (case insensitive)
+     * Verifica si existe un molino con el nombre normalizado dado (ver TextNormalizer).
+     * Búsqueda por igualdad sobre el índice único de molino_normalizado.
      */
-    boolean existsByMolinoIgnoreCase(String molino);
+    boolean existsByMolinoNormalizado(String molinoNormalizado);
 
     /**
-     * Busca un molino por nombre exacto (case insensitive)
+     * Busca un molino por nombre normalizado (usa el índice único)
      */
-    Optional<MolinoEntity> findByMolinoIgnoreCase(String molino);
+    Optional<MolinoEntity> findByMolinoNormalizado(String molinoNormalizado);
+
+    /**
+     * Obtiene cuáles de los nombres normalizados dados ya existen, en una sola consulta sobre el índice único
+     */
+    @Query("SELECT m.molino FROM MolinoEntity m WHERE m.molinoNormalizado IN :nombres")
+    List<String> findExistingMolinos(@Param("nombres") Collection<String> nombres);
 }
@@ -2,8 +2,11 @@ package com.ram.base.repository.productos;
 
 import com.ram.base.entity.productos.TipoEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,12 +27,19 @@ public interface TipoRepository extends JpaRepository<TipoEntity, Long> {
     List<TipoEntity> findByTipoContainingIgnoreCase(String tipo);
 
     /**
-     * Verifica si existe un tipo con el nombre dado (case insensitive)
+     * Verifica si existe un tipo con el nombre normalizado dado (ver TextNormalizer).
+     * Búsqueda por igualdad sobre el índice único de tipo_normalizado.
      */
-    boolean existsByTipoIgnoreCase(String tipo);
+    boolean existsByTipoNormalizado(String tipoNormalizado);
 
     /**
-     * Busca un tipo por nombre exacto (case insensitive)
+     * Busca un tipo por nombre normalizado (usa el índice único)
      */
-    Optional<TipoEntity> findByTipoIgnoreCase(String tipo);
+    Optional<TipoEntity> findByTipoNormalizado(String tipoNormalizado);
+
+    /**
+     * Obtiene cuáles de los nombres normalizados dados ya existen, en una sola consulta sobre el índice único
+     */
+    @Query("SELECT t.tipo FROM TipoEntity t WHERE t.tipoNormalizado IN :nombres")
+    List<String> findExistingTipos(@Param("nombres") Collection<String> nombres);
 }
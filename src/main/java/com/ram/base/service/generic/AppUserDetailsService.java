@@ -2,7 +2,9 @@ package com.ram.base.service.generic;
 
 import com.ram.base.entity.generic.UserEntity;
 import com.ram.base.repository.generic.UserRepostory;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -10,18 +12,35 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 public class AppUserDetailsService implements UserDetailsService {
 
+    private static final List<GrantedAuthority> ADMIN = List.of(new SimpleGrantedAuthority("ROLE_ADMIN"));
+
     private final UserRepostory userRepostory;
 
+    // Emails con ROLE_ADMIN (endpoints /admin/**), separados por coma
+    private final Set<String> admins;
+
+    public AppUserDetailsService(UserRepostory userRepostory,
+                                 @Value("${seguridad.admin.emails:}") List<String> admins) {
+        this.userRepostory = userRepostory;
+        this.admins = admins.stream()
+                .map(email -> email.trim().toLowerCase(Locale.ROOT))
+                .filter(email -> !email.isEmpty())
+                .collect(Collectors.toSet());
+    }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         UserEntity existingUser = userRepostory.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("Email not found for the email: "+email));
-        return new User(existingUser.getEmail(), existingUser.getPassword(), new ArrayList<>());
+        return new User(existingUser.getEmail(), existingUser.getPassword(),
+                admins.contains(existingUser.getEmail().toLowerCase(Locale.ROOT)) ? ADMIN : new ArrayList<>());
     }
 }
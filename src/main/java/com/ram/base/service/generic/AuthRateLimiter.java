@@ -0,0 +1,60 @@
+package com.ram.base.service.generic;
+
+import com.ram.base.exception.LimiteExcedidoException;
+import com.ram.base.util.TokenBucketLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Límite de peticiones para los endpoints de autenticación que calculan BCrypt o envían correo
+ * (/login, /send-reset-otp, /send-otp).
+ *
+ * Se aplican dos buckets por operación: uno por IP (frena ráfagas desde un mismo origen) y
+ * uno por email (frena el ataque a una cuenta desde muchas IPs). Se toma primero el de IP
+ * para que una IP bloqueada no consuma los tokens de la cuenta.
+ *
+ * La IP es request.getRemoteAddr(); detrás de un proxy debe configurarse
+ * server.forward-headers-strategy para que refleje la IP del cliente.
+ */
+@Slf4j
+@Component
+public class AuthRateLimiter {
+
+    private final TokenBucketLimiter porIp;
+    private final TokenBucketLimiter porEmail;
+
+    public AuthRateLimiter(@Value("${seguridad.rate-limit.ip.capacidad:20}") int capacidadIp,
+                           @Value("${seguridad.rate-limit.ip.por-minuto:20}") int porMinutoIp,
+                           @Value("${seguridad.rate-limit.email.capacidad:5}") int capacidadEmail,
+                           @Value("${seguridad.rate-limit.email.por-minuto:5}") int porMinutoEmail,
+                           @Value("${seguridad.rate-limit.max-claves:100000}") int maxClaves) {
+        this.porIp = new TokenBucketLimiter(capacidadIp, porMinutoIp, maxClaves);
+        this.porEmail = new TokenBucketLimiter(capacidadEmail, porMinutoEmail, maxClaves);
+    }
+
+    /**
+     * Consume un token de la IP y del email para la operación
+     *
+     * @param operacion Nombre de la operación (login, send-reset-otp, send-otp)
+     * @param request Petición (para la IP)
+     * @param email Email de la cuenta (puede ser null)
+     * @throws LimiteExcedidoException si alguno de los dos buckets está vacío
+     */
+    public void verificar(String operacion, HttpServletRequest request, String email) {
+        String ip = request.getRemoteAddr();
+        long espera = porIp.intentar(operacion + '|' + ip);
+        if (espera == 0 && email != null && !email.isBlank()) {
+            espera = porEmail.intentar(operacion + '|' + email.trim().toLowerCase(Locale.ROOT));
+        }
+        if (espera > 0) {
+            log.warn("Límite de {} excedido para IP {} / email {}", operacion, ip, email);
+            throw new LimiteExcedidoException("Demasiados intentos, intente de nuevo más tarde",
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(espera) + 1));
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package com.ram.base.service.generic;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 //Este es un servicio base generico que define las operaciones CRUD basicas
 //para cualquier entidad. Utiliza genericos para permitir que diferentes tipos
@@ -9,10 +14,14 @@ import java.util.List;
 
 public interface BaseService <E , ID > {
 
-    public List <E> getAll() throws Exception ;
+    public Page <E> getAll(Pageable pageable) throws Exception ;
+    public List <E> getAllAfter(ID lastId, int size) throws Exception ;
+    public void streamAll(Consumer<E> consumer) throws Exception ;
     public E getById(ID id) throws Exception ;
     public E save(E entity) throws Exception ;
+    public List <E> saveAll(List<E> entities) throws Exception ;
     public E update(ID id, E entity) throws Exception;
+    public void patch(ID id, Map<String, Object> campos) throws Exception;
     public E activate(ID id) throws Exception ;
     public E  deactivate (ID id) throws Exception ;
 
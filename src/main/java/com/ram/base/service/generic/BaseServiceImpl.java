@@ -1,12 +1,24 @@
 package com.ram.base.service.generic;
 
+import com.ram.base.exception.BusinessException;
 import com.ram.base.repository.generic.BaseRepository;
+import com.ram.base.repository.generic.PartialUpdateRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Servicio base genérico que proporciona implementación de operaciones CRUD comunes.
@@ -18,27 +30,96 @@ public abstract class BaseServiceImpl<E, ID extends Serializable> implements Bas
 
     protected final BaseRepository<E, ID> baseRepository;
 
+    /**
+     * Tamaño máximo de página permitido en las consultas paginadas.
+     */
+    public static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * Tamaño de bloque para inserciones en lote (igual a hibernate.jdbc.batch_size).
+     */
+    protected static final int BATCH_SIZE = 50;
+
+    @Autowired
+    protected PartialUpdateRepository partialUpdateRepository;
+
+    @PersistenceContext
+    protected EntityManager entityManager;
+
     protected BaseServiceImpl(BaseRepository<E, ID> baseRepository) {
         this.baseRepository = baseRepository;
     }
 
+    /**
+     * Obtiene una página de entidades. El tamaño se limita a MAX_PAGE_SIZE para que
+     * ninguna petición cargue la tabla completa.
+     * @param pageable Configuración de paginación
+     * @return Página de entidades
+     */
     @Override
     @Transactional(readOnly = true)
-    public List<E> getAll() throws Exception {
+    public Page<E> getAll(Pageable pageable) throws Exception {
         try {
-            log.debug("Obteniendo todas las entidades de tipo {}", getEntityClass().getSimpleName());
-            List<E> entities = baseRepository.findAll();
-            log.debug("Se encontraron {} entidades", entities.size());
+            Pageable limitado = limitPageSize(pageable);
+            log.debug("Obteniendo entidades de tipo {}: página {}, tamaño {}",
+                    getEntityClass().getSimpleName(), limitado.getPageNumber(), limitado.getPageSize());
+            Page<E> entities = baseRepository.findAll(limitado);
+            log.debug("Se encontraron {} entidades", entities.getNumberOfElements());
             return entities;
         } catch (DataAccessException e) {
-            log.error("Error de acceso a datos al obtener todas las entidades: {}", e.getMessage(), e);
+            log.error("Error de acceso a datos al obtener las entidades: {}", e.getMessage(), e);
+            throw new Exception("Error al acceder a la base de datos: " + e.getMessage(), e);
+        } catch (Exception e) {
+            log.error("Error inesperado al obtener las entidades: {}", e.getMessage(), e);
+            throw new Exception("Error inesperado al obtener las entidades: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Paginación por keyset: entidades con ID mayor a lastId, ordenadas por ID.
+     * No usa OFFSET ni COUNT, por lo que el costo no crece con el número de página.
+     * @param lastId Último ID recibido (null para la primera página)
+     * @param size Tamaño de la página (se limita a MAX_PAGE_SIZE)
+     * @return Lista de entidades siguientes
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<E> getAllAfter(ID lastId, int size) throws Exception {
+        try {
+            int limite = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+            log.debug("Obteniendo {} entidades de tipo {} después del ID {}",
+                    limite, getEntityClass().getSimpleName(), lastId);
+            return baseRepository.findNextPage(lastId, PageRequest.of(0, limite));
+        } catch (DataAccessException e) {
+            log.error("Error de acceso a datos al obtener las entidades: {}", e.getMessage(), e);
             throw new Exception("Error al acceder a la base de datos: " + e.getMessage(), e);
         } catch (Exception e) {
-            log.error("Error inesperado al obtener todas las entidades: {}", e.getMessage(), e);
+            log.error("Error inesperado al obtener las entidades: {}", e.getMessage(), e);
             throw new Exception("Error inesperado al obtener las entidades: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Recorre todas las entidades con un cursor (fetch size) entregándolas una a una al consumer.
+     * Cada entidad se separa del contexto de persistencia después de procesarla para que
+     * la memoria usada no crezca con el tamaño de la tabla.
+     * @param consumer Acción a ejecutar por cada entidad
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<E> consumer) throws Exception {
+        try (Stream<E> stream = baseRepository.streamAll()) {
+            log.debug("Recorriendo entidades de tipo {} con cursor", getEntityClass().getSimpleName());
+            stream.forEach(entity -> {
+                consumer.accept(entity);
+                entityManager.detach(entity);
+            });
+        } catch (DataAccessException e) {
+            log.error("Error de acceso a datos al recorrer las entidades: {}", e.getMessage(), e);
+            throw new Exception("Error al acceder a la base de datos: " + e.getMessage(), e);
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public E getById(ID id) throws Exception {
@@ -85,6 +166,45 @@ public abstract class BaseServiceImpl<E, ID extends Serializable> implements Bas
         }
     }
 
+    /**
+     * Guarda varias entidades en bloques de BATCH_SIZE.
+     * Cada bloque se envía como un batch JDBC (flush) y después se limpia el contexto
+     * de persistencia, así la memoria no crece con el tamaño de la lista.
+     * Las entidades regresadas quedan desasociadas (detached).
+     * @param entities Entidades a guardar
+     * @return Entidades guardadas con su ID asignado
+     */
+    @Override
+    @Transactional
+    public List<E> saveAll(List<E> entities) throws Exception {
+        try {
+            if (entities == null || entities.isEmpty()) {
+                throw new IllegalArgumentException("La lista de entidades no puede estar vacía");
+            }
+            log.debug("Guardando {} entidades de tipo {} en lote", entities.size(), getEntityClass().getSimpleName());
+
+            List<E> savedEntities = new ArrayList<>(entities.size());
+            for (int inicio = 0; inicio < entities.size(); inicio += BATCH_SIZE) {
+                List<E> bloque = entities.subList(inicio, Math.min(inicio + BATCH_SIZE, entities.size()));
+                savedEntities.addAll(baseRepository.saveAll(bloque));
+                entityManager.flush();
+                entityManager.clear();
+            }
+
+            log.info("Se guardaron {} entidades en lote", savedEntities.size());
+            return savedEntities;
+        } catch (DataAccessException e) {
+            log.error("Error de acceso a datos al guardar entidades en lote: {}", e.getMessage(), e);
+            throw new Exception("Error al guardar en la base de datos: " + e.getMessage(), e);
+        } catch (IllegalArgumentException e) {
+            log.warn("Datos inválidos al guardar entidades en lote: {}", e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("Error inesperado al guardar entidades en lote: {}", e.getMessage(), e);
+            throw new Exception("Error inesperado al guardar las entidades: " + e.getMessage(), e);
+        }
+    }
+
     @Override
     @Transactional
     public E update(ID id, E entity) throws Exception {
@@ -118,6 +238,41 @@ public abstract class BaseServiceImpl<E, ID extends Serializable> implements Bas
         }
     }
 
+    /**
+     * Actualización parcial: solo modifica los campos recibidos con un único UPDATE.
+     * No hace existsById ni merge; si no se afecta ninguna fila, la entidad no existe.
+     * @param id ID de la entidad
+     * @param campos Atributo de la entidad -> nuevo valor
+     */
+    @Override
+    @Transactional
+    public void patch(ID id, Map<String, Object> campos) throws Exception {
+        try {
+            if (id == null) {
+                throw new IllegalArgumentException("El ID no puede ser nulo");
+            }
+
+            log.debug("Actualizando parcialmente entidad con ID: {}", id);
+
+            int filas = partialUpdateRepository.updateFields(getEntityClass(), id, campos);
+            if (filas == 0) {
+                throw new IllegalArgumentException(
+                        String.format("No se encontró la entidad con ID: %s para actualizar", id));
+            }
+
+            log.info("Entidad con ID {} actualizada parcialmente", id);
+        } catch (DataAccessException e) {
+            log.error("Error de acceso a datos al actualizar parcialmente entidad con ID {}: {}", id, e.getMessage(), e);
+            throw new Exception("Error al actualizar en la base de datos: " + e.getMessage(), e);
+        } catch (IllegalArgumentException | BusinessException e) {
+            log.warn("Error de validación al actualizar parcialmente entidad con ID {}: {}", id, e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("Error inesperado al actualizar parcialmente entidad con ID {}: {}", id, e.getMessage(), e);
+            throw new Exception("Error inesperado al actualizar la entidad: " + e.getMessage(), e);
+        }
+    }
+
     @Override
     @Transactional
     public E activate(ID id) throws Exception {
@@ -196,6 +351,21 @@ public abstract class BaseServiceImpl<E, ID extends Serializable> implements Bas
         }
     }
 
+    /**
+     * Limita el tamaño de página solicitado a MAX_PAGE_SIZE conservando página y orden.
+     * @param pageable Paginación solicitada (si es unpaged se usa la primera página)
+     * @return Paginación acotada
+     */
+    protected Pageable limitPageSize(Pageable pageable) {
+        if (pageable == null || pageable.isUnpaged()) {
+            return PageRequest.of(0, MAX_PAGE_SIZE);
+        }
+        if (pageable.getPageSize() > MAX_PAGE_SIZE) {
+            return PageRequest.of(pageable.getPageNumber(), MAX_PAGE_SIZE, pageable.getSort());
+        }
+        return pageable;
+    }
+
     /**
      * Obtiene el ID de una entidad usando reflexión.
      * @param entity Entidad
@@ -0,0 +1,195 @@
+package com.ram.base.service.generic;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ram.base.entity.generic.CorreoPendienteEntity;
+import com.ram.base.repository.generic.CorreoPendienteRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Despachador en segundo plano de la bandeja de salida de correos.
+ *
+ * Un hilo dedicado toma lotes de correos pendientes, los construye con las plantillas ya
+ * precompiladas y los envía por una sola conexión SMTP por lote. Se despierta al
+ * confirmarse un correo nuevo (EmailOutbox) o cada correo.intervalo-ms para reintentos.
+ *
+ * Reintentos: cada fallo reprograma el correo con espera exponencial
+ * (correo.espera-inicial-ms x 2^(intentos-1), hasta correo.espera-maxima-ms); al llegar a
+ * correo.max-intentos queda FALLIDO con el último error.
+ *
+ * La conexión a la base de datos solo se usa para leer el lote y registrar resultados;
+ * no queda tomada mientras se habla con el servidor SMTP. Pensado para un solo nodo
+ * despachando; con varios nodos la lectura del lote necesitaría FOR UPDATE SKIP LOCKED.
+ */
+@Slf4j
+@Component
+public class EmailDispatcher {
+
+    private static final TypeReference<Map<String, String>> TIPO_PARAMETROS = new TypeReference<>() {};
+
+    private final CorreoPendienteRepository correoPendienteRepository;
+    private final EmailService emailService;
+    private final ObjectMapper objectMapper;
+
+    private final int tamanoLote;
+    private final long intervaloMs;
+    private final int maxIntentos;
+    private final long esperaInicialMs;
+    private final long esperaMaximaMs;
+
+    private final Semaphore senal = new Semaphore(0);
+    private volatile boolean activo;
+    private Thread hilo;
+
+    public EmailDispatcher(CorreoPendienteRepository correoPendienteRepository,
+                           EmailService emailService,
+                           ObjectMapper objectMapper,
+                           @Value("${correo.tamano-lote:50}") int tamanoLote,
+                           @Value("${correo.intervalo-ms:5000}") long intervaloMs,
+                           @Value("${correo.max-intentos:8}") int maxIntentos,
+                           @Value("${correo.espera-inicial-ms:30000}") long esperaInicialMs,
+                           @Value("${correo.espera-maxima-ms:3600000}") long esperaMaximaMs) {
+        this.correoPendienteRepository = correoPendienteRepository;
+        this.emailService = emailService;
+        this.objectMapper = objectMapper;
+        this.tamanoLote = tamanoLote;
+        this.intervaloMs = intervaloMs;
+        this.maxIntentos = maxIntentos;
+        this.esperaInicialMs = esperaInicialMs;
+        this.esperaMaximaMs = esperaMaximaMs;
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        emailService.precompilarPlantillas();
+        activo = true;
+        hilo = new Thread(this::ejecutar, "correo-dispatcher");
+        hilo.setDaemon(true);
+        hilo.start();
+    }
+
+    @PreDestroy
+    public void detener() throws InterruptedException {
+        activo = false;
+        senal.release();
+        hilo.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * Pide al despachador revisar la bandeja de inmediato
+     */
+    public void despertar() {
+        senal.release();
+    }
+
+    private void ejecutar() {
+        while (activo) {
+            try {
+                int procesados = despachar();
+                if (procesados < tamanoLote) {
+                    // Lote incompleto: no hay más pendientes vencidos, se espera una señal o el intervalo
+                    senal.tryAcquire(intervaloMs, TimeUnit.MILLISECONDS);
+                    senal.drainPermits();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Error en el despachador de correos: {}", e.getMessage(), e);
+                try {
+                    Thread.sleep(intervaloMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Envía un lote de correos pendientes
+     *
+     * @return Correos procesados (enviados o fallidos)
+     */
+    int despachar() {
+        List<CorreoPendienteEntity> lote = correoPendienteRepository.findPendientes(
+                Instant.now(), PageRequest.of(0, tamanoLote));
+        if (lote.isEmpty()) {
+            return 0;
+        }
+
+        List<MimeMessage> mensajes = new ArrayList<>(lote.size());
+        Map<MimeMessage, CorreoPendienteEntity> correoPorMensaje = new IdentityHashMap<>();
+        Map<CorreoPendienteEntity, Exception> fallidos = new IdentityHashMap<>();
+
+        for (CorreoPendienteEntity correo : lote) {
+            try {
+                Map<String, String> parametros = correo.getParametros() != null
+                        ? objectMapper.readValue(correo.getParametros(), TIPO_PARAMETROS)
+                        : Map.of();
+                MimeMessage mensaje = emailService.crearMensaje(correo.getTipo(), correo.getDestinatario(), parametros);
+                mensajes.add(mensaje);
+                correoPorMensaje.put(mensaje, correo);
+            } catch (Exception e) {
+                fallidos.put(correo, e);
+            }
+        }
+
+        if (!mensajes.isEmpty()) {
+            emailService.enviar(mensajes).forEach((mensaje, error) -> fallidos.put(correoPorMensaje.get(mensaje), error));
+        }
+
+        List<Long> enviados = new ArrayList<>(lote.size());
+        for (CorreoPendienteEntity correo : lote) {
+            Exception error = fallidos.get(correo);
+            if (error == null) {
+                enviados.add(correo.getIdCorreo());
+            } else {
+                registrarFallo(correo, error);
+            }
+        }
+        if (!enviados.isEmpty()) {
+            correoPendienteRepository.marcarEnviados(enviados, Instant.now());
+        }
+
+        log.info("Correos despachados: {} enviados, {} fallidos", enviados.size(), fallidos.size());
+        return lote.size();
+    }
+
+    private void registrarFallo(CorreoPendienteEntity correo, Exception error) {
+        int intentos = correo.getIntentos() + 1;
+        boolean agotado = intentos >= maxIntentos;
+        long espera = Math.min(esperaMaximaMs, esperaInicialMs << Math.min(intentos - 1, 20));
+        String mensaje = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+
+        correoPendienteRepository.registrarFallo(
+                correo.getIdCorreo(),
+                agotado ? CorreoPendienteEntity.Estado.FALLIDO : CorreoPendienteEntity.Estado.PENDIENTE,
+                intentos,
+                Instant.now().plus(Duration.ofMillis(espera)),
+                mensaje.length() > 500 ? mensaje.substring(0, 500) : mensaje);
+
+        if (agotado) {
+            log.error("Correo {} a {} descartado tras {} intentos: {}",
+                    correo.getTipo(), correo.getDestinatario(), intentos, mensaje);
+        } else {
+            log.warn("Correo {} a {} falló (intento {}), se reintenta en {} ms: {}",
+                    correo.getTipo(), correo.getDestinatario(), intentos, espera, mensaje);
+        }
+    }
+}
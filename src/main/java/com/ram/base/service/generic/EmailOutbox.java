@@ -0,0 +1,102 @@
+package com.ram.base.service.generic;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ram.base.entity.generic.CorreoPendienteEntity;
+import com.ram.base.repository.generic.CorreoPendienteRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bandeja de salida de correos.
+ *
+ * Encolar inserta una fila en correo_pendiente dentro de la transacción del llamador
+ * (p. ej. la que guarda el OTP): si la transacción se revierte el correo tampoco sale,
+ * y si se confirma el correo queda registrado aunque el servidor SMTP esté caído.
+ * Al hacer commit se despierta a EmailDispatcher para que lo envíe sin esperar al
+ * siguiente sondeo. La petición no espera al servidor de correo.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmailOutbox {
+
+    private final CorreoPendienteRepository correoPendienteRepository;
+    private final EmailDispatcher emailDispatcher;
+    private final ObjectMapper objectMapper;
+
+    @Transactional
+    public void encolarBienvenida(String email, String name) {
+        encolar(CorreoPendienteEntity.Tipo.BIENVENIDA, email, Map.of("name", name != null ? name : ""));
+    }
+
+    /**
+     * Encola un correo de bienvenida por usuario; los INSERT se agrupan en batch JDBC
+     *
+     * @param nombrePorEmail Nombre de cada usuario indexado por email
+     */
+    @Transactional
+    public void encolarBienvenidas(Map<String, String> nombrePorEmail) {
+        Instant ahora = Instant.now();
+        List<CorreoPendienteEntity> correos = new ArrayList<>(nombrePorEmail.size());
+        nombrePorEmail.forEach((email, name) -> correos.add(nuevo(CorreoPendienteEntity.Tipo.BIENVENIDA, email,
+                Map.of("name", name != null ? name : ""), ahora)));
+        correoPendienteRepository.saveAll(correos);
+        log.debug("{} correos de bienvenida encolados", correos.size());
+        despertarAlConfirmar();
+    }
+
+    @Transactional
+    public void encolarVerificacion(String email, String otp) {
+        encolar(CorreoPendienteEntity.Tipo.VERIFICACION, email, Map.of("otp", otp));
+    }
+
+    @Transactional
+    public void encolarRestablecimiento(String email, String otp) {
+        encolar(CorreoPendienteEntity.Tipo.RESTABLECIMIENTO, email, Map.of("otp", otp));
+    }
+
+    private void encolar(CorreoPendienteEntity.Tipo tipo, String email, Map<String, String> parametros) {
+        correoPendienteRepository.save(nuevo(tipo, email, parametros, Instant.now()));
+        log.debug("Correo {} encolado para {}", tipo, email);
+        despertarAlConfirmar();
+    }
+
+    private CorreoPendienteEntity nuevo(CorreoPendienteEntity.Tipo tipo, String email,
+                                        Map<String, String> parametros, Instant ahora) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(parametros);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudieron serializar los parámetros del correo", e);
+        }
+
+        return CorreoPendienteEntity.builder()
+                .tipo(tipo)
+                .destinatario(email)
+                .parametros(json)
+                .estado(CorreoPendienteEntity.Estado.PENDIENTE)
+                .intentos(0)
+                .siguienteIntento(ahora)
+                .creadoEn(ahora)
+                .build();
+    }
+
+    private void despertarAlConfirmar() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                emailDispatcher.despertar();
+            }
+        });
+    }
+}
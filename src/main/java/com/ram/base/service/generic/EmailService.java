@@ -1,67 +1,154 @@
 package com.ram.base.service.generic;
 
+import com.ram.base.entity.generic.CorreoPendienteEntity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construcción y envío de correos.
+ *
+ * Ya no se llama desde las peticiones: los correos se encolan en EmailOutbox y
+ * EmailDispatcher los envía en lote con este servicio.
+ *
+ * Cada lote se mide en correo.envio (resultado ok, parcial o fallo) y cada mensaje se
+ * cuenta en correo.mensajes (enviado o fallido).
+ */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class EmailService {
 
+    private static final Map<CorreoPendienteEntity.Tipo, String> PLANTILLAS = Map.of(
+            CorreoPendienteEntity.Tipo.VERIFICACION, "verify-email",
+            CorreoPendienteEntity.Tipo.RESTABLECIMIENTO, "password-reset-email");
+
     private final JavaMailSender mailSender;
     private final TemplateEngine templateEngine;
 
+    private final Timer envioOk;
+    private final Timer envioParcial;
+    private final Timer envioFallo;
+    private final Counter mensajesEnviados;
+    private final Counter mensajesFallidos;
+
     @Value("${spring.mail.properties.mail.smtp.from}")
     private String fromEmail;
 
-    public void sendWelcomeEmail(String toEmail, String name) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(fromEmail);
-        message.setTo(toEmail);
-        message.setSubject("Welcome to Our Platform");
-        message.setText("Hello "+name+",\n\nThanks for registering with us!\n\nRegards,\nAuthify Team");
-        mailSender.send(message);
+    public EmailService(JavaMailSender mailSender, TemplateEngine templateEngine, MeterRegistry meterRegistry) {
+        this.mailSender = mailSender;
+        this.templateEngine = templateEngine;
+        this.envioOk = timer(meterRegistry, "ok");
+        this.envioParcial = timer(meterRegistry, "parcial");
+        this.envioFallo = timer(meterRegistry, "fallo");
+        this.mensajesEnviados = counter(meterRegistry, "enviado");
+        this.mensajesFallidos = counter(meterRegistry, "fallido");
     }
 
+    /**
+     * Procesa una vez cada plantilla para que Thymeleaf la deje parseada en su caché
+     * antes del primer envío
+     */
+    public void precompilarPlantillas() {
+        for (String plantilla : PLANTILLAS.values()) {
+            templateEngine.process(plantilla, new Context());
+        }
+        log.debug("Plantillas de correo precompiladas: {}", PLANTILLAS.values());
+    }
 
-    public void sendOtpEmail(String toEmail, String otp) throws MessagingException {
-        Context context = new Context();
-        context.setVariable("email", toEmail);
-        context.setVariable("otp", otp);
-
-        String process = templateEngine.process("verify-email", context);
+    /**
+     * Construye el mensaje del tipo indicado
+     *
+     * @param parametros Variables del correo (name, otp)
+     */
+    public MimeMessage crearMensaje(CorreoPendienteEntity.Tipo tipo, String destinatario,
+                                    Map<String, String> parametros) throws MessagingException {
         MimeMessage mimeMessage = mailSender.createMimeMessage();
         MimeMessageHelper helper = new MimeMessageHelper(mimeMessage);
-
         helper.setFrom(fromEmail);
-        helper.setTo(toEmail);
-        helper.setSubject("Account Verification OTP");
-        helper.setText(process, true);
+        helper.setTo(destinatario);
 
-        mailSender.send(mimeMessage);
+        switch (tipo) {
+            case BIENVENIDA -> {
+                helper.setSubject("Welcome to Our Platform");
+                helper.setText("Hello " + parametros.get("name") + ",\n\nThanks for registering with us!\n\nRegards,\nAuthify Team");
+            }
+            case VERIFICACION -> {
+                helper.setSubject("Account Verification OTP");
+                helper.setText(render(tipo, destinatario, parametros), true);
+            }
+            case RESTABLECIMIENTO -> {
+                helper.setSubject("Forgot your password?");
+                helper.setText(render(tipo, destinatario, parametros), true);
+            }
+        }
+        return mimeMessage;
     }
 
-    public void sendResetOtpEmail(String toEmail, String otp) throws MessagingException {
-        Context context = new Context();
-        context.setVariable("email", toEmail);
-        context.setVariable("otp", otp);
+    /**
+     * Envía los mensajes por una sola conexión SMTP
+     *
+     * @return Mensajes que fallaron con su error (vacío si todos se enviaron)
+     */
+    public Map<MimeMessage, Exception> enviar(List<MimeMessage> mensajes) {
+        Map<MimeMessage, Exception> fallidos = new IdentityHashMap<>();
+        long inicio = System.nanoTime();
+        try {
+            // JavaMailSenderImpl abre una conexión y envía todo el arreglo por ella
+            mailSender.send(mensajes.toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                mensajes.forEach(mensaje -> fallidos.put(mensaje, e));
+            } else {
+                e.getFailedMessages().forEach((mensaje, error) -> fallidos.put((MimeMessage) mensaje, error));
+            }
+        } catch (MailException e) {
+            mensajes.forEach(mensaje -> fallidos.put(mensaje, e));
+        }
+        registrar(mensajes.size(), fallidos.size(), System.nanoTime() - inicio);
+        return fallidos;
+    }
 
-        String process = templateEngine.process("password-reset-email", context);
-        MimeMessage mimeMessage = mailSender.createMimeMessage();
-        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage);
+    private void registrar(int total, int conError, long nanos) {
+        Timer timer = conError == 0 ? envioOk : conError < total ? envioParcial : envioFallo;
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+        mensajesEnviados.increment(total - conError);
+        mensajesFallidos.increment(conError);
+    }
 
-        helper.setFrom(fromEmail);
-        helper.setTo(toEmail);
-        helper.setSubject("Forgot your password?");
-        helper.setText(process, true);
+    private static Timer timer(MeterRegistry meterRegistry, String resultado) {
+        return Timer.builder("correo.envio")
+                .description("Envío de un lote de correos por una conexión SMTP")
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String resultado) {
+        return Counter.builder("correo.mensajes")
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
 
-        mailSender.send(mimeMessage);
+    private String render(CorreoPendienteEntity.Tipo tipo, String destinatario, Map<String, String> parametros) {
+        Context context = new Context();
+        context.setVariable("email", destinatario);
+        context.setVariables(new HashMap<>(parametros));
+        return templateEngine.process(PLANTILLAS.get(tipo), context);
     }
 }
@@ -0,0 +1,200 @@
+package com.ram.base.service.generic;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * OTP en memoria para despliegues de un solo nodo.
+ *
+ * Las entradas viven en un ConcurrentHashMap. La expiración se lleva con una rueda de
+ * tiempo jerárquica (3 niveles de 64 ranuras, tick de seguridad.otp.tick-ms): registrar
+ * y expirar cuestan O(1) sin importar cuántos OTP haya, y cada tick solo toca la ranura
+ * que vence. La verificación revisa además la expiración de la entrada, por lo que la
+ * rueda solo sirve para liberar memoria de los OTP que nunca se usan. Igual que en
+ * JpaOtpStore, un OTP es válido hasta expiraEn inclusive.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "seguridad.otp.almacen", havingValue = "memoria", matchIfMissing = true)
+public class InMemoryOtpStore implements OtpStore {
+
+    private final Map<String, Entrada> entradas = new ConcurrentHashMap<>();
+    private final RuedaTemporizada rueda;
+    private final int maxIntentos;
+    private final Clock reloj;
+
+    @Autowired
+    public InMemoryOtpStore(@Value("${seguridad.otp.max-intentos:5}") int maxIntentos,
+                            @Value("${seguridad.otp.tick-ms:1000}") long tickMs) {
+        this(maxIntentos, tickMs, Clock.systemUTC());
+    }
+
+    InMemoryOtpStore(int maxIntentos, long tickMs, Clock reloj) {
+        this.maxIntentos = maxIntentos;
+        this.reloj = reloj;
+        this.rueda = new RuedaTemporizada(tickMs, reloj.millis());
+    }
+
+    static final class Entrada {
+        private final String clave;
+        private final byte[] otp;
+        private final long expiraEn;
+        private final AtomicInteger intentos = new AtomicInteger();
+
+        Entrada(String clave, byte[] otp, long expiraEn) {
+            this.clave = clave;
+            this.otp = otp;
+            this.expiraEn = expiraEn;
+        }
+    }
+
+    @Override
+    public void guardar(String email, Proposito proposito, String otp, long vigenciaMs) {
+        String clave = clave(email, proposito);
+        Entrada entrada = new Entrada(clave, otp.getBytes(StandardCharsets.UTF_8),
+                reloj.millis() + vigenciaMs);
+        entradas.put(clave, entrada);
+        rueda.agregar(entrada);
+    }
+
+    @Override
+    public Resultado verificar(String email, Proposito proposito, String otp) {
+        String clave = clave(email, proposito);
+        Entrada entrada = entradas.get(clave);
+        if (entrada == null || otp == null) {
+            return Resultado.INVALIDO;
+        }
+
+        if (!MessageDigest.isEqual(entrada.otp, otp.getBytes(StandardCharsets.UTF_8))) {
+            if (entrada.intentos.incrementAndGet() >= maxIntentos) {
+                entradas.remove(clave, entrada);
+                return Resultado.AGOTADO;
+            }
+            return Resultado.INVALIDO;
+        }
+
+        // Solo un verificador concurrente puede consumir la entrada
+        if (!entradas.remove(clave, entrada)) {
+            return Resultado.INVALIDO;
+        }
+        return entrada.expiraEn < reloj.millis() ? Resultado.EXPIRADO : Resultado.VALIDO;
+    }
+
+    /**
+     * Avanza la rueda hasta el instante actual y elimina los OTP vencidos
+     */
+    @Scheduled(fixedDelayString = "${seguridad.otp.tick-ms:1000}")
+    public void expirar() {
+        List<Entrada> vencidas = rueda.avanzar(reloj.millis());
+        int eliminadas = 0;
+        for (Entrada entrada : vencidas) {
+            // Si el OTP fue reemplazado o consumido la entrada ya no está en el mapa
+            if (entradas.remove(entrada.clave, entrada)) {
+                eliminadas++;
+            }
+        }
+        if (eliminadas > 0) {
+            log.debug("OTP expirados eliminados: {}", eliminadas);
+        }
+    }
+
+    int size() {
+        return entradas.size();
+    }
+
+    private static String clave(String email, Proposito proposito) {
+        return proposito.name() + ':' + email;
+    }
+
+    /**
+     * Rueda de tiempo jerárquica: el nivel 0 cubre 64 ticks, el 1 64² y el 2 64³
+     * (con tick de 1 s, unas 72 horas). Al completar una vuelta de un nivel se
+     * redistribuye la ranura correspondiente del nivel superior en los inferiores.
+     * Los vencimientos más lejanos se dejan en la última ranura y se reubican al bajar.
+     */
+    static final class RuedaTemporizada {
+
+        private static final int BITS = 6;
+        private static final int RANURAS = 1 << BITS;
+        private static final int MASCARA = RANURAS - 1;
+        private static final int NIVELES = 3;
+        private static final long ALCANCE = 1L << (BITS * NIVELES);
+
+        private final long tickMs;
+        private final List<List<Entrada>> ranuras = new ArrayList<>(NIVELES * RANURAS);
+        private long actual;
+
+        RuedaTemporizada(long tickMs, long ahoraMs) {
+            this.tickMs = tickMs;
+            this.actual = ahoraMs / tickMs;
+            for (int i = 0; i < NIVELES * RANURAS; i++) {
+                ranuras.add(new ArrayList<>());
+            }
+        }
+
+        synchronized void agregar(Entrada entrada) {
+            colocar(entrada, actual + 1);
+        }
+
+        /**
+         * Avanza tick por tick hasta ahoraMs
+         *
+         * @return Entradas cuyo tick de vencimiento ya pasó
+         */
+        synchronized List<Entrada> avanzar(long ahoraMs) {
+            long objetivo = ahoraMs / tickMs;
+            List<Entrada> vencidas = new ArrayList<>();
+            while (actual < objetivo) {
+                actual++;
+                // Primero se baja el nivel superior para que sus entradas lleguen al inferior
+                if ((actual & ((1L << (2 * BITS)) - 1)) == 0) {
+                    bajar(2, (int) ((actual >>> (2 * BITS)) & MASCARA));
+                }
+                if ((actual & MASCARA) == 0) {
+                    bajar(1, (int) ((actual >>> BITS) & MASCARA));
+                }
+                List<Entrada> ranura = ranuras.get((int) (actual & MASCARA));
+                if (!ranura.isEmpty()) {
+                    vencidas.addAll(ranura);
+                    ranura.clear();
+                }
+            }
+            return vencidas;
+        }
+
+        private void bajar(int nivel, int indice) {
+            List<Entrada> ranura = ranuras.get(nivel * RANURAS + indice);
+            if (ranura.isEmpty()) {
+                return;
+            }
+            List<Entrada> pendientes = new ArrayList<>(ranura);
+            ranura.clear();
+            for (Entrada entrada : pendientes) {
+                colocar(entrada, actual);
+            }
+        }
+
+        private void colocar(Entrada entrada, long minimo) {
+            // Primer tick que empieza después de expiraEn: en expiraEn el OTP todavía es válido
+            long tick = Math.max(entrada.expiraEn / tickMs + 1, minimo);
+            long delta = Math.min(tick - actual, ALCANCE - 1);
+            tick = actual + delta;
+            int nivel = delta < RANURAS ? 0 : delta < (1L << (2 * BITS)) ? 1 : 2;
+            int indice = (int) ((tick >>> (nivel * BITS)) & MASCARA);
+            ranuras.get(nivel * RANURAS + indice).add(entrada);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.ram.base.service.generic;
+
+import com.ram.base.entity.generic.OtpEntity;
+import com.ram.base.repository.generic.OtpRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Optional;
+
+/**
+ * OTP en la tabla otp_pendiente, para despliegues con varios nodos.
+ *
+ * Una fila por email y propósito con el SHA-256 del código (salado con la clave), su
+ * vencimiento y los intentos. La verificación bloquea la fila para que el conteo de
+ * intentos y el consumo sean atómicos entre nodos. Los vencidos se borran en lote cada
+ * seguridad.otp.limpieza-ms.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "seguridad.otp.almacen", havingValue = "tabla")
+public class JpaOtpStore implements OtpStore {
+
+    private final OtpRepository otpRepository;
+    private final int maxIntentos;
+
+    public JpaOtpStore(OtpRepository otpRepository,
+                       @Value("${seguridad.otp.max-intentos:5}") int maxIntentos) {
+        this.otpRepository = otpRepository;
+        this.maxIntentos = maxIntentos;
+    }
+
+    @Override
+    @Transactional
+    public void guardar(String email, Proposito proposito, String otp, long vigenciaMs) {
+        String clave = clave(email, proposito);
+        otpRepository.save(OtpEntity.builder()
+                .clave(clave)
+                .otpHash(hash(clave, otp))
+                .expiraEn(System.currentTimeMillis() + vigenciaMs)
+                .intentos(0)
+                .build());
+    }
+
+    // Transacción propia: el intento fallido queda contado aunque el llamador revierta la suya
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Resultado verificar(String email, Proposito proposito, String otp) {
+        String clave = clave(email, proposito);
+        Optional<OtpEntity> encontrado = otpRepository.findParaVerificar(clave);
+        if (encontrado.isEmpty() || otp == null) {
+            return Resultado.INVALIDO;
+        }
+        OtpEntity entidad = encontrado.get();
+
+        if (!MessageDigest.isEqual(entidad.getOtpHash(), hash(clave, otp))) {
+            int intentos = entidad.getIntentos() + 1;
+            if (intentos >= maxIntentos) {
+                otpRepository.delete(entidad);
+                return Resultado.AGOTADO;
+            }
+            entidad.setIntentos(intentos);
+            return Resultado.INVALIDO;
+        }
+
+        otpRepository.delete(entidad);
+        return entidad.getExpiraEn() < System.currentTimeMillis() ? Resultado.EXPIRADO : Resultado.VALIDO;
+    }
+
+    @Scheduled(fixedDelayString = "${seguridad.otp.limpieza-ms:60000}")
+    public void expirar() {
+        int eliminados = otpRepository.deleteVencidos(System.currentTimeMillis());
+        if (eliminados > 0) {
+            log.debug("OTP expirados eliminados: {}", eliminados);
+        }
+    }
+
+    private static String clave(String email, Proposito proposito) {
+        return proposito.name() + ':' + email;
+    }
+
+    private static byte[] hash(String clave, String otp) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(clave.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            return digest.digest(otp.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.ram.base.service.generic;
+
+/**
+ * Almacén de códigos OTP de un solo uso.
+ *
+ * Los OTP ya no se guardan en tbl_users: son datos de vida corta que solo generaban
+ * escrituras en la tabla de usuarios. Implementaciones (seguridad.otp.almacen):
+ * - memoria (por defecto): InMemoryOtpStore, para un solo nodo.
+ * - tabla: JpaOtpStore, tabla otp_pendiente compartida entre nodos.
+ *
+ * Cada email tiene a lo sumo un OTP vigente por propósito; guardar uno nuevo reemplaza
+ * al anterior. Un OTP se consume al verificarse y se descarta al agotar los intentos.
+ */
+public interface OtpStore {
+
+    enum Proposito {
+        VERIFICACION,
+        RESTABLECIMIENTO
+    }
+
+    enum Resultado {
+        VALIDO,
+        INVALIDO,
+        EXPIRADO,
+        AGOTADO
+    }
+
+    /**
+     * Guarda el OTP reemplazando el anterior del mismo email y propósito
+     *
+     * @param vigenciaMs Milisegundos de validez a partir de ahora
+     */
+    void guardar(String email, Proposito proposito, String otp, long vigenciaMs);
+
+    /**
+     * Verifica el OTP y, si es válido, lo consume. Cada intento fallido cuenta contra
+     * seguridad.otp.max-intentos; la comparación es en tiempo constante.
+     */
+    Resultado verificar(String email, Proposito proposito, String otp);
+}
@@ -0,0 +1,92 @@
+package com.ram.base.service.generic;
+
+import com.ram.base.exception.ServicioSaturadoException;
+import com.ram.base.io.PasswordHashMetricsResponse;
+import com.ram.base.repository.generic.UserRepostory;
+import com.ram.base.util.BCryptCalibrator;
+import com.ram.base.util.HistogramaLatencia;
+import com.ram.base.util.LimitedPasswordEncoder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Re-hash de contraseñas al iniciar sesión y métricas de hash.
+ *
+ * Los hashes se guardan como {bcrypt}$2a$costo$...: el prefijo indica el algoritmo y el
+ * hash BCrypt lleva su costo. Si el hash guardado usa otro algoritmo, no tiene prefijo
+ * (hashes anteriores) o tiene un costo menor al calibrado, tras un login correcto se
+ * vuelve a calcular con la contraseña recibida y se guarda con un solo UPDATE.
+ *
+ * El UPDATE solo aplica si el hash guardado sigue siendo el del login: si /reset-password
+ * o el perfil cambiaron la contraseña mientras tanto, el re-hash de la anterior se descarta.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PasswordUpgradeService {
+
+    private final LimitedPasswordEncoder passwordEncoder;
+    private final BCryptCalibrator bCryptCalibrator;
+    private final UserRepostory userRepostory;
+
+    private final LongAdder rehashes = new LongAdder();
+
+    /**
+     * Vuelve a calcular el hash si está desactualizado. Nunca lanza excepciones: el login
+     * ya fue válido y el re-hash se reintenta en el siguiente
+     *
+     * @param email          Usuario autenticado
+     * @param rawPassword    Contraseña ya verificada
+     * @param storedPassword Hash con el que se autenticó
+     */
+    public void upgradeIfNeeded(String email, String rawPassword, String storedPassword) {
+        if (storedPassword == null || !passwordEncoder.upgradeEncoding(storedPassword)) {
+            return;
+        }
+        int filas;
+        try {
+            filas = userRepostory.updatePassword(email, storedPassword, passwordEncoder.encode(rawPassword));
+        } catch (ServicioSaturadoException e) {
+            // El login ya fue válido; se reintenta en el siguiente
+            log.debug("Re-hash de {} omitido por saturación", email);
+            return;
+        } catch (RuntimeException e) {
+            // Best-effort: un error de base de datos no debe fallar un login con credenciales correctas
+            log.warn("Re-hash de {} falló, se reintenta en el siguiente login: {}", email, e.getMessage());
+            return;
+        }
+        if (filas == 0) {
+            log.debug("Re-hash de {} descartado: la contraseña cambió durante el login", email);
+            return;
+        }
+        rehashes.increment();
+        log.debug("Hash de contraseña actualizado para {}", email);
+    }
+
+    public PasswordHashMetricsResponse getMetrics() {
+        return PasswordHashMetricsResponse.builder()
+                .bcryptCost(bCryptCalibrator.getCosto())
+                .concurrency(passwordEncoder.getConcurrencia())
+                .queued(passwordEncoder.getEnCola())
+                .rejected(passwordEncoder.getRechazados())
+                .rehashed(rehashes.sum())
+                .matches(timing(passwordEncoder.getTiempoMatches()))
+                .encode(timing(passwordEncoder.getTiempoEncode()))
+                .queueWait(timing(passwordEncoder.getEsperaCola()))
+                .build();
+    }
+
+    private static PasswordHashMetricsResponse.Timing timing(HistogramaLatencia histograma) {
+        return PasswordHashMetricsResponse.Timing.builder()
+                .count(histograma.getCuenta())
+                .avgMs(histograma.getPromedioMs())
+                .p50Ms(histograma.percentilMs(0.50))
+                .p95Ms(histograma.percentilMs(0.95))
+                .p99Ms(histograma.percentilMs(0.99))
+                .maxMs(histograma.getMaxMs())
+                .build();
+    }
+}
@@ -0,0 +1,90 @@
+package com.ram.base.service.generic;
+
+import com.ram.base.util.EstadisticasCache;
+import com.ram.base.util.MapaExpirable;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caché acotada y con expiración de los usuarios autenticados por JWT.
+ *
+ * JwtRequestFilter necesitaba un SELECT por email en cada petición autenticada. Con la
+ * caché solo se consulta la tabla de usuarios en el primer acceso y después de cada
+ * expiración (seguridad.principal-cache.ttl-segundos).
+ *
+ * - Se guarda una copia sin contraseña: el filtro solo necesita el nombre y los permisos.
+ *   El login (DaoAuthenticationProvider) sigue usando AppUserDetailsService directamente.
+ * - ProfileServiceImpl llama invalidate(email) al cambiar contraseña o datos de la cuenta.
+ * - Acotada por seguridad.principal-cache.max-entradas (MapaExpirable).
+ * - Aciertos y fallos se publican en /actuator/prometheus (MetricasConfig).
+ */
+@Slf4j
+@Component
+public class PrincipalCache {
+
+    private final AppUserDetailsService appUserDetailsService;
+    private final long ttlMs;
+    private final MapaExpirable<String, UserDetails> entradas;
+
+    @Getter
+    private final EstadisticasCache estadisticas = new EstadisticasCache();
+
+    public PrincipalCache(AppUserDetailsService appUserDetailsService,
+                          @Value("${seguridad.principal-cache.ttl-segundos:300}") long ttlSegundos,
+                          @Value("${seguridad.principal-cache.max-entradas:10000}") int maxEntradas) {
+        this.appUserDetailsService = appUserDetailsService;
+        this.ttlMs = ttlSegundos * 1000;
+        this.entradas = new MapaExpirable<>(maxEntradas);
+    }
+
+    /**
+     * Obtiene el usuario desde caché o lo carga de la base de datos
+     *
+     * @param email Email del usuario (subject del token)
+     * @return Usuario sin contraseña
+     * @throws UsernameNotFoundException si el usuario no existe
+     */
+    public UserDetails get(String email) {
+        long ahora = System.currentTimeMillis();
+        UserDetails enCache = entradas.get(email, ahora);
+        if (enCache != null) {
+            estadisticas.acierto();
+            return enCache;
+        }
+        estadisticas.fallo();
+
+        UserDetails cargado = appUserDetailsService.loadUserByUsername(email);
+        UserDetails usuario = User.withUsername(cargado.getUsername())
+                .password("")
+                .authorities(cargado.getAuthorities())
+                .accountExpired(!cargado.isAccountNonExpired())
+                .accountLocked(!cargado.isAccountNonLocked())
+                .credentialsExpired(!cargado.isCredentialsNonExpired())
+                .disabled(!cargado.isEnabled())
+                .build();
+
+        entradas.put(email, usuario, ahora + ttlMs, ahora);
+        return usuario;
+    }
+
+    /**
+     * Entradas en la caché (incluye las expiradas que aún no se desalojan)
+     */
+    public int size() {
+        return entradas.size();
+    }
+
+    /**
+     * Descarta el usuario de la caché; la siguiente petición lo vuelve a cargar
+     */
+    public void invalidate(String email) {
+        if (entradas.remove(email)) {
+            log.debug("Usuario {} removido de la caché de autenticación", email);
+        }
+    }
+}
@@ -9,6 +9,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.UUID;
@@ -21,16 +23,26 @@ public class ProfileServiceImpl implements ProfileService {
     private final UserRepostory userRepostory;
     private final PasswordEncoder passwordEncoder;
 
-    private final EmailService emailService;
+    private final EmailOutbox emailOutbox;
+    private final OtpStore otpStore;
+    private final PrincipalCache principalCache;
+    private final TransactionTemplate transactionTemplate;
 
+    /**
+     * El hash (espera en el limitador + BCrypt) se calcula antes de abrir la transacción:
+     * la conexión del pool solo se ocupa para el INSERT del usuario y el del correo
+     */
     @Override
     public ProfileResponse createProfile(ProfileRequest request) {
         UserEntity newProfile = convertToUserEntity(request);
-        if (!userRepostory.existsByEmail(request.getEmail())) {
-            newProfile = userRepostory.save(newProfile);
-            return convertToProfileResponse(newProfile);
-        }
-        throw new ResponseStatusException(HttpStatus.CONFLICT, "Email already exists");
+        return transactionTemplate.execute(status -> {
+            if (userRepostory.existsByEmail(request.getEmail())) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Email already exists");
+            }
+            UserEntity saved = userRepostory.save(newProfile);
+            emailOutbox.encolarBienvenida(saved.getEmail(), saved.getName());
+            return convertToProfileResponse(saved);
+        });
     }
 
     @Override
@@ -41,29 +53,16 @@ public class ProfileServiceImpl implements ProfileService {
     }
 
     @Override
+    @Transactional
     public void sendResetOtp(String email) {
         UserEntity existingEntity = userRepostory.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: "+email));
 
-        //Generate 6 digit otp
+        //Generate 6 digit otp, valid for 15 minutes
         String otp = String.valueOf(ThreadLocalRandom.current().nextInt(100000, 1000000));
+        otpStore.guardar(existingEntity.getEmail(), OtpStore.Proposito.RESTABLECIMIENTO, otp, 15 * 60 * 1000L);
 
-        //calculate expiry time (current time + 15 minutes in milliseconds)
-        long expiryTime = System.currentTimeMillis() + (15 * 60 * 1000);
-
-        //update the profile/user
-        existingEntity.setResetOtp(otp);
-        existingEntity.setResetOtpExpireAt(expiryTime);
-
-        //save into the database
-        userRepostory.save(existingEntity);
-
-        try{
-            emailService.sendResetOtpEmail(existingEntity.getEmail(), otp);
-        } catch(Exception ex) {
-            throw new RuntimeException("Unable to send email");
-        }
-
+        emailOutbox.encolarRestablecimiento(existingEntity.getEmail(), otp);
     }
 
     @Override
@@ -71,23 +70,17 @@ public class ProfileServiceImpl implements ProfileService {
         UserEntity existingUser = userRepostory.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: "+email));
 
-        if (existingUser.getResetOtp() == null || !existingUser.getResetOtp().equals(otp)) {
-            throw new RuntimeException("Invalid OTP");
-        }
-
-        if (existingUser.getResetOtpExpireAt() < System.currentTimeMillis()) {
-            throw new RuntimeException("OTP Expired");
-        }
+        checkOtp(otpStore.verificar(existingUser.getEmail(), OtpStore.Proposito.RESTABLECIMIENTO, otp));
 
         existingUser.setPassword(passwordEncoder.encode(newPassword));
-        existingUser.setResetOtp(null);
-        existingUser.setResetOtpExpireAt(0L);
 
         userRepostory.save(existingUser);
+        principalCache.invalidate(existingUser.getEmail());
 
     }
 
     @Override
+    @Transactional
     public void sendOtp(String email) {
         UserEntity existingUser = userRepostory.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: "+email));
@@ -96,43 +89,32 @@ public class ProfileServiceImpl implements ProfileService {
             return;
         }
 
-        //Generate 6 digit OTP
+        //Generate 6 digit OTP, valid for 24 hours
         String otp = String.valueOf(ThreadLocalRandom.current().nextInt(100000, 1000000));
+        otpStore.guardar(existingUser.getEmail(), OtpStore.Proposito.VERIFICACION, otp, 24 * 60 * 60 * 1000L);
 
-        //calculate expiry time (current time + 24 hours in milliseconds)
-        long expiryTime = System.currentTimeMillis() + (24 * 60 * 60 * 1000);
-
-        //Update the user entity
-        existingUser.setVerifyOtp(otp);
-        existingUser.setVerifyOtpExpireAt(expiryTime);
-
-        //save to database
-        userRepostory.save(existingUser);
-
-        try {
-            emailService.sendOtpEmail(existingUser.getEmail(), otp);
-        } catch (Exception e) {
-            throw new RuntimeException("Unable to send email");
-        }
+        emailOutbox.encolarVerificacion(existingUser.getEmail(), otp);
     }
 
     @Override
     public void verifyOtp(String email, String otp) {
         UserEntity existingUser = userRepostory.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: "+email));
-        if (existingUser.getVerifyOtp() == null || !existingUser.getVerifyOtp().equals(otp)) {
-            throw new RuntimeException("Invalid OTP");
-        }
-
-        if (existingUser.getVerifyOtpExpireAt() < System.currentTimeMillis()) {
-            throw new RuntimeException("OTP Expired");
-        }
+        checkOtp(otpStore.verificar(existingUser.getEmail(), OtpStore.Proposito.VERIFICACION, otp));
 
         existingUser.setIsAccountVerified(true);
-        existingUser.setVerifyOtp(null);
-        existingUser.setVerifyOtpExpireAt(0L);
 
         userRepostory.save(existingUser);
+        principalCache.invalidate(existingUser.getEmail());
+    }
+
+    private void checkOtp(OtpStore.Resultado resultado) {
+        switch (resultado) {
+            case VALIDO -> { }
+            case EXPIRADO -> throw new RuntimeException("OTP Expired");
+            case AGOTADO -> throw new RuntimeException("Too many attempts, request a new OTP");
+            default -> throw new RuntimeException("Invalid OTP");
+        }
     }
 
     private ProfileResponse convertToProfileResponse(UserEntity newProfile) {
@@ -151,10 +133,6 @@ public class ProfileServiceImpl implements ProfileService {
                 .name(request.getName())
                 .password(passwordEncoder.encode(request.getPassword()))
                 .isAccountVerified(false)
-                .resetOtpExpireAt(0L)
-                .verifyOtp(null)
-                .verifyOtpExpireAt(0L)
-                .resetOtp(null)
                 .build();
     }
 }
@@ -0,0 +1,89 @@
+package com.ram.base.service.generic;
+
+import com.ram.base.entity.generic.TokenRevocadoEntity;
+import com.ram.base.repository.generic.TokenRevocadoRepository;
+import com.ram.base.util.JwtClaims;
+import com.ram.base.util.JwtUtil;
+import com.ram.base.util.TokenDenyList;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Revocación de JWT (logout).
+ *
+ * JwtRequestFilter consulta estaRevocado() en cada petición autenticada contra la
+ * TokenDenyList en memoria, sin ir a la base de datos. Las entradas desaparecen solas
+ * cuando el token expira.
+ *
+ * Con seguridad.revocacion.propagar=true cada revocación se guarda además en la tabla
+ * token_revocado y cada nodo copia las nuevas a su lista cada
+ * seguridad.revocacion.sincronizar-ms; al arrancar se cargan las vigentes. Un token
+ * revocado en otro nodo deja de aceptarse a más tardar en ese intervalo.
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+
+    // Margen para relojes desfasados entre nodos al leer revocaciones recientes
+    private static final long MARGEN_SINCRONIZACION_MS = 5000;
+
+    private final TokenRevocadoRepository tokenRevocadoRepository;
+    private final TokenDenyList denyList;
+    private final boolean propagar;
+
+    private volatile long ultimaSincronizacion;
+
+    public TokenRevocationService(TokenRevocadoRepository tokenRevocadoRepository,
+                                  @Value("${seguridad.revocacion.ancho-cubeta-ms:900000}") long anchoCubetaMs,
+                                  @Value("${seguridad.revocacion.bits-por-cubeta:65536}") int bitsPorCubeta,
+                                  @Value("${seguridad.revocacion.propagar:false}") boolean propagar) {
+        this.tokenRevocadoRepository = tokenRevocadoRepository;
+        this.denyList = new TokenDenyList(anchoCubetaMs, JwtUtil.EXPIRACION_MS, bitsPorCubeta);
+        this.propagar = propagar;
+    }
+
+    /**
+     * Revoca el token hasta su expiración
+     */
+    public void revocar(JwtClaims claims) {
+        denyList.revocar(claims.getId(), claims.getExpiraEn());
+        if (propagar) {
+            tokenRevocadoRepository.save(TokenRevocadoEntity.builder()
+                    .jti(claims.getId())
+                    .expiraEn(claims.getExpiraEn())
+                    .revocadoEn(System.currentTimeMillis())
+                    .build());
+        }
+        log.debug("Token {} de {} revocado", claims.getId(), claims.getEmail());
+    }
+
+    public boolean estaRevocado(JwtClaims claims) {
+        return denyList.estaRevocado(claims.getId(), claims.getExpiraEn());
+    }
+
+    /**
+     * Copia a memoria las revocaciones hechas en otros nodos y purga las vencidas de la tabla
+     */
+    @Scheduled(fixedDelayString = "${seguridad.revocacion.sincronizar-ms:5000}")
+    public void sincronizar() {
+        if (!propagar) {
+            return;
+        }
+        long ahora = System.currentTimeMillis();
+        long desde = ultimaSincronizacion == 0 ? 0 : ultimaSincronizacion - MARGEN_SINCRONIZACION_MS;
+        List<TokenRevocadoEntity> revocados = tokenRevocadoRepository.findRevocadosDesde(desde, ahora);
+        for (TokenRevocadoEntity revocado : revocados) {
+            denyList.revocar(revocado.getJti(), revocado.getExpiraEn());
+        }
+        ultimaSincronizacion = ahora;
+
+        int eliminados = tokenRevocadoRepository.deleteVencidos(ahora);
+        if (!revocados.isEmpty() || eliminados > 0) {
+            log.debug("Revocaciones sincronizadas: {}, vencidas eliminadas: {}", revocados.size(), eliminados);
+        }
+    }
+}
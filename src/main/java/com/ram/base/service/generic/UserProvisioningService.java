@@ -0,0 +1,199 @@
+package com.ram.base.service.generic;
+
+import com.ram.base.dto.ResultadoLoteItem;
+import com.ram.base.entity.generic.UserEntity;
+import com.ram.base.exception.ServicioSaturadoException;
+import com.ram.base.io.ProfileRequest;
+import com.ram.base.io.ProfileResponse;
+import com.ram.base.repository.generic.UserRepostory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Alta masiva de usuarios (por ejemplo, al incorporar una planta nueva).
+ *
+ * A diferencia de /register, que por usuario hace existsByEmail, un hash en el hilo de la
+ * petición, un INSERT y el envío del correo:
+ * 1. Un solo SELECT ... IN con todos los emails del lote para detectar los existentes.
+ * 2. Los hashes se calculan en paralelo en hashPool (acotado, por defecto la mitad de los
+ *    núcleos) y pasan por el mismo LimitedPasswordEncoder que el login, así que un lote
+ *    grande no deja sin permisos de hash a los logins.
+ * 3. Los INSERT de usuarios y de la bandeja de correos van en una transacción corta,
+ *    agrupados en batch JDBC; los correos de bienvenida salen después por EmailDispatcher.
+ *
+ * Igual que los demás lotes, un elemento rechazado no detiene el resto, incluido un email
+ * que otra petición registra mientras se calculan los hashes.
+ */
+@Slf4j
+@Service
+public class UserProvisioningService {
+
+    /** Reintentos del INSERT cuando otra petición registra emails del lote a la vez */
+    private static final int MAX_INTENTOS = 3;
+
+    private final UserRepostory userRepostory;
+    private final PasswordEncoder passwordEncoder;
+    private final EmailOutbox emailOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final ForkJoinPool hashPool;
+
+    public UserProvisioningService(UserRepostory userRepostory,
+                                   PasswordEncoder passwordEncoder,
+                                   EmailOutbox emailOutbox,
+                                   TransactionTemplate transactionTemplate,
+                                   @Qualifier("hashPool") ForkJoinPool hashPool) {
+        this.userRepostory = userRepostory;
+        this.passwordEncoder = passwordEncoder;
+        this.emailOutbox = emailOutbox;
+        this.transactionTemplate = transactionTemplate;
+        this.hashPool = hashPool;
+    }
+
+    public List<ResultadoLoteItem<ProfileResponse>> createAll(List<ProfileRequest> requests) {
+        log.info("Alta masiva de {} usuarios", requests.size());
+
+        Set<String> existentes = userRepostory.findExistingEmails(
+                        requests.stream().map(ProfileRequest::getEmail).collect(Collectors.toSet()))
+                .stream()
+                .map(email -> email.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+
+        List<ResultadoLoteItem<ProfileResponse>> resultados = new ArrayList<>(requests.size());
+        List<ProfileRequest> nuevos = new ArrayList<>();
+        List<Integer> indicesNuevos = new ArrayList<>();
+        Set<String> vistos = new HashSet<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            ProfileRequest request = requests.get(i);
+            String email = request.getEmail().toLowerCase(Locale.ROOT);
+
+            if (request.getPassword() == null || request.getPassword().isEmpty()) {
+                resultados.add(ResultadoLoteItem.rechazado(i, "Password is required"));
+            } else if (existentes.contains(email)) {
+                resultados.add(ResultadoLoteItem.rechazado(i, "Email already exists"));
+            } else if (!vistos.add(email)) {
+                resultados.add(ResultadoLoteItem.rechazado(i, "Email is repeated in the batch"));
+            } else {
+                nuevos.add(request);
+                indicesNuevos.add(i);
+                resultados.add(null); // Se completa después de guardar
+            }
+        }
+
+        if (nuevos.isEmpty()) {
+            return resultados;
+        }
+
+        long inicio = System.nanoTime();
+        String[] hashes = hashAll(nuevos);
+        log.debug("{} contraseñas hasheadas en {} ms", hashes.length, (System.nanoTime() - inicio) / 1_000_000);
+
+        // Otra alta puede insertar el mismo email entre la consulta inicial y el INSERT: el
+        // índice único rechaza todo el batch, así que esos elementos se marcan como rechazados
+        // y el resto se reintenta con los hashes ya calculados
+        List<Integer> pendientes = new ArrayList<>(IntStream.range(0, nuevos.size()).boxed().toList());
+        List<UserEntity> guardados = List.of();
+        for (int intento = 1; !pendientes.isEmpty(); intento++) {
+            try {
+                guardados = guardar(pendientes.stream().map(j -> toUserEntity(nuevos.get(j), hashes[j])).toList());
+                break;
+            } catch (DataIntegrityViolationException e) {
+                Set<String> ocupados = userRepostory.findExistingEmails(
+                                pendientes.stream().map(j -> nuevos.get(j).getEmail()).toList())
+                        .stream()
+                        .map(email -> email.toLowerCase(Locale.ROOT))
+                        .collect(Collectors.toSet());
+                if (ocupados.isEmpty()) {
+                    throw e;
+                }
+                if (intento == MAX_INTENTOS) {
+                    throw new ResponseStatusException(HttpStatus.CONFLICT, "Email already exists: " + String.join(", ", ocupados));
+                }
+                log.warn("Alta masiva: {} emails registrados por otra petición durante el lote", ocupados.size());
+                pendientes.removeIf(j -> {
+                    if (!ocupados.contains(nuevos.get(j).getEmail().toLowerCase(Locale.ROOT))) {
+                        return false;
+                    }
+                    int indice = indicesNuevos.get(j);
+                    resultados.set(indice, ResultadoLoteItem.rechazado(indice, "Email already exists"));
+                    return true;
+                });
+            }
+        }
+
+        for (int j = 0; j < guardados.size(); j++) {
+            UserEntity usuario = guardados.get(j);
+            int indice = indicesNuevos.get(pendientes.get(j));
+            resultados.set(indice, ResultadoLoteItem.creado(indice, ProfileResponse.builder()
+                    .userId(usuario.getUserId())
+                    .name(usuario.getName())
+                    .email(usuario.getEmail())
+                    .isAccountVerified(usuario.getIsAccountVerified())
+                    .build()));
+        }
+
+        log.info("Alta masiva procesada: {} creados, {} rechazados", guardados.size(), requests.size() - guardados.size());
+        return resultados;
+    }
+
+    /**
+     * Solo los INSERT van dentro de la transacción; el flush hace que una violación del
+     * índice único salga aquí y no al confirmar
+     */
+    private List<UserEntity> guardar(List<UserEntity> usuarios) {
+        return transactionTemplate.execute(status -> {
+            List<UserEntity> creados = userRepostory.saveAllAndFlush(usuarios);
+            Map<String, String> nombrePorEmail = new LinkedHashMap<>();
+            creados.forEach(usuario -> nombrePorEmail.put(usuario.getEmail(), usuario.getName()));
+            emailOutbox.encolarBienvenidas(nombrePorEmail);
+            return creados;
+        });
+    }
+
+    private static UserEntity toUserEntity(ProfileRequest request, String hash) {
+        return UserEntity.builder()
+                .email(request.getEmail())
+                .userId(UUID.randomUUID().toString())
+                .name(request.getName())
+                .password(hash)
+                .isAccountVerified(false)
+                .build();
+    }
+
+    private String[] hashAll(List<ProfileRequest> requests) {
+        try {
+            return hashPool.submit(() -> IntStream.range(0, requests.size())
+                            .parallel()
+                            .mapToObj(i -> passwordEncoder.encode(requests.get(i).getPassword()))
+                            .toArray(String[]::new))
+                    .get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServicioSaturadoException("Operación interrumpida, intente de nuevo", 1);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
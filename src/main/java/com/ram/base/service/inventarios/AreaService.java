@@ -1,11 +1,14 @@
 package com.ram.base.service.inventarios;
 
+import com.ram.base.dto.ResultadoLoteItem;
 import com.ram.base.dto.inventarios.AreaDTO;
+import com.ram.base.dto.inventarios.ConteoAreasDTO;
 import com.ram.base.dto.inventarios.CreateAreaRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Interfaz de servicio para Áreas
@@ -17,11 +20,21 @@ public interface AreaService {
      */
     AreaDTO create(CreateAreaRequest request);
 
+    /**
+     * Crea varias áreas en una localidad; regresa el resultado de cada elemento
+     */
+    List<ResultadoLoteItem<AreaDTO>> createAll(Long idLocalidad, List<AreaDTO> areas);
+
     /**
      * Actualiza un área existente
      */
     AreaDTO update(Long id, AreaDTO areaDTO);
 
+    /**
+     * Actualiza parcialmente un área (solo los campos enviados)
+     */
+    void patch(Long id, Map<String, Object> campos);
+
     /**
      * Obtiene un área por ID
      */
@@ -71,4 +84,10 @@ public interface AreaService {
      * Cuenta las áreas de una localidad
      */
     long countByLocalidad(Long idLocalidad);
+
+    /**
+     * Cuenta las áreas (totales y activas) por localidad en una sola consulta.
+     * Si idsLocalidad es null o vacío, regresa el conteo de todas las localidades.
+     */
+    List<ConteoAreasDTO> countGroupedByLocalidad(List<Long> idsLocalidad);
 }
@@ -1,14 +1,18 @@
 package com.ram.base.service.inventarios;
 
+import com.ram.base.dto.ResultadoLoteItem;
 import com.ram.base.dto.inventarios.AreaDTO;
+import com.ram.base.dto.inventarios.ConteoAreasDTO;
 import com.ram.base.dto.inventarios.CreateAreaRequest;
 import com.ram.base.entity.inventarios.AreaEntity;
 import com.ram.base.entity.inventarios.LocalidadEntity;
 import com.ram.base.exception.BusinessException;
 import com.ram.base.exception.ResourceNotFoundException;
 import com.ram.base.mapper.LocalidadMapper;
+import com.ram.base.repository.generic.PartialUpdateRepository;
 import com.ram.base.repository.inventarios.AreaRepository;
 import com.ram.base.repository.inventarios.LocalidadRepository;
+import com.ram.base.util.TextNormalizer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -16,7 +20,12 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -30,6 +39,15 @@ public class AreaServiceImpl implements AreaService {
     private final AreaRepository areaRepository;
     private final LocalidadRepository localidadRepository;
     private final LocalidadMapper mapper;
+    private final PartialUpdateRepository partialUpdateRepository;
+    private final LocalidadArbolCache arbolCache;
+
+    /**
+     * Campos que se pueden actualizar parcialmente (nombre en la API -> atributo de la entidad)
+     */
+    private static final Map<String, String> CAMPOS_PATCH = Map.of(
+            "nombre", "nombre",
+            "estatus", "estatus");
 
     /**
      * Crea una nueva área dentro de una localidad existente
@@ -65,11 +83,11 @@ public class AreaServiceImpl implements AreaService {
 
         // Validar que no exista un área con el mismo nombre en esta localidad
         // Query generada automáticamente por Spring Data JPA:
-        // SELECT COUNT(*) FROM area WHERE UPPER(nombre) = UPPER(?) AND id_localidad = ?
-        // - IgnoreCase hace la comparación case-insensitive
+        // SELECT COUNT(*) FROM area WHERE nombre_normalizado = ? AND id_localidad = ?
+        // - Compara el nombre normalizado (sin mayúsculas/acentos) y usa el índice único
         // - Solo busca dentro de la localidad específica (no es constraint global)
-        if (areaRepository.existsByNombreIgnoreCaseAndLocalidadIdLocalidad(
-                request.getNombre(), request.getIdLocalidad())) {
+        if (areaRepository.existsByNombreNormalizadoAndLocalidadIdLocalidad(
+                TextNormalizer.normalize(request.getNombre()), request.getIdLocalidad())) {
             throw new BusinessException(String.format(
                     "Ya existe un área con el nombre '%s' en la localidad '%s'",
                     request.getNombre(), localidad.getNombre()));
@@ -83,10 +101,81 @@ public class AreaServiceImpl implements AreaService {
 
         AreaEntity savedEntity = areaRepository.save(entity);
 
+        arbolCache.invalidate();
         log.info("Área creada exitosamente con ID: {}", savedEntity.getIdArea());
         return mapper.areaToDTO(savedEntity);
     }
 
+    /**
+     * Crea varias áreas dentro de una misma localidad (alta de una planta nueva)
+     *
+     * @param idLocalidad Localidad a la que pertenecen todas las áreas
+     * @param areas Áreas a crear (nombre y estatus opcional)
+     * @return Resultado por elemento, en el mismo orden del lote
+     * @throws ResourceNotFoundException si la localidad no existe
+     *
+     * Consultas realizadas (sin importar el tamaño del lote):
+     * 1. findById de la localidad (una sola vez, no por área)
+     * 2. Un SELECT ... IN con todos los nombres normalizados para detectar los que ya existen
+     * 3. INSERTs agrupados en batch JDBC (hibernate.jdbc.batch_size)
+     *
+     * Los duplicados dentro del mismo lote se detectan en memoria. Un elemento rechazado
+     * no detiene el lote: se reporta con su motivo y el resto se crea.
+     */
+    @Override
+    @Transactional
+    public List<ResultadoLoteItem<AreaDTO>> createAll(Long idLocalidad, List<AreaDTO> areas) {
+        log.info("Creando lote de {} áreas para localidad ID: {}", areas.size(), idLocalidad);
+
+        LocalidadEntity localidad = localidadRepository.findById(idLocalidad)
+                .orElseThrow(() -> new ResourceNotFoundException("Localidad", idLocalidad));
+
+        Set<String> nombresLote = areas.stream()
+                .map(area -> TextNormalizer.normalize(area.getNombre()))
+                .collect(Collectors.toSet());
+        Set<String> existentes = new HashSet<>(areaRepository.findExistingNombres(idLocalidad, nombresLote));
+
+        List<ResultadoLoteItem<AreaDTO>> resultados = new ArrayList<>(areas.size());
+        List<AreaEntity> nuevas = new ArrayList<>();
+        List<Integer> indicesNuevas = new ArrayList<>();
+        Set<String> vistos = new HashSet<>();
+
+        for (int i = 0; i < areas.size(); i++) {
+            AreaDTO area = areas.get(i);
+            String nombre = TextNormalizer.normalize(area.getNombre());
+
+            if (existentes.contains(nombre)) {
+                resultados.add(ResultadoLoteItem.rechazado(i, String.format(
+                        "Ya existe un área con el nombre '%s' en la localidad '%s'",
+                        area.getNombre(), localidad.getNombre())));
+            } else if (!vistos.add(nombre)) {
+                resultados.add(ResultadoLoteItem.rechazado(i, String.format(
+                        "El nombre '%s' está repetido en el lote", area.getNombre())));
+            } else {
+                nuevas.add(AreaEntity.builder()
+                        .nombre(area.getNombre())
+                        .localidad(localidad)
+                        .estatus(area.getEstatus() != null ? area.getEstatus() : true)
+                        .build());
+                indicesNuevas.add(i);
+                resultados.add(null); // Se completa después de guardar
+            }
+        }
+
+        if (!nuevas.isEmpty()) {
+            List<AreaEntity> guardadas = areaRepository.saveAll(nuevas);
+            for (int j = 0; j < guardadas.size(); j++) {
+                int indice = indicesNuevas.get(j);
+                resultados.set(indice, ResultadoLoteItem.creado(indice, mapper.areaToDTO(guardadas.get(j))));
+            }
+            arbolCache.invalidate();
+        }
+
+        log.info("Lote de áreas procesado para localidad ID {}: {} creadas, {} rechazadas",
+                idLocalidad, nuevas.size(), areas.size() - nuevas.size());
+        return resultados;
+    }
+
     @Override
     @Transactional
     public AreaDTO update(Long id, AreaDTO areaDTO) {
@@ -96,10 +185,11 @@ public class AreaServiceImpl implements AreaService {
                 .orElseThrow(() -> new ResourceNotFoundException("Área", id));
 
         // Validar nombre único en la localidad (excluyendo la misma entidad)
-        if (!existingEntity.getNombre().equalsIgnoreCase(areaDTO.getNombre())) {
+        String nombreNormalizado = TextNormalizer.normalize(areaDTO.getNombre());
+        if (!Objects.equals(existingEntity.getNombreNormalizado(), nombreNormalizado)) {
             Long idLocalidad = existingEntity.getLocalidad().getIdLocalidad();
-            if (areaRepository.existsByNombreIgnoreCaseAndLocalidadIdLocalidad(
-                    areaDTO.getNombre(), idLocalidad)) {
+            if (areaRepository.existsByNombreNormalizadoAndLocalidadIdLocalidad(
+                    nombreNormalizado, idLocalidad)) {
                 throw new BusinessException(String.format(
                         "Ya existe otra área con el nombre '%s' en esta localidad",
                         areaDTO.getNombre()));
@@ -113,10 +203,31 @@ public class AreaServiceImpl implements AreaService {
 
         AreaEntity updatedEntity = areaRepository.save(existingEntity);
 
+        arbolCache.invalidate();
         log.info("Área actualizada exitosamente: {}", id);
         return mapper.areaToDTO(updatedEntity);
     }
 
+    /**
+     * Actualiza solo los campos enviados con un único UPDATE (sin findById ni save).
+     * Si no se afecta ninguna fila, el área no existe.
+     * La unicidad del nombre dentro de la localidad la garantiza uk_area_nombre_localidad.
+     */
+    @Override
+    @Transactional
+    public void patch(Long id, Map<String, Object> campos) {
+        log.info("Actualizando parcialmente área con ID: {}", id);
+
+        int filas = partialUpdateRepository.updateFields(
+                AreaEntity.class, id, campos, AreaDTO.class, CAMPOS_PATCH);
+        if (filas == 0) {
+            throw new ResourceNotFoundException("Área", id);
+        }
+
+        arbolCache.invalidate();
+        log.info("Área actualizada parcialmente: {}", id);
+    }
+
     /**
      * Obtiene un área por su ID con optimización de JOIN FETCH
      * 
@@ -156,7 +267,7 @@ public class AreaServiceImpl implements AreaService {
     public List<AreaDTO> getAll() {
         log.debug("Obteniendo todas las áreas");
 
-        List<AreaEntity> entities = areaRepository.findAll();
+        List<AreaEntity> entities = areaRepository.findAllWithLocalidad();
         return entities.stream()
                 .map(mapper::areaToDTO)
                 .collect(Collectors.toList());
@@ -168,7 +279,7 @@ public class AreaServiceImpl implements AreaService {
         log.debug("Obteniendo áreas paginadas: página {}, tamaño {}", 
                 pageable.getPageNumber(), pageable.getPageSize());
 
-        Page<AreaEntity> entityPage = areaRepository.findAll(pageable);
+        Page<AreaEntity> entityPage = areaRepository.findAllWithLocalidad(pageable);
         return entityPage.map(mapper::areaToDTO);
     }
 
@@ -221,6 +332,7 @@ public class AreaServiceImpl implements AreaService {
         entity.setEstatus(true);
         AreaEntity updatedEntity = areaRepository.save(entity);
 
+        arbolCache.invalidate();
         log.info("Área activada exitosamente: {}", id);
         return mapper.areaToDTO(updatedEntity);
     }
@@ -236,6 +348,7 @@ public class AreaServiceImpl implements AreaService {
         entity.setEstatus(false);
         AreaEntity updatedEntity = areaRepository.save(entity);
 
+        arbolCache.invalidate();
         log.info("Área desactivada exitosamente: {}", id);
         return mapper.areaToDTO(updatedEntity);
     }
@@ -260,4 +373,21 @@ public class AreaServiceImpl implements AreaService {
         log.debug("Contando áreas de localidad ID: {}", idLocalidad);
         return areaRepository.countByLocalidadIdLocalidad(idLocalidad);
     }
+
+    /**
+     * Cuenta las áreas de varias localidades con un solo GROUP BY id_localidad,
+     * en lugar de una llamada a countByLocalidad por cada localidad.
+     * Las localidades sin áreas aparecen con conteo 0; los IDs inexistentes se omiten.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ConteoAreasDTO> countGroupedByLocalidad(List<Long> idsLocalidad) {
+        if (idsLocalidad == null || idsLocalidad.isEmpty()) {
+            log.debug("Contando áreas de todas las localidades");
+            return areaRepository.countGroupedByLocalidad();
+        }
+
+        log.debug("Contando áreas de {} localidades", idsLocalidad.size());
+        return areaRepository.countGroupedByLocalidad(idsLocalidad);
+    }
 }
@@ -0,0 +1,93 @@
+package com.ram.base.service.inventarios;
+
+import com.ram.base.dto.inventarios.LocalidadArbolDTO;
+import com.ram.base.repository.inventarios.LocalidadRepository;
+import com.ram.base.util.CacheInstantanea;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Caché en memoria del árbol Localidad -> Áreas.
+ *
+ * Las pantallas de inventario necesitan el árbol completo de ubicaciones. En lugar de
+ * llamar /localidades y luego /areas/localidad/{id} por cada localidad, el árbol se
+ * construye con una sola consulta (localidad LEFT JOIN area) y se guarda como una
+ * estructura inmutable junto con su ETag.
+ *
+ * LocalidadServiceImpl y AreaServiceImpl llaman invalidate() al escribir; la generación
+ * y la publicación del árbol están en CacheInstantanea.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LocalidadArbolCache extends CacheInstantanea<LocalidadArbolCache.Arbol> {
+
+    private final LocalidadRepository localidadRepository;
+
+    /**
+     * Versión inmutable del árbol con su ETag
+     */
+    @Value
+    public static class Arbol {
+        List<LocalidadArbolDTO> localidades;
+        String etag;
+    }
+
+    /**
+     * Construye el árbol con una sola consulta
+     */
+    @Override
+    protected Arbol construir() {
+        log.debug("Construyendo árbol de localidades");
+
+        // Filas ordenadas por localidad: [idLocalidad, nombre, estatus, idArea, nombreArea, estatusArea]
+        List<Object[]> filas = localidadRepository.findArbol();
+
+        List<LocalidadArbolDTO> localidades = new ArrayList<>();
+        StringBuilder firma = new StringBuilder();
+        int i = 0;
+        while (i < filas.size()) {
+            Object[] fila = filas.get(i);
+            Long idLocalidad = (Long) fila[0];
+            List<LocalidadArbolDTO.AreaNodo> areas = new ArrayList<>();
+            int activas = 0;
+
+            firma.append('L').append(idLocalidad).append('|').append(fila[1]).append('|').append(fila[2]).append('\n');
+            for (; i < filas.size() && idLocalidad.equals(filas.get(i)[0]); i++) {
+                Object[] filaArea = filas.get(i);
+                if (filaArea[3] == null) {
+                    continue; // Localidad sin áreas (LEFT JOIN)
+                }
+                Boolean estatusArea = (Boolean) filaArea[5];
+                if (Boolean.TRUE.equals(estatusArea)) {
+                    activas++;
+                }
+                areas.add(LocalidadArbolDTO.AreaNodo.builder()
+                        .idArea((Long) filaArea[3])
+                        .nombre((String) filaArea[4])
+                        .estatus(estatusArea)
+                        .build());
+                firma.append('A').append(filaArea[3]).append('|').append(filaArea[4]).append('|').append(estatusArea).append('\n');
+            }
+
+            localidades.add(LocalidadArbolDTO.builder()
+                    .idLocalidad(idLocalidad)
+                    .nombre((String) fila[1])
+                    .estatus((Boolean) fila[2])
+                    .totalAreas(areas.size())
+                    .areasActivas(activas)
+                    .areas(List.copyOf(areas))
+                    .build());
+        }
+
+        Arbol nuevo = new Arbol(List.copyOf(localidades), etag(firma));
+
+        log.debug("Árbol de localidades construido: {} localidades, {} filas", localidades.size(), filas.size());
+        return nuevo;
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Interfaz de servicio para Localidades
@@ -21,41 +22,56 @@ public interface LocalidadService {
      */
     LocalidadDTO update(Long id, LocalidadDTO localidadDTO);
 
+    /**
+     * Actualiza parcialmente una localidad (solo los campos enviados)
+     */
+    void patch(Long id, Map<String, Object> campos);
+
     /**
      * Obtiene una localidad por ID
      */
     LocalidadDTO getById(Long id);
 
     /**
-     * Obtiene todas las localidades
+     * Obtiene todas las localidades (con o sin sus áreas)
      */
-    List<LocalidadDTO> getAll();
+    List<LocalidadDTO> getAll(boolean includeAreas);
 
     /**
-     * Obtiene localidades con paginación
+     * Obtiene localidades con paginación (con o sin sus áreas)
      */
-    Page<LocalidadDTO> getAllPaginated(Pageable pageable);
+    Page<LocalidadDTO> getAllPaginated(Pageable pageable, boolean includeAreas);
 
     /**
-     * Obtiene localidades activas
+     * Obtiene localidades activas (con o sin sus áreas)
      */
-    List<LocalidadDTO> getActive();
+    List<LocalidadDTO> getActive(boolean includeAreas);
 
     /**
-     * Busca localidades por nombre
+     * Busca localidades por nombre (con o sin sus áreas)
      */
-    List<LocalidadDTO> searchByNombre(String nombre);
+    List<LocalidadDTO> searchByNombre(String nombre, boolean includeAreas);
 
     /**
      * Activa una localidad
      */
     LocalidadDTO activate(Long id);
 
+    /**
+     * Activa una localidad y, si cascadeAreas es true, todas sus áreas en la misma transacción
+     */
+    LocalidadDTO activate(Long id, boolean cascadeAreas);
+
     /**
      * Desactiva una localidad
      */
     LocalidadDTO deactivate(Long id);
 
+    /**
+     * Desactiva una localidad y, si cascadeAreas es true, todas sus áreas en la misma transacción
+     */
+    LocalidadDTO deactivate(Long id, boolean cascadeAreas);
+
     /**
      * Elimina una localidad (soft delete)
      */
@@ -65,4 +81,9 @@ public interface LocalidadService {
      * Verifica si existe una localidad por nombre
      */
     boolean existsByNombre(String nombre);
+
+    /**
+     * Obtiene el árbol completo Localidad -> Áreas (desde caché) con su ETag
+     */
+    LocalidadArbolCache.Arbol getArbol();
 }
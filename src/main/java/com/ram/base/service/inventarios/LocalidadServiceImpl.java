@@ -1,19 +1,27 @@
 package com.ram.base.service.inventarios;
 
+import com.ram.base.dto.inventarios.AreaDTO;
 import com.ram.base.dto.inventarios.LocalidadDTO;
 import com.ram.base.entity.inventarios.LocalidadEntity;
 import com.ram.base.exception.BusinessException;
 import com.ram.base.exception.ResourceNotFoundException;
 import com.ram.base.mapper.LocalidadMapper;
+import com.ram.base.repository.generic.PartialUpdateRepository;
+import com.ram.base.repository.inventarios.AreaRepository;
 import com.ram.base.repository.inventarios.LocalidadRepository;
+import com.ram.base.util.TextNormalizer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
@@ -25,7 +33,17 @@ import java.util.stream.Collectors;
 public class LocalidadServiceImpl implements LocalidadService {
 
     private final LocalidadRepository localidadRepository;
+    private final AreaRepository areaRepository;
     private final LocalidadMapper localidadMapper;
+    private final PartialUpdateRepository partialUpdateRepository;
+    private final LocalidadArbolCache arbolCache;
+
+    /**
+     * Campos que se pueden actualizar parcialmente (nombre en la API -> atributo de la entidad)
+     */
+    private static final Map<String, String> CAMPOS_PATCH = Map.of(
+            "nombre", "nombre",
+            "estatus", "estatus");
 
     /**
      * Crea una nueva localidad en el sistema
@@ -50,19 +68,19 @@ public class LocalidadServiceImpl implements LocalidadService {
         log.info("Creando nueva localidad: {}", localidadDTO.getNombre());
 
         // Validar que no exista una localidad con el mismo nombre
-        // Usa query personalizada findByNombreIgnoreCase para búsqueda case-insensitive
+        // Compara contra la columna nombre_normalizado (índice único), sin UPPER() en SQL
         if (existsByNombre(localidadDTO.getNombre())) {
             throw new BusinessException("Ya existe una localidad con el nombre: " + localidadDTO.getNombre());
         }
 
         // Validar nombres únicos de áreas dentro de la localidad
         // Usa Stream API para verificar eficientemente duplicados:
-        // 1. Convierte todos los nombres a minúsculas (normalización)
+        // 1. Normaliza los nombres (minúsculas, sin acentos ni espacios extremos)
         // 2. distinct() elimina duplicados
         // 3. Si el conteo es diferente al tamaño original, hay duplicados
         if (localidadDTO.getAreas() != null && !localidadDTO.getAreas().isEmpty()) {
             long uniqueNames = localidadDTO.getAreas().stream()
-                    .map(area -> area.getNombre().toLowerCase())
+                    .map(area -> TextNormalizer.normalize(area.getNombre()))
                     .distinct()
                     .count();
             
@@ -74,6 +92,7 @@ public class LocalidadServiceImpl implements LocalidadService {
         LocalidadEntity entity = localidadMapper.toEntity(localidadDTO);
         LocalidadEntity savedEntity = localidadRepository.save(entity);
 
+        arbolCache.invalidate();
         log.info("Localidad creada exitosamente con ID: {}", savedEntity.getIdLocalidad());
         return localidadMapper.toDTO(savedEntity);
     }
@@ -87,7 +106,7 @@ public class LocalidadServiceImpl implements LocalidadService {
                 .orElseThrow(() -> new ResourceNotFoundException("Localidad", id));
 
         // Validar nombre único (excluyendo la misma entidad)
-        if (!existingEntity.getNombre().equals(localidadDTO.getNombre()) && 
+        if (!Objects.equals(existingEntity.getNombreNormalizado(), TextNormalizer.normalize(localidadDTO.getNombre())) && 
             existsByNombre(localidadDTO.getNombre())) {
             throw new BusinessException("Ya existe otra localidad con el nombre: " + localidadDTO.getNombre());
         }
@@ -95,10 +114,31 @@ public class LocalidadServiceImpl implements LocalidadService {
         localidadMapper.updateEntity(existingEntity, localidadDTO);
         LocalidadEntity updatedEntity = localidadRepository.save(existingEntity);
 
+        arbolCache.invalidate();
         log.info("Localidad actualizada exitosamente: {}", id);
         return localidadMapper.toDTO(updatedEntity);
     }
 
+    /**
+     * Actualiza solo los campos enviados con un único UPDATE (sin findById ni save).
+     * Si no se afecta ninguna fila, la localidad no existe.
+     * La unicidad del nombre la garantiza el índice único de la columna nombre.
+     */
+    @Override
+    @Transactional
+    public void patch(Long id, Map<String, Object> campos) {
+        log.info("Actualizando parcialmente localidad con ID: {}", id);
+
+        int filas = partialUpdateRepository.updateFields(
+                LocalidadEntity.class, id, campos, LocalidadDTO.class, CAMPOS_PATCH);
+        if (filas == 0) {
+            throw new ResourceNotFoundException("Localidad", id);
+        }
+
+        arbolCache.invalidate();
+        log.info("Localidad actualizada parcialmente: {}", id);
+    }
+
     /**
      * Obtiene una localidad por su ID
      * 
@@ -124,19 +164,18 @@ public class LocalidadServiceImpl implements LocalidadService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<LocalidadDTO> getAll() {
+    public List<LocalidadDTO> getAll(boolean includeAreas) {
         log.debug("Obteniendo todas las localidades");
 
         List<LocalidadEntity> entities = localidadRepository.findAll();
-        return entities.stream()
-                .map(localidadMapper::toDTO)
-                .collect(Collectors.toList());
+        return toDTOs(entities, includeAreas);
     }
 
     /**
      * Obtiene localidades con paginación
      * 
      * @param pageable Configuración de paginación (página, tamaño, ordenamiento)
+     * @param includeAreas Si es false regresa la vista resumida sin áreas
      * @return Page<LocalidadDTO> con los resultados paginados y metadatos
      * 
      * Ventajas de paginación:
@@ -147,70 +186,141 @@ public class LocalidadServiceImpl implements LocalidadService {
      * Ejemplo de uso desde controller:
      * ?page=0&size=10&sort=nombre,asc
      * 
-     * Performance: Con 1 millón de registros, solo carga 10 en memoria
+     * Performance: Con 1 millón de registros, solo carga 10 en memoria.
+     * Las áreas de la página se cargan con una sola consulta IN (no una por localidad).
      */
     @Override
     @Transactional(readOnly = true)
-    public Page<LocalidadDTO> getAllPaginated(Pageable pageable) {
+    public Page<LocalidadDTO> getAllPaginated(Pageable pageable, boolean includeAreas) {
         log.debug("Obteniendo localidades paginadas: página {}, tamaño {}", 
                 pageable.getPageNumber(), pageable.getPageSize());
 
         // Spring Data JPA genera: SELECT * FROM localidad LIMIT ? OFFSET ?
         Page<LocalidadEntity> entityPage = localidadRepository.findAll(pageable);
-        // map() aplica la conversión a cada elemento sin cargar todos en memoria
-        return entityPage.map(localidadMapper::toDTO);
+        // No se usa JOIN FETCH de áreas aquí: con LIMIT Hibernate paginaría en memoria
+        List<LocalidadDTO> dtos = toDTOs(entityPage.getContent(), includeAreas);
+        return new PageImpl<>(dtos, entityPage.getPageable(), entityPage.getTotalElements());
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<LocalidadDTO> getActive() {
+    public List<LocalidadDTO> getActive(boolean includeAreas) {
         log.debug("Obteniendo localidades activas");
 
         List<LocalidadEntity> entities = localidadRepository.findByEstatusTrue();
-        return entities.stream()
-                .map(localidadMapper::toDTO)
-                .collect(Collectors.toList());
+        return toDTOs(entities, includeAreas);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<LocalidadDTO> searchByNombre(String nombre) {
+    public List<LocalidadDTO> searchByNombre(String nombre, boolean includeAreas) {
         log.debug("Buscando localidades por nombre: {}", nombre);
 
         List<LocalidadEntity> entities = localidadRepository.findByNombreContainingIgnoreCase(nombre);
+        return toDTOs(entities, includeAreas);
+    }
+
+    /**
+     * Convierte una lista de localidades a DTO sin provocar N+1.
+     *
+     * Antes, localidadMapper.toDTO recorría entity.getAreas() en cada localidad, lo que
+     * disparaba un SELECT de áreas por localidad (1 + N consultas). Aquí las áreas de
+     * todas las localidades se cargan con una sola consulta IN y se agrupan en memoria:
+     * 2 consultas en total sin importar el número de localidades.
+     *
+     * Las áreas cargadas referencian a localidades que ya están en el contexto de
+     * persistencia, por lo que leer su nombre no genera consultas adicionales.
+     *
+     * @param entities Localidades ya cargadas
+     * @param includeAreas Si es false no consulta áreas (vista resumida, 1 sola consulta)
+     */
+    private List<LocalidadDTO> toDTOs(List<LocalidadEntity> entities, boolean includeAreas) {
+        if (!includeAreas) {
+            return entities.stream()
+                    .map(localidadMapper::toSummaryDTO)
+                    .collect(Collectors.toList());
+        }
+        if (entities.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Long> ids = entities.stream()
+                .map(LocalidadEntity::getIdLocalidad)
+                .collect(Collectors.toList());
+
+        Map<Long, List<AreaDTO>> areasPorLocalidad = areaRepository.findByLocalidadIds(ids).stream()
+                .map(localidadMapper::areaToDTO)
+                .collect(Collectors.groupingBy(AreaDTO::getIdLocalidad));
+
         return entities.stream()
-                .map(localidadMapper::toDTO)
+                .map(entity -> localidadMapper.toDTO(entity,
+                        areasPorLocalidad.getOrDefault(entity.getIdLocalidad(), new ArrayList<>())))
                 .collect(Collectors.toList());
     }
 
     @Override
     @Transactional
     public LocalidadDTO activate(Long id) {
-        log.info("Activando localidad con ID: {}", id);
+        return activate(id, false);
+    }
+
+    @Override
+    @Transactional
+    public LocalidadDTO activate(Long id, boolean cascadeAreas) {
+        log.info("Activando localidad con ID: {} (cascada a áreas: {})", id, cascadeAreas);
 
         LocalidadEntity entity = localidadRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Localidad", id));
 
         entity.setEstatus(true);
         LocalidadEntity updatedEntity = localidadRepository.save(entity);
+        Integer areasAfectadas = cascadeAreas ? cascadeEstatusToAreas(id, true) : null;
 
+        arbolCache.invalidate();
         log.info("Localidad activada exitosamente: {}", id);
-        return localidadMapper.toDTO(updatedEntity);
+        LocalidadDTO dto = localidadMapper.toDTO(updatedEntity);
+        dto.setAreasAfectadas(areasAfectadas);
+        return dto;
     }
 
     @Override
     @Transactional
     public LocalidadDTO deactivate(Long id) {
-        log.info("Desactivando localidad con ID: {}", id);
+        return deactivate(id, false);
+    }
+
+    @Override
+    @Transactional
+    public LocalidadDTO deactivate(Long id, boolean cascadeAreas) {
+        log.info("Desactivando localidad con ID: {} (cascada a áreas: {})", id, cascadeAreas);
 
         LocalidadEntity entity = localidadRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Localidad", id));
 
         entity.setEstatus(false);
         LocalidadEntity updatedEntity = localidadRepository.save(entity);
+        Integer areasAfectadas = cascadeAreas ? cascadeEstatusToAreas(id, false) : null;
 
+        arbolCache.invalidate();
         log.info("Localidad desactivada exitosamente: {}", id);
-        return localidadMapper.toDTO(updatedEntity);
+        LocalidadDTO dto = localidadMapper.toDTO(updatedEntity);
+        dto.setAreasAfectadas(areasAfectadas);
+        return dto;
+    }
+
+    /**
+     * Aplica el estatus de la localidad a todas sus áreas con un único
+     * UPDATE area SET estatus = ? WHERE id_localidad = ? (en la transacción actual).
+     *
+     * Evita que el cliente llame /areas/{id}/desactivar por cada área (findById + save por área).
+     * Se ejecuta antes de mapear a DTO, así las áreas se cargan ya con el estatus nuevo.
+     *
+     * @return Número de áreas cuyo estatus cambió
+     */
+    private int cascadeEstatusToAreas(Long idLocalidad, boolean estatus) {
+        int areasAfectadas = areaRepository.updateEstatusByLocalidad(idLocalidad, estatus);
+        log.info("Estatus {} aplicado en cascada a {} áreas de la localidad {}", estatus, areasAfectadas, idLocalidad);
+        return areasAfectadas;
     }
 
     @Override
@@ -230,6 +340,11 @@ public class LocalidadServiceImpl implements LocalidadService {
     @Override
     @Transactional(readOnly = true)
     public boolean existsByNombre(String nombre) {
-        return localidadRepository.existsByNombreIgnoreCase(nombre);
+        return localidadRepository.existsByNombreNormalizado(TextNormalizer.normalize(nombre));
+    }
+
+    @Override
+    public LocalidadArbolCache.Arbol getArbol() {
+        return arbolCache.get();
     }
 }
@@ -0,0 +1,16 @@
+package com.ram.base.service.procesos;
+
+import com.ram.base.dto.procesos.AsignacionPersonalDTO;
+import com.ram.base.dto.procesos.AsignacionPersonalRequest;
+
+/**
+ * Interfaz de servicio para la asignación de personal por turno
+ */
+public interface AsignacionPersonalService {
+
+    /**
+     * Asigna los operadores disponibles a los procesos del turno respetando el personal
+     * requerido y el nivel de experiencia de cada proceso
+     */
+    AsignacionPersonalDTO asignar(AsignacionPersonalRequest request);
+}
@@ -0,0 +1,221 @@
+package com.ram.base.service.procesos;
+
+import com.ram.base.dto.procesos.AsignacionPersonalDTO;
+import com.ram.base.dto.procesos.AsignacionPersonalRequest;
+import com.ram.base.dto.procesos.OperadorDTO;
+import com.ram.base.dto.procesos.PuestoAsignadoDTO;
+import com.ram.base.entity.procesos.ProcesoEntity;
+import com.ram.base.exception.BusinessException;
+import com.ram.base.exception.ResourceNotFoundException;
+import com.ram.base.repository.procesos.ProcesoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementación del servicio de asignación de personal por turno
+ */
+@Slf4j
+@Service
+public class AsignacionPersonalServiceImpl implements AsignacionPersonalService {
+
+    private final ProcesoRepository procesoRepository;
+    private final StaffAllocationSolver solver;
+
+    public AsignacionPersonalServiceImpl(ProcesoRepository procesoRepository,
+                                         @Qualifier("asignacionPool") ForkJoinPool asignacionPool) {
+        this.procesoRepository = procesoRepository;
+        this.solver = new StaffAllocationSolver(asignacionPool);
+    }
+
+    /**
+     * Asigna el personal del turno
+     *
+     * @param request Operadores, procesos del turno y asignación vigente (opcional)
+     * @return Operadores por proceso, puestos sin cubrir y cambios respecto a la asignación vigente
+     * @throws ResourceNotFoundException si algún proceso no existe
+     * @throws BusinessException si hay procesos u operadores repetidos, procesos inactivos
+     *                           o niveles de experiencia no reconocidos
+     *
+     * Uso típico al replanear (alguien faltó): enviar la asignación vigente y marcar al
+     * operador con disponible=false; el resultado cubre el hueco moviendo a la menor
+     * cantidad posible de personas.
+     */
+    @Override
+    public AsignacionPersonalDTO asignar(AsignacionPersonalRequest request) {
+        long inicioNanos = System.nanoTime();
+        long presupuestoMs = request.getPresupuestoMs() != null ? request.getPresupuestoMs() : 200L;
+        long limiteNanos = inicioNanos + TimeUnit.MILLISECONDS.toNanos(presupuestoMs);
+
+        List<ProcesoEntity> procesos = loadProcesos(request.getIdsProceso());
+        List<OperadorDTO> operadores = disponibles(request.getOperadores());
+
+        log.info("Asignando {} operadores a {} procesos (presupuesto {} ms)",
+                operadores.size(), procesos.size(), presupuestoMs);
+
+        // Puestos: un puesto por persona requerida en cada proceso
+        Map<Long, Integer> indiceProceso = new HashMap<>();
+        List<Integer> procesoPuesto = new ArrayList<>();
+        List<Integer> nivelPuesto = new ArrayList<>();
+        for (int i = 0; i < procesos.size(); i++) {
+            ProcesoEntity proceso = procesos.get(i);
+            indiceProceso.put(proceso.getId_proceso(), i);
+            int nivel = NivelExperiencia.parse(proceso.getNivelExperiencia()).getValor();
+            for (int r = 0; r < personalRequerido(proceso); r++) {
+                procesoPuesto.add(i);
+                nivelPuesto.add(nivel);
+            }
+        }
+
+        Map<Long, Long> asignacionActual = request.getAsignacionActual() != null
+                ? request.getAsignacionActual() : Map.of();
+        int[] nivelOperador = new int[operadores.size()];
+        int[] procesoPrevio = new int[operadores.size()];
+        for (int o = 0; o < operadores.size(); o++) {
+            OperadorDTO operador = operadores.get(o);
+            nivelOperador[o] = NivelExperiencia.parse(operador.getNivelExperiencia()).getValor();
+            Long idProcesoPrevio = asignacionActual.get(operador.getIdOperador());
+            procesoPrevio[o] = idProcesoPrevio != null ? indiceProceso.getOrDefault(idProcesoPrevio, -1) : -1;
+        }
+
+        StaffAllocationSolver.Problema problema = new StaffAllocationSolver.Problema(
+                procesoPuesto.stream().mapToInt(Integer::intValue).toArray(),
+                nivelPuesto.stream().mapToInt(Integer::intValue).toArray(),
+                nivelOperador, procesoPrevio, !asignacionActual.isEmpty());
+        long semilla = request.getSemilla() != null ? request.getSemilla() : System.nanoTime();
+        StaffAllocationSolver.Resultado resultado = solver.resolver(problema, limiteNanos, semilla);
+
+        AsignacionPersonalDTO dto = toDTO(problema, resultado, procesos, operadores);
+        dto.setTiempoCalculoMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicioNanos));
+        dto.setEvaluaciones(resultado.getEvaluaciones());
+
+        log.info("Asignación terminada en {} ms: {} puestos sin cubrir, {} cambios, {} evaluaciones",
+                dto.getTiempoCalculoMs(), dto.getPersonalFaltante(), dto.getCambios(), dto.getEvaluaciones());
+        return dto;
+    }
+
+    private AsignacionPersonalDTO toDTO(StaffAllocationSolver.Problema problema,
+                                        StaffAllocationSolver.Resultado resultado,
+                                        List<ProcesoEntity> procesos, List<OperadorDTO> operadores) {
+        int[] operadorPuesto = resultado.getOperadorPuesto();
+        int[] procesoPuesto = problema.getProcesoPuesto();
+        int[] procesoOperador = new int[operadores.size()];
+        Arrays.fill(procesoOperador, -1);
+
+        List<List<Long>> asignados = new ArrayList<>(procesos.size());
+        for (int i = 0; i < procesos.size(); i++) {
+            asignados.add(new ArrayList<>());
+        }
+
+        int faltantes = 0;
+        int sobrecalificacion = 0;
+        for (int p = 0; p < operadorPuesto.length; p++) {
+            int o = operadorPuesto[p];
+            if (o < 0) {
+                faltantes++;
+                continue;
+            }
+            procesoOperador[o] = procesoPuesto[p];
+            asignados.get(procesoPuesto[p]).add(operadores.get(o).getIdOperador());
+            sobrecalificacion += problema.getNivelOperador()[o] - problema.getNivelPuesto()[p];
+        }
+
+        int cambios = 0;
+        List<Long> libres = new ArrayList<>();
+        for (int o = 0; o < operadores.size(); o++) {
+            if (procesoOperador[o] < 0) {
+                libres.add(operadores.get(o).getIdOperador());
+            }
+            if (problema.isReplaneacion() && problema.getProcesoPrevio()[o] != procesoOperador[o]) {
+                cambios++;
+            }
+        }
+
+        List<PuestoAsignadoDTO> puestos = new ArrayList<>(procesos.size());
+        for (int i = 0; i < procesos.size(); i++) {
+            ProcesoEntity proceso = procesos.get(i);
+            int requerido = personalRequerido(proceso);
+            puestos.add(PuestoAsignadoDTO.builder()
+                    .idProceso(proceso.getId_proceso())
+                    .proceso(proceso.getNombre())
+                    .idMaquina(proceso.getMaquina().getId_maquina())
+                    .maquina(proceso.getMaquina().getNombre())
+                    .nivelRequerido(NivelExperiencia.parse(proceso.getNivelExperiencia()).name())
+                    .personalRequerido(requerido)
+                    .idsOperador(asignados.get(i))
+                    .faltantes(requerido - asignados.get(i).size())
+                    .build());
+        }
+
+        return AsignacionPersonalDTO.builder()
+                .puestos(puestos)
+                .operadoresLibres(libres)
+                .personalFaltante(faltantes)
+                .cambios(cambios)
+                .sobrecalificacion(sobrecalificacion)
+                .build();
+    }
+
+    /**
+     * Carga los procesos del turno (con su máquina) en una sola consulta y los valida
+     */
+    private List<ProcesoEntity> loadProcesos(List<Long> idsProceso) {
+        Set<Long> unicos = new HashSet<>(idsProceso);
+        if (unicos.size() != idsProceso.size()) {
+            throw new BusinessException("Hay procesos repetidos en el turno");
+        }
+
+        Map<Long, ProcesoEntity> porId = procesoRepository.findAllWithMaquinaByIds(unicos).stream()
+                .collect(Collectors.toMap(ProcesoEntity::getId_proceso, Function.identity()));
+
+        List<ProcesoEntity> procesos = new ArrayList<>(idsProceso.size());
+        for (Long id : idsProceso) {
+            ProcesoEntity proceso = porId.get(id);
+            if (proceso == null) {
+                throw new ResourceNotFoundException("Proceso", id);
+            }
+            if (!proceso.isEstatus() || !proceso.getMaquina().isEstatus()) {
+                throw new BusinessException(String.format(
+                        "El proceso '%s' o su máquina están inactivos", proceso.getNombre()));
+            }
+            procesos.add(proceso);
+        }
+        return procesos;
+    }
+
+    /**
+     * Operadores que se presentaron al turno; valida que no haya IDs repetidos
+     */
+    private List<OperadorDTO> disponibles(List<OperadorDTO> operadores) {
+        Set<Long> ids = new HashSet<>();
+        List<OperadorDTO> disponibles = new ArrayList<>(operadores.size());
+        for (OperadorDTO operador : operadores) {
+            if (!ids.add(operador.getIdOperador())) {
+                throw new BusinessException("El operador está repetido: " + operador.getIdOperador());
+            }
+            if (!Boolean.FALSE.equals(operador.getDisponible())) {
+                disponibles.add(operador);
+            }
+        }
+        return disponibles;
+    }
+
+    /**
+     * Personal requerido del proceso; si no está capturado se asume una persona
+     */
+    private int personalRequerido(ProcesoEntity proceso) {
+        return proceso.getPersonalRequerido() != null ? Math.max(0, proceso.getPersonalRequerido()) : 1;
+    }
+}
@@ -0,0 +1,57 @@
+package com.ram.base.service.procesos;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Búsqueda multi-arranque en el pool de cálculo, común a JobShopScheduler y
+ * StaffAllocationSolver.
+ *
+ * Lanza una búsqueda por nivel de paralelismo del pool, cada una con su generador, y
+ * espera a todas. Cada búsqueda debe detenerse sola al llegar a su fecha límite; el
+ * llamador elige la mejor y conserva su solución inicial como respaldo.
+ */
+final class BusquedaParalela {
+
+    private BusquedaParalela() {
+    }
+
+    /**
+     * Búsqueda de un hilo
+     */
+    @FunctionalInterface
+    interface Tarea<T> {
+        /**
+         * @param hilo Índice del hilo (0..paralelismo-1), para variar el punto de partida
+         * @param random Generador propio del hilo
+         */
+        T ejecutar(int hilo, SplittableRandom random);
+    }
+
+    /**
+     * Ejecuta una búsqueda por hilo del pool
+     *
+     * @param semilla Semilla base; cada hilo usa un generador derivado con split()
+     * @return Resultado de cada hilo, en orden de hilo
+     */
+    static <T> List<T> ejecutar(ForkJoinPool pool, long semilla, Tarea<T> tarea) {
+        int hilos = pool.getParallelism();
+        // Los split() se hacen aquí y en orden, para que la misma semilla dé los mismos flujos
+        SplittableRandom base = new SplittableRandom(semilla);
+        List<ForkJoinTask<T>> enviadas = new ArrayList<>(hilos);
+        for (int h = 0; h < hilos; h++) {
+            int hilo = h;
+            SplittableRandom random = base.split();
+            enviadas.add(pool.submit(() -> tarea.ejecutar(hilo, random)));
+        }
+
+        List<T> resultados = new ArrayList<>(hilos);
+        for (ForkJoinTask<T> enviada : enviadas) {
+            resultados.add(enviada.join());
+        }
+        return resultados;
+    }
+}
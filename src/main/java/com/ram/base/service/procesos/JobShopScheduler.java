@@ -0,0 +1,359 @@
+package com.ram.base.service.procesos;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Motor de planificación job-shop: cada trabajo es una secuencia de operaciones y cada
+ * operación se ejecuta en una máquina fija; una máquina atiende una operación a la vez.
+ * El objetivo es minimizar el makespan (fin de la última operación).
+ *
+ * Estrategia:
+ * 1. Reglas de despacho (MWKR, SPT, inicio más temprano) generan soluciones iniciales.
+ * 2. Búsqueda local iterada desde una de ellas en cada hilo (BusquedaParalela) hasta
+ *    agotar el presupuesto o alcanzar la cota inferior; gana la mejor.
+ *
+ * Representación: secuencia "por operaciones", un arreglo donde el trabajo j aparece
+ * tantas veces como operaciones tiene; la k-ésima aparición es su k-ésima operación.
+ * Cualquier permutación es válida (respeta el orden dentro de cada trabajo), así los
+ * movimientos nunca generan programas inválidos. La decodificación es O(operaciones)
+ * y no crea objetos: cada hilo reutiliza sus propios arreglos.
+ */
+public class JobShopScheduler {
+
+    private final ForkJoinPool pool;
+
+    public JobShopScheduler(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Problema a resolver en forma de índices (sin entidades)
+     */
+    @Getter
+    public static final class Problema {
+        private final int[][] maquinas;
+        private final double[][] duraciones;
+        private final int numMaquinas;
+        private final int totalOperaciones;
+        private final double cotaInferior;
+
+        /**
+         * @param maquinas [trabajo][paso] -> índice de máquina (0..numMaquinas-1)
+         * @param duraciones [trabajo][paso] -> duración de la operación
+         * @param numMaquinas Número de máquinas distintas
+         */
+        public Problema(int[][] maquinas, double[][] duraciones, int numMaquinas) {
+            this.maquinas = maquinas;
+            this.duraciones = duraciones;
+            this.numMaquinas = numMaquinas;
+
+            int total = 0;
+            double trabajoMasLargo = 0;
+            double[] carga = new double[numMaquinas];
+            for (int j = 0; j < maquinas.length; j++) {
+                double largo = 0;
+                for (int k = 0; k < maquinas[j].length; k++) {
+                    carga[maquinas[j][k]] += duraciones[j][k];
+                    largo += duraciones[j][k];
+                }
+                trabajoMasLargo = Math.max(trabajoMasLargo, largo);
+                total += maquinas[j].length;
+            }
+            this.totalOperaciones = total;
+            this.cotaInferior = Math.max(trabajoMasLargo, Arrays.stream(carga).max().orElse(0));
+        }
+
+        public int getNumTrabajos() {
+            return maquinas.length;
+        }
+    }
+
+    /**
+     * Resultado de la planificación
+     */
+    @Getter
+    public static final class Resultado {
+        private final double makespan;
+        private final double makespanInicial;
+        private final long evaluaciones;
+        private final int hilos;
+        /** [trabajo][paso] -> inicio de la operación */
+        private final double[][] inicios;
+
+        Resultado(double makespan, double makespanInicial, long evaluaciones, int hilos, double[][] inicios) {
+            this.makespan = makespan;
+            this.makespanInicial = makespanInicial;
+            this.evaluaciones = evaluaciones;
+            this.hilos = hilos;
+            this.inicios = inicios;
+        }
+    }
+
+    /**
+     * Reglas de despacho para construir soluciones iniciales
+     */
+    enum Regla {
+        /** Trabajo con más trabajo restante (Most Work Remaining) */
+        MWKR,
+        /** Operación siguiente más corta (Shortest Processing Time) */
+        SPT,
+        /** Operación que puede iniciar antes; desempate por trabajo restante */
+        INICIO_TEMPRANO
+    }
+
+    /**
+     * Resuelve el problema en paralelo hasta la fecha límite.
+     *
+     * @param problema Problema a resolver
+     * @param limiteNanos Instante (System.nanoTime) en que debe terminar la búsqueda
+     * @param semilla Semilla base; cada hilo usa un generador derivado con split()
+     */
+    public Resultado resolver(Problema problema, long limiteNanos, long semilla) {
+        Regla[] reglas = Regla.values();
+
+        // Soluciones iniciales por regla de despacho (deterministas)
+        int[][] iniciales = new int[reglas.length][];
+        double mejorInicial = Double.MAX_VALUE;
+        Decodificador decodificador = new Decodificador(problema);
+        for (int r = 0; r < reglas.length; r++) {
+            iniciales[r] = construir(problema, reglas[r]);
+            mejorInicial = Math.min(mejorInicial, decodificador.makespan(iniciales[r]));
+        }
+
+        List<Busqueda> busquedas = BusquedaParalela.ejecutar(pool, semilla, (hilo, random) -> {
+            Busqueda busqueda = new Busqueda(problema, iniciales[hilo % reglas.length].clone(), random, limiteNanos);
+            busqueda.ejecutar();
+            return busqueda;
+        });
+
+        Busqueda mejor = null;
+        long evaluaciones = 0;
+        for (Busqueda busqueda : busquedas) {
+            evaluaciones += busqueda.evaluaciones;
+            if (mejor == null || busqueda.mejorMakespan < mejor.mejorMakespan) {
+                mejor = busqueda;
+            }
+        }
+
+        double[][] inicios = decodificador.inicios(mejor.mejor);
+        return new Resultado(mejor.mejorMakespan, mejorInicial, evaluaciones, busquedas.size(), inicios);
+    }
+
+    /**
+     * Construye una secuencia con una regla de despacho. En cada paso elige, entre los
+     * trabajos con operaciones pendientes, el mejor según la regla. O(operaciones x trabajos).
+     */
+    static int[] construir(Problema problema, Regla regla) {
+        int n = problema.getNumTrabajos();
+        int[] siguiente = new int[n];
+        double[] restante = new double[n];
+        double[] listoTrabajo = new double[n];
+        double[] listoMaquina = new double[problema.getNumMaquinas()];
+        for (int j = 0; j < n; j++) {
+            for (double d : problema.getDuraciones()[j]) {
+                restante[j] += d;
+            }
+        }
+
+        int[] secuencia = new int[problema.getTotalOperaciones()];
+        for (int pos = 0; pos < secuencia.length; pos++) {
+            int elegido = -1;
+            double mejorClave = 0;
+            double mejorDesempate = 0;
+            for (int j = 0; j < n; j++) {
+                int k = siguiente[j];
+                if (k == problema.getMaquinas()[j].length) {
+                    continue;
+                }
+                double duracion = problema.getDuraciones()[j][k];
+                double clave;
+                double desempate = -restante[j];
+                switch (regla) {
+                    case MWKR -> clave = -restante[j];
+                    case SPT -> clave = duracion;
+                    default -> clave = Math.max(listoTrabajo[j], listoMaquina[problema.getMaquinas()[j][k]]);
+                }
+                if (elegido < 0 || clave < mejorClave || (clave == mejorClave && desempate < mejorDesempate)) {
+                    elegido = j;
+                    mejorClave = clave;
+                    mejorDesempate = desempate;
+                }
+            }
+
+            int k = siguiente[elegido]++;
+            int m = problema.getMaquinas()[elegido][k];
+            double fin = Math.max(listoTrabajo[elegido], listoMaquina[m]) + problema.getDuraciones()[elegido][k];
+            listoTrabajo[elegido] = fin;
+            listoMaquina[m] = fin;
+            restante[elegido] -= problema.getDuraciones()[elegido][k];
+            secuencia[pos] = elegido;
+        }
+        return secuencia;
+    }
+
+    /**
+     * Convierte una secuencia en horarios. Reutiliza sus arreglos: una instancia por hilo.
+     */
+    static final class Decodificador {
+        private final Problema problema;
+        private final int[] siguiente;
+        private final double[] listoTrabajo;
+        private final double[] listoMaquina;
+
+        Decodificador(Problema problema) {
+            this.problema = problema;
+            this.siguiente = new int[problema.getNumTrabajos()];
+            this.listoTrabajo = new double[problema.getNumTrabajos()];
+            this.listoMaquina = new double[problema.getNumMaquinas()];
+        }
+
+        double makespan(int[] secuencia) {
+            return decodificar(secuencia, null);
+        }
+
+        double[][] inicios(int[] secuencia) {
+            double[][] inicios = new double[problema.getNumTrabajos()][];
+            for (int j = 0; j < inicios.length; j++) {
+                inicios[j] = new double[problema.getMaquinas()[j].length];
+            }
+            decodificar(secuencia, inicios);
+            return inicios;
+        }
+
+        /**
+         * Programa cada operación en cuanto su trabajo y su máquina están libres (semiactivo)
+         */
+        private double decodificar(int[] secuencia, double[][] inicios) {
+            Arrays.fill(siguiente, 0);
+            Arrays.fill(listoTrabajo, 0);
+            Arrays.fill(listoMaquina, 0);
+            int[][] maquinas = problema.getMaquinas();
+            double[][] duraciones = problema.getDuraciones();
+
+            double makespan = 0;
+            for (int j : secuencia) {
+                int k = siguiente[j]++;
+                int m = maquinas[j][k];
+                double inicio = Math.max(listoTrabajo[j], listoMaquina[m]);
+                double fin = inicio + duraciones[j][k];
+                listoTrabajo[j] = fin;
+                listoMaquina[m] = fin;
+                if (inicios != null) {
+                    inicios[j][k] = inicio;
+                }
+                if (fin > makespan) {
+                    makespan = fin;
+                }
+            }
+            return makespan;
+        }
+    }
+
+    /**
+     * Búsqueda local iterada de un hilo.
+     *
+     * Movimiento: intercambiar dos posiciones cercanas de la secuencia que pertenecen a
+     * trabajos distintos. Se acepta si no empeora (permite moverse en mesetas).
+     * Tras muchos movimientos sin mejora se reinicia desde la mejor solución con una
+     * perturbación aleatoria.
+     */
+    static final class Busqueda {
+        private final Problema problema;
+        private final SplittableRandom random;
+        private final long limiteNanos;
+        private final Decodificador decodificador;
+
+        private final int[] actual;
+        private int[] mejor;
+        private double mejorMakespan;
+        private long evaluaciones;
+
+        Busqueda(Problema problema, int[] inicial, SplittableRandom random, long limiteNanos) {
+            this.problema = problema;
+            this.random = random;
+            this.limiteNanos = limiteNanos;
+            this.decodificador = new Decodificador(problema);
+            this.actual = inicial;
+            this.mejor = inicial.clone();
+        }
+
+        void ejecutar() {
+            int n = actual.length;
+            double actualMakespan = decodificador.makespan(actual);
+            mejorMakespan = actualMakespan;
+            evaluaciones = 1;
+            if (n < 2 || problema.getNumTrabajos() < 2) {
+                return;
+            }
+
+            int ventana = Math.max(2, Math.min(n - 1, problema.getNumTrabajos()));
+            int limiteSinMejora = Math.max(200, n * 2);
+            int sinMejora = 0;
+            long intentos = 0;
+            double cota = problema.getCotaInferior();
+
+            while (mejorMakespan > cota) {
+                // Revisar el reloj cada 64 intentos para no pagar nanoTime en cada uno
+                if ((++intentos & 63) == 0 && System.nanoTime() >= limiteNanos) {
+                    break;
+                }
+
+                int i = random.nextInt(n);
+                int j = i + 1 + random.nextInt(ventana);
+                if (j >= n) {
+                    j = i - 1 - random.nextInt(Math.min(ventana, i + 1));
+                    if (j < 0) {
+                        continue;
+                    }
+                }
+                if (actual[i] == actual[j]) {
+                    continue;
+                }
+
+                swap(actual, i, j);
+                double makespan = decodificador.makespan(actual);
+                evaluaciones++;
+
+                if (makespan <= actualMakespan) {
+                    if (makespan < actualMakespan) {
+                        sinMejora = 0;
+                    }
+                    actualMakespan = makespan;
+                    if (makespan < mejorMakespan) {
+                        mejorMakespan = makespan;
+                        System.arraycopy(actual, 0, mejor, 0, n);
+                    }
+                } else {
+                    swap(actual, i, j);
+                    sinMejora++;
+                }
+
+                if (sinMejora > limiteSinMejora) {
+                    System.arraycopy(mejor, 0, actual, 0, n);
+                    perturbar(actual);
+                    actualMakespan = decodificador.makespan(actual);
+                    evaluaciones++;
+                    sinMejora = 0;
+                }
+            }
+        }
+
+        private void perturbar(int[] secuencia) {
+            int movimientos = Math.max(2, secuencia.length / 50);
+            for (int m = 0; m < movimientos; m++) {
+                swap(secuencia, random.nextInt(secuencia.length), random.nextInt(secuencia.length));
+            }
+        }
+
+        private static void swap(int[] arreglo, int i, int j) {
+            int temporal = arreglo[i];
+            arreglo[i] = arreglo[j];
+            arreglo[j] = temporal;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.ram.base.service.procesos;
+
+/**
+ * Interfaz de servicio para la consulta de máquinas
+ */
+public interface MaquinaService {
+
+    /**
+     * Obtiene el tablero de máquinas con sus procesos y tiempos totales desde caché
+     */
+    MaquinaTableroCache.Tablero getTablero();
+}
@@ -0,0 +1,31 @@
+package com.ram.base.service.procesos;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Implementación del servicio de consulta de máquinas
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MaquinaServiceImpl implements MaquinaService {
+
+    private final MaquinaTableroCache tableroCache;
+
+    /**
+     * Obtiene el tablero de máquinas
+     *
+     * @return Tablero vigente con su ETag
+     *
+     * La consulta solo se ejecuta la primera vez o después de una escritura en
+     * máquinas o procesos; el resto de las llamadas regresan la versión en memoria.
+     */
+    @Override
+    public MaquinaTableroCache.Tablero getTablero() {
+        MaquinaTableroCache.Tablero tablero = tableroCache.get();
+        log.debug("Tablero de máquinas: {} máquinas", tablero.getMaquinas().size());
+        return tablero;
+    }
+}
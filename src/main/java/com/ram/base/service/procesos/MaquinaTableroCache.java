@@ -0,0 +1,114 @@
+package com.ram.base.service.procesos;
+
+import com.ram.base.dto.procesos.MaquinaTableroDTO;
+import com.ram.base.repository.procesos.MaquinaRepository;
+import com.ram.base.util.CacheInstantanea;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Caché en memoria del tablero Máquina -> Procesos.
+ *
+ * Serializar MaquinaEntity directamente haría una consulta por máquina para su lista
+ * lazy de procesos. El tablero se construye con una sola consulta (maquina LEFT JOIN
+ * proceso), calcula los totales por máquina al agruparla y se guarda como una estructura
+ * inmutable junto con su ETag; el tablero de piso puede refrescar cada pocos segundos
+ * sin tocar la base de datos.
+ *
+ * Invalidación:
+ * - ProcesosCacheListener llama invalidate() en cada alta, cambio o baja de MaquinaEntity
+ *   o ProcesoEntity, sin importar el servicio que escriba.
+ * - Los UPDATE masivos (JPQL) no disparan callbacks JPA: quien los use debe llamar invalidate().
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MaquinaTableroCache extends CacheInstantanea<MaquinaTableroCache.Tablero> {
+
+    private final MaquinaRepository maquinaRepository;
+
+    /**
+     * Versión inmutable del tablero con su ETag
+     */
+    @Value
+    public static class Tablero {
+        List<MaquinaTableroDTO> maquinas;
+        String etag;
+    }
+
+    /**
+     * Construye el tablero con una sola consulta
+     */
+    @Override
+    protected Tablero construir() {
+        log.debug("Construyendo tablero de máquinas");
+
+        // Filas ordenadas por máquina: [idMaquina, nombre, descripcion, estatus,
+        //   idProceso, nombreProceso, tiempoProceso, personalRequerido, nivelExperiencia, estatusProceso]
+        List<Object[]> filas = maquinaRepository.findTablero();
+
+        List<MaquinaTableroDTO> maquinas = new ArrayList<>();
+        StringBuilder firma = new StringBuilder();
+        int i = 0;
+        while (i < filas.size()) {
+            Object[] fila = filas.get(i);
+            Long idMaquina = (Long) fila[0];
+            List<MaquinaTableroDTO.ProcesoNodo> procesos = new ArrayList<>();
+            int activos = 0;
+            double tiempoTotal = 0;
+            double tiempoActivo = 0;
+
+            firma.append('M').append(idMaquina).append('|').append(fila[1]).append('|')
+                    .append(fila[2]).append('|').append(fila[3]).append('\n');
+            for (; i < filas.size() && idMaquina.equals(filas.get(i)[0]); i++) {
+                Object[] filaProceso = filas.get(i);
+                if (filaProceso[4] == null) {
+                    continue; // Máquina sin procesos (LEFT JOIN)
+                }
+                Double tiempo = (Double) filaProceso[6];
+                boolean estatusProceso = (Boolean) filaProceso[9];
+                double tiempoProceso = tiempo != null ? tiempo : 0;
+                tiempoTotal += tiempoProceso;
+                if (estatusProceso) {
+                    activos++;
+                    tiempoActivo += tiempoProceso;
+                }
+                procesos.add(MaquinaTableroDTO.ProcesoNodo.builder()
+                        .idProceso((Long) filaProceso[4])
+                        .nombre((String) filaProceso[5])
+                        .tiempoProceso(tiempo)
+                        .personalRequerido((Integer) filaProceso[7])
+                        .nivelExperiencia((String) filaProceso[8])
+                        .estatus(estatusProceso)
+                        .build());
+                firma.append('P').append(filaProceso[4]);
+                for (int c = 5; c <= 9; c++) {
+                    firma.append('|').append(filaProceso[c]);
+                }
+                firma.append('\n');
+            }
+
+            maquinas.add(MaquinaTableroDTO.builder()
+                    .idMaquina(idMaquina)
+                    .nombre((String) fila[1])
+                    .descripcion((String) fila[2])
+                    .estatus((Boolean) fila[3])
+                    .totalProcesos(procesos.size())
+                    .procesosActivos(activos)
+                    .tiempoProcesoTotal(tiempoTotal)
+                    .tiempoProcesoActivo(tiempoActivo)
+                    .procesos(List.copyOf(procesos))
+                    .build());
+        }
+
+        Tablero nuevo = new Tablero(List.copyOf(maquinas), etag(firma));
+
+        log.debug("Tablero de máquinas construido: {} máquinas, {} filas", maquinas.size(), filas.size());
+        return nuevo;
+    }
+}
@@ -0,0 +1,47 @@
+package com.ram.base.service.procesos;
+
+import com.ram.base.exception.BusinessException;
+import com.ram.base.util.TextNormalizer;
+
+/**
+ * Niveles de experiencia del personal, de menor a mayor.
+ *
+ * ProcesoEntity.nivelExperiencia y los operadores guardan el nivel como texto; aquí se
+ * convierte a un orden numérico para comparar "el operador cubre el nivel requerido".
+ * Acepta el nombre del nivel, sinónimos comunes o el número (1-4).
+ */
+public enum NivelExperiencia {
+
+    BASICO(1),
+    INTERMEDIO(2),
+    AVANZADO(3),
+    EXPERTO(4);
+
+    private final int valor;
+
+    NivelExperiencia(int valor) {
+        this.valor = valor;
+    }
+
+    public int getValor() {
+        return valor;
+    }
+
+    /**
+     * Convierte el texto a nivel. Sin texto se considera BASICO (sin requisito).
+     * @throws BusinessException si el texto no corresponde a ningún nivel
+     */
+    public static NivelExperiencia parse(String texto) {
+        String nivel = TextNormalizer.normalize(texto);
+        if (nivel == null || nivel.isEmpty()) {
+            return BASICO;
+        }
+        return switch (nivel) {
+            case "1", "basico", "bajo", "junior", "aprendiz" -> BASICO;
+            case "2", "intermedio", "medio" -> INTERMEDIO;
+            case "3", "avanzado", "alto", "senior" -> AVANZADO;
+            case "4", "experto" -> EXPERTO;
+            default -> throw new BusinessException("Nivel de experiencia no reconocido: " + texto);
+        };
+    }
+}
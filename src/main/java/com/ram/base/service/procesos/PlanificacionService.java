@@ -0,0 +1,16 @@
+package com.ram.base.service.procesos;
+
+import com.ram.base.dto.procesos.PlanificacionDTO;
+import com.ram.base.dto.procesos.PlanificacionRequest;
+
+/**
+ * Interfaz de servicio para la planificación de producción
+ */
+public interface PlanificacionService {
+
+    /**
+     * Genera un programa por máquina que minimiza el makespan de los trabajos,
+     * respetando el presupuesto de tiempo de cálculo
+     */
+    PlanificacionDTO planificar(PlanificacionRequest request);
+}
@@ -0,0 +1,159 @@
+package com.ram.base.service.procesos;
+
+import com.ram.base.dto.procesos.OperacionProgramadaDTO;
+import com.ram.base.dto.procesos.PlanificacionDTO;
+import com.ram.base.dto.procesos.PlanificacionRequest;
+import com.ram.base.dto.procesos.TrabajoRequest;
+import com.ram.base.entity.procesos.MaquinaEntity;
+import com.ram.base.entity.procesos.ProcesoEntity;
+import com.ram.base.exception.BusinessException;
+import com.ram.base.exception.ResourceNotFoundException;
+import com.ram.base.repository.procesos.ProcesoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementación del servicio de planificación de producción
+ */
+@Slf4j
+@Service
+public class PlanificacionServiceImpl implements PlanificacionService {
+
+    private final ProcesoRepository procesoRepository;
+    private final JobShopScheduler scheduler;
+
+    public PlanificacionServiceImpl(ProcesoRepository procesoRepository,
+                                    @Qualifier("calculoPool") ForkJoinPool calculoPool) {
+        this.procesoRepository = procesoRepository;
+        this.scheduler = new JobShopScheduler(calculoPool);
+    }
+
+    /**
+     * Genera el programa de producción
+     *
+     * @param request Trabajos (secuencias de procesos) y presupuesto de tiempo
+     * @return Programa con inicio/fin de cada operación y métricas de la búsqueda
+     * @throws ResourceNotFoundException si algún proceso no existe
+     * @throws BusinessException si un proceso o su máquina están inactivos o no tienen tiempo
+     *
+     * No es @Transactional para no retener la conexión mientras se calcula.
+     */
+    @Override
+    public PlanificacionDTO planificar(PlanificacionRequest request) {
+        long inicioNanos = System.nanoTime();
+        long presupuestoMs = request.getPresupuestoMs() != null ? request.getPresupuestoMs() : 2000L;
+        long limiteNanos = inicioNanos + TimeUnit.MILLISECONDS.toNanos(presupuestoMs);
+        List<TrabajoRequest> trabajos = request.getTrabajos();
+
+        log.info("Planificando {} trabajos con presupuesto de {} ms", trabajos.size(), presupuestoMs);
+
+        Map<Long, ProcesoEntity> procesos = loadProcesos(trabajos);
+
+        // Índices de máquina en orden de aparición
+        Map<Long, Integer> indiceMaquina = new HashMap<>();
+        List<MaquinaEntity> maquinas = new ArrayList<>();
+        int[][] maquinasPorPaso = new int[trabajos.size()][];
+        double[][] duraciones = new double[trabajos.size()][];
+
+        for (int j = 0; j < trabajos.size(); j++) {
+            List<Long> idsProceso = trabajos.get(j).getIdsProceso();
+            maquinasPorPaso[j] = new int[idsProceso.size()];
+            duraciones[j] = new double[idsProceso.size()];
+            for (int k = 0; k < idsProceso.size(); k++) {
+                ProcesoEntity proceso = procesos.get(idsProceso.get(k));
+                MaquinaEntity maquina = proceso.getMaquina();
+                Integer indice = indiceMaquina.get(maquina.getId_maquina());
+                if (indice == null) {
+                    indice = maquinas.size();
+                    indiceMaquina.put(maquina.getId_maquina(), indice);
+                    maquinas.add(maquina);
+                }
+                maquinasPorPaso[j][k] = indice;
+                duraciones[j][k] = proceso.getTiempoProceso();
+            }
+        }
+
+        JobShopScheduler.Problema problema = new JobShopScheduler.Problema(maquinasPorPaso, duraciones, maquinas.size());
+        long semilla = request.getSemilla() != null ? request.getSemilla() : System.nanoTime();
+        JobShopScheduler.Resultado resultado = scheduler.resolver(problema, limiteNanos, semilla);
+
+        List<OperacionProgramadaDTO> operaciones = new ArrayList<>(problema.getTotalOperaciones());
+        for (int j = 0; j < trabajos.size(); j++) {
+            TrabajoRequest trabajo = trabajos.get(j);
+            for (int k = 0; k < trabajo.getIdsProceso().size(); k++) {
+                ProcesoEntity proceso = procesos.get(trabajo.getIdsProceso().get(k));
+                MaquinaEntity maquina = maquinas.get(maquinasPorPaso[j][k]);
+                double inicio = resultado.getInicios()[j][k];
+                operaciones.add(OperacionProgramadaDTO.builder()
+                        .codigoTrabajo(trabajo.getCodigo())
+                        .paso(k)
+                        .idProceso(proceso.getId_proceso())
+                        .proceso(proceso.getNombre())
+                        .idMaquina(maquina.getId_maquina())
+                        .maquina(maquina.getNombre())
+                        .inicio(inicio)
+                        .fin(inicio + duraciones[j][k])
+                        .build());
+            }
+        }
+        operaciones.sort(Comparator.comparing(OperacionProgramadaDTO::getIdMaquina)
+                .thenComparingDouble(OperacionProgramadaDTO::getInicio));
+
+        long tiempoMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicioNanos);
+        log.info("Planificación terminada en {} ms: makespan {} (inicial {}, cota {}), {} evaluaciones",
+                tiempoMs, resultado.getMakespan(), resultado.getMakespanInicial(),
+                problema.getCotaInferior(), resultado.getEvaluaciones());
+
+        return PlanificacionDTO.builder()
+                .makespan(resultado.getMakespan())
+                .makespanInicial(resultado.getMakespanInicial())
+                .cotaInferior(problema.getCotaInferior())
+                .tiempoCalculoMs(tiempoMs)
+                .evaluaciones(resultado.getEvaluaciones())
+                .hilos(resultado.getHilos())
+                .operaciones(operaciones)
+                .build();
+    }
+
+    /**
+     * Carga los procesos de todos los trabajos (con su máquina) en una sola consulta y valida
+     * que se puedan programar
+     */
+    private Map<Long, ProcesoEntity> loadProcesos(List<TrabajoRequest> trabajos) {
+        Set<Long> ids = trabajos.stream()
+                .flatMap(trabajo -> trabajo.getIdsProceso().stream())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        Map<Long, ProcesoEntity> procesos = procesoRepository.findAllWithMaquinaByIds(ids).stream()
+                .collect(Collectors.toMap(ProcesoEntity::getId_proceso, Function.identity()));
+
+        for (Long id : ids) {
+            ProcesoEntity proceso = procesos.get(id);
+            if (proceso == null) {
+                throw new ResourceNotFoundException("Proceso", id);
+            }
+            if (!proceso.isEstatus() || !proceso.getMaquina().isEstatus()) {
+                throw new BusinessException(String.format(
+                        "El proceso '%s' o su máquina están inactivos", proceso.getNombre()));
+            }
+            if (proceso.getTiempoProceso() == null || proceso.getTiempoProceso() <= 0) {
+                throw new BusinessException(String.format(
+                        "El proceso '%s' no tiene un tiempo de proceso válido", proceso.getNombre()));
+            }
+        }
+        return procesos;
+    }
+}
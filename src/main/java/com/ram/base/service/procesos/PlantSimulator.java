@@ -0,0 +1,491 @@
+package com.ram.base.service.procesos;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Simulador de eventos discretos del flujo de trabajos por las máquinas de la planta.
+ *
+ * Modelo:
+ * - Cada ruta es una secuencia de procesos; los trabajos de la ruta llegan con un patrón
+ *   (Poisson o intervalo constante) y opcionalmente en lotes.
+ * - Cada máquina tiene una capacidad (unidades en paralelo) y una cola FIFO.
+ * - Una operación inicia cuando hay una unidad libre de su máquina y, si la planta tiene
+ *   un número limitado de operadores, cuando hay suficientes libres (personalRequerido).
+ * - El tiempo de operación tiene como media tiempoProceso y la variabilidad indicada
+ *   (coeficiente de variación, distribución lognormal; 0 = determinista).
+ *
+ * Cada réplica usa su propio generador con semilla derivada y corre en un hilo del
+ * ForkJoinPool; con la misma semilla los resultados son reproducibles. Si se rebasa el
+ * límite de tiempo las réplicas se detienen y simular() lanza TiempoAgotadoException.
+ *
+ * Para que un mes simulado corra en segundos, la réplica no crea objetos por evento:
+ * la cola de eventos es un heap sobre arreglos primitivos, los trabajos viven en arreglos
+ * con lista de índices libres y las colas de las máquinas son buffers circulares de int.
+ *
+ * No depende de Spring ni de JPA; el servicio arma el modelo con índices enteros.
+ */
+public class PlantSimulator {
+
+    private static final int ARRIBO = 0;
+    private static final int FIN_OPERACION = 1;
+
+    private final ForkJoinPool pool;
+
+    public PlantSimulator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * La simulación rebasó su límite de tiempo
+     */
+    public static final class TiempoAgotadoException extends RuntimeException {
+        TiempoAgotadoException() {
+            super("La simulación rebasó su límite de tiempo");
+        }
+    }
+
+    /**
+     * Modelo de la planta en forma de índices
+     */
+    @Getter
+    public static final class Modelo {
+        /** [ruta][paso] -> índice de máquina */
+        private final int[][] maquinasRuta;
+        /** [ruta][paso] -> tiempo medio de la operación */
+        private final double[][] tiemposRuta;
+        /** [ruta][paso] -> operadores que ocupa la operación */
+        private final int[][] personalRuta;
+        /** [ruta] -> trabajos (o lotes) por unidad de tiempo */
+        private final double[] tasaLlegada;
+        /** [ruta] -> true si las llegadas son Poisson, false si son a intervalo constante */
+        private final boolean[] llegadaPoisson;
+        /** [ruta] -> trabajos por llegada */
+        private final int[] tamanoLote;
+        /** [máquina] -> unidades en paralelo */
+        private final int[] capacidad;
+        /** Operadores de la planta; Integer.MAX_VALUE si no se limita */
+        private final int operadores;
+        private final double duracion;
+        private final double calentamiento;
+        private final double variabilidad;
+
+        public Modelo(int[][] maquinasRuta, double[][] tiemposRuta, int[][] personalRuta,
+                      double[] tasaLlegada, boolean[] llegadaPoisson, int[] tamanoLote, int[] capacidad,
+                      int operadores, double duracion, double calentamiento, double variabilidad) {
+            this.maquinasRuta = maquinasRuta;
+            this.tiemposRuta = tiemposRuta;
+            this.personalRuta = personalRuta;
+            this.tasaLlegada = tasaLlegada;
+            this.llegadaPoisson = llegadaPoisson;
+            this.tamanoLote = tamanoLote;
+            this.capacidad = capacidad;
+            this.operadores = operadores;
+            this.duracion = duracion;
+            this.calentamiento = calentamiento;
+            this.variabilidad = variabilidad;
+        }
+
+        int numMaquinas() {
+            return capacidad.length;
+        }
+    }
+
+    /**
+     * Métricas de una réplica (solo el periodo posterior al calentamiento)
+     */
+    @Getter
+    public static final class Replica {
+        /** [máquina] -> fracción del tiempo ocupada (promedio sobre sus unidades) */
+        private final double[] utilizacion;
+        /** [máquina] -> longitud promedio de la cola en el tiempo */
+        private final double[] colaPromedio;
+        /** [máquina] -> longitud máxima de la cola */
+        private final int[] colaMaxima;
+        /** Trabajos terminados por unidad de tiempo */
+        private final double throughput;
+        /** Tiempo promedio desde la llegada hasta terminar el último proceso */
+        private final double tiempoCiclo;
+        /** Trabajos en proceso al terminar la simulación */
+        private final int trabajosEnProceso;
+        private final long eventos;
+
+        Replica(double[] utilizacion, double[] colaPromedio, int[] colaMaxima, double throughput,
+                double tiempoCiclo, int trabajosEnProceso, long eventos) {
+            this.utilizacion = utilizacion;
+            this.colaPromedio = colaPromedio;
+            this.colaMaxima = colaMaxima;
+            this.throughput = throughput;
+            this.tiempoCiclo = tiempoCiclo;
+            this.trabajosEnProceso = trabajosEnProceso;
+            this.eventos = eventos;
+        }
+    }
+
+    /**
+     * Ejecuta las réplicas en paralelo
+     *
+     * @param modelo Modelo de la planta
+     * @param replicaciones Número de réplicas independientes
+     * @param semilla Semilla base; cada réplica usa un generador derivado con split()
+     * @param limiteNanos System.nanoTime() a partir del cual se abandonan las réplicas
+     * @throws TiempoAgotadoException si alguna réplica no terminó antes del límite
+     */
+    public List<Replica> simular(Modelo modelo, int replicaciones, long semilla, long limiteNanos) {
+        // split() da flujos independientes; sumar un múltiplo de la constante gamma a la semilla
+        // solo desplazaría el mismo flujo y las réplicas quedarían correlacionadas
+        SplittableRandom base = new SplittableRandom(semilla);
+        List<ForkJoinTask<Replica>> tareas = new ArrayList<>(replicaciones);
+        for (int i = 0; i < replicaciones; i++) {
+            SplittableRandom random = base.split();
+            tareas.add(pool.submit(() -> new Corrida(modelo, random, limiteNanos).ejecutar()));
+        }
+
+        List<Replica> replicas = new ArrayList<>(replicaciones);
+        try {
+            for (ForkJoinTask<Replica> tarea : tareas) {
+                replicas.add(tarea.join());
+            }
+        } catch (TiempoAgotadoException e) {
+            // Las réplicas en cola ya no se ejecutan; las que corren se detienen en su siguiente revisión
+            tareas.forEach(tarea -> tarea.cancel(false));
+            throw e;
+        }
+        return replicas;
+    }
+
+    /**
+     * Una réplica de la simulación (un hilo)
+     */
+    static final class Corrida {
+        /** Eventos entre revisiones del límite de tiempo (potencia de 2) */
+        private static final int REVISION_LIMITE = 4096;
+
+        private final Modelo modelo;
+        private final SplittableRandom random;
+        private final long limiteNanos;
+        private final ColaEventos eventos = new ColaEventos(1024);
+
+        // Trabajos: arreglos por índice con lista de índices libres para reutilizarlos
+        private int[] rutaTrabajo = new int[1024];
+        private int[] pasoTrabajo = new int[1024];
+        private double[] llegadaTrabajo = new double[1024];
+        private final ColaEnteros trabajosLibres = new ColaEnteros(1024);
+        private int trabajosCreados;
+        private int trabajosEnProceso;
+
+        // Máquinas
+        private final ColaEnteros[] colas;
+        private final int[] ocupadas;
+        private final double[] areaCola;
+        private final double[] areaOcupada;
+        private final double[] ultimoCambio;
+        private final int[] colaMaxima;
+        private int operadoresLibres;
+
+        private double ahora;
+        private long completados;
+        private double sumaCiclo;
+        private long numEventos;
+
+        Corrida(Modelo modelo, SplittableRandom random, long limiteNanos) {
+            this.modelo = modelo;
+            this.random = random;
+            this.limiteNanos = limiteNanos;
+            int maquinas = modelo.numMaquinas();
+            this.colas = new ColaEnteros[maquinas];
+            for (int m = 0; m < maquinas; m++) {
+                colas[m] = new ColaEnteros(16);
+            }
+            this.ocupadas = new int[maquinas];
+            this.areaCola = new double[maquinas];
+            this.areaOcupada = new double[maquinas];
+            this.ultimoCambio = new double[maquinas];
+            this.colaMaxima = new int[maquinas];
+            this.operadoresLibres = modelo.getOperadores();
+        }
+
+        Replica ejecutar() {
+            for (int r = 0; r < modelo.getTasaLlegada().length; r++) {
+                eventos.agregar(siguienteLlegada(r, 0), ARRIBO, r);
+            }
+
+            while (!eventos.vacia() && eventos.tiempoMinimo() <= modelo.getDuracion()) {
+                ahora = eventos.tiempoMinimo();
+                long dato = eventos.extraer();
+                numEventos++;
+                if ((numEventos & (REVISION_LIMITE - 1)) == 0 && System.nanoTime() > limiteNanos) {
+                    throw new TiempoAgotadoException();
+                }
+                int tipo = (int) (dato >>> 32);
+                int entidad = (int) dato;
+                if (tipo == ARRIBO) {
+                    llegada(entidad);
+                } else {
+                    finOperacion(entidad);
+                }
+            }
+
+            ahora = modelo.getDuracion();
+            int maquinas = modelo.numMaquinas();
+            double periodo = modelo.getDuracion() - modelo.getCalentamiento();
+            double[] utilizacion = new double[maquinas];
+            double[] colaPromedio = new double[maquinas];
+            for (int m = 0; m < maquinas; m++) {
+                acumular(m);
+                utilizacion[m] = areaOcupada[m] / (periodo * modelo.getCapacidad()[m]);
+                colaPromedio[m] = areaCola[m] / periodo;
+            }
+            return new Replica(utilizacion, colaPromedio, colaMaxima.clone(), completados / periodo,
+                    completados > 0 ? sumaCiclo / completados : 0, trabajosEnProceso, numEventos);
+        }
+
+        private void llegada(int ruta) {
+            for (int i = 0; i < modelo.getTamanoLote()[ruta]; i++) {
+                int trabajo = nuevoTrabajo(ruta);
+                encolar(trabajo, modelo.getMaquinasRuta()[ruta][0]);
+            }
+            eventos.agregar(siguienteLlegada(ruta, ahora), ARRIBO, ruta);
+        }
+
+        private void finOperacion(int trabajo) {
+            int ruta = rutaTrabajo[trabajo];
+            int paso = pasoTrabajo[trabajo];
+            int maquina = modelo.getMaquinasRuta()[ruta][paso];
+
+            acumular(maquina);
+            ocupadas[maquina]--;
+            boolean liberaOperadores = modelo.getOperadores() != Integer.MAX_VALUE;
+            if (liberaOperadores) {
+                operadoresLibres += modelo.getPersonalRuta()[ruta][paso];
+            }
+
+            if (paso + 1 < modelo.getMaquinasRuta()[ruta].length) {
+                pasoTrabajo[trabajo] = paso + 1;
+                encolar(trabajo, modelo.getMaquinasRuta()[ruta][paso + 1]);
+            } else {
+                terminar(trabajo);
+            }
+
+            if (liberaOperadores) {
+                // Los operadores liberados pueden destrabar la cola de cualquier máquina
+                for (int m = 0; m < modelo.numMaquinas(); m++) {
+                    iniciar(m);
+                }
+            } else {
+                iniciar(maquina);
+            }
+        }
+
+        private void encolar(int trabajo, int maquina) {
+            acumular(maquina);
+            colas[maquina].agregar(trabajo);
+            if (ahora >= modelo.getCalentamiento() && colas[maquina].tamano() > colaMaxima[maquina]) {
+                colaMaxima[maquina] = colas[maquina].tamano();
+            }
+            iniciar(maquina);
+        }
+
+        /**
+         * Inicia operaciones en la máquina mientras haya unidades, trabajos en cola y operadores
+         */
+        private void iniciar(int maquina) {
+            ColaEnteros cola = colas[maquina];
+            while (ocupadas[maquina] < modelo.getCapacidad()[maquina] && cola.tamano() > 0) {
+                int trabajo = cola.primero();
+                int ruta = rutaTrabajo[trabajo];
+                int paso = pasoTrabajo[trabajo];
+                int personal = modelo.getPersonalRuta()[ruta][paso];
+                if (personal > operadoresLibres) {
+                    return;
+                }
+
+                acumular(maquina);
+                cola.extraer();
+                ocupadas[maquina]++;
+                if (modelo.getOperadores() != Integer.MAX_VALUE) {
+                    operadoresLibres -= personal;
+                }
+                eventos.agregar(ahora + tiempoOperacion(modelo.getTiemposRuta()[ruta][paso]), FIN_OPERACION, trabajo);
+            }
+        }
+
+        private void terminar(int trabajo) {
+            if (ahora >= modelo.getCalentamiento()) {
+                completados++;
+                sumaCiclo += ahora - llegadaTrabajo[trabajo];
+            }
+            trabajosEnProceso--;
+            trabajosLibres.agregar(trabajo);
+        }
+
+        private int nuevoTrabajo(int ruta) {
+            int trabajo;
+            if (trabajosLibres.tamano() > 0) {
+                trabajo = trabajosLibres.extraer();
+            } else {
+                trabajo = trabajosCreados++;
+                if (trabajo == rutaTrabajo.length) {
+                    int nuevoTamano = rutaTrabajo.length * 2;
+                    rutaTrabajo = Arrays.copyOf(rutaTrabajo, nuevoTamano);
+                    pasoTrabajo = Arrays.copyOf(pasoTrabajo, nuevoTamano);
+                    llegadaTrabajo = Arrays.copyOf(llegadaTrabajo, nuevoTamano);
+                }
+            }
+            rutaTrabajo[trabajo] = ruta;
+            pasoTrabajo[trabajo] = 0;
+            llegadaTrabajo[trabajo] = ahora;
+            trabajosEnProceso++;
+            return trabajo;
+        }
+
+        /**
+         * Acumula el área bajo las curvas de cola y ocupación desde el último cambio
+         * (solo cuenta el tiempo posterior al calentamiento)
+         */
+        private void acumular(int maquina) {
+            double desde = Math.max(ultimoCambio[maquina], modelo.getCalentamiento());
+            if (ahora > desde) {
+                double intervalo = ahora - desde;
+                areaCola[maquina] += colas[maquina].tamano() * intervalo;
+                areaOcupada[maquina] += ocupadas[maquina] * intervalo;
+            }
+            ultimoCambio[maquina] = ahora;
+        }
+
+        private double siguienteLlegada(int ruta, double desde) {
+            double tasa = modelo.getTasaLlegada()[ruta];
+            if (modelo.getLlegadaPoisson()[ruta]) {
+                return desde - Math.log(1.0 - random.nextDouble()) / tasa;
+            }
+            return desde + 1.0 / tasa;
+        }
+
+        /**
+         * Tiempo de operación lognormal con la media indicada y el coeficiente de variación del modelo
+         */
+        private double tiempoOperacion(double media) {
+            double cv = modelo.getVariabilidad();
+            if (cv <= 0) {
+                return media;
+            }
+            double sigma2 = Math.log(1 + cv * cv);
+            double mu = Math.log(media) - sigma2 / 2;
+            return Math.exp(mu + Math.sqrt(sigma2) * random.nextGaussian());
+        }
+    }
+
+    /**
+     * Cola de prioridad de eventos por tiempo (heap binario sobre arreglos primitivos).
+     * Cada evento se guarda como (tiempo, tipo << 32 | entidad): agregar y extraer no crean objetos.
+     */
+    static final class ColaEventos {
+        private double[] tiempos;
+        private long[] datos;
+        private int tamano;
+
+        ColaEventos(int capacidadInicial) {
+            tiempos = new double[capacidadInicial];
+            datos = new long[capacidadInicial];
+        }
+
+        boolean vacia() {
+            return tamano == 0;
+        }
+
+        double tiempoMinimo() {
+            return tiempos[0];
+        }
+
+        void agregar(double tiempo, int tipo, int entidad) {
+            if (tamano == tiempos.length) {
+                tiempos = Arrays.copyOf(tiempos, tamano * 2);
+                datos = Arrays.copyOf(datos, tamano * 2);
+            }
+            long dato = ((long) tipo << 32) | (entidad & 0xFFFFFFFFL);
+            int i = tamano++;
+            while (i > 0) {
+                int padre = (i - 1) >>> 1;
+                if (tiempos[padre] <= tiempo) {
+                    break;
+                }
+                tiempos[i] = tiempos[padre];
+                datos[i] = datos[padre];
+                i = padre;
+            }
+            tiempos[i] = tiempo;
+            datos[i] = dato;
+        }
+
+        long extraer() {
+            long resultado = datos[0];
+            int ultimo = --tamano;
+            double tiempo = tiempos[ultimo];
+            long dato = datos[ultimo];
+            int i = 0;
+            int mitad = tamano >>> 1;
+            while (i < mitad) {
+                int hijo = 2 * i + 1;
+                if (hijo + 1 < tamano && tiempos[hijo + 1] < tiempos[hijo]) {
+                    hijo++;
+                }
+                if (tiempo <= tiempos[hijo]) {
+                    break;
+                }
+                tiempos[i] = tiempos[hijo];
+                datos[i] = datos[hijo];
+                i = hijo;
+            }
+            tiempos[i] = tiempo;
+            datos[i] = dato;
+            return resultado;
+        }
+    }
+
+    /**
+     * Cola FIFO de enteros sobre un buffer circular que crece al llenarse
+     */
+    static final class ColaEnteros {
+        private int[] elementos;
+        private int inicio;
+        private int tamano;
+
+        ColaEnteros(int capacidadInicial) {
+            elementos = new int[capacidadInicial];
+        }
+
+        int tamano() {
+            return tamano;
+        }
+
+        void agregar(int valor) {
+            if (tamano == elementos.length) {
+                int[] nuevo = new int[elementos.length * 2];
+                for (int i = 0; i < tamano; i++) {
+                    nuevo[i] = elementos[(inicio + i) % elementos.length];
+                }
+                elementos = nuevo;
+                inicio = 0;
+            }
+            elementos[(inicio + tamano) % elementos.length] = valor;
+            tamano++;
+        }
+
+        int primero() {
+            return elementos[inicio];
+        }
+
+        int extraer() {
+            int valor = elementos[inicio];
+            inicio = (inicio + 1) % elementos.length;
+            tamano--;
+            return valor;
+        }
+    }
+}
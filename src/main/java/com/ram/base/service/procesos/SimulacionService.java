@@ -0,0 +1,16 @@
+package com.ram.base.service.procesos;
+
+import com.ram.base.dto.procesos.SimulacionDTO;
+import com.ram.base.dto.procesos.SimulacionRequest;
+
+/**
+ * Interfaz de servicio para la simulación del throughput de la planta
+ */
+public interface SimulacionService {
+
+    /**
+     * Simula el escenario con varias réplicas independientes y regresa las métricas
+     * por máquina y de la planta con intervalos de confianza
+     */
+    SimulacionDTO simular(SimulacionRequest request);
+}
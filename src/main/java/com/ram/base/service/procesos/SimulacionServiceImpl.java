@@ -0,0 +1,262 @@
+package com.ram.base.service.procesos;
+
+import com.ram.base.dto.procesos.IntervaloConfianzaDTO;
+import com.ram.base.dto.procesos.MaquinaSimuladaDTO;
+import com.ram.base.dto.procesos.RutaSimulacionRequest;
+import com.ram.base.dto.procesos.SimulacionDTO;
+import com.ram.base.dto.procesos.SimulacionRequest;
+import com.ram.base.entity.procesos.MaquinaEntity;
+import com.ram.base.entity.procesos.ProcesoEntity;
+import com.ram.base.exception.BusinessException;
+import com.ram.base.exception.ResourceNotFoundException;
+import com.ram.base.exception.ServicioSaturadoException;
+import com.ram.base.repository.procesos.ProcesoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Implementación del servicio de simulación de la planta
+ */
+@Slf4j
+@Service
+public class SimulacionServiceImpl implements SimulacionService {
+
+    /** Llegadas esperadas máximas por réplica; protege memoria y tiempo de cálculo */
+    private static final double MAX_LLEGADAS_POR_REPLICA = 5_000_000;
+
+    /** Llegadas esperadas máximas sumando todas las réplicas; calculoPool es compartido */
+    private static final double MAX_LLEGADAS_TOTALES = 20_000_000;
+
+    /** Cuantiles t de Student (0.975) para 1..30 grados de libertad; después se usa 1.96 */
+    private static final double[] T_975 = {
+            12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+            2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+            2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042
+    };
+
+    private final ProcesoRepository procesoRepository;
+    private final PlantSimulator simulator;
+    private final int paralelismo;
+    private final long tiempoMaximoMs;
+
+    public SimulacionServiceImpl(ProcesoRepository procesoRepository,
+                                 @Qualifier("calculoPool") ForkJoinPool calculoPool,
+                                 @Value("${procesos.simulacion.tiempo-maximo-ms:30000}") long tiempoMaximoMs) {
+        this.procesoRepository = procesoRepository;
+        this.simulator = new PlantSimulator(calculoPool);
+        this.paralelismo = calculoPool.getParallelism();
+        this.tiempoMaximoMs = tiempoMaximoMs;
+    }
+
+    /**
+     * Simula el escenario
+     *
+     * @param request Rutas, capacidades, operadores, horizonte y réplicas
+     * @return Métricas por máquina y de la planta (media e intervalo de confianza del 95%)
+     * @throws ResourceNotFoundException si algún proceso no existe
+     * @throws BusinessException si el escenario no se puede simular o excede el trabajo máximo
+     * @throws ServicioSaturadoException si no termina en procesos.simulacion.tiempo-maximo-ms
+     *
+     * Flujo:
+     * 1. Carga todos los procesos de las rutas con su máquina en una sola consulta
+     * 2. Convierte rutas y máquinas a índices enteros (el motor no usa entidades)
+     * 3. Ejecuta las réplicas en paralelo, cada una con su semilla
+     * 4. Resume cada métrica sobre las réplicas
+     *
+     * No es @Transactional: la conexión a la base de datos no queda tomada mientras se simula.
+     */
+    @Override
+    public SimulacionDTO simular(SimulacionRequest request) {
+        long inicioNanos = System.nanoTime();
+        List<RutaSimulacionRequest> rutas = request.getRutas();
+        double duracion = request.getDuracion();
+        double calentamiento = request.getCalentamiento() != null ? request.getCalentamiento() : 0.0;
+        double variabilidad = request.getVariabilidad() != null ? request.getVariabilidad() : 0.25;
+        int replicaciones = request.getReplicaciones() != null ? request.getReplicaciones() : Math.max(2, paralelismo);
+        int operadores = request.getOperadores() != null ? request.getOperadores() : Integer.MAX_VALUE;
+
+        if (calentamiento >= duracion) {
+            throw new BusinessException("El calentamiento debe ser menor que la duración");
+        }
+        double llegadas = rutas.stream()
+                .mapToDouble(ruta -> ruta.getTasaLlegada() * tamanoLote(ruta) * duracion)
+                .sum();
+        if (llegadas > MAX_LLEGADAS_POR_REPLICA) {
+            throw new BusinessException(String.format(
+                    "El escenario genera %.0f trabajos por réplica; el máximo es %.0f", llegadas, MAX_LLEGADAS_POR_REPLICA));
+        }
+        if (llegadas * replicaciones > MAX_LLEGADAS_TOTALES) {
+            throw new BusinessException(String.format(
+                    "El escenario genera %.0f trabajos en %d réplicas; el máximo es %.0f, reduzca la duración o las réplicas",
+                    llegadas * replicaciones, replicaciones, MAX_LLEGADAS_TOTALES));
+        }
+
+        log.info("Simulando {} rutas, duración {}, {} réplicas", rutas.size(), duracion, replicaciones);
+
+        Map<Long, ProcesoEntity> procesos = loadProcesos(rutas, operadores);
+
+        // Índices de máquina en orden de aparición
+        Map<Long, Integer> indiceMaquina = new HashMap<>();
+        List<MaquinaEntity> maquinas = new ArrayList<>();
+        int[][] maquinasRuta = new int[rutas.size()][];
+        double[][] tiemposRuta = new double[rutas.size()][];
+        int[][] personalRuta = new int[rutas.size()][];
+        double[] tasaLlegada = new double[rutas.size()];
+        boolean[] llegadaPoisson = new boolean[rutas.size()];
+        int[] tamanoLote = new int[rutas.size()];
+
+        for (int r = 0; r < rutas.size(); r++) {
+            RutaSimulacionRequest ruta = rutas.get(r);
+            List<Long> idsProceso = ruta.getIdsProceso();
+            maquinasRuta[r] = new int[idsProceso.size()];
+            tiemposRuta[r] = new double[idsProceso.size()];
+            personalRuta[r] = new int[idsProceso.size()];
+            for (int k = 0; k < idsProceso.size(); k++) {
+                ProcesoEntity proceso = procesos.get(idsProceso.get(k));
+                MaquinaEntity maquina = proceso.getMaquina();
+                Integer indice = indiceMaquina.get(maquina.getId_maquina());
+                if (indice == null) {
+                    indice = maquinas.size();
+                    indiceMaquina.put(maquina.getId_maquina(), indice);
+                    maquinas.add(maquina);
+                }
+                maquinasRuta[r][k] = indice;
+                tiemposRuta[r][k] = proceso.getTiempoProceso();
+                personalRuta[r][k] = proceso.getPersonalRequerido() != null ? proceso.getPersonalRequerido() : 0;
+            }
+            tasaLlegada[r] = ruta.getTasaLlegada();
+            llegadaPoisson[r] = !"CONSTANTE".equals(ruta.getPatron());
+            tamanoLote[r] = tamanoLote(ruta);
+        }
+
+        int[] capacidad = new int[maquinas.size()];
+        for (int m = 0; m < maquinas.size(); m++) {
+            Integer unidades = request.getCapacidadMaquinas() != null
+                    ? request.getCapacidadMaquinas().get(maquinas.get(m).getId_maquina())
+                    : null;
+            capacidad[m] = unidades != null ? unidades : 1;
+        }
+
+        PlantSimulator.Modelo modelo = new PlantSimulator.Modelo(maquinasRuta, tiemposRuta, personalRuta,
+                tasaLlegada, llegadaPoisson, tamanoLote, capacidad, operadores, duracion, calentamiento, variabilidad);
+        long semilla = request.getSemilla() != null ? request.getSemilla() : System.nanoTime();
+        List<PlantSimulator.Replica> replicas;
+        try {
+            replicas = simulator.simular(modelo, replicaciones, semilla,
+                    inicioNanos + TimeUnit.MILLISECONDS.toNanos(tiempoMaximoMs));
+        } catch (PlantSimulator.TiempoAgotadoException e) {
+            throw new ServicioSaturadoException(String.format(
+                    "La simulación no terminó en %d ms; intente de nuevo en unos segundos", tiempoMaximoMs), 5);
+        }
+
+        List<MaquinaSimuladaDTO> maquinasDTO = new ArrayList<>(maquinas.size());
+        for (int m = 0; m < maquinas.size(); m++) {
+            int indice = m;
+            maquinasDTO.add(MaquinaSimuladaDTO.builder()
+                    .idMaquina(maquinas.get(m).getId_maquina())
+                    .maquina(maquinas.get(m).getNombre())
+                    .capacidad(capacidad[m])
+                    .utilizacion(intervalo(replicas, replica -> replica.getUtilizacion()[indice]))
+                    .colaPromedio(intervalo(replicas, replica -> replica.getColaPromedio()[indice]))
+                    .colaMaxima(intervalo(replicas, replica -> replica.getColaMaxima()[indice]))
+                    .build());
+        }
+
+        long eventos = replicas.stream().mapToLong(PlantSimulator.Replica::getEventos).sum();
+        long tiempoMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicioNanos);
+        IntervaloConfianzaDTO throughput = intervalo(replicas, PlantSimulator.Replica::getThroughput);
+        log.info("Simulación terminada en {} ms: {} eventos, throughput {} [{}, {}]", tiempoMs, eventos,
+                throughput.getMedia(), throughput.getLimiteInferior(), throughput.getLimiteSuperior());
+
+        return SimulacionDTO.builder()
+                .throughput(throughput)
+                .tiempoCiclo(intervalo(replicas, PlantSimulator.Replica::getTiempoCiclo))
+                .trabajosEnProceso(intervalo(replicas, PlantSimulator.Replica::getTrabajosEnProceso))
+                .maquinas(maquinasDTO)
+                .replicaciones(replicaciones)
+                .eventos(eventos)
+                .tiempoCalculoMs(tiempoMs)
+                .build();
+    }
+
+    private int tamanoLote(RutaSimulacionRequest ruta) {
+        return ruta.getTamanoLote() != null ? ruta.getTamanoLote() : 1;
+    }
+
+    /**
+     * Carga los procesos de todas las rutas (con su máquina) en una sola consulta y valida
+     * que se puedan simular
+     */
+    private Map<Long, ProcesoEntity> loadProcesos(List<RutaSimulacionRequest> rutas, int operadores) {
+        Set<Long> ids = rutas.stream()
+                .flatMap(ruta -> ruta.getIdsProceso().stream())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        Map<Long, ProcesoEntity> procesos = procesoRepository.findAllWithMaquinaByIds(ids).stream()
+                .collect(Collectors.toMap(ProcesoEntity::getId_proceso, Function.identity()));
+
+        for (Long id : ids) {
+            ProcesoEntity proceso = procesos.get(id);
+            if (proceso == null) {
+                throw new ResourceNotFoundException("Proceso", id);
+            }
+            if (!proceso.isEstatus() || !proceso.getMaquina().isEstatus()) {
+                throw new BusinessException(String.format(
+                        "El proceso '%s' o su máquina están inactivos", proceso.getNombre()));
+            }
+            if (proceso.getTiempoProceso() == null || proceso.getTiempoProceso() <= 0) {
+                throw new BusinessException(String.format(
+                        "El proceso '%s' no tiene un tiempo de proceso válido", proceso.getNombre()));
+            }
+            if (proceso.getPersonalRequerido() != null && proceso.getPersonalRequerido() > operadores) {
+                throw new BusinessException(String.format(
+                        "El proceso '%s' requiere %d operadores y la planta solo tiene %d",
+                        proceso.getNombre(), proceso.getPersonalRequerido(), operadores));
+            }
+        }
+        return procesos;
+    }
+
+    /**
+     * Media, desviación estándar e intervalo de confianza del 95% (t de Student) de una métrica
+     */
+    private IntervaloConfianzaDTO intervalo(List<PlantSimulator.Replica> replicas,
+                                            ToDoubleFunction<PlantSimulator.Replica> metrica) {
+        int n = replicas.size();
+        double suma = 0;
+        for (PlantSimulator.Replica replica : replicas) {
+            suma += metrica.applyAsDouble(replica);
+        }
+        double media = suma / n;
+
+        double sumaCuadrados = 0;
+        for (PlantSimulator.Replica replica : replicas) {
+            double diferencia = metrica.applyAsDouble(replica) - media;
+            sumaCuadrados += diferencia * diferencia;
+        }
+        double desviacion = n > 1 ? Math.sqrt(sumaCuadrados / (n - 1)) : 0;
+        double t = n - 1 <= T_975.length ? T_975[Math.max(0, n - 2)] : 1.96;
+        double margen = t * desviacion / Math.sqrt(n);
+
+        return IntervaloConfianzaDTO.builder()
+                .media(media)
+                .desviacion(desviacion)
+                .limiteInferior(media - margen)
+                .limiteSuperior(media + margen)
+                .build();
+    }
+}
@@ -0,0 +1,366 @@
+package com.ram.base.service.procesos;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Asigna operadores a los puestos de los procesos de un turno.
+ *
+ * Cada proceso aporta tantos puestos como su personalRequerido, todos con el nivel
+ * de experiencia del proceso. Un operador ocupa como máximo un puesto y solo puede
+ * ocupar puestos de nivel menor o igual al suyo (restricción dura).
+ *
+ * Costo a minimizar (de mayor a menor peso):
+ * 1. Puestos sin cubrir
+ * 2. Operadores que cambian de proceso respecto a la asignación actual (al replanear)
+ * 3. Sobrecalificación: niveles por encima del requerido (experiencia desaprovechada)
+ *
+ * Estrategia:
+ * 1. Solución inicial voraz: conserva la asignación actual válida y cubre los puestos
+ *    de mayor nivel primero con el operador libre menos calificado que lo cumpla.
+ * 2. Búsqueda local en cada hilo (BusquedaParalela) con intercambios entre puestos y
+ *    reemplazos por operadores libres; cada movimiento se evalúa en O(1) con la
+ *    diferencia de costo de los puestos que toca. Gana la mejor asignación.
+ */
+public class StaffAllocationSolver {
+
+    static final long PENALIZACION_FALTA = 1_000_000L;
+    static final long PESO_CAMBIO = 1_000L;
+    static final long PESO_SOBRECALIFICACION = 1L;
+
+    /** Intentos sin mejora tras los que un hilo se detiene antes del presupuesto */
+    private static final int MAX_INTENTOS_SIN_MEJORA = 200_000;
+
+    private final ForkJoinPool pool;
+
+    public StaffAllocationSolver(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Problema en forma de índices
+     */
+    @Getter
+    public static final class Problema {
+        /** Puesto -> índice de proceso */
+        private final int[] procesoPuesto;
+        /** Puesto -> nivel requerido */
+        private final int[] nivelPuesto;
+        /** Operador -> nivel */
+        private final int[] nivelOperador;
+        /** Operador -> índice de proceso en la asignación actual (-1 si estaba libre) */
+        private final int[] procesoPrevio;
+        /** true si se recibió asignación actual (cuentan los cambios) */
+        private final boolean replaneacion;
+
+        public Problema(int[] procesoPuesto, int[] nivelPuesto, int[] nivelOperador,
+                        int[] procesoPrevio, boolean replaneacion) {
+            this.procesoPuesto = procesoPuesto;
+            this.nivelPuesto = nivelPuesto;
+            this.nivelOperador = nivelOperador;
+            this.procesoPrevio = procesoPrevio;
+            this.replaneacion = replaneacion;
+        }
+
+        int puestos() {
+            return procesoPuesto.length;
+        }
+
+        int operadores() {
+            return nivelOperador.length;
+        }
+
+        long costoPuesto(int puesto, int operador) {
+            return operador < 0
+                    ? PENALIZACION_FALTA
+                    : (nivelOperador[operador] - nivelPuesto[puesto]) * PESO_SOBRECALIFICACION;
+        }
+
+        long costoCambio(int operador, int proceso) {
+            return replaneacion && procesoPrevio[operador] != proceso ? PESO_CAMBIO : 0;
+        }
+
+        boolean puedeOcupar(int operador, int puesto) {
+            return operador < 0 || nivelOperador[operador] >= nivelPuesto[puesto];
+        }
+    }
+
+    /**
+     * Resultado: operador asignado a cada puesto (-1 si quedó vacío)
+     */
+    @Getter
+    public static final class Resultado {
+        private final int[] operadorPuesto;
+        private final long costo;
+        private final long evaluaciones;
+
+        Resultado(int[] operadorPuesto, long costo, long evaluaciones) {
+            this.operadorPuesto = operadorPuesto;
+            this.costo = costo;
+            this.evaluaciones = evaluaciones;
+        }
+    }
+
+    /**
+     * Resuelve la asignación en paralelo hasta la fecha límite
+     *
+     * @param problema Problema a resolver
+     * @param limiteNanos Instante (System.nanoTime) en que debe terminar la búsqueda
+     * @param semilla Semilla base; cada hilo usa un generador derivado con split()
+     */
+    public Resultado resolver(Problema problema, long limiteNanos, long semilla) {
+        Estado inicial = construir(problema);
+        if (problema.puestos() == 0 || problema.operadores() == 0) {
+            return new Resultado(inicial.operadorPuesto, inicial.costo, 0);
+        }
+
+        List<Estado> estados = BusquedaParalela.ejecutar(pool, semilla, (hilo, random) -> {
+            Estado estado = inicial.copia();
+            buscar(problema, estado, random, limiteNanos);
+            return estado;
+        });
+
+        Estado mejor = inicial;
+        long evaluaciones = 0;
+        for (Estado estado : estados) {
+            evaluaciones += estado.evaluaciones;
+            if (estado.mejorCosto < mejor.mejorCosto) {
+                mejor = estado;
+            }
+        }
+        return new Resultado(mejor.mejorOperadorPuesto, mejor.mejorCosto, evaluaciones);
+    }
+
+    /**
+     * Estado mutable de una búsqueda (un hilo)
+     */
+    static final class Estado {
+        final int[] operadorPuesto;
+        final int[] puestoOperador;
+        /** Operadores libres en posiciones [0, numLibres) con índice inverso para quitar en O(1) */
+        final int[] libres;
+        final int[] posicionLibre;
+        int numLibres;
+        long costo;
+
+        int[] mejorOperadorPuesto;
+        long mejorCosto;
+        long evaluaciones;
+
+        Estado(int puestos, int operadores) {
+            operadorPuesto = new int[puestos];
+            puestoOperador = new int[operadores];
+            libres = new int[operadores];
+            posicionLibre = new int[operadores];
+            Arrays.fill(operadorPuesto, -1);
+            Arrays.fill(puestoOperador, -1);
+            for (int o = 0; o < operadores; o++) {
+                libres[o] = o;
+                posicionLibre[o] = o;
+            }
+            numLibres = operadores;
+        }
+
+        private Estado(Estado otro) {
+            operadorPuesto = otro.operadorPuesto.clone();
+            puestoOperador = otro.puestoOperador.clone();
+            libres = otro.libres.clone();
+            posicionLibre = otro.posicionLibre.clone();
+            numLibres = otro.numLibres;
+            costo = otro.costo;
+            mejorOperadorPuesto = otro.mejorOperadorPuesto.clone();
+            mejorCosto = otro.mejorCosto;
+        }
+
+        Estado copia() {
+            return new Estado(this);
+        }
+
+        void asignar(int operador, int puesto) {
+            operadorPuesto[puesto] = operador;
+            if (operador >= 0) {
+                puestoOperador[operador] = puesto;
+                quitarLibre(operador);
+            }
+        }
+
+        void liberar(int operador) {
+            puestoOperador[operador] = -1;
+            posicionLibre[operador] = numLibres;
+            libres[numLibres++] = operador;
+        }
+
+        private void quitarLibre(int operador) {
+            int posicion = posicionLibre[operador];
+            if (posicion < 0) {
+                return;
+            }
+            int ultimo = libres[--numLibres];
+            libres[posicion] = ultimo;
+            posicionLibre[ultimo] = posicion;
+            posicionLibre[operador] = -1;
+        }
+
+        void guardarMejor() {
+            mejorCosto = costo;
+            System.arraycopy(operadorPuesto, 0, mejorOperadorPuesto, 0, operadorPuesto.length);
+        }
+    }
+
+    /**
+     * Solución inicial voraz
+     */
+    static Estado construir(Problema problema) {
+        int puestos = problema.puestos();
+        int operadores = problema.operadores();
+        Estado estado = new Estado(puestos, operadores);
+
+        // 1. Conservar la asignación actual cuando sigue siendo válida
+        if (problema.isReplaneacion()) {
+            for (int o = 0; o < operadores; o++) {
+                int proceso = problema.getProcesoPrevio()[o];
+                if (proceso < 0) {
+                    continue;
+                }
+                for (int p = 0; p < puestos; p++) {
+                    if (problema.getProcesoPuesto()[p] == proceso && estado.operadorPuesto[p] < 0
+                            && problema.puedeOcupar(o, p)) {
+                        estado.asignar(o, p);
+                        break;
+                    }
+                }
+            }
+        }
+
+        // 2. Cubrir los puestos vacíos de mayor nivel primero con el operador libre menos calificado
+        Integer[] orden = new Integer[puestos];
+        for (int p = 0; p < puestos; p++) {
+            orden[p] = p;
+        }
+        Arrays.sort(orden, (a, b) -> Integer.compare(problema.getNivelPuesto()[b], problema.getNivelPuesto()[a]));
+
+        for (int p : orden) {
+            if (estado.operadorPuesto[p] >= 0) {
+                continue;
+            }
+            int elegido = -1;
+            for (int i = 0; i < estado.numLibres; i++) {
+                int o = estado.libres[i];
+                if (!problema.puedeOcupar(o, p)) {
+                    continue;
+                }
+                if (elegido < 0 || problema.getNivelOperador()[o] < problema.getNivelOperador()[elegido]) {
+                    elegido = o;
+                }
+            }
+            if (elegido >= 0) {
+                estado.asignar(elegido, p);
+            }
+        }
+
+        estado.costo = costoTotal(problema, estado);
+        estado.mejorOperadorPuesto = estado.operadorPuesto.clone();
+        estado.mejorCosto = estado.costo;
+        return estado;
+    }
+
+    static long costoTotal(Problema problema, Estado estado) {
+        long costo = 0;
+        for (int p = 0; p < problema.puestos(); p++) {
+            costo += problema.costoPuesto(p, estado.operadorPuesto[p]);
+        }
+        for (int o = 0; o < problema.operadores(); o++) {
+            int puesto = estado.puestoOperador[o];
+            costo += problema.costoCambio(o, puesto < 0 ? -1 : problema.getProcesoPuesto()[puesto]);
+        }
+        return costo;
+    }
+
+    /**
+     * Búsqueda local con costo incremental. Movimientos:
+     * - Intercambio: los operadores de dos puestos (uno puede estar vacío) se intercambian
+     * - Reemplazo: un operador libre toma un puesto; el que lo ocupaba queda libre
+     * Se aceptan movimientos que no empeoran el costo.
+     */
+    static void buscar(Problema problema, Estado estado, SplittableRandom random, long limiteNanos) {
+        int puestos = problema.puestos();
+        int[] procesoPuesto = problema.getProcesoPuesto();
+        long intentos = 0;
+        long sinMejora = 0;
+
+        while (sinMejora < MAX_INTENTOS_SIN_MEJORA) {
+            if ((++intentos & 255) == 0 && System.nanoTime() >= limiteNanos) {
+                break;
+            }
+
+            int p1 = random.nextInt(puestos);
+            int a = estado.operadorPuesto[p1];
+            long delta;
+
+            if (estado.numLibres > 0 && random.nextBoolean()) {
+                // Reemplazo con un operador libre
+                int f = estado.libres[random.nextInt(estado.numLibres)];
+                if (!problema.puedeOcupar(f, p1)) {
+                    sinMejora++;
+                    continue;
+                }
+                int proceso = procesoPuesto[p1];
+                delta = problema.costoPuesto(p1, f) - problema.costoPuesto(p1, a)
+                        + problema.costoCambio(f, proceso) - problema.costoCambio(f, -1);
+                if (a >= 0) {
+                    delta += problema.costoCambio(a, -1) - problema.costoCambio(a, proceso);
+                }
+                estado.evaluaciones++;
+                if (delta <= 0) {
+                    if (a >= 0) {
+                        estado.liberar(a);
+                    }
+                    estado.asignar(f, p1);
+                    estado.costo += delta;
+                }
+            } else {
+                // Intercambio entre dos puestos de procesos distintos
+                int p2 = random.nextInt(puestos);
+                int b = estado.operadorPuesto[p2];
+                int proceso1 = procesoPuesto[p1];
+                int proceso2 = procesoPuesto[p2];
+                if (proceso1 == proceso2 || a == b
+                        || !problema.puedeOcupar(a, p2) || !problema.puedeOcupar(b, p1)) {
+                    sinMejora++;
+                    continue;
+                }
+                delta = problema.costoPuesto(p1, b) + problema.costoPuesto(p2, a)
+                        - problema.costoPuesto(p1, a) - problema.costoPuesto(p2, b);
+                if (a >= 0) {
+                    delta += problema.costoCambio(a, proceso2) - problema.costoCambio(a, proceso1);
+                }
+                if (b >= 0) {
+                    delta += problema.costoCambio(b, proceso1) - problema.costoCambio(b, proceso2);
+                }
+                estado.evaluaciones++;
+                if (delta <= 0) {
+                    estado.operadorPuesto[p1] = b;
+                    estado.operadorPuesto[p2] = a;
+                    if (a >= 0) {
+                        estado.puestoOperador[a] = p2;
+                    }
+                    if (b >= 0) {
+                        estado.puestoOperador[b] = p1;
+                    }
+                    estado.costo += delta;
+                }
+            }
+
+            if (estado.costo < estado.mejorCosto) {
+                estado.guardarMejor();
+                sinMejora = 0;
+            } else {
+                sinMejora++;
+            }
+        }
+    }
+}
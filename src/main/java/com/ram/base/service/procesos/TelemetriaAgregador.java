@@ -0,0 +1,340 @@
+package com.ram.base.service.procesos;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Agrega los eventos de telemetría (RUN/STOP/COUNT) de cada máquina en acumulados por minuto
+ * y mantiene, por máquina y proceso, una ventana deslizante de los últimos minutos.
+ *
+ * - El tiempo entre dos eventos se atribuye al estado vigente (operando o parada) y al proceso
+ *   vigente, partido en los límites de cada minuto.
+ * - Al cerrar un minuto sus acumulados se entregan como Rollup (para escribirse en lote) y se
+ *   suman a la ventana; los minutos que salen de la ventana se restan. Así los totales de la
+ *   ventana se actualizan de forma incremental, sin recorrer el historial.
+ *
+ * No es thread-safe: lo usa únicamente el hilo que drena los buffers.
+ */
+public class TelemetriaAgregador {
+
+    public static final long MINUTO_MS = 60_000L;
+
+    private static final int DESCONOCIDO = -1;
+
+    private final int ventanaMinutos;
+    private final Map<Long, EstadoMaquina> maquinas = new HashMap<>();
+    private final List<Rollup> cerrados = new ArrayList<>();
+    private long ahora;
+
+    public TelemetriaAgregador(int ventanaMinutos) {
+        this.ventanaMinutos = ventanaMinutos;
+    }
+
+    /**
+     * Acumulado de un minuto cerrado de una máquina y proceso (idProceso 0 = sin proceso)
+     */
+    @Getter
+    public static final class Rollup {
+        private final long idMaquina;
+        private final long idProceso;
+        private final long minuto;
+        private final long operandoMs;
+        private final long paradoMs;
+        private final long piezas;
+        private final long rechazos;
+
+        Rollup(long idMaquina, long idProceso, long minuto, Acumulado acumulado) {
+            this.idMaquina = idMaquina;
+            this.idProceso = idProceso;
+            this.minuto = minuto;
+            this.operandoMs = acumulado.operandoMs;
+            this.paradoMs = acumulado.paradoMs;
+            this.piezas = acumulado.piezas;
+            this.rechazos = acumulado.rechazos;
+        }
+    }
+
+    /**
+     * Totales de la ventana (más el minuto en curso) de una máquina y proceso
+     */
+    @Getter
+    public static final class Totales {
+        private long operandoMs;
+        private long paradoMs;
+        private long piezas;
+        private long rechazos;
+    }
+
+    /**
+     * Estado actual y totales por proceso de una máquina
+     */
+    @Getter
+    public static final class Resumen {
+        private final long idMaquina;
+        /** TelemetriaRingBuffer.RUN, STOP o -1 si aún no hay datos */
+        private final int estado;
+        private final long idProcesoActual;
+        private final Map<Long, Totales> porProceso;
+
+        Resumen(long idMaquina, int estado, long idProcesoActual, Map<Long, Totales> porProceso) {
+            this.idMaquina = idMaquina;
+            this.estado = estado;
+            this.idProcesoActual = idProcesoActual;
+            this.porProceso = porProceso;
+        }
+    }
+
+    /**
+     * Fija la hora del servidor para los eventos que se apliquen a continuación.
+     * Los tiempos de los eventos se acotan a [ahora - ventana, ahora] para que un reloj
+     * desfasado en la máquina no genere minutos en el futuro ni recorra días de historial.
+     */
+    public void iniciarCiclo(long ahora) {
+        this.ahora = ahora;
+    }
+
+    /**
+     * Aplica un evento de la máquina
+     *
+     * @param idProceso ID del proceso o 0 si el evento no lo indica (se usa el proceso vigente)
+     */
+    public void aplicar(long idMaquina, long tiempo, int tipo, long idProceso, int cantidad, int rechazos) {
+        EstadoMaquina maquina = maquinas.computeIfAbsent(idMaquina, EstadoMaquina::new);
+        long t = Math.min(Math.max(tiempo, ahora - ventanaMinutos * MINUTO_MS), ahora);
+        avanzar(maquina, t);
+
+        switch (tipo) {
+            case TelemetriaRingBuffer.RUN, TelemetriaRingBuffer.STOP -> {
+                maquina.estado = tipo;
+                if (idProceso != 0) {
+                    maquina.idProceso = idProceso;
+                }
+            }
+            case TelemetriaRingBuffer.COUNT -> {
+                Acumulado acumulado = maquina.acumulado(idProceso != 0 ? idProceso : maquina.idProceso);
+                acumulado.piezas += cantidad;
+                acumulado.rechazos += rechazos;
+            }
+            default -> throw new IllegalArgumentException("Tipo de evento desconocido: " + tipo);
+        }
+    }
+
+    /**
+     * Avanza todas las máquinas hasta el tiempo indicado, atribuyendo el intervalo a su estado
+     * vigente y cerrando los minutos completos
+     */
+    public void avanzarHasta(long tiempo) {
+        for (EstadoMaquina maquina : maquinas.values()) {
+            avanzar(maquina, tiempo);
+        }
+    }
+
+    /**
+     * Regresa los minutos cerrados desde la última llamada
+     */
+    public List<Rollup> tomarCerrados() {
+        List<Rollup> resultado = new ArrayList<>(cerrados);
+        cerrados.clear();
+        return resultado;
+    }
+
+    /**
+     * Estado y totales de cada máquina: ventana deslizante más el minuto en curso
+     */
+    public List<Resumen> resumen() {
+        long minutoLimite = ahora / MINUTO_MS - ventanaMinutos;
+        List<Resumen> resultado = new ArrayList<>(maquinas.size());
+
+        for (EstadoMaquina maquina : maquinas.values()) {
+            Map<Long, Totales> porProceso = new HashMap<>();
+
+            Iterator<Map.Entry<Long, Ventana>> ventanas = maquina.ventanas.entrySet().iterator();
+            while (ventanas.hasNext()) {
+                Map.Entry<Long, Ventana> entrada = ventanas.next();
+                Ventana ventana = entrada.getValue();
+                ventana.expirar(minutoLimite);
+                if (ventana.vacia()) {
+                    ventanas.remove();
+                    continue;
+                }
+                Totales totales = porProceso.computeIfAbsent(entrada.getKey(), id -> new Totales());
+                totales.operandoMs += ventana.operandoMs;
+                totales.paradoMs += ventana.paradoMs;
+                totales.piezas += ventana.piezas;
+                totales.rechazos += ventana.rechazos;
+            }
+
+            for (Map.Entry<Long, Acumulado> entrada : maquina.minutoActual.entrySet()) {
+                Acumulado acumulado = entrada.getValue();
+                Totales totales = porProceso.computeIfAbsent(entrada.getKey(), id -> new Totales());
+                totales.operandoMs += acumulado.operandoMs;
+                totales.paradoMs += acumulado.paradoMs;
+                totales.piezas += acumulado.piezas;
+                totales.rechazos += acumulado.rechazos;
+            }
+
+            resultado.add(new Resumen(maquina.idMaquina, maquina.estado, maquina.idProceso, porProceso));
+        }
+        return resultado;
+    }
+
+    private void avanzar(EstadoMaquina maquina, long t) {
+        if (maquina.ultimoTiempo == 0) {
+            maquina.ultimoTiempo = t;
+            maquina.minuto = t / MINUTO_MS;
+            return;
+        }
+        if (t <= maquina.ultimoTiempo) {
+            return;
+        }
+        if (maquina.estado == DESCONOCIDO && maquina.minutoActual.isEmpty()) {
+            // Sin estado ni acumulados no hay nada que atribuir: salta directamente
+            maquina.ultimoTiempo = t;
+            maquina.minuto = t / MINUTO_MS;
+            return;
+        }
+
+        long finMinuto = (maquina.minuto + 1) * MINUTO_MS;
+        while (t >= finMinuto) {
+            maquina.acumularEstado(finMinuto - maquina.ultimoTiempo);
+            cerrarMinuto(maquina);
+            maquina.ultimoTiempo = finMinuto;
+            maquina.minuto++;
+            finMinuto += MINUTO_MS;
+        }
+        maquina.acumularEstado(t - maquina.ultimoTiempo);
+        maquina.ultimoTiempo = t;
+    }
+
+    private void cerrarMinuto(EstadoMaquina maquina) {
+        for (Map.Entry<Long, Acumulado> entrada : maquina.minutoActual.entrySet()) {
+            Acumulado acumulado = entrada.getValue();
+            if (acumulado.vacio()) {
+                continue;
+            }
+            cerrados.add(new Rollup(maquina.idMaquina, entrada.getKey(), maquina.minuto, acumulado));
+            maquina.ventanas.computeIfAbsent(entrada.getKey(), id -> new Ventana(ventanaMinutos))
+                    .agregar(maquina.minuto, acumulado);
+        }
+        maquina.minutoActual.clear();
+    }
+
+    /**
+     * Estado de una máquina
+     */
+    private static final class EstadoMaquina {
+        private final long idMaquina;
+        private int estado = DESCONOCIDO;
+        private long idProceso;
+        private long ultimoTiempo;
+        private long minuto;
+        /** Proceso -> acumulado del minuto en curso */
+        private final Map<Long, Acumulado> minutoActual = new HashMap<>();
+        /** Proceso -> ventana de minutos cerrados */
+        private final Map<Long, Ventana> ventanas = new HashMap<>();
+
+        EstadoMaquina(long idMaquina) {
+            this.idMaquina = idMaquina;
+        }
+
+        Acumulado acumulado(long idProceso) {
+            return minutoActual.computeIfAbsent(idProceso, id -> new Acumulado());
+        }
+
+        void acumularEstado(long ms) {
+            if (ms <= 0 || estado == DESCONOCIDO) {
+                return;
+            }
+            Acumulado acumulado = acumulado(idProceso);
+            if (estado == TelemetriaRingBuffer.RUN) {
+                acumulado.operandoMs += ms;
+            } else {
+                acumulado.paradoMs += ms;
+            }
+        }
+    }
+
+    private static final class Acumulado {
+        private long operandoMs;
+        private long paradoMs;
+        private long piezas;
+        private long rechazos;
+
+        boolean vacio() {
+            return operandoMs == 0 && paradoMs == 0 && piezas == 0 && rechazos == 0;
+        }
+    }
+
+    /**
+     * Ventana circular de minutos cerrados con sus totales
+     */
+    private static final class Ventana {
+        private final long[] minutos;
+        private final long[] operando;
+        private final long[] parado;
+        private final long[] piezasMinuto;
+        private final long[] rechazosMinuto;
+        private long operandoMs;
+        private long paradoMs;
+        private long piezas;
+        private long rechazos;
+
+        Ventana(int tamano) {
+            minutos = new long[tamano];
+            Arrays.fill(minutos, -1);
+            operando = new long[tamano];
+            parado = new long[tamano];
+            piezasMinuto = new long[tamano];
+            rechazosMinuto = new long[tamano];
+        }
+
+        void agregar(long minuto, Acumulado acumulado) {
+            int i = (int) Math.floorMod(minuto, (long) minutos.length);
+            if (minutos[i] != minuto) {
+                quitar(i);
+                minutos[i] = minuto;
+            }
+            operando[i] += acumulado.operandoMs;
+            parado[i] += acumulado.paradoMs;
+            piezasMinuto[i] += acumulado.piezas;
+            rechazosMinuto[i] += acumulado.rechazos;
+            operandoMs += acumulado.operandoMs;
+            paradoMs += acumulado.paradoMs;
+            piezas += acumulado.piezas;
+            rechazos += acumulado.rechazos;
+        }
+
+        /**
+         * Resta los minutos anteriores o iguales al límite
+         */
+        void expirar(long minutoLimite) {
+            for (int i = 0; i < minutos.length; i++) {
+                if (minutos[i] != -1 && minutos[i] <= minutoLimite) {
+                    quitar(i);
+                    minutos[i] = -1;
+                }
+            }
+        }
+
+        boolean vacia() {
+            return operandoMs == 0 && paradoMs == 0 && piezas == 0 && rechazos == 0;
+        }
+
+        private void quitar(int i) {
+            operandoMs -= operando[i];
+            paradoMs -= parado[i];
+            piezas -= piezasMinuto[i];
+            rechazos -= rechazosMinuto[i];
+            operando[i] = 0;
+            parado[i] = 0;
+            piezasMinuto[i] = 0;
+            rechazosMinuto[i] = 0;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.ram.base.service.procesos;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Buffer circular acotado, sin locks, para los eventos de telemetría de una máquina.
+ *
+ * Varios productores (hilos HTTP que reciben lotes) y un único consumidor (el agregador).
+ * Cada posición tiene un número de secuencia que indica si está libre para el productor
+ * (secuencia == posición) o publicada para el consumidor (secuencia == posición + 1).
+ * Los productores reservan posición con un CAS sobre la cola; si el buffer está lleno
+ * el evento se descarta en lugar de bloquear la petición.
+ *
+ * Los campos del evento se guardan en arreglos primitivos: encolar no crea objetos.
+ */
+public class TelemetriaRingBuffer {
+
+    public static final int RUN = 0;
+    public static final int STOP = 1;
+    public static final int COUNT = 2;
+
+    /**
+     * Recibe los eventos drenados (se invoca en el hilo consumidor)
+     */
+    @FunctionalInterface
+    public interface Consumidor {
+        void aceptar(long tiempo, int tipo, long idProceso, int cantidad, int rechazos);
+    }
+
+    private final int capacidad;
+    private final int mascara;
+    private final AtomicLongArray secuencias;
+    private final long[] tiempos;
+    private final int[] tipos;
+    private final long[] procesos;
+    private final int[] cantidades;
+    private final int[] rechazos;
+
+    private final AtomicLong cola = new AtomicLong();
+    // Solo la usa el consumidor
+    private long cabeza;
+
+    /**
+     * @param capacidadMinima Capacidad deseada; se redondea a la siguiente potencia de 2
+     */
+    public TelemetriaRingBuffer(int capacidadMinima) {
+        this.capacidad = Integer.highestOneBit(Math.max(2, capacidadMinima - 1)) << 1;
+        this.mascara = capacidad - 1;
+        this.secuencias = new AtomicLongArray(capacidad);
+        for (int i = 0; i < capacidad; i++) {
+            secuencias.set(i, i);
+        }
+        this.tiempos = new long[capacidad];
+        this.tipos = new int[capacidad];
+        this.procesos = new long[capacidad];
+        this.cantidades = new int[capacidad];
+        this.rechazos = new int[capacidad];
+    }
+
+    /**
+     * Encola un evento (cualquier hilo)
+     *
+     * @param idProceso ID del proceso o 0 si el evento no lo indica
+     * @return false si el buffer está lleno y el evento se descartó
+     */
+    public boolean ofrecer(long tiempo, int tipo, long idProceso, int cantidad, int rechazo) {
+        long posicion;
+        int indice;
+        while (true) {
+            posicion = cola.get();
+            indice = (int) (posicion & mascara);
+            long diferencia = secuencias.get(indice) - posicion;
+            if (diferencia == 0) {
+                if (cola.compareAndSet(posicion, posicion + 1)) {
+                    break;
+                }
+            } else if (diferencia < 0) {
+                return false;
+            }
+            // diferencia > 0: otro productor tomó la posición, se reintenta con la cola actual
+        }
+
+        tiempos[indice] = tiempo;
+        tipos[indice] = tipo;
+        procesos[indice] = idProceso;
+        cantidades[indice] = cantidad;
+        rechazos[indice] = rechazo;
+        // Publica el evento: las escrituras anteriores son visibles para quien lea la secuencia
+        secuencias.lazySet(indice, posicion + 1);
+        return true;
+    }
+
+    /**
+     * Entrega al consumidor los eventos publicados, en orden (solo el hilo consumidor)
+     *
+     * @param maximo Máximo de eventos a drenar en esta llamada
+     * @return Eventos entregados
+     */
+    public int drenar(Consumidor consumidor, int maximo) {
+        int drenados = 0;
+        while (drenados < maximo) {
+            int indice = (int) (cabeza & mascara);
+            if (secuencias.get(indice) != cabeza + 1) {
+                break;
+            }
+            consumidor.aceptar(tiempos[indice], tipos[indice], procesos[indice], cantidades[indice], rechazos[indice]);
+            // Libera la posición para la siguiente vuelta de los productores
+            secuencias.lazySet(indice, cabeza + capacidad);
+            cabeza++;
+            drenados++;
+        }
+        return drenados;
+    }
+
+    public int getCapacidad() {
+        return capacidad;
+    }
+}
@@ -0,0 +1,23 @@
+package com.ram.base.service.procesos;
+
+import com.ram.base.dto.procesos.EventoTelemetriaDTO;
+import com.ram.base.dto.procesos.OeeMaquinaDTO;
+import com.ram.base.dto.procesos.ResultadoIngestaDTO;
+
+import java.util.List;
+
+/**
+ * Interfaz de servicio para la telemetría de máquinas
+ */
+public interface TelemetriaService {
+
+    /**
+     * Encola un lote de eventos para su agregación asíncrona (no escribe en la base de datos)
+     */
+    ResultadoIngestaDTO registrar(List<EventoTelemetriaDTO> eventos);
+
+    /**
+     * Estado e indicadores OEE de las máquinas activas en la ventana de tiempo
+     */
+    List<OeeMaquinaDTO> getIndicadores();
+}
@@ -0,0 +1,342 @@
+package com.ram.base.service.procesos;
+
+import com.ram.base.dto.procesos.EventoTelemetriaDTO;
+import com.ram.base.dto.procesos.IndicadoresOeeDTO;
+import com.ram.base.dto.procesos.OeeMaquinaDTO;
+import com.ram.base.dto.procesos.ResultadoIngestaDTO;
+import com.ram.base.entity.procesos.TelemetriaMinutoEntity;
+import com.ram.base.repository.procesos.MaquinaRepository;
+import com.ram.base.repository.procesos.ProcesoRepository;
+import com.ram.base.repository.procesos.TelemetriaMinutoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implementación del servicio de telemetría.
+ *
+ * Flujo:
+ * 1. registrar (hilos HTTP): valida máquina/proceso contra el catálogo en memoria y encola
+ *    cada evento en el buffer sin locks de su máquina. No toca la base de datos.
+ * 2. procesar (hilo del scheduler, cada telemetria.intervalo-ms): drena los buffers al
+ *    agregador, cierra los minutos completos, escribe los acumulados por minuto con saveAll
+ *    (JDBC batch) y publica el resumen OEE para el dashboard.
+ * 3. getIndicadores: regresa el último resumen publicado (lectura de un campo volatile).
+ */
+@Slf4j
+@Service
+public class TelemetriaServiceImpl implements TelemetriaService {
+
+    private static final int TAMANO_ESCRITURA = 500;
+
+    private final MaquinaRepository maquinaRepository;
+    private final ProcesoRepository procesoRepository;
+    private final TelemetriaMinutoRepository telemetriaMinutoRepository;
+
+    private final int capacidadBuffer;
+    private final long retrasoMs;
+    private final int maxPendientes;
+    private final double segundosPorUnidad;
+
+    private final Map<Long, TelemetriaRingBuffer> buffers = new ConcurrentHashMap<>();
+    // Solo se usan en el hilo del scheduler
+    private final TelemetriaAgregador agregador;
+    private final List<TelemetriaMinutoEntity> pendientes = new ArrayList<>();
+
+    // Catálogo en memoria: la ingesta no consulta la base de datos
+    private volatile Map<Long, String> maquinasActivas = Map.of();
+    private volatile Map<Long, ProcesoCatalogo> procesos = Map.of();
+    private volatile List<OeeMaquinaDTO> indicadores = List.of();
+
+    public TelemetriaServiceImpl(MaquinaRepository maquinaRepository,
+                                 ProcesoRepository procesoRepository,
+                                 TelemetriaMinutoRepository telemetriaMinutoRepository,
+                                 @Value("${telemetria.capacidad-buffer:8192}") int capacidadBuffer,
+                                 @Value("${telemetria.ventana-minutos:60}") int ventanaMinutos,
+                                 @Value("${telemetria.retraso-ms:5000}") long retrasoMs,
+                                 @Value("${telemetria.max-pendientes:100000}") int maxPendientes,
+                                 @Value("${telemetria.segundos-por-unidad-tiempo:60}") double segundosPorUnidad) {
+        this.maquinaRepository = maquinaRepository;
+        this.procesoRepository = procesoRepository;
+        this.telemetriaMinutoRepository = telemetriaMinutoRepository;
+        this.capacidadBuffer = capacidadBuffer;
+        this.retrasoMs = retrasoMs;
+        this.maxPendientes = maxPendientes;
+        this.segundosPorUnidad = segundosPorUnidad;
+        this.agregador = new TelemetriaAgregador(ventanaMinutos);
+    }
+
+    private static final class ProcesoCatalogo {
+        private final String nombre;
+        /** Segundos ideales por pieza (tiempoProceso convertido), null si no tiene tiempo */
+        private final Double segundosIdeales;
+
+        ProcesoCatalogo(String nombre, Double segundosIdeales) {
+            this.nombre = nombre;
+            this.segundosIdeales = segundosIdeales;
+        }
+    }
+
+    @Override
+    public ResultadoIngestaDTO registrar(List<EventoTelemetriaDTO> eventos) {
+        Map<Long, String> maquinas = maquinasActivas;
+        Map<Long, ProcesoCatalogo> catalogoProcesos = procesos;
+        int aceptados = 0;
+        int rechazados = 0;
+        int descartados = 0;
+
+        for (EventoTelemetriaDTO evento : eventos) {
+            if (!maquinas.containsKey(evento.getIdMaquina())
+                    || (evento.getIdProceso() != null && !catalogoProcesos.containsKey(evento.getIdProceso()))) {
+                rechazados++;
+                continue;
+            }
+
+            TelemetriaRingBuffer buffer = buffers.computeIfAbsent(evento.getIdMaquina(),
+                    id -> new TelemetriaRingBuffer(capacidadBuffer));
+            boolean encolado = buffer.ofrecer(
+                    evento.getTiempo(),
+                    tipo(evento.getTipo()),
+                    evento.getIdProceso() != null ? evento.getIdProceso() : 0L,
+                    evento.getCantidad() != null ? evento.getCantidad() : 1,
+                    evento.getRechazos() != null ? evento.getRechazos() : 0);
+            if (encolado) {
+                aceptados++;
+            } else {
+                descartados++;
+            }
+        }
+
+        if (descartados > 0) {
+            log.warn("Telemetría: {} eventos descartados por buffer lleno", descartados);
+        }
+        log.debug("Telemetría: {} aceptados, {} rechazados", aceptados, rechazados);
+        return ResultadoIngestaDTO.builder()
+                .aceptados(aceptados)
+                .rechazados(rechazados)
+                .descartados(descartados)
+                .build();
+    }
+
+    @Override
+    public List<OeeMaquinaDTO> getIndicadores() {
+        return indicadores;
+    }
+
+    /**
+     * Recarga el catálogo de máquinas activas y procesos (máquinas nuevas o desactivadas
+     * se reflejan en la ingesta a más tardar en telemetria.catalogo-ms)
+     */
+    @Scheduled(fixedDelayString = "${telemetria.catalogo-ms:60000}")
+    public void refrescarCatalogo() {
+        Map<Long, String> maquinas = new HashMap<>();
+        for (Object[] fila : maquinaRepository.findIdNombreActivas()) {
+            maquinas.put((Long) fila[0], (String) fila[1]);
+        }
+
+        Map<Long, ProcesoCatalogo> catalogo = new HashMap<>();
+        for (Object[] fila : procesoRepository.findIdNombreTiempo()) {
+            Double tiempo = (Double) fila[2];
+            Double segundos = tiempo != null && tiempo > 0 ? tiempo * segundosPorUnidad : null;
+            catalogo.put((Long) fila[0], new ProcesoCatalogo((String) fila[1], segundos));
+        }
+
+        maquinasActivas = Map.copyOf(maquinas);
+        procesos = Map.copyOf(catalogo);
+        log.debug("Catálogo de telemetría: {} máquinas activas, {} procesos", maquinas.size(), catalogo.size());
+    }
+
+    /**
+     * Drena los buffers, escribe los minutos cerrados y publica los indicadores
+     */
+    @Scheduled(fixedDelayString = "${telemetria.intervalo-ms:1000}")
+    public void procesar() {
+        long ahora = System.currentTimeMillis();
+        agregador.iniciarCiclo(ahora);
+
+        long eventos = 0;
+        for (Map.Entry<Long, TelemetriaRingBuffer> entrada : buffers.entrySet()) {
+            long idMaquina = entrada.getKey();
+            TelemetriaRingBuffer buffer = entrada.getValue();
+            // Como máximo una vuelta del buffer por ciclo para no acaparar el hilo con una sola máquina
+            eventos += buffer.drenar((tiempo, tipo, idProceso, cantidad, rechazos) ->
+                    agregador.aplicar(idMaquina, tiempo, tipo, idProceso, cantidad, rechazos), buffer.getCapacidad());
+        }
+
+        // Los eventos pueden llegar con retraso: el estado vigente se atribuye solo hasta ahora - retraso
+        agregador.avanzarHasta(ahora - retrasoMs);
+
+        for (TelemetriaAgregador.Rollup rollup : agregador.tomarCerrados()) {
+            pendientes.add(TelemetriaMinutoEntity.builder()
+                    .idMaquina(rollup.getIdMaquina())
+                    .idProceso(rollup.getIdProceso() != 0 ? rollup.getIdProceso() : null)
+                    .minuto(Instant.ofEpochMilli(rollup.getMinuto() * TelemetriaAgregador.MINUTO_MS))
+                    .operandoMs(rollup.getOperandoMs())
+                    .paradoMs(rollup.getParadoMs())
+                    .piezas(rollup.getPiezas())
+                    .rechazos(rollup.getRechazos())
+                    .build());
+        }
+        escribirPendientes();
+
+        indicadores = construirIndicadores();
+        if (eventos > 0) {
+            log.debug("Telemetría: {} eventos agregados en {} ms", eventos, System.currentTimeMillis() - ahora);
+        }
+    }
+
+    /**
+     * Escribe los acumulados pendientes en bloques; si la base de datos falla se reintentan
+     * en el siguiente ciclo, descartando los más antiguos al superar telemetria.max-pendientes
+     */
+    private void escribirPendientes() {
+        while (!pendientes.isEmpty()) {
+            List<TelemetriaMinutoEntity> bloque = pendientes.subList(0, Math.min(TAMANO_ESCRITURA, pendientes.size()));
+            try {
+                telemetriaMinutoRepository.saveAll(bloque);
+            } catch (DataAccessException e) {
+                log.error("Error al escribir {} acumulados de telemetría, se reintentará: {}",
+                        pendientes.size(), e.getMessage());
+                // Un saveAll fallido pudo asignar IDs a entidades que no se insertaron
+                bloque.forEach(entidad -> entidad.setIdTelemetria(null));
+                if (pendientes.size() > maxPendientes) {
+                    int exceso = pendientes.size() - maxPendientes;
+                    pendientes.subList(0, exceso).clear();
+                    log.warn("Se descartaron {} acumulados de telemetría por exceso de pendientes", exceso);
+                }
+                return;
+            }
+            bloque.clear();
+        }
+    }
+
+    private List<OeeMaquinaDTO> construirIndicadores() {
+        Map<Long, String> maquinas = maquinasActivas;
+        Map<Long, ProcesoCatalogo> catalogoProcesos = procesos;
+
+        Map<Long, TelemetriaAgregador.Resumen> resumenes = new HashMap<>();
+        for (TelemetriaAgregador.Resumen resumen : agregador.resumen()) {
+            resumenes.put(resumen.getIdMaquina(), resumen);
+        }
+
+        List<OeeMaquinaDTO> resultado = new ArrayList<>(maquinas.size());
+        for (Map.Entry<Long, String> maquina : maquinas.entrySet()) {
+            TelemetriaAgregador.Resumen resumen = resumenes.get(maquina.getKey());
+            if (resumen == null) {
+                resultado.add(OeeMaquinaDTO.builder()
+                        .idMaquina(maquina.getKey())
+                        .maquina(maquina.getValue())
+                        .estado("SIN_DATOS")
+                        .procesos(List.of())
+                        .build());
+                continue;
+            }
+
+            List<IndicadoresOeeDTO> porProceso = new ArrayList<>();
+            long operando = 0;
+            long parado = 0;
+            long piezas = 0;
+            long rechazos = 0;
+            // Tiempo ideal y tiempo operando solo de los procesos con tiempoProceso
+            double segundosIdeales = 0;
+            long operandoConIdeal = 0;
+
+            for (Map.Entry<Long, TelemetriaAgregador.Totales> entrada : resumen.getPorProceso().entrySet()) {
+                TelemetriaAgregador.Totales totales = entrada.getValue();
+                ProcesoCatalogo proceso = catalogoProcesos.get(entrada.getKey());
+                Double ideal = proceso != null ? proceso.segundosIdeales : null;
+
+                porProceso.add(indicadores(entrada.getKey() != 0 ? entrada.getKey() : null,
+                        proceso != null ? proceso.nombre : null, totales.getOperandoMs(), totales.getParadoMs(),
+                        totales.getPiezas(), totales.getRechazos(),
+                        ideal != null ? ideal * totales.getPiezas() : null));
+
+                operando += totales.getOperandoMs();
+                parado += totales.getParadoMs();
+                piezas += totales.getPiezas();
+                rechazos += totales.getRechazos();
+                if (ideal != null) {
+                    segundosIdeales += ideal * totales.getPiezas();
+                    operandoConIdeal += totales.getOperandoMs();
+                }
+            }
+            porProceso.sort(Comparator.comparing(IndicadoresOeeDTO::getIdProceso,
+                    Comparator.nullsLast(Comparator.naturalOrder())));
+
+            IndicadoresOeeDTO totales = indicadores(null, null, operando, parado, piezas, rechazos, null);
+            if (operandoConIdeal > 0) {
+                totales.setRendimiento(segundosIdeales / (operandoConIdeal / 1000.0));
+                totales.setOee(oee(totales));
+            }
+
+            resultado.add(OeeMaquinaDTO.builder()
+                    .idMaquina(maquina.getKey())
+                    .maquina(maquina.getValue())
+                    .estado(estado(resumen.getEstado()))
+                    .idProcesoActual(resumen.getIdProcesoActual() != 0 ? resumen.getIdProcesoActual() : null)
+                    .totales(totales)
+                    .procesos(porProceso)
+                    .build());
+        }
+        resultado.sort(Comparator.comparing(OeeMaquinaDTO::getIdMaquina));
+        return List.copyOf(resultado);
+    }
+
+    /**
+     * Calcula los indicadores; los que no se pueden determinar (sin tiempo registrado,
+     * sin piezas o sin tiempo ideal) quedan en null
+     */
+    private IndicadoresOeeDTO indicadores(Long idProceso, String nombre, long operandoMs, long paradoMs,
+                                          long piezas, long rechazos, Double segundosIdeales) {
+        Double disponibilidad = operandoMs + paradoMs > 0 ? (double) operandoMs / (operandoMs + paradoMs) : null;
+        Double rendimiento = segundosIdeales != null && operandoMs > 0 ? segundosIdeales / (operandoMs / 1000.0) : null;
+        Double calidad = piezas > 0 ? (double) (piezas - rechazos) / piezas : null;
+
+        IndicadoresOeeDTO dto = IndicadoresOeeDTO.builder()
+                .idProceso(idProceso)
+                .proceso(nombre)
+                .tiempoOperandoSeg(operandoMs / 1000.0)
+                .tiempoParadoSeg(paradoMs / 1000.0)
+                .piezas(piezas)
+                .rechazos(rechazos)
+                .disponibilidad(disponibilidad)
+                .rendimiento(rendimiento)
+                .calidad(calidad)
+                .build();
+        dto.setOee(oee(dto));
+        return dto;
+    }
+
+    private Double oee(IndicadoresOeeDTO dto) {
+        if (dto.getDisponibilidad() == null || dto.getRendimiento() == null || dto.getCalidad() == null) {
+            return null;
+        }
+        return dto.getDisponibilidad() * dto.getRendimiento() * dto.getCalidad();
+    }
+
+    private int tipo(String tipo) {
+        return switch (tipo) {
+            case "RUN" -> TelemetriaRingBuffer.RUN;
+            case "STOP" -> TelemetriaRingBuffer.STOP;
+            default -> TelemetriaRingBuffer.COUNT;
+        };
+    }
+
+    private String estado(int estado) {
+        return switch (estado) {
+            case TelemetriaRingBuffer.RUN -> "RUN";
+            case TelemetriaRingBuffer.STOP -> "STOP";
+            default -> "SIN_DATOS";
+        };
+    }
+}
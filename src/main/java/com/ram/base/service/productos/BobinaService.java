@@ -5,6 +5,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Interfaz de servicio para Bobinas
@@ -16,11 +17,21 @@ public interface BobinaService {
      */
     BobinaDTO create(BobinaDTO bobinaDTO);
 
+    /**
+     * Crea varias bobinas en lote
+     */
+    List<BobinaDTO> createAll(List<BobinaDTO> bobinasDTO);
+
     /**
      * Actualiza una bobina existente
      */
     BobinaDTO update(Long id, BobinaDTO bobinaDTO);
 
+    /**
+     * Actualiza parcialmente una bobina (solo los campos enviados)
+     */
+    void patch(Long id, Map<String, Object> campos);
+
     /**
      * Obtiene una bobina por ID
      */
@@ -5,7 +5,9 @@ import com.ram.base.entity.productos.BobinaEntity;
 import com.ram.base.exception.BusinessException;
 import com.ram.base.exception.ResourceNotFoundException;
 import com.ram.base.mapper.BobinaMapper;
+import com.ram.base.repository.generic.PartialUpdateRepository;
 import com.ram.base.repository.productos.BobinaRepository;
+import com.ram.base.util.TextNormalizer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -13,7 +15,11 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -26,6 +32,22 @@ public class BobinaServiceImpl implements BobinaService {
 
     private final BobinaRepository bobinaRepository;
     private final BobinaMapper bobinaMapper;
+    private final PartialUpdateRepository partialUpdateRepository;
+
+    /**
+     * Campos que se pueden actualizar parcialmente (nombre en la API -> atributo de la entidad)
+     */
+    private static final Map<String, String> CAMPOS_PATCH = Map.of(
+            "codigoProveedor", "codigoProveedor",
+            "ancho", "ancho",
+            "gramaje", "gramaje",
+            "calibre", "calibre",
+            "peso", "peso",
+            "idTipo", "tipoEntity",
+            "idClase", "claseEntity",
+            "idMolino", "molinoEntity",
+            "idGrado", "gradoEntity",
+            "idProveedor", "proveedor");
 
     @Override
     @Transactional
@@ -43,15 +65,48 @@ public class BobinaServiceImpl implements BobinaService {
         return bobinaMapper.toDTO(savedEntity);
     }
 
+    /**
+     * Crea varias bobinas validando códigos duplicados con una sola consulta.
+     * Los catálogos relacionados se cargan una vez por lote (no cinco findById por bobina)
+     * y los INSERT se envían en batch JDBC.
+     */
+    @Override
+    @Transactional
+    public List<BobinaDTO> createAll(List<BobinaDTO> bobinasDTO) {
+        log.info("Creando {} bobinas en lote", bobinasDTO.size());
+
+        // Códigos duplicados dentro del mismo lote (en memoria)
+        Set<String> codigos = new HashSet<>();
+        for (BobinaDTO dto : bobinasDTO) {
+            if (!codigos.add(TextNormalizer.normalize(dto.getCodigoProveedor()))) {
+                throw new BusinessException("El código está repetido en el lote: " + dto.getCodigoProveedor());
+            }
+        }
+
+        // Códigos existentes en la base de datos en una sola consulta
+        List<String> existentes = bobinaRepository.findExistingCodigos(codigos);
+        if (!existentes.isEmpty()) {
+            throw new BusinessException("Ya existen bobinas con los códigos: " + existentes);
+        }
+
+        List<BobinaEntity> entities = bobinaMapper.toEntities(bobinasDTO);
+        List<BobinaEntity> savedEntities = bobinaRepository.saveAll(entities);
+
+        log.info("Se crearon {} bobinas en lote", savedEntities.size());
+        return savedEntities.stream()
+                .map(bobinaMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
     @Override
     @Transactional
     public BobinaDTO update(Long id, BobinaDTO bobinaDTO) {
         log.info("Actualizando bobina con ID: {}", id);
 
-        BobinaEntity existingEntity = bobinaRepository.findById(id)
+        BobinaEntity existingEntity = bobinaRepository.findByIdWithCatalogos(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Bobina", id));
 
-        if (!existingEntity.getCodigoProveedor().equals(bobinaDTO.getCodigoProveedor()) && 
+        if (!Objects.equals(existingEntity.getCodigoProveedorNormalizado(), TextNormalizer.normalize(bobinaDTO.getCodigoProveedor())) && 
             existsByCodigoProveedor(bobinaDTO.getCodigoProveedor())) {
             throw new BusinessException("Ya existe otra bobina con el código: " + bobinaDTO.getCodigoProveedor());
         }
@@ -63,12 +118,32 @@ public class BobinaServiceImpl implements BobinaService {
         return bobinaMapper.toDTO(updatedEntity);
     }
 
+    /**
+     * Actualiza solo los campos enviados con un único UPDATE (sin findById ni save).
+     * Si no se afecta ninguna fila, la bobina no existe.
+     * La unicidad del código la garantiza el índice único de codigo_proveedor.
+     * Las relaciones (idTipo, idClase, ...) se asignan por referencia, sin consultar sus tablas.
+     */
+    @Override
+    @Transactional
+    public void patch(Long id, Map<String, Object> campos) {
+        log.info("Actualizando parcialmente bobina con ID: {}", id);
+
+        int filas = partialUpdateRepository.updateFields(
+                BobinaEntity.class, id, campos, BobinaDTO.class, CAMPOS_PATCH);
+        if (filas == 0) {
+            throw new ResourceNotFoundException("Bobina", id);
+        }
+
+        log.info("Bobina actualizada parcialmente: {}", id);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public BobinaDTO getById(Long id) {
         log.debug("Buscando bobina con ID: {}", id);
 
-        BobinaEntity entity = bobinaRepository.findById(id)
+        BobinaEntity entity = bobinaRepository.findByIdWithCatalogos(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Bobina", id));
 
         return bobinaMapper.toDTO(entity);
@@ -79,7 +154,7 @@ public class BobinaServiceImpl implements BobinaService {
     public List<BobinaDTO> getAll() {
         log.debug("Obteniendo todas las bobinas");
 
-        List<BobinaEntity> entities = bobinaRepository.findAll();
+        List<BobinaEntity> entities = bobinaRepository.findAllWithCatalogos();
         return entities.stream()
                 .map(bobinaMapper::toDTO)
                 .collect(Collectors.toList());
@@ -91,7 +166,7 @@ public class BobinaServiceImpl implements BobinaService {
         log.debug("Obteniendo bobinas paginadas: página {}, tamaño {}", 
                 pageable.getPageNumber(), pageable.getPageSize());
 
-        Page<BobinaEntity> entityPage = bobinaRepository.findAll(pageable);
+        Page<BobinaEntity> entityPage = bobinaRepository.findAllWithCatalogos(pageable);
         return entityPage.map(bobinaMapper::toDTO);
     }
 
@@ -199,6 +274,6 @@ public class BobinaServiceImpl implements BobinaService {
     @Override
     @Transactional(readOnly = true)
     public boolean existsByCodigoProveedor(String codigoProveedor) {
-        return bobinaRepository.existsByCodigoProveedorIgnoreCase(codigoProveedor);
+        return bobinaRepository.existsByCodigoProveedorNormalizado(TextNormalizer.normalize(codigoProveedor));
     }
 }
@@ -5,6 +5,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Interfaz de servicio para Clases
@@ -16,11 +17,21 @@ public interface ClaseService {
      */
     ClaseDTO create(ClaseDTO claseDTO);
 
+    /**
+     * Crea varias clases en lote
+     */
+    List<ClaseDTO> createAll(List<ClaseDTO> clasesDTO);
+
     /**
      * Actualiza una clase existente
      */
     ClaseDTO update(Long id, ClaseDTO claseDTO);
 
+    /**
+     * Actualiza parcialmente una clase (solo los campos enviados)
+     */
+    void patch(Long id, Map<String, Object> campos);
+
     /**
      * Obtiene una clase por ID
      */
@@ -5,7 +5,9 @@ import com.ram.base.entity.productos.ClaseEntity;
 import com.ram.base.exception.BusinessException;
 import com.ram.base.exception.ResourceNotFoundException;
 import com.ram.base.mapper.ClaseMapper;
+import com.ram.base.repository.generic.PartialUpdateRepository;
 import com.ram.base.repository.productos.ClaseRepository;
+import com.ram.base.util.TextNormalizer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -13,7 +15,11 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -26,6 +32,14 @@ public class ClaseServiceImpl implements ClaseService {
 
     private final ClaseRepository claseRepository;
     private final ClaseMapper claseMapper;
+    private final PartialUpdateRepository partialUpdateRepository;
+
+    /**
+     * Campos que se pueden actualizar parcialmente (nombre en la API -> atributo de la entidad)
+     */
+    private static final Map<String, String> CAMPOS_PATCH = Map.of(
+            "clase", "clase",
+            "estatus", "estatus");
 
     @Override
     @Transactional
@@ -43,6 +57,40 @@ public class ClaseServiceImpl implements ClaseService {
         return claseMapper.toDTO(savedEntity);
     }
 
+    /**
+     * Crea varias clases validando duplicados con una sola consulta.
+     * Los INSERT se envían en batch JDBC (IDs por tabla, hibernate.jdbc.batch_size).
+     */
+    @Override
+    @Transactional
+    public List<ClaseDTO> createAll(List<ClaseDTO> clasesDTO) {
+        log.info("Creando {} clases en lote", clasesDTO.size());
+
+        // Duplicados dentro del mismo lote (en memoria)
+        Set<String> nombres = new HashSet<>();
+        for (ClaseDTO dto : clasesDTO) {
+            if (!nombres.add(TextNormalizer.normalize(dto.getClase()))) {
+                throw new BusinessException("El nombre está repetido en el lote: " + dto.getClase());
+            }
+        }
+
+        // Duplicados contra la base de datos en una sola consulta
+        List<String> existentes = claseRepository.findExistingClases(nombres);
+        if (!existentes.isEmpty()) {
+            throw new BusinessException("Ya existen clases con los nombres: " + existentes);
+        }
+
+        List<ClaseEntity> entities = clasesDTO.stream()
+                .map(claseMapper::toEntity)
+                .collect(Collectors.toList());
+        List<ClaseEntity> savedEntities = claseRepository.saveAll(entities);
+
+        log.info("Se crearon {} clases en lote", savedEntities.size());
+        return savedEntities.stream()
+                .map(claseMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
     @Override
     @Transactional
     public ClaseDTO update(Long id, ClaseDTO claseDTO) {
@@ -51,7 +99,7 @@ public class ClaseServiceImpl implements ClaseService {
         ClaseEntity existingEntity = claseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Clase", id));
 
-        if (!existingEntity.getClase().equals(claseDTO.getClase()) && 
+        if (!Objects.equals(existingEntity.getClaseNormalizado(), TextNormalizer.normalize(claseDTO.getClase())) && 
             existsByClase(claseDTO.getClase())) {
             throw new BusinessException("Ya existe otra clase con el nombre: " + claseDTO.getClase());
         }
@@ -63,6 +111,25 @@ public class ClaseServiceImpl implements ClaseService {
         return claseMapper.toDTO(updatedEntity);
     }
 
+    /**
+     * Actualiza solo los campos enviados con un único UPDATE (sin findById ni save).
+     * Si no se afecta ninguna fila, la clase no existe.
+     * La unicidad del nombre la garantiza el índice único de la columna clase.
+     */
+    @Override
+    @Transactional
+    public void patch(Long id, Map<String, Object> campos) {
+        log.info("Actualizando parcialmente clase con ID: {}", id);
+
+        int filas = partialUpdateRepository.updateFields(
+                ClaseEntity.class, id, campos, ClaseDTO.class, CAMPOS_PATCH);
+        if (filas == 0) {
+            throw new ResourceNotFoundException("Clase", id);
+        }
+
+        log.info("Clase actualizada parcialmente: {}", id);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public ClaseDTO getById(Long id) {
@@ -163,6 +230,6 @@ public class ClaseServiceImpl implements ClaseService {
     @Override
     @Transactional(readOnly = true)
     public boolean existsByClase(String clase) {
-        return claseRepository.existsByClaseIgnoreCase(clase);
+        return claseRepository.existsByClaseNormalizado(TextNormalizer.normalize(clase));
     }
 }
@@ -5,6 +5,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Interfaz de servicio para Grados
@@ -16,11 +17,21 @@ public interface GradoService {
      */
     GradoDTO create(GradoDTO gradoDTO);
 
+    /**
+     * Crea varios grados en lote
+     */
+    List<GradoDTO> createAll(List<GradoDTO> gradosDTO);
+
     /**
      * Actualiza un grado existente
      */
     GradoDTO update(Long id, GradoDTO gradoDTO);
 
+    /**
+     * Actualiza parcialmente un grado (solo los campos enviados)
+     */
+    void patch(Long id, Map<String, Object> campos);
+
     /**
      * Obtiene un grado por ID
      */
@@ -5,7 +5,9 @@ import com.ram.base.entity.productos.GradoEntity;
 import com.ram.base.exception.BusinessException;
 import com.ram.base.exception.ResourceNotFoundException;
 import com.ram.base.mapper.GradoMapper;
+import com.ram.base.repository.generic.PartialUpdateRepository;
 import com.ram.base.repository.productos.GradoRepository;
+import com.ram.base.util.TextNormalizer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -13,7 +15,11 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -26,6 +32,15 @@ public class GradoServiceImpl implements GradoService {
 
     private final GradoRepository gradoRepository;
     private final GradoMapper gradoMapper;
+    private final PartialUpdateRepository partialUpdateRepository;
+
+    /**
+     * Campos que se pueden actualizar parcialmente (nombre en la API -> atributo de la entidad)
+     */
+    private static final Map<String, String> CAMPOS_PATCH = Map.of(
+            "grado", "grado",
+            "descripcion", "descripcion",
+            "estatus", "estatus");
 
     @Override
     @Transactional
@@ -43,6 +58,40 @@ public class GradoServiceImpl implements GradoService {
         return gradoMapper.toDTO(savedEntity);
     }
 
+    /**
+     * Crea varios grados validando duplicados con una sola consulta.
+     * Los INSERT se envían en batch JDBC (IDs por tabla, hibernate.jdbc.batch_size).
+     */
+    @Override
+    @Transactional
+    public List<GradoDTO> createAll(List<GradoDTO> gradosDTO) {
+        log.info("Creando {} grados en lote", gradosDTO.size());
+
+        // Duplicados dentro del mismo lote (en memoria)
+        Set<String> nombres = new HashSet<>();
+        for (GradoDTO dto : gradosDTO) {
+            if (!nombres.add(TextNormalizer.normalize(dto.getGrado()))) {
+                throw new BusinessException("El nombre está repetido en el lote: " + dto.getGrado());
+            }
+        }
+
+        // Duplicados contra la base de datos en una sola consulta
+        List<String> existentes = gradoRepository.findExistingGrados(nombres);
+        if (!existentes.isEmpty()) {
+            throw new BusinessException("Ya existen grados con los nombres: " + existentes);
+        }
+
+        List<GradoEntity> entities = gradosDTO.stream()
+                .map(gradoMapper::toEntity)
+                .collect(Collectors.toList());
+        List<GradoEntity> savedEntities = gradoRepository.saveAll(entities);
+
+        log.info("Se crearon {} grados en lote", savedEntities.size());
+        return savedEntities.stream()
+                .map(gradoMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
     @Override
     @Transactional
     public GradoDTO update(Long id, GradoDTO gradoDTO) {
@@ -51,7 +100,7 @@ public class GradoServiceImpl implements GradoService {
         GradoEntity existingEntity = gradoRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Grado", id));
 
-        if (!existingEntity.getGrado().equals(gradoDTO.getGrado()) && 
+        if (!Objects.equals(existingEntity.getGradoNormalizado(), TextNormalizer.normalize(gradoDTO.getGrado())) && 
             existsByGrado(gradoDTO.getGrado())) {
             throw new BusinessException("Ya existe otro grado con el nombre: " + gradoDTO.getGrado());
         }
@@ -63,6 +112,25 @@ public class GradoServiceImpl implements GradoService {
         return gradoMapper.toDTO(updatedEntity);
     }
 
+    /**
+     * Actualiza solo los campos enviados con un único UPDATE (sin findById ni save).
+     * Si no se afecta ninguna fila, el grado no existe.
+     * La unicidad del nombre la garantiza el índice único de la columna grado.
+     */
+    @Override
+    @Transactional
+    public void patch(Long id, Map<String, Object> campos) {
+        log.info("Actualizando parcialmente grado con ID: {}", id);
+
+        int filas = partialUpdateRepository.updateFields(
+                GradoEntity.class, id, campos, GradoDTO.class, CAMPOS_PATCH);
+        if (filas == 0) {
+            throw new ResourceNotFoundException("Grado", id);
+        }
+
+        log.info("Grado actualizado parcialmente: {}", id);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public GradoDTO getById(Long id) {
@@ -163,6 +231,6 @@ public class GradoServiceImpl implements GradoService {
     @Override
     @Transactional(readOnly = true)
     public boolean existsByGrado(String grado) {
-        return gradoRepository.existsByGradoIgnoreCase(grado);
+        return gradoRepository.existsByGradoNormalizado(TextNormalizer.normalize(grado));
     }
 }
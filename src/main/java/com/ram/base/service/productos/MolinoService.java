@@ -5,6 +5,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Interfaz de servicio para Molinos
@@ -16,11 +17,21 @@ public interface MolinoService {
      */
     MolinoDTO create(MolinoDTO molinoDTO);
 
+    /**
+     * Crea varios molinos en lote
+     */
+    List<MolinoDTO> createAll(List<MolinoDTO> molinosDTO);
+
     /**
      * Actualiza un molino existente
      */
     MolinoDTO update(Long id, MolinoDTO molinoDTO);
 
+    /**
+     * Actualiza parcialmente un molino (solo los campos enviados)
+     */
+    void patch(Long id, Map<String, Object> campos);
+
     /**
      * Obtiene un molino por ID
      */
@@ -5,7 +5,9 @@ import com.ram.base.entity.productos.MolinoEntity;
 import com.ram.base.exception.BusinessException;
 import com.ram.base.exception.ResourceNotFoundException;
 import com.ram.base.mapper.MolinoMapper;
+import com.ram.base.repository.generic.PartialUpdateRepository;
 import com.ram.base.repository.productos.MolinoRepository;
+import com.ram.base.util.TextNormalizer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -13,7 +15,11 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -26,6 +32,15 @@ public class MolinoServiceImpl implements MolinoService {
 
     private final MolinoRepository molinoRepository;
     private final MolinoMapper molinoMapper;
+    private final PartialUpdateRepository partialUpdateRepository;
+
+    /**
+     * Campos que se pueden actualizar parcialmente (nombre en la API -> atributo de la entidad)
+     */
+    private static final Map<String, String> CAMPOS_PATCH = Map.of(
+            "molino", "molino",
+            "descripcion", "descripcion",
+            "estatus", "estatus");
 
     @Override
     @Transactional
@@ -43,6 +58,40 @@ public class MolinoServiceImpl implements MolinoService {
         return molinoMapper.toDTO(savedEntity);
     }
 
+    /**
+     * Crea varios molinos validando duplicados con una sola consulta.
+     * Los INSERT se envían en batch JDBC (IDs por tabla, hibernate.jdbc.batch_size).
+     */
+    @Override
+    @Transactional
+    public List<MolinoDTO> createAll(List<MolinoDTO> molinosDTO) {
+        log.info("Creando {} molinos en lote", molinosDTO.size());
+
+        // Duplicados dentro del mismo lote (en memoria)
+        Set<String> nombres = new HashSet<>();
+        for (MolinoDTO dto : molinosDTO) {
+            if (!nombres.add(TextNormalizer.normalize(dto.getMolino()))) {
+                throw new BusinessException("El nombre está repetido en el lote: " + dto.getMolino());
+            }
+        }
+
+        // Duplicados contra la base de datos en una sola consulta
+        List<String> existentes = molinoRepository.findExistingMolinos(nombres);
+        if (!existentes.isEmpty()) {
+            throw new BusinessException("Ya existen molinos con los nombres: " + existentes);
+        }
+
+        List<MolinoEntity> entities = molinosDTO.stream()
+                .map(molinoMapper::toEntity)
+                .collect(Collectors.toList());
+        List<MolinoEntity> savedEntities = molinoRepository.saveAll(entities);
+
+        log.info("Se crearon {} molinos en lote", savedEntities.size());
+        return savedEntities.stream()
+                .map(molinoMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
     @Override
     @Transactional
     public MolinoDTO update(Long id, MolinoDTO molinoDTO) {
@@ -51,7 +100,7 @@ public class MolinoServiceImpl implements MolinoService {
         MolinoEntity existingEntity = molinoRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Molino", id));
 
-        if (!existingEntity.getMolino().equals(molinoDTO.getMolino()) && 
+        if (!Objects.equals(existingEntity.getMolinoNormalizado(), TextNormalizer.normalize(molinoDTO.getMolino())) && 
             existsByMolino(molinoDTO.getMolino())) {
             throw new BusinessException("Ya existe otro molino con el nombre: " + molinoDTO.getMolino());
         }
@@ -63,6 +112,25 @@ public class MolinoServiceImpl implements MolinoService {
         return molinoMapper.toDTO(updatedEntity);
     }
 
+    /**
+     * Actualiza solo los campos enviados con un único UPDATE (sin findById ni save).
+     * Si no se afecta ninguna fila, el molino no existe.
+     * La unicidad del nombre la garantiza el índice único de la columna molino.
+     */
+    @Override
+    @Transactional
+    public void patch(Long id, Map<String, Object> campos) {
+        log.info("Actualizando parcialmente molino con ID: {}", id);
+
+        int filas = partialUpdateRepository.updateFields(
+                MolinoEntity.class, id, campos, MolinoDTO.class, CAMPOS_PATCH);
+        if (filas == 0) {
+            throw new ResourceNotFoundException("Molino", id);
+        }
+
+        log.info("Molino actualizado parcialmente: {}", id);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public MolinoDTO getById(Long id) {
@@ -163,6 +231,6 @@ public class MolinoServiceImpl implements MolinoService {
     @Override
     @Transactional(readOnly = true)
     public boolean existsByMolino(String molino) {
-        return molinoRepository.existsByMolinoIgnoreCase(molino);
+        return molinoRepository.existsByMolinoNormalizado(TextNormalizer.normalize(molino));
     }
 }
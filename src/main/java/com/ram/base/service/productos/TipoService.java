@@ -5,6 +5,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Interfaz de servicio para Tipos
@@ -16,11 +17,21 @@ public interface TipoService {
      */
     TipoDTO create(TipoDTO tipoDTO);
 
+    /**
+     * Crea varios tipos en lote
+     */
+    List<TipoDTO> createAll(List<TipoDTO> tiposDTO);
+
     /**
      * Actualiza un tipo existente
      */
     TipoDTO update(Long id, TipoDTO tipoDTO);
 
+    /**
+     * Actualiza parcialmente un tipo (solo los campos enviados)
+     */
+    void patch(Long id, Map<String, Object> campos);
+
     /**
      * Obtiene un tipo por ID
      */
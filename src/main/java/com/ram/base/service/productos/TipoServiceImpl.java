@@ -5,7 +5,9 @@ import com.ram.base.entity.productos.TipoEntity;
 import com.ram.base.exception.BusinessException;
 import com.ram.base.exception.ResourceNotFoundException;
 import com.ram.base.mapper.TipoMapper;
+import com.ram.base.repository.generic.PartialUpdateRepository;
 import com.ram.base.repository.productos.TipoRepository;
+import com.ram.base.util.TextNormalizer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -13,7 +15,11 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -26,6 +32,14 @@ public class TipoServiceImpl implements TipoService {
 
     private final TipoRepository tipoRepository;
     private final TipoMapper tipoMapper;
+    private final PartialUpdateRepository partialUpdateRepository;
+
+    /**
+     * Campos que se pueden actualizar parcialmente (nombre en la API -> atributo de la entidad)
+     */
+    private static final Map<String, String> CAMPOS_PATCH = Map.of(
+            "tipo", "tipo",
+            "estatus", "estatus");
 
     @Override
     @Transactional
@@ -43,6 +57,40 @@ public class TipoServiceImpl implements TipoService {
         return tipoMapper.toDTO(savedEntity);
     }
 
+    /**
+     * Crea varios tipos validando duplicados con una sola consulta.
+     * Los INSERT se envían en batch JDBC (IDs por tabla, hibernate.jdbc.batch_size).
+     */
+    @Override
+    @Transactional
+    public List<TipoDTO> createAll(List<TipoDTO> tiposDTO) {
+        log.info("Creando {} tipos en lote", tiposDTO.size());
+
+        // Duplicados dentro del mismo lote (en memoria)
+        Set<String> nombres = new HashSet<>();
+        for (TipoDTO dto : tiposDTO) {
+            if (!nombres.add(TextNormalizer.normalize(dto.getTipo()))) {
+                throw new BusinessException("El nombre está repetido en el lote: " + dto.getTipo());
+            }
+        }
+
+        // Duplicados contra la base de datos en una sola consulta
+        List<String> existentes = tipoRepository.findExistingTipos(nombres);
+        if (!existentes.isEmpty()) {
+            throw new BusinessException("Ya existen tipos con los nombres: " + existentes);
+        }
+
+        List<TipoEntity> entities = tiposDTO.stream()
+                .map(tipoMapper::toEntity)
+                .collect(Collectors.toList());
+        List<TipoEntity> savedEntities = tipoRepository.saveAll(entities);
+
+        log.info("Se crearon {} tipos en lote", savedEntities.size());
+        return savedEntities.stream()
+                .map(tipoMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
     @Override
     @Transactional
     public TipoDTO update(Long id, TipoDTO tipoDTO) {
@@ -51,7 +99,7 @@ public class TipoServiceImpl implements TipoService {
         TipoEntity existingEntity = tipoRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Tipo", id));
 
-        if (!existingEntity.getTipo().equals(tipoDTO.getTipo()) && 
+        if (!Objects.equals(existingEntity.getTipoNormalizado(), TextNormalizer.normalize(tipoDTO.getTipo())) && 
             existsByTipo(tipoDTO.getTipo())) {
             throw new BusinessException("Ya existe otro tipo con el nombre: " + tipoDTO.getTipo());
         }
@@ -63,6 +111,25 @@ public class TipoServiceImpl implements TipoService {
         return tipoMapper.toDTO(updatedEntity);
     }
 
+    /**
+     * Actualiza solo los campos enviados con un único UPDATE (sin findById ni save).
+     * Si no se afecta ninguna fila, el tipo no existe.
+     * La unicidad del nombre la garantiza el índice único de la columna tipo.
+     */
+    @Override
+    @Transactional
+    public void patch(Long id, Map<String, Object> campos) {
+        log.info("Actualizando parcialmente tipo con ID: {}", id);
+
+        int filas = partialUpdateRepository.updateFields(
+                TipoEntity.class, id, campos, TipoDTO.class, CAMPOS_PATCH);
+        if (filas == 0) {
+            throw new ResourceNotFoundException("Tipo", id);
+        }
+
+        log.info("Tipo actualizado parcialmente: {}", id);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public TipoDTO getById(Long id) {
@@ -163,6 +230,6 @@ public class TipoServiceImpl implements TipoService {
     @Override
     @Transactional(readOnly = true)
     public boolean existsByTipo(String tipo) {
-        return tipoRepository.existsByTipoIgnoreCase(tipo);
+        return tipoRepository.existsByTipoNormalizado(TextNormalizer.normalize(tipo));
     }
 }
@@ -0,0 +1,76 @@
+package com.ram.base.util;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Elige al arrancar el costo de BCrypt para el hardware del nodo.
+ *
+ * Cada punto de costo duplica el tiempo de hash, así que basta medir el costo mínimo y
+ * extrapolar: costo = mínimo + log2(objetivo / tiempo(mínimo)). El costo elegido se mide
+ * una vez para corregir la extrapolación si se pasa del objetivo. Toma unos cientos de
+ * milisegundos. Con seguridad.hash.costo > 0 se usa ese costo fijo sin medir.
+ */
+@Slf4j
+@Getter
+@Component
+public class BCryptCalibrator {
+
+    private static final String MUESTRA = "calibracion-bcrypt";
+    private static final int MEDICIONES = 5;
+
+    /** Costo elegido */
+    private final int costo;
+
+    /** Tiempo medido de un hash con el costo elegido (0 si el costo es fijo) */
+    private final double msPorHash;
+
+    public BCryptCalibrator(@Value("${seguridad.hash.costo:0}") int costoFijo,
+                            @Value("${seguridad.hash.objetivo-ms:250}") long objetivoMs,
+                            @Value("${seguridad.hash.costo-minimo:10}") int costoMinimo,
+                            @Value("${seguridad.hash.costo-maximo:14}") int costoMaximo) {
+        if (costoFijo > 0) {
+            this.costo = costoFijo;
+            this.msPorHash = 0;
+            log.info("BCrypt con costo fijo {}", costoFijo);
+            return;
+        }
+
+        BCryptPasswordEncoder base = new BCryptPasswordEncoder(costoMinimo);
+        base.encode(MUESTRA); // calentamiento del JIT
+
+        double msMinimo = medianaMs(base, MEDICIONES);
+        int elegido = costoMinimo;
+        if (msMinimo > 0 && msMinimo < objetivoMs) {
+            elegido += (int) Math.floor(Math.log(objetivoMs / msMinimo) / Math.log(2));
+        }
+        elegido = Math.max(costoMinimo, Math.min(costoMaximo, elegido));
+
+        double msElegido = elegido == costoMinimo ? msMinimo : medianaMs(new BCryptPasswordEncoder(elegido), 1);
+        if (msElegido > objetivoMs * 1.5 && elegido > costoMinimo) {
+            elegido--;
+            msElegido /= 2;
+        }
+
+        this.costo = elegido;
+        this.msPorHash = msElegido;
+        log.info("BCrypt calibrado: costo {} (~{} ms por hash, objetivo {} ms; costo {} = {} ms)",
+                elegido, Math.round(msElegido), objetivoMs, costoMinimo, Math.round(msMinimo));
+    }
+
+    private static double medianaMs(BCryptPasswordEncoder encoder, int veces) {
+        double[] tiempos = new double[veces];
+        for (int i = 0; i < veces; i++) {
+            long inicio = System.nanoTime();
+            encoder.encode(MUESTRA);
+            tiempos[i] = (System.nanoTime() - inicio) / 1e6;
+        }
+        Arrays.sort(tiempos);
+        return tiempos[veces / 2];
+    }
+}
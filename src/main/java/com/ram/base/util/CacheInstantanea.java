@@ -0,0 +1,97 @@
+package com.ram.base.util;
+
+import lombok.Getter;
+import lombok.Value;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caché en memoria de una instantánea inmutable que se reconstruye completa al invalidarse.
+ *
+ * Cada invalidación incrementa una generación y, dentro de una transacción, se aplica
+ * después del commit para que nadie reconstruya con datos que todavía no son visibles.
+ * La instantánea guardada solo es válida si fue construida en la generación actual; si
+ * hubo una escritura mientras se construía, la siguiente lectura la vuelve a construir.
+ * La instantánea nueva se publica en un campo volatile: los lectores ven la anterior o
+ * la nueva, nunca una a medio construir.
+ *
+ * @param <T> Tipo de la instantánea
+ */
+public abstract class CacheInstantanea<T> {
+
+    private final AtomicLong generacion = new AtomicLong();
+
+    private volatile Version<T> version;
+
+    @Getter
+    private final EstadisticasCache estadisticas = new EstadisticasCache();
+
+    @Value
+    private static class Version<T> {
+        T valor;
+        long generacion;
+    }
+
+    /**
+     * Construye la instantánea desde la base de datos
+     */
+    protected abstract T construir();
+
+    /**
+     * Obtiene la instantánea vigente; la construye si no existe o fue invalidada
+     */
+    public T get() {
+        Version<T> actual = version;
+        if (actual != null && actual.getGeneracion() == generacion.get()) {
+            estadisticas.acierto();
+            return actual.getValor();
+        }
+        estadisticas.fallo();
+        return rebuild();
+    }
+
+    /**
+     * Marca la instantánea como obsoleta. Dentro de una transacción se aplica al hacer
+     * commit (si hay rollback la instantánea sigue siendo válida).
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    generacion.incrementAndGet();
+                }
+            });
+        } else {
+            generacion.incrementAndGet();
+        }
+    }
+
+    /**
+     * ETag fuerte a partir de la firma del contenido. Depende solo del contenido: si se
+     * invalida sin cambios reales, los clientes siguen recibiendo 304.
+     */
+    protected static String etag(CharSequence firma) {
+        return "\"" + DigestUtils.md5DigestAsHex(firma.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Reconstruye la instantánea. Sincronizado para que varias peticiones simultáneas
+     * no lancen la misma consulta a la vez.
+     */
+    private synchronized T rebuild() {
+        long generacionInicial = generacion.get();
+        Version<T> actual = version;
+        if (actual != null && actual.getGeneracion() == generacionInicial) {
+            return actual.getValor();
+        }
+
+        T nuevo = construir();
+        version = new Version<>(nuevo, generacionInicial);
+        return nuevo;
+    }
+}
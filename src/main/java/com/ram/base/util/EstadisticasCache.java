@@ -0,0 +1,32 @@
+package com.ram.base.util;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aciertos y fallos de una caché en memoria.
+ *
+ * Con LongAdder para no agregar contención entre los hilos que leen la caché. MetricasConfig
+ * los publica como cache.gets{cache, result=hit|miss}; la tasa de aciertos se calcula en
+ * Prometheus a partir de ambos contadores.
+ */
+public class EstadisticasCache {
+
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+
+    public void acierto() {
+        aciertos.increment();
+    }
+
+    public void fallo() {
+        fallos.increment();
+    }
+
+    public long getAciertos() {
+        return aciertos.sum();
+    }
+
+    public long getFallos() {
+        return fallos.sum();
+    }
+}
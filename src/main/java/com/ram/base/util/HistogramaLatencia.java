@@ -0,0 +1,77 @@
+package com.ram.base.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latencias concurrente y de memoria fija.
+ *
+ * Cubetas de anchoMs milisegundos; lo que excede la última cubeta cuenta en ella. Registrar
+ * es un incremento atómico, sin locks, y los percentiles se leen de las cubetas (con la
+ * resolución de anchoMs).
+ */
+public class HistogramaLatencia {
+
+    private final long anchoNanos;
+    private final AtomicLongArray cubetas;
+    private final LongAdder cuenta = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * @param anchoMs  Ancho de cada cubeta
+     * @param cubetas  Número de cubetas (cubren anchoMs * cubetas)
+     */
+    public HistogramaLatencia(long anchoMs, int cubetas) {
+        this.anchoNanos = anchoMs * 1_000_000L;
+        this.cubetas = new AtomicLongArray(cubetas);
+    }
+
+    public void registrar(long nanos) {
+        int indice = (int) Math.min(nanos / anchoNanos, cubetas.length() - 1);
+        cubetas.incrementAndGet(indice);
+        cuenta.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public long getCuenta() {
+        return cuenta.sum();
+    }
+
+    public double getPromedioMs() {
+        long n = cuenta.sum();
+        return n == 0 ? 0 : totalNanos.sum() / 1e6 / n;
+    }
+
+    public double getMaxMs() {
+        return maxNanos.get() / 1e6;
+    }
+
+    /**
+     * Percentil aproximado (límite superior de la cubeta que lo contiene)
+     *
+     * @param p Percentil entre 0 y 1
+     */
+    public double percentilMs(double p) {
+        long n = 0;
+        long[] copia = new long[cubetas.length()];
+        for (int i = 0; i < copia.length; i++) {
+            copia[i] = cubetas.get(i);
+            n += copia[i];
+        }
+        if (n == 0) {
+            return 0;
+        }
+        long objetivo = (long) Math.ceil(p * n);
+        long acumulado = 0;
+        for (int i = 0; i < copia.length; i++) {
+            acumulado += copia[i];
+            if (acumulado >= objetivo) {
+                return Math.min((i + 1) * anchoNanos, Math.max(maxNanos.get(), anchoNanos)) / 1e6;
+            }
+        }
+        return getMaxMs();
+    }
+}
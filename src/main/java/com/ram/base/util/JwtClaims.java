@@ -0,0 +1,23 @@
+package com.ram.base.util;
+
+import lombok.Value;
+
+/**
+ * Datos de un JWT ya verificado (firma y expiración).
+ * Inmutable: la misma instancia se comparte desde la caché de tokens verificados.
+ */
+@Value
+public class JwtClaims {
+
+    /** Email del usuario (subject) */
+    String email;
+
+    /** Emisión en milisegundos desde epoch */
+    long emitidoEn;
+
+    /** Expiración en milisegundos desde epoch */
+    long expiraEn;
+
+    /** Identificador del token (jti); para tokens emitidos sin jti, el SHA-256 del token */
+    String id;
+}
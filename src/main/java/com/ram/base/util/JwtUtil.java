@@ -1,64 +1,176 @@
 package com.ram.base.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.impl.TextCodec;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.UUID;
 
+/**
+ * Generación y verificación de JWT.
+ *
+ * - La clave se decodifica una sola vez y el parser se crea una sola vez (ya configurado
+ *   con la clave); antes se construían en cada extracción de un claim.
+ * - verify() valida firma y expiración en un solo paso y regresa JwtClaims inmutable.
+ * - Los tokens verificados se guardan hasta su expiración, indexados por el SHA-256 del
+ *   token (no se retiene el token). Un token repetido solo cuesta un hash y un get.
+ *   jwt.cache.max-entradas=0 desactiva la caché.
+ * - Cada token lleva un jti aleatorio para poder revocarlo (TokenRevocationService).
+ */
+@Slf4j
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret.key}")
-    private String SECRET_KEY;
+    public static final long EXPIRACION_MS = 1000L * 60 * 60 * 10; // 10 horas
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    });
+
+    private final Key signingKey;
+    private final JwtParser parser;
+    private final int maxEntradas;
+    private final MapaExpirable<ByteBuffer, JwtClaims> verificados;
+    @Getter
+    private final EstadisticasCache estadisticas = new EstadisticasCache();
+
+    public JwtUtil(@Value("${jwt.secret.key}") String secretKey,
+                   @Value("${jwt.cache.max-entradas:10000}") int maxEntradas) {
+        // jjwt 0.9.1 interpreta la clave en texto como Base64; se decodifica igual para que
+        // los tokens emitidos antes sigan siendo válidos
+        this.signingKey = new SecretKeySpec(TextCodec.BASE64.decode(secretKey), SignatureAlgorithm.HS256.getJcaName());
+        // El parser solo guarda configuración; parseClaimsJws no modifica su estado
+        this.parser = Jwts.parser().setSigningKey(signingKey);
+        this.maxEntradas = maxEntradas;
+        this.verificados = new MapaExpirable<>(maxEntradas);
+    }
 
     public String generateToken(UserDetails userDetails) {
-        Map<String, Object> cliams = new HashMap<>();
-        return createToken(cliams, userDetails.getUsername());
+        Map<String, Object> claims = new HashMap<>();
+        return createToken(claims, userDetails.getUsername());
     }
 
-    private String createToken(Map<String, Object> cliams, String email) {
+    private String createToken(Map<String, Object> claims, String email) {
+        long ahora = System.currentTimeMillis();
         return Jwts.builder()
-                .setClaims(cliams)
+                .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(email)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10)) //10  hour expiration
-                .signWith(SignatureAlgorithm.HS256, SECRET_KEY)
+                .setIssuedAt(new Date(ahora))
+                .setExpiration(new Date(ahora + EXPIRACION_MS))
+                .signWith(SignatureAlgorithm.HS256, signingKey)
                 .compact();
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .setSigningKey(SECRET_KEY)
-                .parseClaimsJws(token)
-                .getBody();
-    }
+    /**
+     * Verifica firma y expiración del token
+     *
+     * @param token JWT compacto
+     * @return Datos del token, o null si es inválido, está mal formado o expiró
+     */
+    public JwtClaims verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        long ahora = System.currentTimeMillis();
+
+        ByteBuffer clave = null;
+        if (maxEntradas > 0) {
+            clave = digest(token);
+            JwtClaims verificado = verificados.get(clave, ahora);
+            if (verificado != null) {
+                estadisticas.acierto();
+                return verificado;
+            }
+            estadisticas.fallo();
+        }
 
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("JWT inválido: {}", e.getMessage());
+            return null;
+        }
+        if (claims.getSubject() == null || claims.getExpiration() == null) {
+            return null;
+        }
+
+        JwtClaims verificado = new JwtClaims(
+                claims.getSubject(),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() : 0L,
+                claims.getExpiration().getTime(),
+                claims.getId() != null ? claims.getId() : "sha256:" + Base64.getEncoder().encodeToString(
+                        (clave != null ? clave : digest(token)).array()));
+
+        if (clave != null) {
+            verificados.put(clave, verificado, verificado.getExpiraEn(), ahora);
+        }
+        return verificado;
     }
 
-    public String extractEmail(String token) {
-        return extractClaim(token, Claims::getSubject);
+    /**
+     * Tokens en la caché de verificados
+     */
+    public int size() {
+        return verificados.size();
     }
 
-    public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    /**
+     * Token de la petición: encabezado Authorization (Bearer) o, si no viene, la cookie jwt
+     *
+     * @return Token compacto o null
+     */
+    public static String resolveToken(HttpServletRequest request) {
+        final String authorizationHeader = request.getHeader("Authorization");
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
+            return authorizationHeader.substring(7);
+        }
+
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if ("jwt".equals(cookie.getName())) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    /**
+     * Email del token si es válido, null en otro caso
+     */
+    public String extractEmail(String token) {
+        JwtClaims claims = verify(token);
+        return claims != null ? claims.getEmail() : null;
     }
 
-    public Boolean validateToken(String token, UserDetails userDetails) {
-        final String email = extractEmail(token);
-        return (email.equals(userDetails.getUsername()) && !isTokenExpired(token));
+    private ByteBuffer digest(String token) {
+        return ByteBuffer.wrap(SHA256.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
     }
 }
@@ -0,0 +1,115 @@
+package com.ram.base.util;
+
+import com.ram.base.exception.ServicioSaturadoException;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * PasswordEncoder que limita cuántos hashes (BCrypt) se calculan a la vez.
+ *
+ * BCrypt consume CPU a propósito; una ráfaga de logins (o de credential stuffing) podía
+ * ocupar todos los hilos de Tomcat calculando hashes y dejar sin CPU al resto de la API.
+ * Con un semáforo justo (FIFO) solo N hilos calculan a la vez; el resto espera en orden
+ * hasta esperaMs y después recibe ServicioSaturadoException (HTTP 503 con Retry-After).
+ *
+ * El hash se calcula en el hilo de la petición (sin pasar a otro executor), así no se
+ * agrega un cambio de hilo a cada login.
+ *
+ * Registra el tiempo de cada matches (login) y encode, y la espera en cola, para
+ * ajustar el costo de BCrypt contra el throughput de login (GET /admin/hash-metrics).
+ */
+@Slf4j
+public class LimitedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final Semaphore permisos;
+    private final long esperaMs;
+    @Getter
+    private final int concurrencia;
+
+    // Cubetas de 5 ms hasta 5 s
+    @Getter
+    private final HistogramaLatencia tiempoMatches = new HistogramaLatencia(5, 1000);
+    @Getter
+    private final HistogramaLatencia tiempoEncode = new HistogramaLatencia(5, 1000);
+    @Getter
+    private final HistogramaLatencia esperaCola = new HistogramaLatencia(5, 1000);
+    private final LongAdder rechazados = new LongAdder();
+
+    /**
+     * @param delegate Encoder real
+     * @param concurrencia Hashes simultáneos permitidos
+     * @param esperaMs Tiempo máximo en cola antes de rechazar
+     */
+    public LimitedPasswordEncoder(PasswordEncoder delegate, int concurrencia, long esperaMs) {
+        this.delegate = delegate;
+        this.permisos = new Semaphore(concurrencia, true);
+        this.esperaMs = esperaMs;
+        this.concurrencia = concurrencia;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        adquirir();
+        long inicio = System.nanoTime();
+        try {
+            return delegate.encode(rawPassword);
+        } finally {
+            permisos.release();
+            tiempoEncode.registrar(System.nanoTime() - inicio);
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        adquirir();
+        long inicio = System.nanoTime();
+        try {
+            return delegate.matches(rawPassword, encodedPassword);
+        } finally {
+            permisos.release();
+            tiempoMatches.registrar(System.nanoTime() - inicio);
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Hilos esperando un permiso de hash
+     */
+    public int getEnCola() {
+        return permisos.getQueueLength();
+    }
+
+    /**
+     * Operaciones rechazadas por exceder la espera máxima
+     */
+    public long getRechazados() {
+        return rechazados.sum();
+    }
+
+    private void adquirir() {
+        boolean adquirido;
+        long inicio = System.nanoTime();
+        try {
+            adquirido = permisos.tryAcquire(esperaMs, TimeUnit.MILLISECONDS);
+            esperaCola.registrar(System.nanoTime() - inicio);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServicioSaturadoException("Operación interrumpida, intente de nuevo", 1);
+        }
+        if (!adquirido) {
+            rechazados.increment();
+            log.warn("Cola de hash de contraseñas llena: {} en espera", permisos.getQueueLength());
+            throw new ServicioSaturadoException("El servicio está ocupado, intente de nuevo en unos segundos", 1);
+        }
+    }
+}
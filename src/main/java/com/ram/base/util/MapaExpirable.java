@@ -0,0 +1,89 @@
+package com.ram.base.util;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mapa concurrente acotado cuyas entradas expiran en un instante dado.
+ *
+ * Las entradas expiradas se descartan al leerlas o al desalojar. Al llegar al máximo se
+ * eliminan primero las expiradas y, si no basta, entradas arbitrarias: solo se usa como
+ * caché, perder una entrada cuesta recalcularla.
+ *
+ * @param <K> Tipo de la clave
+ * @param <V> Tipo del valor
+ */
+public class MapaExpirable<K, V> {
+
+    private final int maxEntradas;
+    private final Map<K, Entrada<V>> entradas = new ConcurrentHashMap<>();
+
+    private static final class Entrada<V> {
+        private final V valor;
+        private final long expiraEn;
+
+        Entrada(V valor, long expiraEn) {
+            this.valor = valor;
+            this.expiraEn = expiraEn;
+        }
+    }
+
+    public MapaExpirable(int maxEntradas) {
+        this.maxEntradas = maxEntradas;
+    }
+
+    /**
+     * @param ahora Instante actual (ms)
+     * @return Valor vigente, o null si no existe o ya expiró
+     */
+    public V get(K clave, long ahora) {
+        Entrada<V> entrada = entradas.get(clave);
+        if (entrada == null) {
+            return null;
+        }
+        if (entrada.expiraEn <= ahora) {
+            entradas.remove(clave, entrada);
+            return null;
+        }
+        return entrada.valor;
+    }
+
+    /**
+     * Guarda el valor hasta expiraEn; desaloja antes si el mapa está lleno
+     *
+     * @param ahora Instante actual (ms), para descartar las expiradas al desalojar
+     */
+    public void put(K clave, V valor, long expiraEn, long ahora) {
+        if (entradas.size() >= maxEntradas) {
+            evict(ahora);
+        }
+        entradas.put(clave, new Entrada<>(valor, expiraEn));
+    }
+
+    /**
+     * @return true si la clave estaba en el mapa
+     */
+    public boolean remove(K clave) {
+        return entradas.remove(clave) != null;
+    }
+
+    /**
+     * Entradas en el mapa (incluye las expiradas que aún no se desalojan)
+     */
+    public int size() {
+        return entradas.size();
+    }
+
+    private void evict(long ahora) {
+        entradas.values().removeIf(entrada -> entrada.expiraEn <= ahora);
+
+        // Si todas siguen vigentes se libera una décima parte para no desalojar en cada inserción
+        int exceso = entradas.size() - maxEntradas + Math.max(1, maxEntradas / 10);
+        Iterator<K> claves = entradas.keySet().iterator();
+        while (exceso-- > 0 && claves.hasNext()) {
+            claves.next();
+            claves.remove();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.ram.base.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normaliza textos para comparaciones de unicidad.
+ *
+ * "  Almacén Norte " -> "almacen norte"
+ * - Quita espacios al inicio y al final
+ * - Elimina acentos y diacríticos (é -> e, ü -> u); la ñ se conserva ("Año" -> "año")
+ * - Convierte a minúsculas
+ *
+ * El resultado se guarda en las columnas *_normalizado de las entidades; las búsquedas
+ * de duplicados comparan contra esas columnas con igualdad simple para que MySQL use
+ * su índice único (UPPER(columna) = UPPER(?) no puede usar el índice).
+ */
+public final class TextNormalizer {
+
+    private static final Pattern DIACRITICOS = Pattern.compile("\\p{M}+");
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * @param texto Texto original (puede ser null)
+     * @return Texto normalizado, o null si el original es null
+     */
+    public static String normalize(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        // NFD separa la ñ en n + tilde; se recompone antes de quitar las marcas para que
+        // "año" y "ano" sigan siendo claves distintas
+        String descompuesto = Normalizer.normalize(texto.trim(), Normalizer.Form.NFD)
+                .replace("n\u0303", "ñ")
+                .replace("N\u0303", "Ñ");
+        return DIACRITICOS.matcher(descompuesto).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,76 @@
+package com.ram.base.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limitador token bucket por clave (IP, email...), sin locks.
+ *
+ * Cada clave guarda un solo long: el "tiempo teórico" en que el bucket vuelve a estar
+ * lleno (algoritmo GCRA, equivalente a un token bucket de capacidad C que recupera un
+ * token cada intervalo). Consumir un token es un compareAndSet sobre ese valor.
+ *
+ * Las claves con el bucket lleno no aportan información; se eliminan cuando el mapa
+ * supera maxClaves, para que un barrido de IPs distintas no crezca la memoria sin límite.
+ */
+public class TokenBucketLimiter {
+
+    private final long intervaloNanos;
+    private final long toleranciaNanos;
+    private final int maxClaves;
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean limpiando = new AtomicBoolean();
+
+    /**
+     * @param capacidad Peticiones permitidas en ráfaga
+     * @param porMinuto Tokens que se recuperan por minuto
+     * @param maxClaves Claves a partir de las cuales se eliminan los buckets llenos
+     */
+    public TokenBucketLimiter(int capacidad, int porMinuto, int maxClaves) {
+        this.intervaloNanos = 60_000_000_000L / porMinuto;
+        this.toleranciaNanos = intervaloNanos * capacidad;
+        this.maxClaves = maxClaves;
+    }
+
+    /**
+     * Intenta consumir un token de la clave
+     *
+     * @return 0 si se permitió, o los nanosegundos que faltan para el siguiente token
+     */
+    public long intentar(String clave) {
+        long ahora = System.nanoTime();
+        AtomicLong bucket = buckets.get(clave);
+        if (bucket == null) {
+            if (buckets.size() >= maxClaves) {
+                limpiar(ahora);
+            }
+            bucket = buckets.computeIfAbsent(clave, k -> new AtomicLong(ahora));
+        }
+
+        while (true) {
+            long lleno = bucket.get();
+            long nuevo = Math.max(lleno, ahora) + intervaloNanos;
+            long exceso = nuevo - ahora - toleranciaNanos;
+            if (exceso > 0) {
+                return exceso;
+            }
+            if (bucket.compareAndSet(lleno, nuevo)) {
+                return 0;
+            }
+        }
+    }
+
+    private void limpiar(long ahora) {
+        // Un solo hilo limpia; los demás siguen sin esperar
+        if (!limpiando.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            buckets.values().removeIf(bucket -> bucket.get() <= ahora);
+        } finally {
+            limpiando.set(false);
+        }
+    }
+}
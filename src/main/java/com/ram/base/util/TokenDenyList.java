@@ -0,0 +1,159 @@
+package com.ram.base.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lista de tokens revocados por jti, que solo guarda cada entrada hasta que su token expira.
+ *
+ * Las entradas se agrupan en cubetas por tiempo de expiración del token (una cubeta por
+ * intervalo de anchoCubetaMs). Cada cubeta tiene un filtro Bloom y un conjunto exacto:
+ * - Consulta: como el filtro recibe la expiración del token, solo revisa su cubeta. El
+ *   Bloom descarta casi todos los tokens no revocados con 3 lecturas de bits; solo los
+ *   positivos (revocados o falsos positivos) consultan el conjunto exacto. Costo constante.
+ * - Expiración: las cubetas viven en un arreglo circular; una cubeta vencida se sustituye
+ *   completa al reutilizar su posición, sin recorrer sus entradas. Un token de esa cubeta
+ *   ya expiró, así que no necesita seguir revocado.
+ *
+ * Las revocaciones son raras (logout); las consultas ocurren en cada petición y no toman locks.
+ */
+public class TokenDenyList {
+
+    private static final int FUNCIONES_HASH = 3;
+
+    private final long anchoCubetaMs;
+    private final int bitsPorCubeta;
+    private final AtomicReferenceArray<Cubeta> cubetas;
+    private final Clock reloj;
+
+    private static final class Cubeta {
+        private final long numero;
+        private final AtomicLongArray bits;
+        private final Set<String> ids = ConcurrentHashMap.newKeySet();
+
+        Cubeta(long numero, int bits) {
+            this.numero = numero;
+            this.bits = new AtomicLongArray(bits >>> 6);
+        }
+    }
+
+    /**
+     * @param anchoCubetaMs Intervalo de expiración que agrupa cada cubeta
+     * @param vigenciaMaxMs Vigencia máxima de un token; define cuántas cubetas hay
+     * @param bitsPorCubeta Tamaño del filtro Bloom de cada cubeta (se redondea a potencia de 2)
+     */
+    public TokenDenyList(long anchoCubetaMs, long vigenciaMaxMs, int bitsPorCubeta) {
+        this(anchoCubetaMs, vigenciaMaxMs, bitsPorCubeta, Clock.systemUTC());
+    }
+
+    TokenDenyList(long anchoCubetaMs, long vigenciaMaxMs, int bitsPorCubeta, Clock reloj) {
+        this.reloj = reloj;
+        this.anchoCubetaMs = anchoCubetaMs;
+        this.bitsPorCubeta = Math.max(64, Integer.highestOneBit(Math.max(1, bitsPorCubeta - 1)) << 1);
+        this.cubetas = new AtomicReferenceArray<>((int) (vigenciaMaxMs / anchoCubetaMs) + 2);
+    }
+
+    /**
+     * Revoca el token hasta su expiración
+     *
+     * @param id       jti del token
+     * @param expiraEn Expiración del token en milisegundos desde epoch
+     */
+    public void revocar(String id, long expiraEn) {
+        if (expiraEn <= reloj.millis()) {
+            return;
+        }
+        Cubeta cubeta = cubetaParaEscribir(expiraEn / anchoCubetaMs);
+        // Primero el conjunto exacto: un lector que vea los bits siempre encuentra el id
+        cubeta.ids.add(id);
+        long hash = hash(id);
+        for (int i = 0; i < FUNCIONES_HASH; i++) {
+            int bit = indice(hash, i);
+            long mascara = 1L << bit;
+            int palabra = bit >>> 6;
+            long actual;
+            do {
+                actual = cubeta.bits.get(palabra);
+            } while ((actual & mascara) == 0 && !cubeta.bits.compareAndSet(palabra, actual, actual | mascara));
+        }
+    }
+
+    /**
+     * Indica si el token fue revocado
+     *
+     * @param id       jti del token
+     * @param expiraEn Expiración del token en milisegundos desde epoch
+     */
+    public boolean estaRevocado(String id, long expiraEn) {
+        long numero = expiraEn / anchoCubetaMs;
+        Cubeta cubeta = cubetas.get(posicion(numero));
+        if (cubeta == null || cubeta.numero != numero) {
+            return false;
+        }
+        long hash = hash(id);
+        for (int i = 0; i < FUNCIONES_HASH; i++) {
+            int bit = indice(hash, i);
+            if ((cubeta.bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return cubeta.ids.contains(id);
+    }
+
+    /**
+     * Tokens revocados que siguen en memoria (incluye cubetas vencidas aún no reutilizadas)
+     */
+    public int size() {
+        int total = 0;
+        for (int i = 0; i < cubetas.length(); i++) {
+            Cubeta cubeta = cubetas.get(i);
+            if (cubeta != null) {
+                total += cubeta.ids.size();
+            }
+        }
+        return total;
+    }
+
+    private Cubeta cubetaParaEscribir(long numero) {
+        int posicion = posicion(numero);
+        while (true) {
+            Cubeta cubeta = cubetas.get(posicion);
+            if (cubeta != null && cubeta.numero == numero) {
+                return cubeta;
+            }
+            // La posición tiene una cubeta ya vencida (o ninguna): se reemplaza completa
+            Cubeta nueva = new Cubeta(numero, bitsPorCubeta);
+            if (cubetas.compareAndSet(posicion, cubeta, nueva)) {
+                return nueva;
+            }
+        }
+    }
+
+    private int posicion(long numero) {
+        return (int) Math.floorMod(numero, (long) cubetas.length());
+    }
+
+    private int indice(long hash, int i) {
+        // Doble hashing (Kirsch-Mitzenmacher): h1 + i*h2
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        return (h1 + i * h2) & (bitsPorCubeta - 1);
+    }
+
+    private static long hash(String id) {
+        // FNV-1a de 64 bits con mezcla final (los jti son UUID, basta un hash no criptográfico)
+        long h = 0xcbf29ce484222325L;
+        for (byte b : id.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
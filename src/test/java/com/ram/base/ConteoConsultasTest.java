@@ -0,0 +1,564 @@
+package com.ram.base;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ram.base.dto.procesos.AsignacionPersonalRequest;
+import com.ram.base.dto.procesos.EventoTelemetriaDTO;
+import com.ram.base.dto.procesos.OperadorDTO;
+import com.ram.base.dto.procesos.PlanificacionRequest;
+import com.ram.base.dto.procesos.RutaSimulacionRequest;
+import com.ram.base.dto.procesos.SimulacionRequest;
+import com.ram.base.dto.procesos.TrabajoRequest;
+import com.ram.base.dto.productos.BobinaDTO;
+import com.ram.base.entity.generic.CorreoPendienteEntity;
+import com.ram.base.entity.generic.UserEntity;
+import com.ram.base.entity.inventarios.AreaEntity;
+import com.ram.base.entity.inventarios.LocalidadEntity;
+import com.ram.base.entity.procesos.MaquinaEntity;
+import com.ram.base.entity.procesos.ProcesoEntity;
+import com.ram.base.entity.productos.BobinaEntity;
+import com.ram.base.entity.productos.ClaseEntity;
+import com.ram.base.entity.productos.GradoEntity;
+import com.ram.base.entity.productos.MolinoEntity;
+import com.ram.base.entity.productos.ProveedorEntity;
+import com.ram.base.entity.productos.TipoEntity;
+import com.ram.base.io.ProfileRequest;
+import com.ram.base.repository.generic.CorreoPendienteRepository;
+import com.ram.base.repository.generic.UserRepostory;
+import com.ram.base.repository.inventarios.AreaRepository;
+import com.ram.base.repository.inventarios.LocalidadRepository;
+import com.ram.base.repository.procesos.MaquinaRepository;
+import com.ram.base.repository.procesos.ProcesoRepository;
+import com.ram.base.repository.productos.BobinaRepository;
+import com.ram.base.repository.productos.ClaseRepository;
+import com.ram.base.repository.productos.GradoRepository;
+import com.ram.base.repository.productos.MolinoRepository;
+import com.ram.base.repository.productos.ProveedorRepository;
+import com.ram.base.repository.productos.TipoRepository;
+import com.ram.base.service.generic.EmailDispatcher;
+import com.ram.base.service.inventarios.LocalidadArbolCache;
+import com.ram.base.service.procesos.MaquinaTableroCache;
+import com.ram.base.service.procesos.TelemetriaServiceImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Presupuesto exacto de sentencias SQL por endpoint, contra H2 en modo MySQL con las
+ * estadísticas de Hibernate activas.
+ *
+ * Cada prueba limpia las estadísticas, hace la petición y compara
+ * Statistics.getPrepareStatementCount() con el presupuesto (medido con estos datos). Los
+ * datos sembrados tienen cientos de filas repartidas entre varios catálogos y localidades:
+ * un SELECT por fila o por relación lazy (N+1) cambia el conteo y rompe el build.
+ *
+ * - Ninguna tarea @Scheduled se ejecuta (TaskScheduler simulado) y el despachador de
+ *   correos está simulado: nada en segundo plano consulta la base durante la medición.
+ * - Las consultas del generador de IDs (id_generador) corren en su propia conexión y no
+ *   entran en el conteo: los presupuestos de los lotes no dependen de si el pool de IDs
+ *   se agotó.
+ * - Las pruebas que modifican datos usan registros que ninguna otra prueba lee por ID.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:conteo;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "seguridad.hash.costo=4",
+        "seguridad.hash.costo-minimo=4"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@WithMockUser(username = ConteoConsultasTest.EMAIL, roles = "ADMIN")
+class ConteoConsultasTest {
+
+    static final String EMAIL = "consulta@ram.com";
+    private static final String PASSWORD = "secreto123";
+
+    private static final int CATALOGO = 12;
+    private static final int PROVEEDORES = 10;
+    private static final int BOBINAS = 250;
+    private static final int LOCALIDADES = 50;
+    private static final int AREAS_POR_LOCALIDAD = 4;
+    private static final int MAQUINAS = 10;
+    private static final int PROCESOS_POR_MAQUINA = 5;
+    private static final int USUARIOS = 50;
+    private static final int CORREOS = 50;
+
+    @MockitoBean(name = "taskScheduler")
+    private TaskScheduler taskScheduler;
+
+    @MockitoBean
+    private EmailDispatcher emailDispatcher;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TipoRepository tipoRepository;
+
+    @Autowired
+    private ClaseRepository claseRepository;
+
+    @Autowired
+    private MolinoRepository molinoRepository;
+
+    @Autowired
+    private GradoRepository gradoRepository;
+
+    @Autowired
+    private ProveedorRepository proveedorRepository;
+
+    @Autowired
+    private BobinaRepository bobinaRepository;
+
+    @Autowired
+    private LocalidadRepository localidadRepository;
+
+    @Autowired
+    private AreaRepository areaRepository;
+
+    @Autowired
+    private MaquinaRepository maquinaRepository;
+
+    @Autowired
+    private ProcesoRepository procesoRepository;
+
+    @Autowired
+    private UserRepostory userRepostory;
+
+    @Autowired
+    private CorreoPendienteRepository correoPendienteRepository;
+
+    @Autowired
+    private LocalidadArbolCache arbolCache;
+
+    @Autowired
+    private MaquinaTableroCache tableroCache;
+
+    @Autowired
+    private TelemetriaServiceImpl telemetriaService;
+
+    private Statistics statistics;
+
+    private List<TipoEntity> tipos;
+    private List<ClaseEntity> clases;
+    private List<MolinoEntity> molinos;
+    private List<GradoEntity> grados;
+    private List<ProveedorEntity> proveedores;
+    private List<BobinaEntity> bobinas;
+    private List<LocalidadEntity> localidades;
+    private List<AreaEntity> areas;
+    private List<MaquinaEntity> maquinas;
+    private List<ProcesoEntity> procesos;
+
+    @BeforeAll
+    void sembrar() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        tipos = tipoRepository.saveAll(IntStream.rangeClosed(1, CATALOGO)
+                .mapToObj(i -> TipoEntity.builder().tipo(String.format("Tipo %02d", i)).estatus(true).build())
+                .toList());
+        clases = claseRepository.saveAll(IntStream.rangeClosed(1, CATALOGO)
+                .mapToObj(i -> ClaseEntity.builder().clase(String.format("Clase %02d", i)).estatus(true).build())
+                .toList());
+        molinos = molinoRepository.saveAll(IntStream.rangeClosed(1, CATALOGO)
+                .mapToObj(i -> MolinoEntity.builder().molino(String.format("Molino %02d", i)).estatus(true).build())
+                .toList());
+        grados = gradoRepository.saveAll(IntStream.rangeClosed(1, CATALOGO)
+                .mapToObj(i -> GradoEntity.builder().grado(String.format("Grado %02d", i)).estatus(true).build())
+                .toList());
+        proveedores = proveedorRepository.saveAll(IntStream.rangeClosed(1, PROVEEDORES)
+                .mapToObj(i -> ProveedorEntity.builder().nombreComercial(String.format("Proveedor %02d", i)).estatus(true).build())
+                .toList());
+
+        // Cada bobina combina catálogos distintos: un SELECT lazy por relación se nota en el conteo
+        bobinas = bobinaRepository.saveAll(IntStream.range(0, BOBINAS)
+                .mapToObj(i -> BobinaEntity.builder()
+                        .codigoProveedor(String.format("BOB-%04d", i))
+                        .ancho(1.0 + (i % 10) * 0.1)
+                        .gramaje(60.0 + (i % 8) * 5)
+                        .calibre("12")
+                        .peso(400.0 + i)
+                        .tipoEntity(tipos.get(i % CATALOGO))
+                        .claseEntity(clases.get((i / 2) % CATALOGO))
+                        .molinoEntity(molinos.get((i / 3) % CATALOGO))
+                        .gradoEntity(grados.get((i / 5) % CATALOGO))
+                        .proveedor(proveedores.get(i % PROVEEDORES))
+                        .build())
+                .toList());
+
+        localidades = localidadRepository.saveAll(IntStream.rangeClosed(1, LOCALIDADES)
+                .mapToObj(i -> LocalidadEntity.builder().nombre(String.format("Planta %02d", i)).estatus(true).build())
+                .toList());
+        List<AreaEntity> nuevasAreas = new ArrayList<>();
+        for (LocalidadEntity localidad : localidades) {
+            for (int a = 1; a <= AREAS_POR_LOCALIDAD; a++) {
+                nuevasAreas.add(AreaEntity.builder().nombre("Área " + a).localidad(localidad).estatus(a % 2 == 1).build());
+            }
+        }
+        areas = areaRepository.saveAll(nuevasAreas);
+
+        maquinas = maquinaRepository.saveAll(IntStream.rangeClosed(1, MAQUINAS)
+                .mapToObj(i -> MaquinaEntity.builder().nombre(String.format("Máquina %02d", i)).estatus(true).build())
+                .toList());
+        List<ProcesoEntity> nuevosProcesos = new ArrayList<>();
+        for (int m = 0; m < MAQUINAS; m++) {
+            for (int p = 0; p < PROCESOS_POR_MAQUINA; p++) {
+                nuevosProcesos.add(ProcesoEntity.builder()
+                        .nombre(String.format("Proceso %02d-%d", m + 1, p + 1))
+                        .tiempoProceso(1.0 + p)
+                        .personalRequerido(1 + p % 2)
+                        .nivelExperiencia(p % 2 == 0 ? "BASICO" : "INTERMEDIO")
+                        .estatus(true)
+                        .maquina(maquinas.get(m))
+                        .build());
+            }
+        }
+        procesos = procesoRepository.saveAll(nuevosProcesos);
+
+        List<UserEntity> usuarios = new ArrayList<>();
+        for (int i = 0; i < USUARIOS; i++) {
+            usuarios.add(UserEntity.builder()
+                    .email(i == 0 ? EMAIL : String.format("usuario%02d@ram.com", i))
+                    .userId(UUID.randomUUID().toString())
+                    .name(i == 0 ? "Consulta" : "Usuario " + i)
+                    .password(passwordEncoder.encode(PASSWORD))
+                    .isAccountVerified(true)
+                    .build());
+        }
+        userRepostory.saveAll(usuarios);
+
+        Instant ahora = Instant.now();
+        correoPendienteRepository.saveAll(IntStream.range(0, CORREOS)
+                .mapToObj(i -> CorreoPendienteEntity.builder()
+                        .tipo(CorreoPendienteEntity.Tipo.BIENVENIDA)
+                        .destinatario(String.format("usuario%02d@ram.com", i))
+                        .parametros("{}")
+                        .estado(CorreoPendienteEntity.Estado.ENVIADO)
+                        .intentos(1)
+                        .siguienteIntento(ahora)
+                        .creadoEn(ahora)
+                        .enviadoEn(ahora)
+                        .build())
+                .toList());
+
+        // El refresco del catálogo de telemetría es @Scheduled; aquí no hay programador
+        telemetriaService.refrescarCatalogo();
+    }
+
+    @Test
+    void bobinasConsultas() throws Exception {
+        BobinaEntity bobina = bobinas.get(7);
+
+        assertPresupuesto(1, get("/bobinas"));
+        assertPresupuesto(2, get("/bobinas/paginated").param("size", "50"));
+        assertPresupuesto(1, get("/bobinas/{id}", bobina.getId_bobina()));
+        assertPresupuesto(1, get("/bobinas/buscar").param("codigo", "BOB-01"));
+        assertPresupuesto(1, get("/bobinas/existe").param("codigo", "bob-0001"));
+        assertPresupuesto(1, get("/bobinas/ancho").param("anchoMin", "1.0").param("anchoMax", "1.5"));
+        assertPresupuesto(1, get("/bobinas/gramaje").param("gramajeMin", "60").param("gramajeMax", "80"));
+    }
+
+    @Test
+    void bobinasPorCatalogo() throws Exception {
+        assertPresupuesto(1, get("/bobinas/tipo/{id}", tipos.get(0).getId_tipo()));
+        assertPresupuesto(1, get("/bobinas/clase/{id}", clases.get(0).getId_clase()));
+        assertPresupuesto(1, get("/bobinas/molino/{id}", molinos.get(0).getId_molino()));
+        assertPresupuesto(1, get("/bobinas/grado/{id}", grados.get(0).getId_grado()));
+        assertPresupuesto(1, get("/bobinas/proveedor/{id}", proveedores.get(0).getId_proveedor()));
+    }
+
+    @Test
+    void bobinaActualizar() throws Exception {
+        BobinaEntity bobina = bobinas.get(1);
+        BobinaDTO dto = BobinaDTO.builder()
+                .codigoProveedor(bobina.getCodigoProveedor())
+                .ancho(bobina.getAncho())
+                .gramaje(bobina.getGramaje())
+                .calibre(bobina.getCalibre())
+                .peso(bobina.getPeso() + 1)
+                .idTipo(bobina.getTipoEntity().getId_tipo())
+                .idClase(bobina.getClaseEntity().getId_clase())
+                .idMolino(bobina.getMolinoEntity().getId_molino())
+                .idGrado(bobina.getGradoEntity().getId_grado())
+                .idProveedor(bobina.getProveedor().getId_proveedor())
+                .build();
+
+        // SELECT con los cinco catálogos + UPDATE; los findById del mapper salen del contexto
+        assertPresupuesto(2, put("/bobinas/{id}", bobina.getId_bobina()).contentType(MediaType.APPLICATION_JSON).content(json(dto)));
+        assertPresupuesto(1, patch("/bobinas/{id}", bobinas.get(2).getId_bobina())
+                .contentType(MediaType.APPLICATION_JSON).content(json(Map.of("peso", 512.5))));
+    }
+
+    @Test
+    void bobinaEliminar() throws Exception {
+        // existsById + findById de deleteById + DELETE
+        assertPresupuesto(3, delete("/bobinas/{id}", bobinas.get(BOBINAS - 1).getId_bobina()));
+    }
+
+    @Test
+    void bobinasLote() throws Exception {
+        List<BobinaDTO> lote = IntStream.range(0, 20)
+                .mapToObj(i -> BobinaDTO.builder()
+                        .codigoProveedor(String.format("LOTE-%03d", i))
+                        .ancho(1.2)
+                        .gramaje(75.0)
+                        .peso(300.0 + i)
+                        .idTipo(tipos.get(i % CATALOGO).getId_tipo())
+                        .idClase(clases.get(i % CATALOGO).getId_clase())
+                        .idMolino(molinos.get(i % CATALOGO).getId_molino())
+                        .idGrado(grados.get(i % CATALOGO).getId_grado())
+                        .idProveedor(proveedores.get(i % PROVEEDORES).getId_proveedor())
+                        .build())
+                .toList();
+
+        // Códigos existentes + un findAllById por catálogo + un batch de INSERT
+        assertPresupuesto(7, post("/bobinas/lote").contentType(MediaType.APPLICATION_JSON).content(json(Map.of("items", lote))));
+    }
+
+    Stream<Arguments> catalogos() {
+        return Stream.of(
+                Arguments.of("/tipos", "tipo", "/activos", tipos.get(3).getId_tipo()),
+                Arguments.of("/clases", "clase", "/activas", clases.get(3).getId_clase()),
+                Arguments.of("/molinos", "molino", "/activos", molinos.get(3).getId_molino()),
+                Arguments.of("/grados", "grado", "/activos", grados.get(3).getId_grado()));
+    }
+
+    @ParameterizedTest
+    @MethodSource("catalogos")
+    void catalogoConsultas(String ruta, String parametro, String activos, Long id) throws Exception {
+        assertPresupuesto(1, get(ruta));
+        assertPresupuesto(2, get(ruta + "/paginated"));
+        assertPresupuesto(1, get(ruta + "/{id}", id));
+        assertPresupuesto(1, get(ruta + activos));
+        assertPresupuesto(1, get(ruta + "/buscar").param(parametro, "0"));
+        assertPresupuesto(1, get(ruta + "/existe").param(parametro, "no existe"));
+        assertPresupuesto(1, patch(ruta + "/{id}", id).contentType(MediaType.APPLICATION_JSON).content(json(Map.of("estatus", true))));
+    }
+
+    @Test
+    void localidadesConsultas() throws Exception {
+        Long idLocalidad = localidades.get(5).getIdLocalidad();
+
+        // Localidades + áreas de todas ellas en una consulta IN
+        assertPresupuesto(2, get("/localidades"));
+        assertPresupuesto(1, get("/localidades").param("includeAreas", "false"));
+        assertPresupuesto(3, get("/localidades/paginated"));
+        assertPresupuesto(2, get("/localidades/{id}", idLocalidad));
+        assertPresupuesto(2, get("/localidades/activas"));
+        assertPresupuesto(2, get("/localidades/buscar").param("nombre", "Planta 1"));
+        assertPresupuesto(1, get("/localidades/existe").param("nombre", "planta 01"));
+        assertPresupuesto(1, patch("/localidades/{id}", localidades.get(6).getIdLocalidad())
+                .contentType(MediaType.APPLICATION_JSON).content(json(Map.of("estatus", true))));
+    }
+
+    @Test
+    void localidadesArbol() throws Exception {
+        arbolCache.invalidate();
+
+        // Se construye con una consulta; después se sirve desde memoria
+        assertPresupuesto(1, get("/localidades/arbol"));
+        MvcResult cacheado = assertPresupuesto(0, get("/localidades/arbol"));
+        assertPresupuesto(0, get("/localidades/arbol")
+                .header(HttpHeaders.IF_NONE_MATCH, cacheado.getResponse().getHeader(HttpHeaders.ETAG)), status().isNotModified());
+    }
+
+    @Test
+    void areasConsultas() throws Exception {
+        Long idLocalidad = localidades.get(10).getIdLocalidad();
+
+        assertPresupuesto(1, get("/areas"));
+        assertPresupuesto(2, get("/areas/paginated").param("size", "50"));
+        assertPresupuesto(1, get("/areas/{id}", areas.get(9).getIdArea()));
+        assertPresupuesto(2, get("/areas/localidad/{id}", idLocalidad));
+        assertPresupuesto(1, get("/areas/activas"));
+        assertPresupuesto(1, get("/areas/buscar").param("nombre", "Área"));
+        assertPresupuesto(1, get("/areas/localidad/{id}/contar", idLocalidad));
+        assertPresupuesto(1, get("/areas/conteos"));
+        assertPresupuesto(1, get("/areas/conteos").param("idsLocalidad",
+                localidades.get(1).getIdLocalidad().toString(), localidades.get(2).getIdLocalidad().toString()));
+        assertPresupuesto(1, patch("/areas/{id}", areas.get(13).getIdArea())
+                .contentType(MediaType.APPLICATION_JSON).content(json(Map.of("estatus", true))));
+    }
+
+    @Test
+    void areasLote() throws Exception {
+        List<Map<String, Object>> lote = IntStream.rangeClosed(1, 10)
+                .mapToObj(i -> Map.<String, Object>of("nombre", "Anaquel " + i))
+                .toList();
+
+        // Localidad + nombres existentes + un batch de INSERT
+        assertPresupuesto(3, post("/areas/localidad/{id}/lote", localidades.get(20).getIdLocalidad())
+                .contentType(MediaType.APPLICATION_JSON).content(json(Map.of("items", lote))));
+    }
+
+    @Test
+    void maquinasTablero() throws Exception {
+        tableroCache.invalidate();
+
+        assertPresupuesto(1, get("/maquinas/tablero"));
+        assertPresupuesto(0, get("/maquinas/tablero"));
+    }
+
+    @Test
+    void telemetria() throws Exception {
+        long ahora = System.currentTimeMillis();
+        List<EventoTelemetriaDTO> eventos = IntStream.range(0, 200)
+                .mapToObj(i -> EventoTelemetriaDTO.builder()
+                        .idMaquina(maquinas.get(i % MAQUINAS).getId_maquina())
+                        .idProceso(procesos.get(i % MAQUINAS * PROCESOS_POR_MAQUINA).getId_proceso())
+                        .tipo(i % 20 == 0 ? "RUN" : "COUNT")
+                        .tiempo(ahora + i)
+                        .build())
+                .toList();
+
+        // La ingesta y los indicadores trabajan en memoria
+        assertPresupuesto(0, post("/telemetria/eventos").contentType(MediaType.APPLICATION_JSON).content(json(Map.of("items", eventos))));
+        assertPresupuesto(0, get("/telemetria/oee"));
+    }
+
+    @Test
+    void asignacionPersonal() throws Exception {
+        AsignacionPersonalRequest request = AsignacionPersonalRequest.builder()
+                .operadores(IntStream.rangeClosed(1, 30)
+                        .mapToObj(i -> OperadorDTO.builder()
+                                .idOperador((long) i)
+                                .nivelExperiencia(i % 3 == 0 ? "AVANZADO" : "INTERMEDIO")
+                                .build())
+                        .toList())
+                .idsProceso(procesos.subList(0, 20).stream().map(ProcesoEntity::getId_proceso).toList())
+                .presupuestoMs(10L)
+                .semilla(7L)
+                .build();
+
+        assertPresupuesto(1, post("/asignacion-personal").contentType(MediaType.APPLICATION_JSON).content(json(request)));
+    }
+
+    @Test
+    void planificacion() throws Exception {
+        PlanificacionRequest request = PlanificacionRequest.builder()
+                .trabajos(IntStream.range(0, 20)
+                        .mapToObj(j -> TrabajoRequest.builder()
+                                .codigo("OT-" + j)
+                                .idsProceso(IntStream.range(0, 3)
+                                        .mapToObj(k -> procesos.get((j + k) % MAQUINAS * PROCESOS_POR_MAQUINA + k).getId_proceso())
+                                        .toList())
+                                .build())
+                        .toList())
+                .presupuestoMs(50L)
+                .semilla(7L)
+                .build();
+
+        assertPresupuesto(1, post("/planificacion").contentType(MediaType.APPLICATION_JSON).content(json(request)));
+    }
+
+    @Test
+    void simulacion() throws Exception {
+        SimulacionRequest request = SimulacionRequest.builder()
+                .rutas(IntStream.range(0, 3)
+                        .mapToObj(r -> RutaSimulacionRequest.builder()
+                                .nombre("Ruta " + r)
+                                .idsProceso(List.of(
+                                        procesos.get(r * PROCESOS_POR_MAQUINA).getId_proceso(),
+                                        procesos.get((r + 3) * PROCESOS_POR_MAQUINA + 1).getId_proceso()))
+                                .tasaLlegada(0.05)
+                                .build())
+                        .toList())
+                .duracion(480.0)
+                .replicaciones(2)
+                .semilla(7L)
+                .build();
+
+        assertPresupuesto(1, post("/simulacion").contentType(MediaType.APPLICATION_JSON).content(json(request)));
+    }
+
+    @Test
+    void login() throws Exception {
+        // Un SELECT del usuario; el hash ya tiene el costo configurado y no se reescribe
+        assertPresupuesto(1, post("/login").contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("email", EMAIL, "password", PASSWORD))));
+    }
+
+    @Test
+    void perfil() throws Exception {
+        assertPresupuesto(1, get("/profile"));
+    }
+
+    @Test
+    void altaMasivaUsuarios() throws Exception {
+        List<ProfileRequest> lote = IntStream.rangeClosed(1, 10)
+                .mapToObj(i -> ProfileRequest.builder()
+                        .name("Nuevo " + i)
+                        .email(String.format("nuevo%02d@ram.com", i))
+                        .password(PASSWORD)
+                        .build())
+                .toList();
+
+        // Emails existentes + batch de usuarios + batch de correos de bienvenida
+        assertPresupuesto(3, post("/admin/users/bulk").contentType(MediaType.APPLICATION_JSON).content(json(Map.of("items", lote))));
+    }
+
+    private MvcResult assertPresupuesto(long presupuesto, MockHttpServletRequestBuilder peticion) throws Exception {
+        return assertPresupuesto(presupuesto, peticion, status().is2xxSuccessful());
+    }
+
+    /**
+     * Ejecuta la petición y compara las sentencias preparadas por Hibernate con el presupuesto
+     */
+    private MvcResult assertPresupuesto(long presupuesto, MockHttpServletRequestBuilder peticion, ResultMatcher estado) throws Exception {
+        statistics.clear();
+        MvcResult resultado = mockMvc.perform(peticion).andExpect(estado).andReturn();
+        MockHttpServletRequest request = resultado.getRequest();
+        assertEquals(presupuesto, statistics.getPrepareStatementCount(),
+                () -> "Sentencias SQL en " + request.getMethod() + " " + request.getRequestURI()
+                        + (request.getQueryString() != null ? "?" + request.getQueryString() : ""));
+        return resultado;
+    }
+
+    private String json(Object valor) throws Exception {
+        return objectMapper.writeValueAsString(valor);
+    }
+}
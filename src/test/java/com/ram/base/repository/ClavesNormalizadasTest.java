@@ -0,0 +1,111 @@
+package com.ram.base.repository;
+
+import com.ram.base.entity.inventarios.AreaEntity;
+import com.ram.base.entity.inventarios.LocalidadEntity;
+import com.ram.base.entity.productos.TipoEntity;
+import com.ram.base.repository.inventarios.AreaRepository;
+import com.ram.base.repository.inventarios.LocalidadRepository;
+import com.ram.base.repository.productos.TipoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unicidad por las columnas *_normalizado: la ñ es una letra distinta de la n, y las
+ * variantes de mayúsculas, acentos y espacios de un mismo nombre chocan.
+ *
+ * H2 compara en binario, así que no reproduce la collation de MySQL (ñ = n). Por eso se
+ * revisa además el esquema: el único índice único de cada tabla debe ser el normalizado.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:claves;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ClavesNormalizadasTest {
+
+    @Autowired
+    private TipoRepository tipoRepository;
+
+    @Autowired
+    private LocalidadRepository localidadRepository;
+
+    @Autowired
+    private AreaRepository areaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void soloLasColumnasNormalizadasSonUnicas() {
+        List<String> columnas = jdbcTemplate.queryForList("""
+                SELECT ic.table_name || '.' || ic.column_name
+                FROM information_schema.index_columns ic
+                JOIN information_schema.indexes i
+                  ON i.table_name = ic.table_name AND i.index_name = ic.index_name
+                WHERE i.index_type_name = 'UNIQUE INDEX'
+                  AND ic.table_name IN ('tipo', 'clase', 'molino', 'grado', 'bobina', 'localidad', 'area')
+                """, String.class);
+
+        assertEquals(Set.of("tipo.tipo_normalizado", "clase.clase_normalizado", "molino.molino_normalizado",
+                        "grado.grado_normalizado", "bobina.codigo_proveedor_normalizado",
+                        "localidad.nombre_normalizado", "area.nombre_normalizado", "area.id_localidad"),
+                new TreeSet<>(columnas));
+    }
+
+    @Test
+    void enieYEneSonNombresDistintos() {
+        TipoEntity conEnie = tipoRepository.saveAndFlush(tipo("Año"));
+        TipoEntity sinEnie = tipoRepository.saveAndFlush(tipo("Ano"));
+
+        assertEquals("año", conEnie.getTipoNormalizado());
+        assertEquals("ano", sinEnie.getTipoNormalizado());
+        assertTrue(tipoRepository.existsByTipoNormalizado("año"));
+        assertTrue(tipoRepository.existsByTipoNormalizado("ano"));
+    }
+
+    @Test
+    void variantesDelMismoNombreChocan() {
+        tipoRepository.saveAndFlush(tipo("Cañón"));
+
+        assertThrows(DataIntegrityViolationException.class, () -> tipoRepository.saveAndFlush(tipo("  CAÑON ")));
+    }
+
+    @Test
+    void areasConEnieYEneEnLaMismaLocalidad() {
+        LocalidadEntity peniasco = localidadRepository.saveAndFlush(localidad("Peñasco"));
+        localidadRepository.saveAndFlush(localidad("Penasco"));
+
+        areaRepository.saveAndFlush(area("Baño", peniasco));
+        areaRepository.saveAndFlush(area("Bano", peniasco));
+
+        assertEquals(2, areaRepository.findByLocalidadIdLocalidad(peniasco.getIdLocalidad()).size());
+        assertThrows(DataIntegrityViolationException.class, () -> areaRepository.saveAndFlush(area("BAÑO", peniasco)));
+    }
+
+    private static TipoEntity tipo(String nombre) {
+        TipoEntity tipo = new TipoEntity();
+        tipo.setTipo(nombre);
+        tipo.setEstatus(true);
+        return tipo;
+    }
+
+    private static LocalidadEntity localidad(String nombre) {
+        return LocalidadEntity.builder().nombre(nombre).build();
+    }
+
+    private static AreaEntity area(String nombre, LocalidadEntity localidad) {
+        return AreaEntity.builder().nombre(nombre).localidad(localidad).build();
+    }
+}
@@ -0,0 +1,87 @@
+package com.ram.base.service.generic;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.ram.base.entity.generic.CorreoPendienteEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Envío en lote contra un servidor SMTP en proceso (GreenMail)
+ */
+class EmailServiceTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private JavaMailSenderImpl mailSender;
+    private EmailService emailService;
+
+    @BeforeEach
+    void setUp() {
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+
+        emailService = new EmailService(mailSender, templateEngine, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(emailService, "fromEmail", "no-reply@test.local");
+        emailService.precompilarPlantillas();
+    }
+
+    @Test
+    void enviaElLotePorUnaConexion() throws Exception {
+        List<MimeMessage> mensajes = List.of(
+                emailService.crearMensaje(CorreoPendienteEntity.Tipo.BIENVENIDA, "a@test.local", Map.of("name", "Ana")),
+                emailService.crearMensaje(CorreoPendienteEntity.Tipo.VERIFICACION, "b@test.local", Map.of("otp", "123456")),
+                emailService.crearMensaje(CorreoPendienteEntity.Tipo.RESTABLECIMIENTO, "c@test.local", Map.of("otp", "654321")));
+
+        assertTrue(emailService.enviar(mensajes).isEmpty());
+
+        MimeMessage[] recibidos = greenMail.getReceivedMessages();
+        assertEquals(3, recibidos.length);
+        assertEquals("Welcome to Our Platform", recibido(recibidos, "a@test.local").getSubject());
+        assertTrue(((String) recibido(recibidos, "b@test.local").getContent()).contains("123456"));
+        assertTrue(((String) recibido(recibidos, "c@test.local").getContent()).contains("654321"));
+    }
+
+    @Test
+    void reportaComoFallidosLosMensajesSiNoHayServidor() throws Exception {
+        greenMail.stop();
+        List<MimeMessage> mensajes = List.of(
+                emailService.crearMensaje(CorreoPendienteEntity.Tipo.BIENVENIDA, "a@test.local", Map.of("name", "Ana")),
+                emailService.crearMensaje(CorreoPendienteEntity.Tipo.VERIFICACION, "b@test.local", Map.of("otp", "123456")));
+
+        Map<MimeMessage, Exception> fallidos = emailService.enviar(mensajes);
+
+        assertEquals(2, fallidos.size());
+        assertTrue(fallidos.keySet().containsAll(mensajes));
+        greenMail.start();
+    }
+
+    private static MimeMessage recibido(MimeMessage[] recibidos, String destinatario) throws Exception {
+        for (MimeMessage mensaje : recibidos) {
+            if (destinatario.equals(mensaje.getAllRecipients()[0].toString())) {
+                return mensaje;
+            }
+        }
+        return fail("No se recibió correo para " + destinatario);
+    }
+}
@@ -0,0 +1,124 @@
+package com.ram.base.service.generic;
+
+import com.ram.base.service.generic.OtpStore.Proposito;
+import com.ram.base.service.generic.OtpStore.Resultado;
+import com.ram.base.util.RelojManual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Vencimiento de los OTP en memoria con un reloj controlado: límite exacto de la vigencia
+ * y bajada de las entradas lejanas desde los niveles superiores de la rueda
+ */
+class InMemoryOtpStoreTest {
+
+    private static final long TICK_MS = 1000;
+    private static final String EMAIL = "otp@ram.com";
+
+    private RelojManual reloj;
+    private InMemoryOtpStore store;
+
+    @BeforeEach
+    void setUp() {
+        // Inicio fuera de un múltiplo del tick para que las vueltas de la rueda no coincidan con la vigencia
+        reloj = new RelojManual(1_700_000_000_123L);
+        store = new InMemoryOtpStore(3, TICK_MS, reloj);
+    }
+
+    @Test
+    void esValidoAlCumplirseExactamenteSuVigencia() {
+        long expiraEn = reloj.millis() + 60_000;
+        store.guardar(EMAIL, Proposito.VERIFICACION, "123456", 60_000);
+
+        avanzarHasta(expiraEn);
+
+        assertEquals(1, store.size());
+        assertEquals(Resultado.VALIDO, store.verificar(EMAIL, Proposito.VERIFICACION, "123456"));
+    }
+
+    @Test
+    void expiraUnMilisegundoDespues() {
+        long expiraEn = reloj.millis() + 60_000;
+        store.guardar(EMAIL, Proposito.VERIFICACION, "123456", 60_000);
+
+        avanzarHasta(expiraEn + 1);
+
+        assertEquals(Resultado.EXPIRADO, store.verificar(EMAIL, Proposito.VERIFICACION, "123456"));
+    }
+
+    @Test
+    void laRuedaNoEliminaAntesDelVencimiento() {
+        reloj.fijar(1_700_000_000_000L);
+        store = new InMemoryOtpStore(3, TICK_MS, reloj);
+        long expiraEn = reloj.millis() + 5 * TICK_MS;
+        store.guardar(EMAIL, Proposito.VERIFICACION, "123456", 5 * TICK_MS);
+
+        // expiraEn cae justo en el inicio de un tick: ese tick aún no debe eliminarlo
+        avanzarHasta(expiraEn);
+        assertEquals(1, store.size());
+
+        avanzarHasta(expiraEn + TICK_MS);
+        assertEquals(0, store.size());
+        assertEquals(Resultado.INVALIDO, store.verificar(EMAIL, Proposito.VERIFICACION, "123456"));
+    }
+
+    /**
+     * Nivel 0 (menos de 64 ticks), nivel 1 (hasta 64²) y nivel 2 (hasta 64³): la entrada debe
+     * desaparecer en el primer tick posterior a su vencimiento, ni antes ni una vuelta después
+     */
+    @ParameterizedTest
+    @ValueSource(longs = {30_000, 63_999, 64_000, 100_500, 4_095_000, 4_096_000, 5_000_250})
+    void seEliminaEnElPrimerTickDespuesDeVencer(long vigenciaMs) {
+        long expiraEn = reloj.millis() + vigenciaMs;
+        store.guardar(EMAIL, Proposito.RESTABLECIMIENTO, "654321", vigenciaMs);
+
+        long eliminadoEn = -1;
+        while (eliminadoEn < 0) {
+            reloj.avanzar(TICK_MS);
+            store.expirar();
+            if (store.size() == 0) {
+                eliminadoEn = reloj.millis();
+            }
+        }
+
+        assertTrue(eliminadoEn > expiraEn, "eliminado antes de vencer");
+        assertEquals(expiraEn / TICK_MS + 1, eliminadoEn / TICK_MS, "tick en que se eliminó");
+    }
+
+    @Test
+    void laEntradaReemplazadaNoEliminaALaNueva() {
+        store.guardar(EMAIL, Proposito.VERIFICACION, "111111", 10_000);
+        store.guardar(EMAIL, Proposito.VERIFICACION, "222222", 60_000);
+
+        avanzarHasta(reloj.millis() + 20_000);
+
+        assertEquals(1, store.size());
+        assertEquals(Resultado.VALIDO, store.verificar(EMAIL, Proposito.VERIFICACION, "222222"));
+    }
+
+    @Test
+    void seAgotaAlLlegarAlMaximoDeIntentos() {
+        store.guardar(EMAIL, Proposito.VERIFICACION, "123456", 60_000);
+
+        assertEquals(Resultado.INVALIDO, store.verificar(EMAIL, Proposito.VERIFICACION, "000000"));
+        assertEquals(Resultado.INVALIDO, store.verificar(EMAIL, Proposito.VERIFICACION, "000000"));
+        assertEquals(Resultado.AGOTADO, store.verificar(EMAIL, Proposito.VERIFICACION, "000000"));
+        assertEquals(Resultado.INVALIDO, store.verificar(EMAIL, Proposito.VERIFICACION, "123456"));
+    }
+
+    /**
+     * Avanza el reloj tick por tick (como el @Scheduled) hasta el instante dado
+     */
+    private void avanzarHasta(long instante) {
+        while (reloj.millis() + TICK_MS <= instante) {
+            reloj.avanzar(TICK_MS);
+            store.expirar();
+        }
+        reloj.fijar(instante);
+        store.expirar();
+    }
+}
@@ -0,0 +1,114 @@
+package com.ram.base.service.generic;
+
+import com.ram.base.dto.ResultadoLoteItem;
+import com.ram.base.io.ProfileRequest;
+import com.ram.base.io.ProfileResponse;
+import com.ram.base.repository.generic.UserRepostory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Alta masiva cuando otra petición registra un email del lote entre la consulta inicial
+ * y el INSERT: el índice único rechaza el batch completo
+ */
+class UserProvisioningServiceTest {
+
+    private UserRepostory userRepostory;
+    private EmailOutbox emailOutbox;
+    private ForkJoinPool hashPool;
+    private UserProvisioningService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        userRepostory = mock(UserRepostory.class);
+        emailOutbox = mock(EmailOutbox.class);
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        when(passwordEncoder.encode(anyString())).thenAnswer(inv -> "hash-" + inv.getArgument(0));
+
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> ((TransactionCallback<Object>) inv.getArgument(0)).doInTransaction(null));
+
+        hashPool = new ForkJoinPool(2);
+        service = new UserProvisioningService(userRepostory, passwordEncoder, emailOutbox, transactionTemplate, hashPool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hashPool.shutdownNow();
+    }
+
+    @Test
+    void elEmailRegistradoDuranteElLoteSeRechazaYElRestoSeCrea() {
+        when(userRepostory.findExistingEmails(anyCollection()))
+                .thenReturn(List.of())
+                .thenReturn(List.of("B@ram.com"));
+        when(userRepostory.saveAllAndFlush(anyList()))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry 'B@ram.com' for key 'email'"))
+                .thenAnswer(inv -> inv.getArgument(0));
+
+        List<ResultadoLoteItem<ProfileResponse>> resultados =
+                service.createAll(List.of(request("a@ram.com"), request("B@ram.com"), request("c@ram.com")));
+
+        assertTrue(resultados.get(0).isCreado());
+        assertFalse(resultados.get(1).isCreado());
+        assertEquals("Email already exists", resultados.get(1).getError());
+        assertTrue(resultados.get(2).isCreado());
+        assertEquals("c@ram.com", resultados.get(2).getDato().getEmail());
+
+        // El reintento solo lleva los emails libres, con el hash ya calculado
+        verify(userRepostory, times(2)).saveAllAndFlush(anyList());
+        verify(emailOutbox).encolarBienvenidas(Map.of("a@ram.com", "Usuario", "c@ram.com", "Usuario"));
+        // La consulta inicial y la de después del conflicto
+        verify(userRepostory, times(2)).findExistingEmails(argThat((Collection<String> emails) ->
+                emails.containsAll(List.of("a@ram.com", "B@ram.com", "c@ram.com")) && emails.size() == 3));
+    }
+
+    @Test
+    void siElConflictoPersisteRespondeConflictoConElEmail() {
+        when(userRepostory.findExistingEmails(anyCollection()))
+                .thenReturn(List.of())
+                .thenReturn(List.of("a@ram.com"), List.of("b@ram.com"), List.of("c@ram.com"));
+        when(userRepostory.saveAllAndFlush(anyList()))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> service.createAll(List.of(request("a@ram.com"), request("b@ram.com"),
+                        request("c@ram.com"), request("d@ram.com"))));
+
+        assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+        assertTrue(e.getReason().contains("c@ram.com"));
+        verifyNoInteractions(emailOutbox);
+    }
+
+    @Test
+    void otraViolacionQueNoEsElEmailSePropaga() {
+        when(userRepostory.findExistingEmails(anyCollection())).thenReturn(List.of());
+        when(userRepostory.saveAllAndFlush(anyList()))
+                .thenThrow(new DataIntegrityViolationException("Data too long for column 'name'"));
+
+        assertThrows(DataIntegrityViolationException.class, () -> service.createAll(List.of(request("a@ram.com"))));
+        verify(userRepostory, times(1)).saveAllAndFlush(anyList());
+    }
+
+    private static ProfileRequest request(String email) {
+        return ProfileRequest.builder().name("Usuario").email(email).password("secreto123").build();
+    }
+}
@@ -0,0 +1,46 @@
+package com.ram.base.util;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * Reloj de pruebas que solo avanza cuando la prueba lo pide
+ */
+public class RelojManual extends Clock {
+
+    private long millis;
+
+    public RelojManual(long millis) {
+        this.millis = millis;
+    }
+
+    public void avanzar(long ms) {
+        millis += ms;
+    }
+
+    public void fijar(long millis) {
+        this.millis = millis;
+    }
+
+    @Override
+    public long millis() {
+        return millis;
+    }
+
+    @Override
+    public Instant instant() {
+        return Instant.ofEpochMilli(millis);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return this;
+    }
+}
@@ -0,0 +1,87 @@
+package com.ram.base.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Lista de revocación con un reloj controlado: rotación de las cubetas, límites entre
+ * cubetas y falsos positivos del filtro Bloom
+ */
+class TokenDenyListTest {
+
+    private static final long ANCHO_MS = 15 * 60_000L;
+    private static final long VIGENCIA_MS = 10 * 60 * 60_000L;
+
+    private RelojManual reloj;
+    private TokenDenyList denyList;
+
+    @BeforeEach
+    void setUp() {
+        reloj = new RelojManual(1_700_000_000_123L);
+        denyList = new TokenDenyList(ANCHO_MS, VIGENCIA_MS, 65_536, reloj);
+    }
+
+    @Test
+    void sigueRevocadoMientrasRotanLasCubetasHastaQueExpira() {
+        long expiraEn = reloj.millis() + VIGENCIA_MS;
+        denyList.revocar("revocado", expiraEn);
+
+        // Cada intervalo se revoca un token con la vigencia máxima: escribe la cubeta más
+        // lejana y reutiliza las posiciones de las cubetas ya vencidas
+        int rotaciones = 0;
+        while (reloj.millis() + ANCHO_MS < expiraEn) {
+            reloj.avanzar(ANCHO_MS);
+            denyList.revocar("otro-" + rotaciones++, reloj.millis() + VIGENCIA_MS);
+            assertTrue(denyList.estaRevocado("revocado", expiraEn), "perdido tras " + rotaciones + " rotaciones");
+        }
+        assertTrue(rotaciones >= VIGENCIA_MS / ANCHO_MS - 1);
+
+        // Ya expirado, su posición se reutiliza en cuanto el arreglo da la vuelta
+        for (int i = 0; i < 3; i++) {
+            reloj.avanzar(ANCHO_MS);
+            denyList.revocar("despues-" + i, reloj.millis() + VIGENCIA_MS);
+        }
+        assertFalse(denyList.estaRevocado("revocado", expiraEn));
+    }
+
+    @Test
+    void respetaElLimiteEntreCubetas() {
+        long inicioCubeta = (reloj.millis() / ANCHO_MS + 2) * ANCHO_MS;
+        denyList.revocar("fin-anterior", inicioCubeta - 1);
+        denyList.revocar("inicio", inicioCubeta);
+
+        assertTrue(denyList.estaRevocado("fin-anterior", inicioCubeta - 1));
+        assertTrue(denyList.estaRevocado("inicio", inicioCubeta));
+        // La consulta usa la expiración del token: con otra cubeta no hay coincidencia
+        assertFalse(denyList.estaRevocado("fin-anterior", inicioCubeta));
+        assertFalse(denyList.estaRevocado("inicio", inicioCubeta - 1));
+    }
+
+    @Test
+    void ignoraTokensYaExpirados() {
+        denyList.revocar("vencido", reloj.millis());
+
+        assertEquals(0, denyList.size());
+        assertFalse(denyList.estaRevocado("vencido", reloj.millis()));
+    }
+
+    @Test
+    void losFalsosPositivosDelBloomSeResuelvenConElConjuntoExacto() {
+        // 64 bits con 40 tokens y 3 funciones: casi todos los bits quedan encendidos, así que
+        // la mayoría de los tokens no revocados pasan el filtro y llegan al conjunto exacto
+        TokenDenyList saturada = new TokenDenyList(ANCHO_MS, VIGENCIA_MS, 64, reloj);
+        long expiraEn = reloj.millis() + ANCHO_MS;
+        for (int i = 0; i < 40; i++) {
+            saturada.revocar("revocado-" + i, expiraEn);
+        }
+
+        for (int i = 0; i < 40; i++) {
+            assertTrue(saturada.estaRevocado("revocado-" + i, expiraEn));
+        }
+        for (int i = 0; i < 2000; i++) {
+            assertFalse(saturada.estaRevocado("vigente-" + i, expiraEn), "vigente-" + i);
+        }
+    }
+}